@@ -0,0 +1,106 @@
+package org.example.benchmarks;
+
+import org.example.model.Bill;
+import org.example.model.MenuItem;
+import org.example.model.OrderItem;
+import org.example.service.impl.MenuItemServiceImpl;
+import org.example.service.impl.MenuPriceTable;
+import org.example.util.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a bill for one order: price each line against the menu service, then apply
+ * discount and tax the way the bill screens do
+ * ({@code final = total - discount + tax}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BillCalculationBenchmark {
+    private static final int MENU_SIZE = 500;
+    private static final long TAX_BASIS_POINTS = 800L;
+    private static final long DISCOUNT_THRESHOLD_CENTS = Money.of(100, 0);
+
+    @Param({"1", "8", "40"})
+    public int lines;
+
+    private MenuItemServiceImpl menuService;
+    private OrderItem[] items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        menuService = new MenuItemServiceImpl();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        MenuItem.Category[] categories = MenuItem.Category.values();
+        SplittableRandom random = new SplittableRandom(59);
+        for (int i = 1; i <= MENU_SIZE; i++) {
+            menuService.addMenuItem(new MenuItem(i, "Dish " + i, null,
+                    Math.round(random.nextDouble(3, 60) * 100) / 100.0, categories[i % categories.length], true, now));
+        }
+        items = new OrderItem[lines];
+        for (int i = 0; i < lines; i++) {
+            items[i] = new OrderItem(i + 1, 1, 1 + random.nextInt(MENU_SIZE), 1 + random.nextInt(4),
+                    OrderItem.Status.values()[0]);
+        }
+    }
+
+    @Benchmark
+    public Bill calculateBill() {
+        long total = Money.ZERO;
+        for (OrderItem item : items) {
+            MenuItem menuItem = menuService.getMenuItemById(item.getMenuItemId());
+            if (menuItem != null) {
+                total += Money.times(Money.fromDouble(menuItem.getPrice()), item.getQuantity());
+            }
+        }
+        return bill(total);
+    }
+
+    /** The same bill priced from the off-heap price table, all lines from one version of the menu. */
+    @Benchmark
+    public Bill calculateBillFromPriceTable() {
+        MenuPriceTable prices = menuService.getPriceTable();
+        long total;
+        long stamp;
+        do {
+            stamp = prices.beginRead();
+            total = Money.ZERO;
+            for (OrderItem item : items) {
+                long price = prices.priceCents(item.getMenuItemId());
+                if (price != MenuPriceTable.NO_PRICE) {
+                    total += Money.times(price, item.getQuantity());
+                }
+            }
+        } while (!prices.validate(stamp));
+        return bill(total);
+    }
+
+    private static Bill bill(long total) {
+        Bill bill = new Bill();
+        bill.setOrderId(1);
+        bill.setTotalAmountCents(total);
+        bill.setDiscountCents(total >= DISCOUNT_THRESHOLD_CENTS ? Money.percentOf(total, 1_000) : Money.ZERO);
+        bill.setTaxCents(Money.percentOf(total - bill.getDiscountCents(), TAX_BASIS_POINTS));
+        bill.setFinalAmountCents(Money.finalAmount(total, bill.getDiscountCents(), bill.getTaxCents()));
+        bill.setPaymentStatus(Bill.PaymentStatus.Unpaid);
+        return bill;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.benchmarks;
+
+import org.example.dao.RestaurantDaoFactory;
+import org.example.dao.interfaces.OrderDao;
+import org.example.dao.interfaces.UserDao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/** What a service pays per call for building a factory and a DAO on a borrowed connection. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaoFactoryBenchmark {
+    private Connection connection;
+
+    @Setup
+    public void setUp() {
+        connection = SyntheticJdbc.connection(new String[0], new Object[0][]);
+    }
+
+    @Benchmark
+    public RestaurantDaoFactory newFactory() {
+        return new RestaurantDaoFactory(connection);
+    }
+
+    @Benchmark
+    public UserDao newUserDao() {
+        return new RestaurantDaoFactory(connection).getUserDAO();
+    }
+
+    @Benchmark
+    public OrderDao newOrderDao() {
+        return new RestaurantDaoFactory(connection).getOrderDAO();
+    }
+}
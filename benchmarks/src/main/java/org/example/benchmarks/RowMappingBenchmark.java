@@ -0,0 +1,85 @@
+package org.example.benchmarks;
+
+import org.example.dao.RestaurantDaoFactory;
+import org.example.dao.interfaces.BillDao;
+import org.example.dao.interfaces.UserDao;
+import org.example.model.Bill;
+import org.example.model.User;
+import org.example.util.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping of the JDBC DAOs. The mappers are private, so they are driven through the
+ * DAOs' list queries against a {@link SyntheticJdbc} connection; the score divided by
+ * {@code rows} is the cost of mapping one row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+    private static final String[] USER_COLUMNS = {
+            "user_id", "username", "password", "email", "phone", "role", "is_active", "created_at"};
+    private static final String[] BILL_COLUMNS = {
+            "bill_id", "order_id", "total_amount", "discount", "tax", "final_amount", "payment_status", "generated_at"};
+
+    @Param({"1", "100", "10000"})
+    public int rows;
+
+    private UserDao userDAO;
+    private BillDao billDAO;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Timestamp created = new Timestamp(System.currentTimeMillis());
+        User.Role[] roles = User.Role.values();
+        Object[][] users = new Object[rows][];
+        Object[][] bills = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            users[i] = new Object[] {i + 1, "user" + i, "$2a$10$" + i, "user" + i + "@example.org",
+                    "555-" + i, roles[i % roles.length].name(), i % 7 != 0, created};
+            long total = Money.of(20 + i % 80, 0);
+            long tax = Money.percentOf(total, 800);
+            bills[i] = new Object[] {i + 1, i + 1, Money.toDecimal(total), Money.toDecimal(Money.ZERO),
+                    Money.toDecimal(tax), Money.toDecimal(Money.finalAmount(total, Money.ZERO, tax)),
+                    i % 3 == 0 ? Bill.PaymentStatus.Unpaid.name() : Bill.PaymentStatus.Paid.name(), created};
+        }
+        Connection userConnection = SyntheticJdbc.connection(USER_COLUMNS, users);
+        Connection billConnection = SyntheticJdbc.connection(BILL_COLUMNS, bills);
+        userDAO = new RestaurantDaoFactory(userConnection).getUserDAO();
+        billDAO = new RestaurantDaoFactory(billConnection).getBillDAO();
+    }
+
+    @Benchmark
+    public List<User> mapUsers() {
+        return userDAO.getAllUsers();
+    }
+
+    @Benchmark
+    public User mapSingleUser() {
+        return userDAO.getUserById(1);
+    }
+
+    @Benchmark
+    public List<Bill> mapBills() {
+        return billDAO.getUnpaidBills();
+    }
+}
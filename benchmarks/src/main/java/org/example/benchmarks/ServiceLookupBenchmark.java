@@ -0,0 +1,160 @@
+package org.example.benchmarks;
+
+import org.example.model.MenuItem;
+import org.example.model.Order;
+import org.example.model.Table;
+import org.example.service.impl.MenuItemServiceImpl;
+import org.example.service.impl.OrderServiceImpl;
+import org.example.service.impl.TableServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point and index lookups on the in-memory services at different sizes. Keys are drawn
+ * from a precomputed random sequence so every call misses the same caches a live service
+ * would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ServiceLookupBenchmark {
+    private static final int KEYS = 1 << 16;
+    private static final int TABLES_PER_WAITER = 8;
+
+    @State(Scope.Benchmark)
+    public static class Orders {
+        @Param({"1000", "100000", "1000000"})
+        public int size;
+
+        OrderServiceImpl orderService;
+        int[] keys;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            orderService = new OrderServiceImpl();
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            Order.Status[] statuses = Order.Status.values();
+            int tables = Math.max(1, size / 20);
+            for (int i = 1; i <= size; i++) {
+                int tableId = 1 + i % tables;
+                orderService.placeOrder(new Order(i, tableId, 1 + tableId / TABLES_PER_WAITER, now,
+                        statuses[i % statuses.length]));
+            }
+            keys = randomKeys(size, 41);
+        }
+
+        int nextKey() {
+            return keys[next++ & (KEYS - 1)];
+        }
+    }
+
+    /** Adding a table copies the floor's cell array, so floors are sized like real (large) floors. */
+    @State(Scope.Benchmark)
+    public static class Tables {
+        @Param({"100", "1000", "10000"})
+        public int size;
+
+        TableServiceImpl tableService;
+        int[] keys;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            tableService = new TableServiceImpl();
+            Table.Status[] statuses = Table.Status.values();
+            for (int i = 1; i <= size; i++) {
+                tableService.addTable(new Table(i, i, 2 + 2 * (i % 4), statuses[i % statuses.length]));
+            }
+            keys = randomKeys(size, 43);
+        }
+
+        int nextKey() {
+            return keys[next++ & (KEYS - 1)];
+        }
+    }
+
+    /**
+     * Every menu change republishes the whole catalogue, so loading it item by item is
+     * quadratic; menus are benchmarked at sizes a restaurant can actually have.
+     */
+    @State(Scope.Benchmark)
+    public static class Menu {
+        @Param({"100", "1000", "10000"})
+        public int size;
+
+        MenuItemServiceImpl menuService;
+        int[] keys;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            menuService = new MenuItemServiceImpl();
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            MenuItem.Category[] categories = MenuItem.Category.values();
+            SplittableRandom random = new SplittableRandom(47);
+            for (int i = 1; i <= size; i++) {
+                menuService.addMenuItem(new MenuItem(i, "Dish " + i, "House dish number " + i,
+                        Math.round(random.nextDouble(3, 60) * 100) / 100.0, categories[i % categories.length],
+                        i % 10 != 0, now));
+            }
+            keys = randomKeys(size, 53);
+        }
+
+        int nextKey() {
+            return keys[next++ & (KEYS - 1)];
+        }
+    }
+
+    @Benchmark
+    public Order orderById(Orders state) {
+        return state.orderService.getOrderById(state.nextKey());
+    }
+
+    @Benchmark
+    public List<Order> openOrdersByTable(Orders state) {
+        return state.orderService.getOpenOrdersByTable(1 + state.nextKey() % Math.max(1, state.size / 20));
+    }
+
+    @Benchmark
+    public Table tableById(Tables state) {
+        return state.tableService.getTableById(state.nextKey());
+    }
+
+    @Benchmark
+    public MenuItem menuItemById(Menu state) {
+        return state.menuService.getMenuItemById(state.nextKey());
+    }
+
+    @Benchmark
+    public List<MenuItem> menuPriceRange(Menu state) {
+        double low = state.nextKey() % 50;
+        return state.menuService.findMenuItems(MenuItem.Category.Main, low, low + 5, true);
+    }
+
+    static int[] randomKeys(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] keys = new int[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = 1 + random.nextInt(size);
+        }
+        return keys;
+    }
+}
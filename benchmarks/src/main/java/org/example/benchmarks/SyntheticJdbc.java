@@ -0,0 +1,117 @@
+package org.example.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A JDBC connection that needs no database: every query, through a Statement or a
+ * PreparedStatement, returns a fresh cursor over the same in-memory rows. It implements just
+ * enough of the interfaces for the DAOs' row mappers, so a benchmark measures mapping
+ * rather than the network or the driver.
+ */
+final class SyntheticJdbc {
+    private SyntheticJdbc() {
+    }
+
+    static Connection connection(String[] columns, Object[][] rows) {
+        Map<String, Integer> columnIndex = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            columnIndex.put(columns[i], i);
+        }
+        InvocationHandler statement = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "executeQuery":
+                    return resultSet(columnIndex, rows);
+                case "executeUpdate":
+                    return 1;
+                case "close":
+                case "setInt":
+                case "setString":
+                case "setDouble":
+                case "setBoolean":
+                case "setTimestamp":
+                case "setDate":
+                case "setTime":
+                    return null;
+                default:
+                    return unsupported(method);
+            }
+        };
+        Object statementProxy = Proxy.newProxyInstance(SyntheticJdbc.class.getClassLoader(),
+                new Class<?>[] {java.sql.PreparedStatement.class}, statement);
+        return (Connection) Proxy.newProxyInstance(SyntheticJdbc.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "createStatement":
+                        case "prepareStatement":
+                            return statementProxy;
+                        case "isClosed":
+                            return false;
+                        case "close":
+                            return null;
+                        default:
+                            return unsupported(method);
+                    }
+                });
+    }
+
+    private static ResultSet resultSet(Map<String, Integer> columnIndex, Object[][] rows) {
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(SyntheticJdbc.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++cursor[0] < rows.length;
+                        case "close":
+                            return null;
+                        case "wasNull":
+                            return false;
+                        case "getInt":
+                            return ((Number) value(columnIndex, rows[cursor[0]], args[0])).intValue();
+                        case "getDouble":
+                            return ((Number) value(columnIndex, rows[cursor[0]], args[0])).doubleValue();
+                        case "getBigDecimal":
+                            return (BigDecimal) value(columnIndex, rows[cursor[0]], args[0]);
+                        case "getBoolean":
+                            return (Boolean) value(columnIndex, rows[cursor[0]], args[0]);
+                        case "getString":
+                            return (String) value(columnIndex, rows[cursor[0]], args[0]);
+                        case "getTimestamp":
+                            return (Timestamp) value(columnIndex, rows[cursor[0]], args[0]);
+                        case "getDate":
+                        case "getTime":
+                        case "getObject":
+                            return value(columnIndex, rows[cursor[0]], args[0]);
+                        default:
+                            return unsupported(method);
+                    }
+                });
+    }
+
+    private static Object value(Map<String, Integer> columnIndex, Object[] row, Object column) throws SQLException {
+        if (column instanceof Integer) {
+            return row[(Integer) column - 1];
+        }
+        Integer index = columnIndex.get(column);
+        if (index == null) {
+            throw new SQLException("No such column: " + column);
+        }
+        return row[index];
+    }
+
+    private static Object unsupported(Method method) throws SQLException {
+        if (method.getDeclaringClass() == Object.class) {
+            throw new SQLException("Object methods are not used by the DAOs: " + method.getName());
+        }
+        throw new SQLException("Not supported by the synthetic connection: " + method.getName());
+    }
+}
@@ -0,0 +1,31 @@
+#!/bin/sh
+# Starts the console terminal tuned for a fast first prompt: an AppCDS archive of the classes
+# a terminal loads (built by a training run the first time, or after a rebuild), C1-only JIT
+# and the time-to-first-prompt report. Extra arguments are passed to the JVM, e.g.
+#   scripts/fast-start.sh -Drms.db.poolSize=2
+set -e
+cd "$(dirname "$0")/.."
+
+M2_REPO=${M2_REPO:-$HOME/.m2/repository}
+DRIVER_JAR="$M2_REPO/org/postgresql/postgresql/42.6.0/postgresql-42.6.0.jar"
+APP_JAR=target/rms-app.jar
+ARCHIVE=${RMS_CDS_ARCHIVE:-target/rms-app.jsa}
+
+if [ ! -f "$DRIVER_JAR" ]; then
+    mvn -B -q dependency:resolve
+fi
+# CDS only archives classes loaded from jars, so package the compiled classes
+if [ ! -f "$APP_JAR" ] || [ -n "$(find src/main -newer "$APP_JAR" -type f | head -n 1)" ]; then
+    mvn -B -q compile
+    jar --create --file "$APP_JAR" -C target/classes .
+    rm -f "$ARCHIVE"
+fi
+CLASSPATH="$APP_JAR:$DRIVER_JAR"
+
+if [ ! -f "$ARCHIVE" ]; then
+    echo "Creating class data sharing archive $ARCHIVE ..."
+    java -XX:ArchiveClassesAtExit="$ARCHIVE" -Drms.startup.train=true -cp "$CLASSPATH" org.example.Main > /dev/null
+fi
+
+exec java -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto -XX:TieredStopAtLevel=1 -Drms.startup.report=true \
+    "$@" -cp "$CLASSPATH" org.example.Main
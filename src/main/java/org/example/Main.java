@@ -1,51 +1,75 @@
 package org.example;
 
+import org.example.dao.DuplicateKeyException;
 import org.example.dao.RestaurantDaoFactory;
+import org.example.dao.UniqueKeyRegistry;
 import org.example.dao.interfaces.*;
+import org.example.jdbc.SlowQueryLog;
 import org.example.model.*;
+import org.example.service.impl.BookingNoShowScheduler;
+import org.example.service.impl.WaiterAssignmentServiceImpl;
 import org.example.util.DatabaseUtil;
-
+import org.example.util.Money;
+import org.example.util.PasswordHasher;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.Date;
+import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 public class Main {
+    private static final int TOP_STATEMENTS = 10;
+
     public static void main(String[] args) {
-        try (Connection dbConnection = DatabaseUtil.getConnection()) {
-            RestaurantDaoFactory factory = new RestaurantDaoFactory(dbConnection);
+        if (Boolean.getBoolean("rms.startup.train")) {
+            trainForClassDataSharing();
+            return;
+        }
+        try (Backend backend = new Backend()) {
             Scanner inputReader = new Scanner(System.in);
 
             boolean isRunning = true;
+            boolean firstPrompt = true;
             while (isRunning) {
-                System.out.println("\n=== Restaurant Management System ===");
-                System.out.println("1. User Management");
-                System.out.println("2. Customer Management");
-                System.out.println("3. Table Management");
-                System.out.println("4. Order Management");
-                System.out.println("5. Bill Management");
-                System.out.println("6. Payment Management");
-                System.out.println("7. Table Booking Management");
-                System.out.println("8. Exit");
-                System.out.print("Choose an option: ");
+                if (firstPrompt) {
+                    reportTimeToFirstPrompt();
+                    firstPrompt = false;
+                }
+                printMainMenu();
                 int selectedOption = inputReader.nextInt();
                 inputReader.nextLine();
 
-                switch (selectedOption) {
-                    case 1 -> manageUsers(factory, inputReader);
-                    case 2 -> manageCustomers(factory, inputReader);
-                    case 3 -> manageTables(factory, inputReader);
-                    case 4 -> manageOrders(factory, inputReader);
-                    case 5 -> manageBills(factory, inputReader);
-                    case 6 -> managePayments(factory, inputReader);
-                    case 7 -> manageTableBookings(factory, inputReader);
-                    case 8 -> {
-                        System.out.println("Exiting...");
-                        isRunning = false;
+                try {
+                    switch (selectedOption) {
+                        case 1 -> manageUsers(backend.factory(), inputReader);
+                        case 2 -> manageCustomers(backend.factory(), inputReader);
+                        case 3 -> manageTables(backend.factory(), inputReader);
+                        case 4 -> manageOrders(backend.factory(), backend.waiterAssignment(), inputReader);
+                        case 5 -> manageBills(backend.factory(), inputReader);
+                        case 6 -> managePayments(backend.factory(), inputReader);
+                        case 7 -> manageTableBookings(backend.factory(), inputReader, backend.noShowScheduler());
+                        case 8 -> manageBulkData(backend.factory(), inputReader);
+                        case 9 -> printTopStatements();
+                        case 10 -> {
+                            System.out.println("Exiting...");
+                            isRunning = false;
+                        }
+                        default -> System.out.println("Invalid option. Try again.");
                     }
-                    default -> System.out.println("Invalid option. Try again.");
+                } catch (SQLException ex) {
+                    System.out.println("Could not connect to the database: " + ex.getMessage());
                 }
             }
         } catch (Exception ex) {
@@ -53,6 +77,115 @@ public class Main {
         }
     }
 
+    private static void printMainMenu() {
+        System.out.println("\n=== Restaurant Management System ===");
+        System.out.println("1. User Management");
+        System.out.println("2. Customer Management");
+        System.out.println("3. Table Management");
+        System.out.println("4. Order Management");
+        System.out.println("5. Bill Management");
+        System.out.println("6. Payment Management");
+        System.out.println("7. Table Booking Management");
+        System.out.println("8. Bulk Import/Export");
+        System.out.println("9. Slowest SQL Statements");
+        System.out.println("10. Exit");
+        System.out.print("Choose an option: ");
+    }
+
+    // JVM start to the first menu; the management classes are only loaded when asked for the report
+    private static void reportTimeToFirstPrompt() {
+        if (Boolean.getBoolean("rms.startup.report")) {
+            long now = System.currentTimeMillis();
+            System.out.println("Ready in " + (now - ManagementFactory.getRuntimeMXBean().getStartTime()) + " ms");
+        }
+    }
+
+    /**
+     * Training run for the AppCDS archive: loads the classes a terminal needs for its first
+     * screens (menu, JDBC driver, DAOs, models, instrumentation) without waiting for input,
+     * then exits. A database is used read-only if one is reachable but is not required.
+     */
+    private static void trainForClassDataSharing() {
+        printMainMenu();
+        System.out.println();
+        new Scanner("1\n").nextInt();
+        RestaurantDaoFactory factory = new RestaurantDaoFactory(null);
+        factory.getUserDAO();
+        factory.getCustomerDAO();
+        factory.getTableDAO();
+        factory.getOrderDAO();
+        factory.getOrderItemDAO();
+        factory.getBillDAO();
+        factory.getPaymentDAO();
+        factory.getTableBookingDAO();
+        factory.getBulkDataDAO();
+        new User().toString();
+        new Customer().toString();
+        new Table().toString();
+        new Order().toString();
+        new Bill().toString();
+        new Payment().toString();
+        new TableBooking().toString();
+        // loaded for the archive but never started: loadPending would expire real bookings
+        BookingNoShowScheduler.class.getName();
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            new RestaurantDaoFactory(connection).getUserDAO().getAllUsers();
+        } catch (SQLException ex) {
+            System.out.println("No database for the training run (" + ex.getMessage() + "); archiving without it");
+        }
+    }
+
+    /**
+     * The console's connection, DAO factory, no-show scheduler and waiter assignment, opened
+     * the first time a menu needs them rather than before the first prompt; the unique-key
+     * filters are loaded along with the connection.
+     */
+    private static final class Backend implements AutoCloseable {
+        private Connection connection;
+        private RestaurantDaoFactory factory;
+        private BookingNoShowScheduler noShowScheduler;
+        private WaiterAssignmentServiceImpl waiterAssignment;
+
+        RestaurantDaoFactory factory() throws SQLException {
+            if (factory == null) {
+                connection = DatabaseUtil.getConnection();
+                factory = new RestaurantDaoFactory(connection);
+                try {
+                    UniqueKeyRegistry.shared().load(connection);
+                } catch (SQLException ex) {
+                    System.out.println("Unique-key filters not loaded (" + ex.getMessage() + "); they load on first use");
+                }
+                noShowScheduler = new BookingNoShowScheduler();
+                noShowScheduler.loadPending();
+            }
+            return factory;
+        }
+
+        BookingNoShowScheduler noShowScheduler() throws SQLException {
+            factory();
+            return noShowScheduler;
+        }
+
+        // seeded from the open orders once; the order menu keeps it current from then on
+        WaiterAssignmentServiceImpl waiterAssignment() throws SQLException {
+            if (waiterAssignment == null) {
+                waiterAssignment = new WaiterAssignmentServiceImpl();
+                waiterAssignment.recordOpenOrders(factory().getOrderDAO().getAllOrders());
+            }
+            return waiterAssignment;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (noShowScheduler != null) {
+                noShowScheduler.close();
+            }
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
     private static void manageUsers(RestaurantDaoFactory factory, Scanner inputReader) {
         UserDao userRepository = factory.getUserDAO();
 
@@ -74,7 +207,7 @@ public class Main {
                     System.out.print("Username: ");
                     newUser.setUsername(inputReader.nextLine());
                     System.out.print("Password: ");
-                    newUser.setPassword(inputReader.nextLine());
+                    newUser.setPassword(PasswordHasher.hash(inputReader.nextLine()));
                     System.out.print("Email: ");
                     newUser.setEmail(inputReader.nextLine());
                     System.out.print("Phone: ");
@@ -83,8 +216,15 @@ public class Main {
                     newUser.setRole(User.Role.valueOf(inputReader.nextLine()));
                     newUser.setActive(true);
                     newUser.setCreatedAt(new Timestamp(System.currentTimeMillis()));
-                    userRepository.addUser(newUser);
-                    System.out.println("User added successfully.");
+                    try {
+                        if (userRepository.addUser(newUser)) {
+                            System.out.println("User added successfully.");
+                        } else {
+                            System.out.println("User was not added.");
+                        }
+                    } catch (DuplicateKeyException ex) {
+                        System.out.println("User was not added: " + ex.getMessage() + ".");
+                    }
                     break;
 
                 case 2:
@@ -138,7 +278,8 @@ public class Main {
             System.out.println("2. View All Customers");
             System.out.println("3. Update Customer");
             System.out.println("4. Delete Customer");
-            System.out.println("5. Exit");
+            System.out.println("5. Find Customer by Phone/Email");
+            System.out.println("6. Exit");
             System.out.print("Choose an option: ");
             int customerChoice = inputReader.nextInt();
             inputReader.nextLine();
@@ -154,8 +295,15 @@ public class Main {
                     newCustomer.setEmail(inputReader.nextLine());
                     newCustomer.setActive(true);
                     newCustomer.setCreatedAt(new Timestamp(System.currentTimeMillis()));
-                    customerRepository.addCustomer(newCustomer);
-                    System.out.println("Customer added successfully.");
+                    try {
+                        if (customerRepository.addCustomer(newCustomer)) {
+                            System.out.println("Customer added successfully.");
+                        } else {
+                            System.out.println("Customer was not added.");
+                        }
+                    } catch (DuplicateKeyException ex) {
+                        System.out.println("Customer was not added: " + ex.getMessage() + ".");
+                    }
                     break;
 
                 case 2:
@@ -193,6 +341,20 @@ public class Main {
                     break;
 
                 case 5:
+                    System.out.print("Phone or email (a prefix is enough): ");
+                    String lookup = inputReader.nextLine().trim();
+                    List<Customer> matches = lookup.contains("@") || lookup.chars().anyMatch(Character::isLetter)
+                            ? customerRepository.findByEmailPrefix(lookup, 20)
+                            : customerRepository.findByPhonePrefix(lookup, 20);
+                    if (matches.isEmpty()) {
+                        System.out.println("No matching customers.");
+                    }
+                    for (Customer match : matches) {
+                        System.out.println(match.getCustomerId() + ": " + match.getName() + " | " + match.getPhone() + " | " + match.getEmail());
+                    }
+                    break;
+
+                case 6:
                     continueCustomerManagement = false;
                     break;
 
@@ -277,7 +439,8 @@ public class Main {
             }
         }
     }
-    private static void manageOrders(RestaurantDaoFactory factory, Scanner inputReader) {
+    private static void manageOrders(RestaurantDaoFactory factory, WaiterAssignmentServiceImpl waiterAssignment,
+                                     Scanner inputReader) {
         OrderDao orderRepository = factory.getOrderDAO();
         TableDao tableRepository = factory.getTableDAO();
 
@@ -321,14 +484,25 @@ public class Main {
                         break;
                     }
 
-                    System.out.print("Waiter ID: ");
-                    newOrder.setWaiterId(inputReader.nextInt());
+                    newOrder.setTableId(selectedTableId);
+
+                    System.out.print("Waiter ID (0 to assign automatically): ");
+                    int enteredWaiterId = inputReader.nextInt();
                     inputReader.nextLine();
 
-                    newOrder.setTableId(selectedTableId);
+                    if (enteredWaiterId == 0) {
+                        if (waiterAssignment.assignWaiter(newOrder) < 0) {
+                            System.out.println("No waiter is on shift right now. Please enter a Waiter ID.");
+                            break;
+                        }
+                        System.out.println("Assigned to waiter " + newOrder.getWaiterId() + ".");
+                    } else {
+                        newOrder.setWaiterId(enteredWaiterId);
+                    }
                     newOrder.setOrderTime(new Timestamp(System.currentTimeMillis()));
                     newOrder.setStatus(Order.Status.Placed);
                     orderRepository.addOrder(newOrder);
+                    waiterAssignment.orderChanged(null, newOrder);
                     
                     chosenTable.setStatus(Table.Status.Occupied);
                     tableRepository.updateTable(chosenTable);
@@ -356,8 +530,11 @@ public class Main {
 
                         try {
                             Order.Status updatedStatus = Order.Status.valueOf(statusInput);
+                            Order previousOrder = new Order(existingOrder.getOrderId(), existingOrder.getTableId(),
+                                    existingOrder.getWaiterId(), existingOrder.getOrderTime(), existingOrder.getStatus());
                             existingOrder.setStatus(updatedStatus);
                             orderRepository.updateOrder(existingOrder);
+                            waiterAssignment.orderChanged(previousOrder, existingOrder);
                             System.out.println("Order status updated.");
                         } catch (IllegalArgumentException ex) {
                             System.out.println("Invalid status. Please use one of: Placed, Preparing, Served, Completed.");
@@ -371,7 +548,9 @@ public class Main {
                     System.out.print("Enter Order ID to delete: ");
                     int orderIdToDelete = inputReader.nextInt();
                     inputReader.nextLine();
+                    Order deletedOrder = orderRepository.getOrderById(orderIdToDelete);
                     orderRepository.deleteOrder(orderIdToDelete);
+                    waiterAssignment.orderChanged(deletedOrder, null);
                     System.out.println("Order deleted.");
                     break;
 
@@ -407,8 +586,7 @@ public class Main {
                     inputReader.nextLine();
                     System.out.print("Payment Method (Cash/Card/UPI/Wallet): ");
                     newPayment.setPaymentMethod(Payment.PaymentMethod.valueOf(inputReader.nextLine()));
-                    System.out.print("Amount Paid: ");
-                    newPayment.setAmountPaid(inputReader.nextDouble());
+                    newPayment.setAmountPaidCents(readAmount(inputReader, "Amount Paid: "));
                     newPayment.setPaymentTime(new Timestamp(System.currentTimeMillis()));
                     newPayment.setStatus(Payment.Status.Successful);
                     paymentRepository.recordPayment(newPayment);
@@ -419,7 +597,7 @@ public class Main {
                     List<Payment> allPayments = paymentRepository.getAllPayments();
                     System.out.println("---- Payments ----");
                     for (Payment currentPayment : allPayments) {
-                        System.out.println(currentPayment.getPaymentId() + ": Bill " + currentPayment.getBillId() + " | Method: " + currentPayment.getPaymentMethod() + " | Amount: " + currentPayment.getAmountPaid());
+                        System.out.println(currentPayment.getPaymentId() + ": Bill " + currentPayment.getBillId() + " | Method: " + currentPayment.getPaymentMethod() + " | Amount: " + Money.format(currentPayment.getAmountPaidCents()));
                     }
                     break;
 
@@ -428,7 +606,7 @@ public class Main {
                     int billIdForPayment = inputReader.nextInt();
                     Payment paymentForBill = paymentRepository.getPaymentByBillId(billIdForPayment);
                     if (paymentForBill != null) {
-                        System.out.println("Payment ID: " + paymentForBill.getPaymentId() + " | Amount: " + paymentForBill.getAmountPaid() + " | Method: " + paymentForBill.getPaymentMethod());
+                        System.out.println("Payment ID: " + paymentForBill.getPaymentId() + " | Amount: " + Money.format(paymentForBill.getAmountPaidCents()) + " | Method: " + paymentForBill.getPaymentMethod());
                     } else {
                         System.out.println("Payment not found for this bill.");
                     }
@@ -444,7 +622,7 @@ public class Main {
         }
     }
 
-    private static void manageTableBookings(RestaurantDaoFactory factory, Scanner inputReader) {
+    private static void manageTableBookings(RestaurantDaoFactory factory, Scanner inputReader, BookingNoShowScheduler noShowScheduler) {
         TableBookingDao bookingRepository = factory.getTableBookingDAO();
 
         boolean continueBookingManagement = true;
@@ -474,6 +652,7 @@ public class Main {
                     newBooking.setStatus(TableBooking.Status.Confirmed);
                     newBooking.setCreatedAt(new Timestamp(System.currentTimeMillis()));
                     bookingRepository.addBooking(newBooking);
+                    noShowScheduler.schedule(newBooking);
                     System.out.println("Booking added successfully.");
                     break;
 
@@ -491,9 +670,14 @@ public class Main {
                     inputReader.nextLine();
                     TableBooking existingBooking = bookingRepository.getBookingById(bookingIdToUpdate);
                     if (existingBooking != null) {
-                        System.out.print("New Status (Confirmed/Cancelled/Completed): ");
+                        System.out.print("New Status (Confirmed/Cancelled/Completed/NoShow): ");
                         existingBooking.setStatus(TableBooking.Status.valueOf(inputReader.nextLine()));
                         bookingRepository.updateBooking(existingBooking);
+                        if (existingBooking.getStatus() == TableBooking.Status.Confirmed) {
+                            noShowScheduler.schedule(existingBooking);
+                        } else {
+                            noShowScheduler.cancel(existingBooking.getBookingId());
+                        }
                         System.out.println("Booking status updated.");
                     } else {
                         System.out.println("Booking not found.");
@@ -504,6 +688,7 @@ public class Main {
                     System.out.print("Enter Booking ID to delete: ");
                     int bookingIdToDelete = inputReader.nextInt();
                     bookingRepository.deleteBooking(bookingIdToDelete);
+                    noShowScheduler.cancel(bookingIdToDelete);
                     System.out.println("Booking deleted.");
                     break;
 
@@ -539,13 +724,10 @@ public class Main {
                     Bill newBill = new Bill();
                     System.out.print("Order ID: ");
                     newBill.setOrderId(inputReader.nextInt());
-                    System.out.print("Total Amount: ");
-                    newBill.setTotalAmount(inputReader.nextDouble());
-                    System.out.print("Discount: ");
-                    newBill.setDiscount(inputReader.nextDouble());
-                    System.out.print("Tax: ");
-                    newBill.setTax(inputReader.nextDouble());
-                    newBill.setFinalAmount(newBill.getTotalAmount() - newBill.getDiscount() + newBill.getTax());
+                    newBill.setTotalAmountCents(readAmount(inputReader, "Total Amount: "));
+                    newBill.setDiscountCents(readAmount(inputReader, "Discount: "));
+                    newBill.setTaxCents(readAmount(inputReader, "Tax: "));
+                    newBill.setFinalAmountCents(Money.finalAmount(newBill.getTotalAmountCents(), newBill.getDiscountCents(), newBill.getTaxCents()));
                     newBill.setPaymentStatus(Bill.PaymentStatus.Unpaid);
                     newBill.setGeneratedAt(new Timestamp(System.currentTimeMillis()));
                     billRepository.generateBill(newBill);
@@ -556,7 +738,7 @@ public class Main {
                     List<Bill> outstandingBills = billRepository.getUnpaidBills();
                     System.out.println("---- Bills ----");
                     for (Bill currentBill : outstandingBills) {
-                        System.out.println(currentBill.getBillId() + ": Order " + currentBill.getOrderId() + " | Total: " + currentBill.getTotalAmount() + " | Final: " + currentBill.getFinalAmount() + " | Status: " + currentBill.getPaymentStatus());
+                        System.out.println(currentBill.getBillId() + ": Order " + currentBill.getOrderId() + " | Total: " + Money.format(currentBill.getTotalAmountCents()) + " | Final: " + Money.format(currentBill.getFinalAmountCents()) + " | Status: " + currentBill.getPaymentStatus());
                     }
                     break;
 
@@ -565,7 +747,7 @@ public class Main {
                     int orderIdForBill = inputReader.nextInt();
                     Bill billForOrder = billRepository.getBillByOrderId(orderIdForBill);
                     if (billForOrder != null) {
-                        System.out.println("Bill ID: " + billForOrder.getBillId() + " | Total: " + billForOrder.getTotalAmount() + " | Final: " + billForOrder.getFinalAmount());
+                        System.out.println("Bill ID: " + billForOrder.getBillId() + " | Total: " + Money.format(billForOrder.getTotalAmountCents()) + " | Final: " + Money.format(billForOrder.getFinalAmountCents()));
                     } else {
                         System.out.println("Bill not found for this order.");
                     }
@@ -575,7 +757,7 @@ public class Main {
                     List<Bill> pendingBills = billRepository.getUnpaidBills();
                     System.out.println("---- Unpaid Bills ----");
                     for (Bill unpaidBill : pendingBills) {
-                        System.out.println(unpaidBill.getBillId() + ": Order " + unpaidBill.getOrderId() + " | Final Amount: " + unpaidBill.getFinalAmount());
+                        System.out.println(unpaidBill.getBillId() + ": Order " + unpaidBill.getOrderId() + " | Final Amount: " + Money.format(unpaidBill.getFinalAmountCents()));
                     }
                     break;
 
@@ -584,13 +766,10 @@ public class Main {
                     int billIdToUpdate = inputReader.nextInt();
                     Bill existingBill = billRepository.getBillById(billIdToUpdate);
                     if (existingBill != null) {
-                        System.out.print("New Total Amount: ");
-                        existingBill.setTotalAmount(inputReader.nextDouble());
-                        System.out.print("New Discount: ");
-                        existingBill.setDiscount(inputReader.nextDouble());
-                        System.out.print("New Tax: ");
-                        existingBill.setTax(inputReader.nextDouble());
-                        existingBill.setFinalAmount(existingBill.getTotalAmount() - existingBill.getDiscount() + existingBill.getTax());
+                        existingBill.setTotalAmountCents(readAmount(inputReader, "New Total Amount: "));
+                        existingBill.setDiscountCents(readAmount(inputReader, "New Discount: "));
+                        existingBill.setTaxCents(readAmount(inputReader, "New Tax: "));
+                        existingBill.setFinalAmountCents(Money.finalAmount(existingBill.getTotalAmountCents(), existingBill.getDiscountCents(), existingBill.getTaxCents()));
                         billRepository.updateBill(existingBill);
                         System.out.println("Bill updated.");
                     } else {
@@ -614,4 +793,89 @@ public class Main {
             }
         }
     }
+
+    private static void manageBulkData(RestaurantDaoFactory factory, Scanner inputReader) {
+        BulkDataDao bulkRepository = factory.getBulkDataDAO();
+
+        boolean continueBulkManagement = true;
+        while (continueBulkManagement) {
+            System.out.println("\n=== Bulk Import/Export ===");
+            System.out.println("1. Import Customers (CSV: name,phone,email[,is_active])");
+            System.out.println("2. Export Customers");
+            System.out.println("3. Import Menu Items (CSV: name,description,price,category[,is_available])");
+            System.out.println("4. Export Menu Items");
+            System.out.println("5. Exit");
+            System.out.print("Choose an option: ");
+            int bulkChoice = inputReader.nextInt();
+            inputReader.nextLine();
+
+            if (bulkChoice == 5) {
+                continueBulkManagement = false;
+                continue;
+            }
+            if (bulkChoice < 1 || bulkChoice > 5) {
+                System.out.println("Invalid option. Try again.");
+                continue;
+            }
+
+            System.out.print("CSV file path: ");
+            Path csvPath = Path.of(inputReader.nextLine().trim());
+            try {
+                switch (bulkChoice) {
+                    case 1 -> printImportResult(importFrom(csvPath, bulkRepository::importCustomers));
+                    case 2 -> System.out.println(exportTo(csvPath, bulkRepository::exportCustomers) + " customers exported.");
+                    case 3 -> printImportResult(importFrom(csvPath, bulkRepository::importMenuItems));
+                    case 4 -> System.out.println(exportTo(csvPath, bulkRepository::exportMenuItems) + " menu items exported.");
+                    default -> { }
+                }
+            } catch (IOException ex) {
+                System.out.println("Could not access " + csvPath + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    // asks again until the amount parses, so a typo does not end the session
+    private static long readAmount(Scanner inputReader, String prompt) {
+        while (true) {
+            System.out.print(prompt);
+            String input = inputReader.next();
+            try {
+                return Money.parse(input);
+            } catch (NumberFormatException | ArithmeticException ex) {
+                System.out.println("'" + input + "' is not an amount with at most two decimals, e.g. 12.50.");
+            }
+        }
+    }
+
+    private static ImportResult importFrom(Path csvPath, Function<Reader, ImportResult> importer) throws IOException {
+        try (Reader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
+            return importer.apply(reader);
+        }
+    }
+
+    private static long exportTo(Path csvPath, ToLongFunction<Writer> exporter) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(csvPath, StandardCharsets.UTF_8)) {
+            return exporter.applyAsLong(writer);
+        }
+    }
+
+    private static void printTopStatements() {
+        List<SlowQueryLog.StatementStats> statements = SlowQueryLog.shared().getTopStatements(TOP_STATEMENTS);
+        if (statements.isEmpty()) {
+            System.out.println("No statements recorded yet.");
+            return;
+        }
+        System.out.println("Total ms | Calls | Slow | Mean ms | Max ms | Statement");
+        for (SlowQueryLog.StatementStats stats : statements) {
+            System.out.println(stats.getTotalNanos() / 1_000_000 + " | " + stats.getCalls() + " | " + stats.getSlowCalls()
+                    + " | " + stats.getMeanMillis() + " | " + stats.getMaxNanos() / 1_000_000 + " | " + stats.getFingerprint());
+        }
+    }
+
+    private static void printImportResult(ImportResult result) {
+        System.out.println("Rows read: " + result.getRowsRead() + " | Imported: " + result.getRowsImported() + " | Rejected: " + result.getRowsRejected());
+        for (String rejectedRow : result.getRejectedRows()) {
+            System.out.println("  " + rejectedRow);
+        }
+    }
 }
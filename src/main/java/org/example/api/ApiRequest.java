@@ -0,0 +1,95 @@
+package org.example.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.example.model.Session;
+import org.example.util.JsonUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ApiRequest {
+    private final HttpExchange exchange;
+    private final Map<String, String> pathParams;
+    private final Map<String, String> queryParams;
+    private Map<String, Object> body;
+    private Session session;
+
+    ApiRequest(HttpExchange exchange, Map<String, String> pathParams) {
+        this.exchange = exchange;
+        this.pathParams = pathParams;
+        this.queryParams = parseQuery(exchange.getRequestURI().getRawQuery());
+    }
+
+    public String method() {
+        return exchange.getRequestMethod();
+    }
+
+    public String path() {
+        return exchange.getRequestURI().getPath();
+    }
+
+    public Session session() {
+        return session;
+    }
+
+    void setSession(Session session) {
+        this.session = session;
+    }
+
+    public String header(String name) {
+        return exchange.getRequestHeaders().getFirst(name);
+    }
+
+    public int pathInt(String name) {
+        return parseInt(name, pathParams.get(name));
+    }
+
+    public String query(String name) {
+        return queryParams.get(name);
+    }
+
+    public int queryInt(String name) {
+        String value = queryParams.get(name);
+        if (value == null) {
+            throw ApiException.badRequest("Missing query parameter '" + name + "'");
+        }
+        return parseInt(name, value);
+    }
+
+    public Map<String, Object> body() throws IOException {
+        if (body == null) {
+            try (InputStream in = exchange.getRequestBody()) {
+                String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                body = json.isBlank() ? Collections.emptyMap() : JsonUtil.parseObject(json);
+            }
+        }
+        return body;
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw ApiException.badRequest("Parameter '" + name + "' must be an integer");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
@@ -0,0 +1,286 @@
+package org.example.api;
+
+import org.example.model.Bill;
+import org.example.model.FloorSnapshot;
+import org.example.model.MenuItem;
+import org.example.model.Order;
+import org.example.model.Payment;
+import org.example.model.Session;
+import org.example.model.Table;
+import org.example.model.TableBooking;
+import org.example.model.WaiterLoad;
+import org.example.model.WaitlistEntry;
+import org.example.util.Money;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ModelJson {
+
+    private ModelJson() {}
+
+    public static Map<String, Object> toJson(Order order) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("orderId", order.getOrderId());
+        json.put("tableId", order.getTableId());
+        json.put("waiterId", order.getWaiterId());
+        json.put("orderTime", timestamp(order.getOrderTime()));
+        json.put("status", order.getStatus());
+        return json;
+    }
+
+    public static Order toOrder(Map<String, Object> json) {
+        Order order = new Order();
+        order.setOrderId(intField(json, "orderId", 0));
+        order.setTableId(intField(json, "tableId"));
+        order.setWaiterId(intField(json, "waiterId", 0));
+        order.setOrderTime(timestampField(json, "orderTime"));
+        order.setStatus(enumField(json, "status", Order.Status.class, Order.Status.Placed));
+        return order;
+    }
+
+    public static Map<String, Object> toJson(Table table) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("tableId", table.getTableId());
+        json.put("tableNumber", table.getTableNumber());
+        json.put("capacity", table.getCapacity());
+        json.put("status", table.getStatus());
+        return json;
+    }
+
+    public static Table toTable(Map<String, Object> json) {
+        Table table = new Table();
+        table.setTableId(intField(json, "tableId", 0));
+        table.setTableNumber(intField(json, "tableNumber"));
+        table.setCapacity(intField(json, "capacity"));
+        // absent means "leave as is" on update; addTable makes a new table Available
+        table.setStatus(json.get("status") == null ? null : enumField(json, "status", Table.Status.class, null));
+        return table;
+    }
+
+    public static Map<String, Object> toJson(FloorSnapshot snapshot) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("version", snapshot.getVersion());
+        json.put("takenAt", Instant.ofEpochMilli(snapshot.getTakenAtMillis()).toString());
+        json.put("counts", snapshot.getCounts());
+        List<Map<String, Object>> tables = new ArrayList<>(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            Map<String, Object> table = new LinkedHashMap<>();
+            table.put("tableId", snapshot.getTableId(i));
+            table.put("status", snapshot.getStatusAt(i));
+            tables.add(table);
+        }
+        json.put("tables", tables);
+        return json;
+    }
+
+    public static TableBooking toTableBooking(Map<String, Object> json) {
+        if (json.get("bookingId") != null) {
+            throw ApiException.badRequest("Field 'bookingId' is assigned by the server");
+        }
+        TableBooking booking = new TableBooking();
+        booking.setCustomerId(intField(json, "customerId"));
+        booking.setTableId(intField(json, "tableId"));
+        booking.setBookingDate(Date.valueOf(stringField(json, "bookingDate")));
+        booking.setBookingTime(Time.valueOf(stringField(json, "bookingTime")));
+        booking.setStatus(enumField(json, "status", TableBooking.Status.class, TableBooking.Status.Confirmed));
+        booking.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+        return booking;
+    }
+
+    public static Map<String, Object> toJson(MenuItem item) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("itemId", item.getItemId());
+        json.put("name", item.getName());
+        json.put("description", item.getDescription());
+        json.put("price", item.getPrice());
+        json.put("category", item.getCategory());
+        json.put("available", item.isAvailability());
+        json.put("createdAt", timestamp(item.getCreatedAt()));
+        return json;
+    }
+
+    public static MenuItem toMenuItem(Map<String, Object> json) {
+        MenuItem item = new MenuItem();
+        item.setItemId(intField(json, "itemId", 0));
+        item.setName(stringField(json, "name"));
+        item.setDescription(json.get("description") == null ? null : stringField(json, "description"));
+        item.setPrice(doubleField(json, "price"));
+        item.setCategory(enumField(json, "category", MenuItem.Category.class, null));
+        item.setAvailability(!Boolean.FALSE.equals(json.get("available")));
+        item.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+        return item;
+    }
+
+    public static Map<String, Object> toJson(Bill bill) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("billId", bill.getBillId());
+        json.put("orderId", bill.getOrderId());
+        json.put("totalAmount", Money.toDecimal(bill.getTotalAmountCents()));
+        json.put("discount", Money.toDecimal(bill.getDiscountCents()));
+        json.put("tax", Money.toDecimal(bill.getTaxCents()));
+        json.put("finalAmount", Money.toDecimal(bill.getFinalAmountCents()));
+        json.put("paymentStatus", bill.getPaymentStatus());
+        json.put("generatedAt", timestamp(bill.getGeneratedAt()));
+        return json;
+    }
+
+    public static Bill toBill(Map<String, Object> json) {
+        Bill bill = new Bill();
+        bill.setOrderId(intField(json, "orderId"));
+        bill.setTotalAmountCents(centsField(json, "totalAmount"));
+        bill.setDiscountCents(centsField(json, "discount", Money.ZERO));
+        bill.setTaxCents(centsField(json, "tax", Money.ZERO));
+        bill.setFinalAmountCents(Money.finalAmount(bill.getTotalAmountCents(), bill.getDiscountCents(), bill.getTaxCents()));
+        bill.setPaymentStatus(enumField(json, "paymentStatus", Bill.PaymentStatus.class, Bill.PaymentStatus.Unpaid));
+        bill.setGeneratedAt(new Timestamp(System.currentTimeMillis()));
+        return bill;
+    }
+
+    public static Map<String, Object> toJson(Payment payment) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("paymentId", payment.getPaymentId());
+        json.put("billId", payment.getBillId());
+        json.put("paymentMethod", payment.getPaymentMethod());
+        json.put("amountPaid", Money.toDecimal(payment.getAmountPaidCents()));
+        json.put("paymentTime", timestamp(payment.getPaymentTime()));
+        json.put("status", payment.getStatus());
+        return json;
+    }
+
+    public static Payment toPayment(Map<String, Object> json) {
+        Payment payment = new Payment();
+        payment.setBillId(intField(json, "billId"));
+        payment.setPaymentMethod(enumField(json, "paymentMethod", Payment.PaymentMethod.class, null));
+        payment.setAmountPaidCents(centsField(json, "amountPaid"));
+        payment.setPaymentTime(new Timestamp(System.currentTimeMillis()));
+        payment.setStatus(enumField(json, "status", Payment.Status.class, Payment.Status.Successful));
+        return payment;
+    }
+
+    public static Map<String, Object> toJson(Session session) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("token", session.getToken());
+        json.put("userId", session.getUserId());
+        json.put("username", session.getUsername());
+        json.put("role", session.getRole());
+        json.put("createdAt", timestamp(session.getCreatedAt()));
+        return json;
+    }
+
+    public static Map<String, Object> toJson(WaiterLoad load) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("waiterId", load.getWaiterId());
+        json.put("openTables", load.getOpenTables());
+        json.put("openOrders", load.getOpenOrders());
+        json.put("onShift", load.isOnShift());
+        return json;
+    }
+
+    public static Map<String, Object> toJson(WaitlistEntry entry) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("entryId", entry.getEntryId());
+        json.put("partyName", entry.getPartyName());
+        json.put("partySize", entry.getPartySize());
+        json.put("phone", entry.getPhone());
+        json.put("joinedAt", timestamp(entry.getJoinedAt()));
+        json.put("status", entry.getStatus());
+        json.put("estimatedSeatAt", timestamp(entry.getEstimatedSeatAt()));
+        json.put("tableId", entry.getTableId());
+        return json;
+    }
+
+    static int intField(Map<String, Object> json, String name) {
+        Object value = json.get(name);
+        if (!(value instanceof Number)) {
+            throw ApiException.badRequest("Field '" + name + "' must be a number");
+        }
+        return ((Number) value).intValue();
+    }
+
+    static int intField(Map<String, Object> json, String name, int defaultValue) {
+        return json.get(name) == null ? defaultValue : intField(json, name);
+    }
+
+    static double doubleField(Map<String, Object> json, String name) {
+        Object value = json.get(name);
+        if (!(value instanceof Number)) {
+            throw ApiException.badRequest("Field '" + name + "' must be a number");
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    static double doubleField(Map<String, Object> json, String name, double defaultValue) {
+        return json.get(name) == null ? defaultValue : doubleField(json, name);
+    }
+
+    /** An amount such as {@code 12.5} or {@code 12} as cents; more than two decimals is rejected. */
+    static long centsField(Map<String, Object> json, String name) {
+        Object value = json.get(name);
+        if (!(value instanceof Number)) {
+            throw ApiException.badRequest("Field '" + name + "' must be a number");
+        }
+        try {
+            if (value instanceof Long || value instanceof Integer) {
+                return Math.multiplyExact(((Number) value).longValue(), 100L);
+            }
+            BigDecimal amount = BigDecimal.valueOf(((Number) value).doubleValue());
+            if (amount.stripTrailingZeros().scale() > 2) {
+                throw ApiException.badRequest("Field '" + name + "' must have at most two decimals");
+            }
+            return Money.fromDecimal(amount);
+        } catch (ArithmeticException e) {
+            throw ApiException.badRequest("Field '" + name + "' is out of range");
+        }
+    }
+
+    static long centsField(Map<String, Object> json, String name, long defaultValue) {
+        return json.get(name) == null ? defaultValue : centsField(json, name);
+    }
+
+    static String stringField(Map<String, Object> json, String name) {
+        Object value = json.get(name);
+        if (!(value instanceof String)) {
+            throw ApiException.badRequest("Field '" + name + "' must be a string");
+        }
+        return (String) value;
+    }
+
+    static <E extends Enum<E>> E enumField(Map<String, Object> json, String name, Class<E> type, E defaultValue) {
+        Object value = json.get(name);
+        if (value == null) {
+            if (defaultValue == null) {
+                throw ApiException.badRequest("Field '" + name + "' is required");
+            }
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toString());
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest("Invalid " + name + " '" + value + "'");
+        }
+    }
+
+    private static Timestamp timestampField(Map<String, Object> json, String name) {
+        Object value = json.get(name);
+        if (value == null) {
+            return new Timestamp(System.currentTimeMillis());
+        }
+        try {
+            return Timestamp.from(Instant.parse(value.toString()));
+        } catch (RuntimeException e) {
+            throw ApiException.badRequest("Field '" + name + "' must be an ISO-8601 instant");
+        }
+    }
+
+    private static String timestamp(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant().toString();
+    }
+}
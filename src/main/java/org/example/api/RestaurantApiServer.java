@@ -0,0 +1,602 @@
+package org.example.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.dao.UniqueKeyRegistry;
+import org.example.jdbc.SlowQueryLog;
+import org.example.metrics.Instrumentation;
+import org.example.metrics.MetricsRegistry;
+import org.example.model.Bill;
+import org.example.model.MenuItem;
+import org.example.model.Order;
+import org.example.model.Payment;
+import org.example.model.Session;
+import org.example.model.Table;
+import org.example.model.TableBooking;
+import org.example.model.User;
+import org.example.model.WaitlistEntry;
+import org.example.service.impl.AuthServiceImpl;
+import org.example.service.impl.BookingNoShowScheduler;
+import org.example.service.impl.BillServiceAsyncImpl;
+import org.example.service.impl.BillServiceImpl;
+import org.example.service.impl.MenuItemServiceImpl;
+import org.example.service.impl.OrderServiceAsyncImpl;
+import org.example.service.impl.OrderServiceImpl;
+import org.example.service.impl.PaymentServiceImpl;
+import org.example.service.impl.TableServiceAsyncImpl;
+import org.example.service.impl.TableServiceImpl;
+import org.example.service.impl.TurnTimeRecorder;
+import org.example.service.impl.WaiterAssignmentServiceImpl;
+import org.example.service.impl.WaitlistServiceImpl;
+import org.example.service.interfaces.AuthService;
+import org.example.service.interfaces.BillService;
+import org.example.service.interfaces.BillServiceAsync;
+import org.example.service.interfaces.MenuItemService;
+import org.example.service.interfaces.OrderService;
+import org.example.service.interfaces.OrderServiceAsync;
+import org.example.service.interfaces.PaymentService;
+import org.example.service.interfaces.TableService;
+import org.example.service.interfaces.TableServiceAsync;
+import org.example.service.interfaces.WaiterAssignmentService;
+import org.example.service.interfaces.WaitlistService;
+import org.example.util.DatabaseUtil;
+import org.example.util.LogLinearHistogram;
+import org.example.util.VirtualThreads;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP/JSON API over the service layer. Each request runs on its own virtual thread
+ * (platform thread pool on runtimes without them); database access goes through the shared
+ * pool in {@link DatabaseUtil}. When an {@link AuthService} is supplied every route except
+ * {@code POST /api/login} needs an {@code Authorization: Bearer <token>} header, and deletes
+ * are limited to managers and admins.
+ */
+public class RestaurantApiServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 1024;
+    private static final int FALLBACK_WORKER_THREADS = 64;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final String LOGIN_PATH = "/api/login";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final OrderService orderService;
+    private final TableService tableService;
+    private final BillService billService;
+    private final PaymentService paymentService;
+    private final MenuItemService menuItemService;
+    private final AuthService authService;
+    private final WaitlistService waitlistService;
+    private final TurnTimeRecorder turnTimes;
+    private final WaiterAssignmentService waiterAssignment;
+    private final BookingNoShowScheduler noShowScheduler;
+    private final AtomicInteger nextBookingId = new AtomicInteger(1);
+    private final OrderServiceAsync orderServiceAsync;
+    private final TableServiceAsync tableServiceAsync;
+    private final BillServiceAsync billServiceAsync;
+
+    public RestaurantApiServer(InetSocketAddress address, OrderService orderService, TableService tableService,
+                               BillService billService, PaymentService paymentService,
+                               MenuItemService menuItemService, AuthService authService) throws IOException {
+        this(address, orderService, tableService, billService, paymentService, menuItemService, authService, null, null);
+    }
+
+    public RestaurantApiServer(InetSocketAddress address, OrderService orderService, TableService tableService,
+                               BillService billService, PaymentService paymentService,
+                               MenuItemService menuItemService, AuthService authService,
+                               WaitlistService waitlistService, TurnTimeRecorder turnTimes) throws IOException {
+        this(address, orderService, tableService, billService, paymentService, menuItemService, authService,
+                waitlistService, turnTimes, null, null);
+    }
+
+    /**
+     * With a {@code waiterAssignment}, orders posted without a waiter id get the least-loaded
+     * waiter on shift; it should already be listening to {@code orderService}. With a
+     * {@code noShowScheduler} over the same {@code tableService}, every booking made here gets
+     * a no-show timer.
+     */
+    public RestaurantApiServer(InetSocketAddress address, OrderService orderService, TableService tableService,
+                               BillService billService, PaymentService paymentService,
+                               MenuItemService menuItemService, AuthService authService,
+                               WaitlistService waitlistService, TurnTimeRecorder turnTimes,
+                               WaiterAssignmentService waiterAssignment,
+                               BookingNoShowScheduler noShowScheduler) throws IOException {
+        this.orderService = orderService;
+        this.tableService = tableService;
+        this.billService = billService;
+        this.paymentService = paymentService;
+        this.menuItemService = menuItemService;
+        this.authService = authService;
+        this.waitlistService = waitlistService;
+        this.turnTimes = turnTimes;
+        this.waiterAssignment = waiterAssignment;
+        this.noShowScheduler = noShowScheduler;
+        this.orderServiceAsync = new OrderServiceAsyncImpl(orderService);
+        this.tableServiceAsync = new TableServiceAsyncImpl(tableService);
+        this.billServiceAsync = new BillServiceAsyncImpl(billService);
+        this.executor = VirtualThreads.newThreadPerTaskExecutor("rms-api", FALLBACK_WORKER_THREADS);
+        this.server = HttpServer.create(address, BACKLOG);
+        this.server.createContext("/api", buildRouter());
+        if (MetricsRegistry.isEnabled()) {
+            this.server.createContext("/metrics", RestaurantApiServer::serveMetrics);
+        }
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    // Prometheus text exposition; unauthenticated like any scrape target, and bound to loopback by default
+    private static void serveMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] bytes = MetricsRegistry.shared().scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    private Router buildRouter() {
+        Router router = new Router();
+        if (authService != null) {
+            router.guard(this::checkSession);
+            registerAuthRoutes(router);
+        }
+        registerOrderRoutes(router);
+        registerTableRoutes(router);
+        registerBillRoutes(router);
+        registerPaymentRoutes(router);
+        registerMenuRoutes(router);
+        if (waitlistService != null) {
+            registerWaitlistRoutes(router);
+        }
+        if (turnTimes != null) {
+            router.get("/api/turn-times", this::turnTimePercentiles);
+        }
+        if (waiterAssignment != null) {
+            router.get("/api/waiters/load", request -> waiterAssignment.getWaiterLoads().stream().map(ModelJson::toJson).toList());
+        }
+        router.get("/api/pos-summary", request -> loadPosSummary().join());
+        router.get("/api/sql/top", this::topStatements);
+        return router;
+    }
+
+    private void registerAuthRoutes(Router router) {
+        router.post(LOGIN_PATH, request -> {
+            Session session;
+            try {
+                session = authService.login(ModelJson.stringField(request.body(), "username"),
+                        ModelJson.stringField(request.body(), "password")).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RejectedExecutionException) {
+                    throw new ApiException(503, "Too many logins in progress, try again");
+                }
+                throw e;
+            }
+            if (session == null) {
+                throw new ApiException(401, "Invalid username or password");
+            }
+            return ModelJson.toJson(session);
+        });
+        router.post("/api/logout", request -> {
+            authService.logout(request.session().getToken());
+            return null;
+        });
+    }
+
+    private void checkSession(ApiRequest request) {
+        if (LOGIN_PATH.equals(request.path())) {
+            return;
+        }
+        String authorization = request.header("Authorization");
+        String token = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length()).trim() : null;
+        Session session = authService.getSession(token);
+        if (session == null) {
+            throw new ApiException(401, "Login required");
+        }
+        if ("DELETE".equals(request.method()) && session.getRole() != User.Role.Manager && session.getRole() != User.Role.Admin) {
+            throw new ApiException(403, "Only managers can delete records");
+        }
+        request.setSession(session);
+    }
+
+    private void registerOrderRoutes(Router router) {
+        router.get("/api/orders", request -> findOrders(request).stream().map(ModelJson::toJson).toList());
+        router.get("/api/orders/{id}", request -> ModelJson.toJson(requireOrder(request.pathInt("id"))));
+        router.post("/api/orders", request -> {
+            Order order = ModelJson.toOrder(request.body());
+            if (order.getWaiterId() <= 0 && waiterAssignment != null && waiterAssignment.assignWaiter(order) < 0) {
+                throw new ApiException(409, "No waiter is on shift for table " + order.getTableId());
+            }
+            orderService.placeOrder(order);
+            return ModelJson.toJson(order);
+        });
+        router.put("/api/orders/{id}", request -> {
+            Order order = ModelJson.toOrder(request.body());
+            order.setOrderId(requireOrder(request.pathInt("id")).getOrderId());
+            orderService.updateOrder(order);
+            return ModelJson.toJson(order);
+        });
+        router.put("/api/orders/{id}/status", request -> {
+            Order.Status status = ModelJson.enumField(request.body(), "status", Order.Status.class, null);
+            int orderId = request.pathInt("id");
+            if (!orderService.updateOrderStatus(orderId, status)) {
+                throw ApiException.notFound("Order " + orderId + " not found");
+            }
+            return ModelJson.toJson(requireOrder(orderId));
+        });
+        router.delete("/api/orders/{id}", request -> {
+            orderService.deleteOrder(request.pathInt("id"));
+            return null;
+        });
+    }
+
+    private void registerTableRoutes(Router router) {
+        router.get("/api/tables", request -> tableService.getAllTables().stream().map(ModelJson::toJson).toList());
+        router.get("/api/tables/{id}", request -> ModelJson.toJson(requireTable(request.pathInt("id"))));
+        router.post("/api/tables", request -> {
+            Table table = ModelJson.toTable(request.body());
+            tableService.addTable(table);
+            return ModelJson.toJson(table);
+        });
+        router.put("/api/tables/{id}", request -> {
+            Table table = ModelJson.toTable(request.body());
+            Table current = requireTable(request.pathInt("id"));
+            table.setTableId(current.getTableId());
+            Table.Status requested = table.getStatus();
+            if (requested != null && requested != current.getStatus()
+                    && !tableService.transitionTable(current.getTableId(), current.getStatus(), requested)) {
+                throw new ApiException(409, "Table " + current.getTableId() + " cannot move from "
+                        + current.getStatus() + " to " + requested);
+            }
+            table.setStatus(null);
+            tableService.updateTable(table);
+            return ModelJson.toJson(requireTable(current.getTableId()));
+        });
+        router.delete("/api/tables/{id}", request -> {
+            tableService.deleteTable(request.pathInt("id"));
+            return null;
+        });
+        router.post("/api/tables/{id}/bookings", request -> {
+            TableBooking booking = ModelJson.toTableBooking(withTableId(request));
+            requireTable(booking.getTableId());
+            booking.setBookingId(nextBookingId.getAndIncrement());
+            if (!tableService.bookTable(booking)) {
+                throw new ApiException(409, "Table " + booking.getTableId() + " is not available");
+            }
+            if (noShowScheduler != null) {
+                noShowScheduler.schedule(booking);
+            }
+            return ModelJson.toJson(requireTable(booking.getTableId()));
+        });
+        router.post("/api/tables/{id}/seat", request -> {
+            int tableId = requireTable(request.pathInt("id")).getTableId();
+            if (!tableService.seatTable(tableId)) {
+                throw new ApiException(409, "Table " + tableId + " cannot be seated");
+            }
+            return ModelJson.toJson(requireTable(tableId));
+        });
+        router.post("/api/tables/{id}/release", request -> {
+            int tableId = requireTable(request.pathInt("id")).getTableId();
+            if (!tableService.releaseTable(tableId)) {
+                throw new ApiException(409, "Table " + tableId + " is already available");
+            }
+            return ModelJson.toJson(requireTable(tableId));
+        });
+        router.get("/api/floor", request -> ModelJson.toJson(tableService.getFloorSnapshot()));
+    }
+
+    private void registerBillRoutes(Router router) {
+        router.get("/api/bills", request -> {
+            Bill bill = billService.getBillByOrderId(request.queryInt("orderId"));
+            if (bill == null) {
+                throw ApiException.notFound("No bill for order " + request.query("orderId"));
+            }
+            return ModelJson.toJson(bill);
+        });
+        router.post("/api/bills", request -> {
+            Bill bill = ModelJson.toBill(request.body());
+            billService.generateBill(bill);
+            return ModelJson.toJson(bill);
+        });
+        router.put("/api/bills/{id}/payment-status", request -> {
+            Bill.PaymentStatus status = ModelJson.enumField(request.body(), "paymentStatus", Bill.PaymentStatus.class, null);
+            billService.updatePaymentStatus(request.pathInt("id"), status.name());
+            return null;
+        });
+    }
+
+    private void registerPaymentRoutes(Router router) {
+        router.get("/api/payments", request -> {
+            Payment payment = paymentService.getPaymentByBillId(request.queryInt("billId"));
+            if (payment == null) {
+                throw ApiException.notFound("No payment for bill " + request.query("billId"));
+            }
+            return ModelJson.toJson(payment);
+        });
+        router.post("/api/payments", request -> {
+            Payment payment = ModelJson.toPayment(request.body());
+            paymentService.processPayment(payment);
+            return ModelJson.toJson(payment);
+        });
+    }
+
+    private void registerWaitlistRoutes(Router router) {
+        router.get("/api/waitlist", request -> waitlistService.getWaitingParties().stream().map(ModelJson::toJson).toList());
+        router.get("/api/waitlist/quote", request -> {
+            int partySize = request.queryInt("partySize");
+            Timestamp estimate = waitlistService.estimateSeatTime(partySize);
+            Map<String, Object> quote = new LinkedHashMap<>();
+            quote.put("partySize", partySize);
+            quote.put("estimatedSeatAt", estimate == null ? null : estimate.toInstant().toString());
+            return quote;
+        });
+        router.get("/api/waitlist/{id}", request -> ModelJson.toJson(requireWaitlistEntry(request.pathInt("id"))));
+        router.post("/api/waitlist", request -> {
+            Map<String, Object> body = request.body();
+            int partySize = ModelJson.intField(body, "partySize");
+            if (partySize <= 0) {
+                throw ApiException.badRequest("Field 'partySize' must be positive");
+            }
+            String phone = body.get("phone") == null ? null : ModelJson.stringField(body, "phone");
+            return ModelJson.toJson(waitlistService.addParty(ModelJson.stringField(body, "partyName"), partySize, phone));
+        });
+        router.post("/api/waitlist/{id}/seat", request -> {
+            int entryId = requireWaitlistEntry(request.pathInt("id")).getEntryId();
+            WaitlistEntry seated = waitlistService.seatParty(entryId, ModelJson.intField(request.body(), "tableId", 0));
+            if (seated == null) {
+                throw new ApiException(409, "No free table fits waitlist entry " + entryId);
+            }
+            return ModelJson.toJson(seated);
+        });
+        router.delete("/api/waitlist/{id}", request -> {
+            waitlistService.cancelParty(request.pathInt("id"));
+            return null;
+        });
+    }
+
+    private Map<String, Object> turnTimePercentiles(ApiRequest request) {
+        TurnTimeRecorder.Stage stage;
+        try {
+            stage = request.query("stage") == null ? TurnTimeRecorder.Stage.TURN
+                    : TurnTimeRecorder.Stage.valueOf(request.query("stage"));
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest("Invalid stage '" + request.query("stage") + "'");
+        }
+        int capacity = request.query("capacity") == null ? 0 : request.queryInt("capacity");
+        int hour = request.query("hour") == null ? -1 : request.queryInt("hour");
+        LogLinearHistogram histogram = turnTimes.getHistogram(stage, capacity, hour);
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("stage", stage);
+        json.put("capacity", capacity > 0 ? capacity : null);
+        json.put("hour", hour >= 0 ? hour : null);
+        json.put("count", histogram.getTotalCount());
+        json.put("p50Seconds", histogram.getValueAtPercentile(50));
+        json.put("p90Seconds", histogram.getValueAtPercentile(90));
+        json.put("p99Seconds", histogram.getValueAtPercentile(99));
+        json.put("maxSeconds", histogram.getMax());
+        return json;
+    }
+
+    private List<Map<String, Object>> topStatements(ApiRequest request) {
+        int limit = request.query("limit") == null ? DEFAULT_SEARCH_LIMIT : request.queryInt("limit");
+        if (limit <= 0) {
+            throw ApiException.badRequest("limit must be positive");
+        }
+        return SlowQueryLog.shared().getTopStatements(limit).stream().map(stats -> {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("fingerprintId", stats.getFingerprintId());
+            json.put("fingerprint", stats.getFingerprint());
+            json.put("calls", stats.getCalls());
+            json.put("slowCalls", stats.getSlowCalls());
+            json.put("errors", stats.getErrors());
+            json.put("rows", stats.getRows());
+            json.put("totalMillis", stats.getTotalNanos() / 1_000_000);
+            json.put("fetchMillis", stats.getFetchNanos() / 1_000_000);
+            json.put("meanMillis", stats.getMeanMillis());
+            json.put("maxMillis", stats.getMaxNanos() / 1_000_000);
+            return json;
+        }).toList();
+    }
+
+    private void registerMenuRoutes(Router router) {
+        router.get("/api/menu", request -> findMenuItems(request).stream().map(ModelJson::toJson).toList());
+        router.get("/api/menu/search", request -> {
+            String query = request.query("q");
+            if (query == null) {
+                throw ApiException.badRequest("Missing query parameter 'q'");
+            }
+            int limit = request.query("limit") == null ? DEFAULT_SEARCH_LIMIT : request.queryInt("limit");
+            return menuItemService.searchMenuItems(query, limit).stream().map(ModelJson::toJson).toList();
+        });
+        router.get("/api/menu/{id}", request -> ModelJson.toJson(requireMenuItem(request.pathInt("id"))));
+        router.post("/api/menu", request -> {
+            MenuItem item = ModelJson.toMenuItem(request.body());
+            menuItemService.addMenuItem(item);
+            return ModelJson.toJson(item);
+        });
+        router.put("/api/menu/{id}", request -> {
+            MenuItem item = ModelJson.toMenuItem(request.body());
+            item.setItemId(requireMenuItem(request.pathInt("id")).getItemId());
+            menuItemService.updateMenuItem(item);
+            return ModelJson.toJson(item);
+        });
+        router.put("/api/menu/{id}/availability", request -> {
+            Object available = request.body().get("available");
+            if (!(available instanceof Boolean)) {
+                throw ApiException.badRequest("Field 'available' must be a boolean");
+            }
+            int itemId = request.pathInt("id");
+            if (!menuItemService.setMenuItemAvailability(itemId, (Boolean) available)) {
+                throw ApiException.notFound("Menu item " + itemId + " not found");
+            }
+            return ModelJson.toJson(requireMenuItem(itemId));
+        });
+        router.delete("/api/menu/{id}", request -> {
+            menuItemService.deleteMenuItem(request.pathInt("id"));
+            return null;
+        });
+    }
+
+    private List<MenuItem> findMenuItems(ApiRequest request) {
+        MenuItem.Category category = request.query("category") == null ? null : MenuItem.Category.valueOf(request.query("category"));
+        double minPrice = request.query("minPrice") == null ? Double.NEGATIVE_INFINITY : Double.parseDouble(request.query("minPrice"));
+        double maxPrice = request.query("maxPrice") == null ? Double.POSITIVE_INFINITY : Double.parseDouble(request.query("maxPrice"));
+        boolean availableOnly = Boolean.parseBoolean(request.query("available"));
+        return menuItemService.findMenuItems(category, minPrice, maxPrice, availableOnly);
+    }
+
+    private List<Order> findOrders(ApiRequest request) {
+        boolean openOnly = Boolean.parseBoolean(request.query("open"));
+        if (request.query("tableId") != null) {
+            int tableId = request.queryInt("tableId");
+            return openOnly ? orderService.getOpenOrdersByTable(tableId) : orderService.getOrdersByTable(tableId);
+        }
+        if (request.query("waiterId") != null) {
+            int waiterId = request.queryInt("waiterId");
+            return openOnly ? orderService.getOpenOrdersByWaiter(waiterId) : orderService.getOrdersByWaiter(waiterId);
+        }
+        if (request.query("status") != null) {
+            return orderService.getOrdersByStatus(Order.Status.valueOf(request.query("status")));
+        }
+        return orderService.getAllOrders();
+    }
+
+    private CompletableFuture<Map<String, Object>> loadPosSummary() {
+        CompletableFuture<List<Table>> tables = tableServiceAsync.getAllTables();
+        CompletableFuture<List<Order>> orders = orderServiceAsync.getAllOrders();
+        CompletableFuture<List<Bill>> unpaidBills = billServiceAsync.getUnpaidBills();
+        return CompletableFuture.allOf(tables, orders, unpaidBills).thenApply(ignored -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("tables", tables.join().stream().map(ModelJson::toJson).toList());
+            summary.put("openOrders", orders.join().stream()
+                    .filter(order -> order.getStatus() != Order.Status.Completed)
+                    .map(ModelJson::toJson).toList());
+            List<Bill> bills = unpaidBills.join();
+            summary.put("unpaidBills", bills == null ? List.of() : bills.stream().map(ModelJson::toJson).toList());
+            return summary;
+        });
+    }
+
+    private Map<String, Object> withTableId(ApiRequest request) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>(request.body());
+        body.put("tableId", (long) request.pathInt("id"));
+        return body;
+    }
+
+    private Order requireOrder(int orderId) {
+        Order order = orderService.getOrderById(orderId);
+        if (order == null) {
+            throw ApiException.notFound("Order " + orderId + " not found");
+        }
+        return order;
+    }
+
+    private MenuItem requireMenuItem(int itemId) {
+        MenuItem item = menuItemService.getMenuItemById(itemId);
+        if (item == null) {
+            throw ApiException.notFound("Menu item " + itemId + " not found");
+        }
+        return item;
+    }
+
+    private WaitlistEntry requireWaitlistEntry(int entryId) {
+        WaitlistEntry entry = waitlistService.getEntry(entryId);
+        if (entry == null) {
+            throw ApiException.notFound("Waitlist entry " + entryId + " not found");
+        }
+        return entry;
+    }
+
+    private Table requireTable(int tableId) {
+        Table table = tableService.getTableById(tableId);
+        if (table == null) {
+            throw ApiException.notFound("Table " + tableId + " not found");
+        }
+        return table;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("rms.api.port", DEFAULT_PORT);
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        OrderServiceImpl orderService = new OrderServiceImpl();
+        TableServiceImpl tableService = new TableServiceImpl();
+        BillServiceImpl billService = new BillServiceImpl();
+        PaymentServiceImpl paymentService = new PaymentServiceImpl();
+        TurnTimeRecorder turnTimes = new TurnTimeRecorder();
+        WaiterAssignmentServiceImpl waiterAssignment = new WaiterAssignmentServiceImpl();
+        waiterAssignment.recordOpenOrders(orderService.getAllOrders());
+        orderService.addListener(waiterAssignment);
+        BookingNoShowScheduler noShowScheduler = new BookingNoShowScheduler(tableService);
+        orderService.addListener(turnTimes);
+        tableService.addListener(turnTimes);
+        tableService.addListener(noShowScheduler);
+        billService.addListener(turnTimes);
+        paymentService.addListener(turnTimes);
+        RestaurantApiServer apiServer = new RestaurantApiServer(address,
+                Instrumentation.service(OrderService.class, orderService),
+                Instrumentation.service(TableService.class, tableService),
+                Instrumentation.service(BillService.class, billService),
+                Instrumentation.service(PaymentService.class, paymentService),
+                Instrumentation.service(MenuItemService.class, new MenuItemServiceImpl()),
+                Boolean.parseBoolean(System.getProperty("rms.api.auth", "true"))
+                        ? Instrumentation.service(AuthService.class, new AuthServiceImpl()) : null,
+                Instrumentation.service(WaitlistService.class, new WaitlistServiceImpl(tableService, turnTimes)),
+                turnTimes,
+                Instrumentation.service(WaiterAssignmentService.class, waiterAssignment),
+                noShowScheduler);
+        // loaded now so the first sign-up does not pay for scanning users and customers
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            UniqueKeyRegistry.shared().load(connection);
+        } catch (SQLException e) {
+            System.out.println("Unique-key filters not loaded (" + e.getMessage() + "); they load on first use");
+        }
+        apiServer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            apiServer.stop(2);
+            noShowScheduler.close();
+            DatabaseUtil.getPool().close();
+        }));
+        System.out.println("Restaurant API listening on http://" + address.getHostString() + ":" + port + "/api"
+                + (VirtualThreads.isSupported() ? " (virtual threads)" : " (platform threads)")
+                + " with " + DatabaseUtil.getPool().getMaxSize() + " pooled connections");
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.example.util.JsonUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Router implements HttpHandler {
+
+    @FunctionalInterface
+    public interface Handler {
+        Object handle(ApiRequest request) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Guard {
+        void check(ApiRequest request) throws ApiException;
+    }
+
+    private final List<Route> routes = new ArrayList<>();
+    private Guard guard;
+
+    /** Runs before every matched handler; throw an {@link ApiException} to refuse the request. */
+    public Router guard(Guard guard) {
+        this.guard = guard;
+        return this;
+    }
+
+    public Router get(String pattern, Handler handler) {
+        return add("GET", pattern, handler);
+    }
+
+    public Router post(String pattern, Handler handler) {
+        return add("POST", pattern, handler);
+    }
+
+    public Router put(String pattern, Handler handler) {
+        return add("PUT", pattern, handler);
+    }
+
+    public Router delete(String pattern, Handler handler) {
+        return add("DELETE", pattern, handler);
+    }
+
+    private Router add(String method, String pattern, Handler handler) {
+        routes.add(new Route(method, pattern, handler));
+        return this;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String[] segments = split(exchange.getRequestURI().getPath());
+            boolean pathMatched = false;
+            for (Route route : routes) {
+                Map<String, String> pathParams = route.match(segments);
+                if (pathParams == null) {
+                    continue;
+                }
+                pathMatched = true;
+                if (route.method.equals(method)) {
+                    ApiRequest request = new ApiRequest(exchange, pathParams);
+                    if (guard != null) {
+                        guard.check(request);
+                    }
+                    Object result = route.handler.handle(request);
+                    if (result == null) {
+                        send(exchange, 204, null);
+                    } else {
+                        send(exchange, "POST".equals(method) ? 201 : 200, result);
+                    }
+                    return;
+                }
+            }
+            throw pathMatched ? new ApiException(405, "Method not allowed") : ApiException.notFound("No route for " + method + " " + exchange.getRequestURI().getPath());
+        } catch (ApiException e) {
+            send(exchange, e.getStatusCode(), error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (Exception e) {
+            e.printStackTrace();
+            send(exchange, 500, error("Internal server error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", message);
+        return body;
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = JsonUtil.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private static class Route {
+        private final String method;
+        private final String[] segments;
+        private final Handler handler;
+
+        Route(String method, String pattern, Handler handler) {
+            this.method = method;
+            this.segments = split(pattern);
+            this.handler = handler;
+        }
+
+        Map<String, String> match(String[] pathSegments) {
+            if (pathSegments.length != segments.length) {
+                return null;
+            }
+            Map<String, String> params = new HashMap<>();
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.startsWith("{") && segment.endsWith("}")) {
+                    params.put(segment.substring(1, segment.length() - 1), pathSegments[i]);
+                } else if (!segment.equals(pathSegments[i])) {
+                    return null;
+                }
+            }
+            return params;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.contoller;
 
+import org.example.dao.DuplicateKeyException;
+import org.example.metrics.Instrumentation;
 import org.example.model.Customer;
 import org.example.service.impl.CustomerServiceImpl;
 import org.example.service.interfaces.CustomerService;
@@ -11,7 +13,7 @@ public class CustomerController {
     private final Scanner scanner;
 
     public CustomerController() {
-        this.customerService = new CustomerServiceImpl();
+        this.customerService = Instrumentation.service(CustomerService.class, new CustomerServiceImpl());
         this.scanner = new Scanner(System.in);
     }
 
@@ -26,9 +28,15 @@ public class CustomerController {
         String email = scanner.nextLine();
 
         Customer customer = new Customer(0, name, phone, email, true, new java.sql.Timestamp(System.currentTimeMillis()));
-        customerService.addCustomer(customer);
-
-        System.out.println("Customer added successfully!");
+        try {
+            if (customerService.addCustomer(customer)) {
+                System.out.println("Customer added successfully!");
+            } else {
+                System.out.println("Customer could not be added.");
+            }
+        } catch (DuplicateKeyException e) {
+            System.out.println("Customer could not be added: " + e.getMessage());
+        }
     }
 
     public void getCustomerById() {
@@ -1,5 +1,6 @@
 package org.example.contoller;
 
+import org.example.metrics.Instrumentation;
 import org.example.model.Order;
 import org.example.service.impl.OrderServiceImpl;
 import org.example.service.interfaces.OrderService;
@@ -10,7 +11,7 @@ public class OrderController {
     private final Scanner scanner;
 
     public OrderController() {
-        this.orderService = new OrderServiceImpl();
+        this.orderService = Instrumentation.service(OrderService.class, new OrderServiceImpl());
         this.scanner = new Scanner(System.in);
     }
 
@@ -1,8 +1,10 @@
 package org.example.contoller;
 
+import org.example.metrics.Instrumentation;
 import org.example.model.Payment;
 import org.example.service.impl.PaymentServiceImpl;
 import org.example.service.interfaces.PaymentService;
+import org.example.util.Money;
 import java.util.Scanner;
 
 public class PaymentController {
@@ -10,7 +12,7 @@ public class PaymentController {
     private final Scanner scanner;
 
     public PaymentController() {
-        this.paymentService = new PaymentServiceImpl();
+        this.paymentService = Instrumentation.service(PaymentService.class, new PaymentServiceImpl());
         this.scanner = new Scanner(System.in);
     }
 
@@ -19,7 +21,7 @@ public class PaymentController {
         int billId = scanner.nextInt();
 
         System.out.println("Enter Payment Amount:");
-        double amount = scanner.nextDouble();
+        long amount = Money.parse(scanner.next());
 
         System.out.println("Enter Payment Method (Cash/Card/UPI/Wallet):");
         String method = scanner.next();
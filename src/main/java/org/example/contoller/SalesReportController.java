@@ -1,8 +1,10 @@
 package org.example.contoller;
 
+import org.example.metrics.Instrumentation;
 import org.example.model.SalesReport;
 import org.example.service.interfaces.SalesReportService;
 import org.example.service.impl.SalesReportServiceImpl;
+import org.example.util.Money;
 
 import java.util.Scanner;
 
@@ -11,7 +13,7 @@ public class SalesReportController {
     private final Scanner scanner;
 
     public SalesReportController() {
-        this.salesReportService = new SalesReportServiceImpl();
+        this.salesReportService = Instrumentation.service(SalesReportService.class, new SalesReportServiceImpl());
         this.scanner = new Scanner(System.in);
     }
 
@@ -20,7 +22,7 @@ public class SalesReportController {
         String date = scanner.next();
 
         System.out.println("Enter Total Sales:");
-        double totalSales = scanner.nextDouble();
+        long totalSales = Money.parse(scanner.next());
 
         System.out.println("Enter Total Orders:");
         int totalOrders = scanner.nextInt();
@@ -2,6 +2,7 @@ package org.example.contoller;
 
 
 
+import org.example.metrics.Instrumentation;
 import org.example.model.Table;
 import org.example.model.TableBooking;
 import org.example.service.impl.TableServiceImpl;
@@ -13,7 +14,7 @@ public class TableBookingController {
     private final Scanner scanner;
 
     public TableBookingController() {
-        this.tableBookingService = new TableServiceImpl();
+        this.tableBookingService = Instrumentation.service(TableService.class, new TableServiceImpl());
         this.scanner = new Scanner(System.in);
     }
 
@@ -33,8 +34,11 @@ public class TableBookingController {
         TableBooking tableBooking = new TableBooking(0, customerId, tableId, java.sql.Date.valueOf(date),
                 java.sql.Time.valueOf(time), TableBooking.Status.Confirmed, new java.sql.Timestamp(System.currentTimeMillis()));
 
-        tableBookingService.bookTable(tableBooking);
-        System.out.println("Table booked successfully!");
+        if (tableBookingService.bookTable(tableBooking)) {
+            System.out.println("Table booked successfully!");
+        } else {
+            System.out.println("Table is not available for booking.");
+        }
     }
 
     public void viewBookingById() {
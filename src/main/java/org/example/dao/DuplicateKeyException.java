@@ -0,0 +1,26 @@
+package org.example.dao;
+
+/**
+ * Thrown by the DAOs when a row would repeat a value behind one of the UNIQUE constraints
+ * tracked by {@link UniqueKeyRegistry}, whether the pre-check or the constraint itself caught it.
+ */
+public class DuplicateKeyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final UniqueKeyRegistry.Key key;
+    private final String value;
+
+    public DuplicateKeyException(UniqueKeyRegistry.Key key, String value) {
+        super(key.column() + " '" + value + "' is already taken");
+        this.key = key;
+        this.value = value;
+    }
+
+    public UniqueKeyRegistry.Key getKey() {
+        return key;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -2,6 +2,7 @@ package org.example.dao;
 
 import org.example.dao.impl.*;
 import org.example.dao.interfaces.*;
+import org.example.metrics.Instrumentation;
 
 import java.sql.Connection;
 
@@ -14,46 +15,50 @@ public class RestaurantDaoFactory {
     }
 
     public UserDao getUserDAO() {
-        return new UserDaoImpl(connection);
+        return Instrumentation.dao(UserDao.class, new UserDaoImpl(connection));
     }
 
     public CustomerDao getCustomerDAO() {
-        return new CustomerDaoImpl(connection);
+        return Instrumentation.dao(CustomerDao.class, new CustomerDaoImpl(connection));
     }
 
     public TableDao getTableDAO() {
-        return new TableDaoImpl(connection);
+        return Instrumentation.dao(TableDao.class, new TableDaoImpl(connection));
     }
 
     public TableBookingDao getTableBookingDAO() {
-        return new TableBookingDaoImpl(connection);
+        return Instrumentation.dao(TableBookingDao.class, new TableBookingDaoImpl(connection));
     }
 
     public MenuItemDao getMenuItemDAO() {
-        return new MenuItemDaoImpl(connection);
+        return Instrumentation.dao(MenuItemDao.class, new MenuItemDaoImpl(connection));
     }
 
     public OrderDao getOrderDAO() {
-        return new OrderDaoImpl(connection);
+        return Instrumentation.dao(OrderDao.class, new OrderDaoImpl(connection));
     }
 
     public OrderItemDao getOrderItemDAO() {
-        return new OrderItemDaoImpl(connection);
+        return Instrumentation.dao(OrderItemDao.class, new OrderItemDaoImpl(connection));
     }
 
     public BillDao getBillDAO() {
-        return new BilDaoImpl(connection);
+        return Instrumentation.dao(BillDao.class, new BilDaoImpl(connection));
     }
 
     public PaymentDao getPaymentDAO() {
-        return new PaymentDaoImpl(connection);
+        return Instrumentation.dao(PaymentDao.class, new PaymentDaoImpl(connection));
     }
 
     public EmployeeDao getEmployeeDAO() {
-        return new EmployeeDaoImpl(connection);
+        return Instrumentation.dao(EmployeeDao.class, new EmployeeDaoImpl(connection));
     }
 
     public SalesReportDao getSalesReportDAO() {
-        return new SalesReportDaoImpl(connection);
+        return Instrumentation.dao(SalesReportDao.class, new SalesReportDaoImpl(connection));
+    }
+
+    public BulkDataDao getBulkDataDAO() {
+        return Instrumentation.dao(BulkDataDao.class, new BulkDataDaoImpl(connection));
     }
 }
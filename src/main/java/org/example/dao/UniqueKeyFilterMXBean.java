@@ -0,0 +1,14 @@
+package org.example.dao;
+
+/** JMX view of one {@link UniqueKeyRegistry} filter and the checks made against it. */
+public interface UniqueKeyFilterMXBean {
+    long getEntries();
+    long getStaleEntries();
+    long getBitSize();
+    double getExpectedFalsePositiveRate();
+    double getObservedFalsePositiveRate();
+    long getChecks();
+    long getProbableHits();
+    long getConfirmedHits();
+    long getFalsePositives();
+}
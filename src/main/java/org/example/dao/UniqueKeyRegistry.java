@@ -0,0 +1,324 @@
+package org.example.dao;
+
+import org.example.metrics.MetricsRegistry;
+import org.example.util.ScalableBloomFilter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide Bloom filters over the values behind the UNIQUE constraints on
+ * {@code users.username}, {@code users.email} and {@code customers.email}. The DAOs ask it
+ * before inserting: a filter miss means the value is certainly new, so the INSERT goes ahead
+ * without a lookup; a probable hit is confirmed with one indexed SELECT, and a confirmed
+ * duplicate is rejected with a {@link DuplicateKeyException} without a failing INSERT.
+ *
+ * <p>The API server and the console load the filters with {@link #load(Connection)} when they
+ * open the database; otherwise they load on first use. Bloom filters cannot forget, so deletes and updates
+ * only count stale entries; once more than a quarter of the entries are stale the filters
+ * are rebuilt on the next check. Rows inserted by other processes are not seen until then,
+ * so the UNIQUE constraints stay the final guard.
+ *
+ * <p>The shared registry publishes each filter's size and expected and observed false-positive
+ * rates as an MXBean under {@code org.example:type=UniqueKeyFilter} and in the metrics scrape.
+ */
+public class UniqueKeyRegistry {
+
+    public enum Key {
+        USER_USERNAME("users", "username"),
+        USER_EMAIL("users", "email"),
+        CUSTOMER_EMAIL("customers", "email");
+
+        private final String table;
+        private final String column;
+
+        Key(String table, String column) {
+            this.table = table;
+            this.column = column;
+        }
+
+        public String column() {
+            return column;
+        }
+    }
+
+    private static final double FALSE_POSITIVE_RATE = 0.005;
+    private static final int MIN_CAPACITY = 1024;
+    private static final double STALE_REBUILD_RATIO = 0.25;
+    private static final int LOAD_FETCH_SIZE = 10_000;
+
+    private static final UniqueKeyRegistry SHARED = new UniqueKeyRegistry();
+
+    static {
+        if (MetricsRegistry.isEnabled()) {
+            SHARED.registerMetrics(MetricsRegistry.shared());
+        }
+    }
+
+    private final Map<Key, Tracked> tracked = new EnumMap<>(Key.class);
+    private volatile boolean loaded;
+
+    public UniqueKeyRegistry() {
+        for (Key key : Key.values()) {
+            tracked.put(key, new Tracked());
+        }
+    }
+
+    public static UniqueKeyRegistry shared() {
+        return SHARED;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** (Re)builds every filter from the current table contents. */
+    public synchronized void load(Connection connection) throws SQLException {
+        for (Key key : Key.values()) {
+            Tracked entry = tracked.get(key);
+            entry.filter = loadFilter(connection, key);
+            entry.stale.reset();
+        }
+        loaded = true;
+    }
+
+    /**
+     * True when {@code value} is already taken. Values the filter has never seen are
+     * answered without touching the database.
+     */
+    public boolean isTaken(Connection connection, Key key, String value) throws SQLException {
+        if (value == null) {
+            return false;
+        }
+        ensureFresh(connection);
+        Tracked entry = tracked.get(key);
+        entry.checks.increment();
+        if (!entry.filter.mightContain(value)) {
+            return false;
+        }
+        entry.probableHits.increment();
+        String sql = "SELECT 1 FROM " + key.table + " WHERE " + key.column + " = ? LIMIT 1";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, value);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    entry.confirmedHits.increment();
+                    return true;
+                }
+            }
+        }
+        entry.falsePositives.increment();
+        return false;
+    }
+
+    /** Forces a rebuild on the next check, e.g. after rows were written around the DAOs. */
+    public void invalidate() {
+        loaded = false;
+    }
+
+    // serialized with load() so an insert racing a rebuild lands in the new filter
+    public synchronized void recordInsert(Key key, String value) {
+        if (value != null && loaded) {
+            tracked.get(key).filter.add(value);
+        }
+    }
+
+    /** Notes that a value of {@code key} may have been removed or replaced. */
+    public void recordRemoval(Key key) {
+        if (loaded) {
+            tracked.get(key).stale.increment();
+        }
+    }
+
+    public Stats getStats(Key key) {
+        Tracked entry = tracked.get(key);
+        ScalableBloomFilter filter = entry.filter;
+        return new Stats(key, filter.getApproximateCount(), entry.stale.sum(), filter.getBitSize(),
+                filter.getExpectedFalsePositiveRate(), entry.checks.sum(), entry.probableHits.sum(),
+                entry.confirmedHits.sum(), entry.falsePositives.sum());
+    }
+
+    /** Publishes every filter's {@link Stats} through {@code registry}, over JMX and in its scrape. */
+    public void registerMetrics(MetricsRegistry registry) {
+        for (Key key : Key.values()) {
+            registry.registerMXBean("org.example:type=UniqueKeyFilter,key=" + key, new FilterView(key));
+        }
+        registry.addCollector(this::appendMetrics);
+    }
+
+    private void appendMetrics(StringBuilder out) {
+        Stats[] all = new Stats[Key.values().length];
+        for (Key key : Key.values()) {
+            all[key.ordinal()] = getStats(key);
+        }
+        out.append("# HELP rms_unique_key_filter_entries Values in each unique-key Bloom filter\n")
+                .append("# TYPE rms_unique_key_filter_entries gauge\n");
+        for (Stats stats : all) {
+            appendKey(out, "rms_unique_key_filter_entries", stats).append(stats.getEntries()).append('\n');
+        }
+        out.append("# HELP rms_unique_key_filter_expected_false_positive_rate False-positive rate estimated from how full the filter is\n")
+                .append("# TYPE rms_unique_key_filter_expected_false_positive_rate gauge\n");
+        for (Stats stats : all) {
+            appendKey(out, "rms_unique_key_filter_expected_false_positive_rate", stats)
+                    .append(stats.getExpectedFalsePositiveRate()).append('\n');
+        }
+        out.append("# HELP rms_unique_key_filter_false_positive_rate Share of new values the filter sent to a confirming SELECT\n")
+                .append("# TYPE rms_unique_key_filter_false_positive_rate gauge\n");
+        for (Stats stats : all) {
+            appendKey(out, "rms_unique_key_filter_false_positive_rate", stats)
+                    .append(stats.getObservedFalsePositiveRate()).append('\n');
+        }
+        out.append("# HELP rms_unique_key_checks_total Unique-key checks by outcome\n")
+                .append("# TYPE rms_unique_key_checks_total counter\n");
+        for (Stats stats : all) {
+            long misses = stats.getChecks() - stats.getProbableHits();
+            appendKey(out, "rms_unique_key_checks_total", stats, "filter_miss").append(misses).append('\n');
+            appendKey(out, "rms_unique_key_checks_total", stats, "false_positive").append(stats.getFalsePositives()).append('\n');
+            appendKey(out, "rms_unique_key_checks_total", stats, "taken").append(stats.getConfirmedHits()).append('\n');
+        }
+    }
+
+    private static StringBuilder appendKey(StringBuilder out, String name, Stats stats) {
+        return out.append(name).append("{key=\"").append(stats.getKey()).append("\"} ");
+    }
+
+    private static StringBuilder appendKey(StringBuilder out, String name, Stats stats, String outcome) {
+        return out.append(name).append("{key=\"").append(stats.getKey()).append("\",outcome=\"").append(outcome).append("\"} ");
+    }
+
+    private void ensureFresh(Connection connection) throws SQLException {
+        if (!loaded || needsRebuild()) {
+            synchronized (this) {
+                if (!loaded || needsRebuild()) {
+                    load(connection);
+                }
+            }
+        }
+    }
+
+    private boolean needsRebuild() {
+        for (Tracked entry : tracked.values()) {
+            long stale = entry.stale.sum();
+            if (stale > MIN_CAPACITY / 4 && stale > entry.filter.getApproximateCount() * STALE_REBUILD_RATIO) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ScalableBloomFilter loadFilter(Connection connection, Key key) throws SQLException {
+        int rows = 0;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT count(*) FROM " + key.table)) {
+            if (rs.next()) {
+                rows = rs.getInt(1);
+            }
+        }
+        ScalableBloomFilter filter = new ScalableBloomFilter(Math.max(MIN_CAPACITY, rows * 2), FALSE_POSITIVE_RATE);
+        // the driver only streams with a fetch size outside autocommit; a caller's open
+        // transaction is left alone
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.setFetchSize(LOAD_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery("SELECT " + key.column + " FROM " + key.table
+                    + " WHERE " + key.column + " IS NOT NULL")) {
+                while (rs.next()) {
+                    filter.add(rs.getString(1));
+                }
+            }
+            if (autoCommit) {
+                connection.commit();
+            }
+        } finally {
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+        return filter;
+    }
+
+    private final class FilterView implements UniqueKeyFilterMXBean {
+        private final Key key;
+
+        FilterView(Key key) {
+            this.key = key;
+        }
+
+        @Override public long getEntries() { return getStats(key).getEntries(); }
+        @Override public long getStaleEntries() { return getStats(key).getStaleEntries(); }
+        @Override public long getBitSize() { return getStats(key).getBitSize(); }
+        @Override public double getExpectedFalsePositiveRate() { return getStats(key).getExpectedFalsePositiveRate(); }
+        @Override public double getObservedFalsePositiveRate() { return getStats(key).getObservedFalsePositiveRate(); }
+        @Override public long getChecks() { return getStats(key).getChecks(); }
+        @Override public long getProbableHits() { return getStats(key).getProbableHits(); }
+        @Override public long getConfirmedHits() { return getStats(key).getConfirmedHits(); }
+        @Override public long getFalsePositives() { return getStats(key).getFalsePositives(); }
+    }
+
+    private static class Tracked {
+        volatile ScalableBloomFilter filter = new ScalableBloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+        final LongAdder stale = new LongAdder();
+        final LongAdder checks = new LongAdder();
+        final LongAdder probableHits = new LongAdder();
+        final LongAdder confirmedHits = new LongAdder();
+        final LongAdder falsePositives = new LongAdder();
+    }
+
+    public static class Stats {
+        private final Key key;
+        private final long entries;
+        private final long staleEntries;
+        private final long bitSize;
+        private final double expectedFalsePositiveRate;
+        private final long checks;
+        private final long probableHits;
+        private final long confirmedHits;
+        private final long falsePositives;
+
+        Stats(Key key, long entries, long staleEntries, long bitSize, double expectedFalsePositiveRate,
+              long checks, long probableHits, long confirmedHits, long falsePositives) {
+            this.key = key;
+            this.entries = entries;
+            this.staleEntries = staleEntries;
+            this.bitSize = bitSize;
+            this.expectedFalsePositiveRate = expectedFalsePositiveRate;
+            this.checks = checks;
+            this.probableHits = probableHits;
+            this.confirmedHits = confirmedHits;
+            this.falsePositives = falsePositives;
+        }
+
+        public Key getKey() { return key; }
+        public long getEntries() { return entries; }
+        public long getStaleEntries() { return staleEntries; }
+        public long getBitSize() { return bitSize; }
+        public double getExpectedFalsePositiveRate() { return expectedFalsePositiveRate; }
+        public long getChecks() { return checks; }
+        public long getProbableHits() { return probableHits; }
+        public long getConfirmedHits() { return confirmedHits; }
+        public long getFalsePositives() { return falsePositives; }
+
+        /** False positives as a share of the checked values that were not taken. */
+        public double getObservedFalsePositiveRate() {
+            long negatives = checks - confirmedHits;
+            return negatives == 0 ? 0.0 : (double) falsePositives / negatives;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" + "key=" + key + ", entries=" + entries + ", staleEntries=" + staleEntries +
+                    ", bitSize=" + bitSize + ", expectedFalsePositiveRate=" + expectedFalsePositiveRate +
+                    ", checks=" + checks + ", probableHits=" + probableHits + ", confirmedHits=" + confirmedHits +
+                    ", falsePositives=" + falsePositives + '}';
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package org.example.dao.impl;
 
 import org.example.dao.interfaces.BillDao;
+import org.example.jfr.StateTransitionEvent;
 import org.example.model.Bill;
+import org.example.util.Money;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -17,15 +19,21 @@ public class BilDaoImpl implements BillDao {
     @Override
     public void generateBill(Bill bill) {
         String sql = "INSERT INTO bills (order_id, total_amount, discount, tax, final_amount, payment_status, generated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, bill.getOrderId());
-            stmt.setDouble(2, bill.getTotalAmount());
-            stmt.setDouble(3, bill.getDiscount());
-            stmt.setDouble(4, bill.getTax());
-            stmt.setDouble(5, bill.getFinalAmount());
+            stmt.setBigDecimal(2, Money.toDecimal(bill.getTotalAmountCents()));
+            stmt.setBigDecimal(3, Money.toDecimal(bill.getDiscountCents()));
+            stmt.setBigDecimal(4, Money.toDecimal(bill.getTaxCents()));
+            stmt.setBigDecimal(5, Money.toDecimal(bill.getFinalAmountCents()));
             stmt.setString(6, bill.getPaymentStatus().toString());
             stmt.setTimestamp(7, bill.getGeneratedAt());
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    bill.setBillId(keys.getInt(1));
+                }
+            }
+            StateTransitionEvent.emit("Bill", bill.getBillId(), bill.getOrderId(), 0, null, bill.getPaymentStatus());
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -38,12 +46,7 @@ public class BilDaoImpl implements BillDao {
             stmt.setInt(1, orderId);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                Bill bill = new Bill();
-                bill.setBillId(rs.getInt("bill_id"));
-                bill.setOrderId(rs.getInt("order_id"));
-                bill.setTotalAmount(rs.getDouble("total_amount"));
-                bill.setGeneratedAt(rs.getTimestamp("generated_at"));
-                return bill;
+                return mapRowToBill(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -55,14 +58,16 @@ public class BilDaoImpl implements BillDao {
     public void updateBill(Bill bill) {
         String sql = "UPDATE bills SET total_amount=?, discount=?, tax=?, final_amount=?, payment_status=?, generated_at=? WHERE bill_id=?";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setDouble(1, bill.getTotalAmount());
-            stmt.setDouble(2, bill.getDiscount());
-            stmt.setDouble(3, bill.getTax());
-            stmt.setDouble(4, bill.getFinalAmount());
+            stmt.setBigDecimal(1, Money.toDecimal(bill.getTotalAmountCents()));
+            stmt.setBigDecimal(2, Money.toDecimal(bill.getDiscountCents()));
+            stmt.setBigDecimal(3, Money.toDecimal(bill.getTaxCents()));
+            stmt.setBigDecimal(4, Money.toDecimal(bill.getFinalAmountCents()));
             stmt.setString(5, bill.getPaymentStatus().toString());
             stmt.setTimestamp(6, bill.getGeneratedAt());
             stmt.setInt(7, bill.getBillId());
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                StateTransitionEvent.emit("Bill", bill.getBillId(), bill.getOrderId(), 0, null, bill.getPaymentStatus());
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -86,14 +91,7 @@ public class BilDaoImpl implements BillDao {
             stmt.setInt(1, billId);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                Bill bill = new Bill();
-                bill.setBillId(rs.getInt("bill_id"));
-                bill.setOrderId(rs.getInt("order_id"));
-                bill.setTotalAmount(rs.getDouble("total_amount"));
-                bill.setFinalAmount(rs.getDouble("final_amount"));
-                bill.setPaymentStatus(Bill.PaymentStatus.valueOf(rs.getString("payment_status")));
-                bill.setGeneratedAt(rs.getTimestamp("generated_at"));
-                return bill;
+                return mapRowToBill(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -108,18 +106,24 @@ public class BilDaoImpl implements BillDao {
         try (Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                Bill bill = new Bill();
-                bill.setBillId(rs.getInt("bill_id"));
-                bill.setOrderId(rs.getInt("order_id"));
-                bill.setTotalAmount(rs.getDouble("total_amount"));
-                bill.setFinalAmount(rs.getDouble("final_amount"));
-                bill.setPaymentStatus(Bill.PaymentStatus.valueOf(rs.getString("payment_status")));
-                bill.setGeneratedAt(rs.getTimestamp("generated_at"));
-                bills.add(bill);
+                bills.add(mapRowToBill(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return bills;
     }
+
+    private Bill mapRowToBill(ResultSet rs) throws SQLException {
+        Bill bill = new Bill();
+        bill.setBillId(rs.getInt("bill_id"));
+        bill.setOrderId(rs.getInt("order_id"));
+        bill.setTotalAmountCents(Money.fromDecimal(rs.getBigDecimal("total_amount")));
+        bill.setDiscountCents(Money.fromDecimal(rs.getBigDecimal("discount")));
+        bill.setTaxCents(Money.fromDecimal(rs.getBigDecimal("tax")));
+        bill.setFinalAmountCents(Money.fromDecimal(rs.getBigDecimal("final_amount")));
+        bill.setPaymentStatus(Bill.PaymentStatus.valueOf(rs.getString("payment_status")));
+        bill.setGeneratedAt(rs.getTimestamp("generated_at"));
+        return bill;
+    }
 }
@@ -0,0 +1,317 @@
+package org.example.dao.impl;
+
+import org.example.dao.UniqueKeyRegistry;
+import org.example.dao.interfaces.BulkDataDao;
+import org.example.model.ImportResult;
+import org.example.model.MenuItem;
+import org.example.util.CsvUtil;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+public class BulkDataDaoImpl implements BulkDataDao {
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^[0-9+()\\- ]*$");
+
+    private static final List<String> CUSTOMER_COLUMNS = List.of("name", "phone", "email", "is_active");
+    private static final List<String> MENU_ITEM_COLUMNS = List.of("name", "description", "price", "category", "is_available");
+
+    private static final String UPSERT_CUSTOMERS_SQL =
+            "INSERT INTO customers (name, phone, email, is_active, created_at) " +
+            "SELECT DISTINCT ON (email) name, phone, email, is_active, CURRENT_TIMESTAMP " +
+            "FROM customers_import ORDER BY email, line_no DESC " +
+            "ON CONFLICT (email) DO UPDATE SET name = EXCLUDED.name, phone = EXCLUDED.phone, " +
+            "is_active = EXCLUDED.is_active, updated_at = CURRENT_TIMESTAMP";
+
+    private static final String UPDATE_MENU_ITEMS_SQL =
+            "UPDATE menu_items m SET description = i.description, price = i.price, category = i.category, " +
+            "is_available = i.is_available " +
+            "FROM (SELECT DISTINCT ON (name) * FROM menu_items_import ORDER BY name, line_no DESC) i " +
+            "WHERE m.name = i.name";
+
+    private static final String INSERT_MENU_ITEMS_SQL =
+            "INSERT INTO menu_items (name, description, price, category, is_available) " +
+            "SELECT DISTINCT ON (name) name, description, price, category, is_available " +
+            "FROM menu_items_import i WHERE NOT EXISTS (SELECT 1 FROM menu_items m WHERE m.name = i.name) " +
+            "ORDER BY name, line_no DESC";
+
+    private final Connection connection;
+
+    public BulkDataDaoImpl(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public ImportResult importCustomers(Reader csv) {
+        ImportResult result = new ImportResult();
+        boolean autoCommit = true;
+        try {
+            autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("CREATE TEMP TABLE customers_import (line_no BIGINT, name VARCHAR(100), " +
+                        "phone VARCHAR(15), email VARCHAR(100), is_active BOOLEAN) ON COMMIT DROP");
+            }
+            if (!copyValidatedRows("COPY customers_import (line_no, name, phone, email, is_active) FROM STDIN WITH (FORMAT csv)",
+                    csv, CUSTOMER_COLUMNS, this::toCustomerRow, result)) {
+                rollback();
+                return result;
+            }
+            try (Statement stmt = connection.createStatement()) {
+                result.setRowsImported(stmt.executeUpdate(UPSERT_CUSTOMERS_SQL));
+            }
+            connection.commit();
+            UniqueKeyRegistry.shared().invalidate();
+        } catch (SQLException | IOException e) {
+            rollback();
+            result.setRowsImported(0);
+            e.printStackTrace();
+        } finally {
+            restoreAutoCommit(autoCommit);
+        }
+        return result;
+    }
+
+    @Override
+    public long exportCustomers(Writer csv) {
+        return copyOut("COPY (SELECT name, phone, email, is_active FROM customers ORDER BY customer_id) " +
+                "TO STDOUT WITH (FORMAT csv, HEADER)", csv);
+    }
+
+    @Override
+    public ImportResult importMenuItems(Reader csv) {
+        ImportResult result = new ImportResult();
+        boolean autoCommit = true;
+        try {
+            autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("CREATE TEMP TABLE menu_items_import (line_no BIGINT, name VARCHAR(100), " +
+                        "description TEXT, price NUMERIC(10,2), category VARCHAR(20), is_available BOOLEAN) ON COMMIT DROP");
+            }
+            if (!copyValidatedRows("COPY menu_items_import (line_no, name, description, price, category, is_available) " +
+                    "FROM STDIN WITH (FORMAT csv)", csv, MENU_ITEM_COLUMNS, this::toMenuItemRow, result)) {
+                rollback();
+                return result;
+            }
+            try (Statement stmt = connection.createStatement()) {
+                int updated = stmt.executeUpdate(UPDATE_MENU_ITEMS_SQL);
+                int inserted = stmt.executeUpdate(INSERT_MENU_ITEMS_SQL);
+                result.setRowsImported(updated + inserted);
+            }
+            connection.commit();
+        } catch (SQLException | IOException e) {
+            rollback();
+            result.setRowsImported(0);
+            e.printStackTrace();
+        } finally {
+            restoreAutoCommit(autoCommit);
+        }
+        return result;
+    }
+
+    @Override
+    public long exportMenuItems(Writer csv) {
+        return copyOut("COPY (SELECT name, description, price, category, is_available FROM menu_items ORDER BY item_id) " +
+                "TO STDOUT WITH (FORMAT csv, HEADER)", csv);
+    }
+
+    /**
+     * Streams the valid rows into the staging table. Returns false when the file itself cannot be
+     * parsed (an unterminated quote, say), in which case the caller must roll back: the records after
+     * that point cannot be told apart, so none of the file is imported.
+     */
+    private boolean copyValidatedRows(String copySql, Reader csv, List<String> columns,
+                                   Function<List<String>, String> rowMapper, ImportResult result)
+            throws SQLException, IOException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        CopyIn copyIn = copyManager.copyIn(copySql);
+        try {
+            CsvUtil.RecordReader reader = new CsvUtil.RecordReader(new BufferedReader(csv));
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+            while (true) {
+                List<String> fields;
+                try {
+                    fields = reader.next();
+                } catch (IllegalArgumentException e) {
+                    result.setRowsRead(result.getRowsRead() + 1);
+                    result.reject(reader.getRecordLineNumber(), e.getMessage() + "; nothing was imported");
+                    return false;
+                }
+                if (fields == null) {
+                    break;
+                }
+                long lineNumber = reader.getRecordLineNumber();
+                if (lineNumber == 1 && isHeader(fields, columns)) {
+                    continue;
+                }
+                result.setRowsRead(result.getRowsRead() + 1);
+                try {
+                    String row = rowMapper.apply(fields);
+                    buffer.append(lineNumber).append(',').append(row).append('\n');
+                } catch (IllegalArgumentException e) {
+                    result.reject(lineNumber, e.getMessage());
+                    continue;
+                }
+                if (buffer.length() >= COPY_BUFFER_SIZE) {
+                    flush(copyIn, buffer);
+                }
+            }
+            flush(copyIn, buffer);
+            copyIn.endCopy();
+            return true;
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private String toCustomerRow(List<String> fields) {
+        if (fields.size() < 3 || fields.size() > 4) {
+            throw new IllegalArgumentException("expected 3 or 4 columns but found " + fields.size());
+        }
+        String name = fields.get(0);
+        String phone = fields.get(1);
+        // kept as written: the upsert matches the case-sensitive unique key on customers.email
+        String email = fields.get(2);
+        boolean active = fields.size() < 4 || parseBoolean(fields.get(3), true);
+
+        if (name.isEmpty() || name.length() > 100) {
+            throw new IllegalArgumentException("name must be 1-100 characters");
+        }
+        if (phone.length() > 15 || !PHONE_PATTERN.matcher(phone).matches()) {
+            throw new IllegalArgumentException("invalid phone '" + phone + "'");
+        }
+        if (email.length() > 100 || !EMAIL_PATTERN.matcher(email).matches()) {
+            throw new IllegalArgumentException("invalid email '" + email + "'");
+        }
+
+        StringBuilder row = new StringBuilder();
+        CsvUtil.appendField(row, name);
+        row.append(',');
+        if (!phone.isEmpty()) {
+            CsvUtil.appendField(row, phone);
+        }
+        row.append(',');
+        CsvUtil.appendField(row, email);
+        row.append(',').append(active);
+        return row.toString();
+    }
+
+    private String toMenuItemRow(List<String> fields) {
+        if (fields.size() < 4 || fields.size() > 5) {
+            throw new IllegalArgumentException("expected 4 or 5 columns but found " + fields.size());
+        }
+        String name = fields.get(0);
+        String description = fields.get(1);
+        BigDecimal price;
+        MenuItem.Category category;
+        boolean available = fields.size() < 5 || parseBoolean(fields.get(4), true);
+
+        if (name.isEmpty() || name.length() > 100) {
+            throw new IllegalArgumentException("name must be 1-100 characters");
+        }
+        try {
+            price = new BigDecimal(fields.get(2));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid price '" + fields.get(2) + "'");
+        }
+        if (price.signum() < 0 || price.scale() > 2 || price.precision() - price.scale() > 8) {
+            throw new IllegalArgumentException("price out of range '" + fields.get(2) + "'");
+        }
+        try {
+            category = MenuItem.Category.valueOf(fields.get(3));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown category '" + fields.get(3) + "'");
+        }
+
+        StringBuilder row = new StringBuilder();
+        CsvUtil.appendField(row, name);
+        row.append(',');
+        if (!description.isEmpty()) {
+            CsvUtil.appendField(row, description);
+        }
+        row.append(',').append(price.toPlainString());
+        row.append(',').append(category.name());
+        row.append(',').append(available);
+        return row.toString();
+    }
+
+    private long copyOut(String copySql, Writer csv) {
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            long rows = copyManager.copyOut(copySql, csv);
+            csv.flush();
+            return rows;
+        } catch (SQLException | IOException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static boolean isHeader(List<String> fields, List<String> columns) {
+        return !fields.isEmpty() && fields.get(0).equalsIgnoreCase(columns.get(0))
+                && fields.size() <= columns.size()
+                && fields.get(fields.size() - 1).equalsIgnoreCase(columns.get(fields.size() - 1));
+    }
+
+    private static boolean parseBoolean(String value, boolean defaultValue) {
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "":
+                return defaultValue;
+            case "true":
+            case "t":
+            case "yes":
+            case "y":
+            case "1":
+                return true;
+            case "false":
+            case "f":
+            case "no":
+            case "n":
+            case "0":
+                return false;
+            default:
+                throw new IllegalArgumentException("invalid boolean '" + value + "'");
+        }
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void restoreAutoCommit(boolean autoCommit) {
+        try {
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
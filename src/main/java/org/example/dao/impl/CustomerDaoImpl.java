@@ -1,13 +1,21 @@
 package org.example.dao.impl;
 
+import org.example.dao.DuplicateKeyException;
+import org.example.dao.UniqueKeyRegistry;
 import org.example.dao.interfaces.CustomerDao;
 import org.example.model.Customer;
+import org.example.util.ContactNormalizer;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class CustomerDaoImpl implements CustomerDao {
+    // must match the expressions of the customers lookup indexes (see README)
+    private static final String PHONE_DIGITS = "regexp_replace(phone, '\\D', '', 'g')";
+    private static final String EMAIL_LOWER = "lower(email)";
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final Connection connection;
 
     public CustomerDaoImpl(Connection connection) {
@@ -15,16 +23,36 @@ public class CustomerDaoImpl implements CustomerDao {
     }
 
     @Override
-    public void addCustomer(Customer customer) {
+    public boolean addCustomer(Customer customer) {
         String sql = "INSERT INTO customers (name, phone, email, created_at) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        UniqueKeyRegistry registry = UniqueKeyRegistry.shared();
+        try {
+            if (registry.isTaken(connection, UniqueKeyRegistry.Key.CUSTOMER_EMAIL, customer.getEmail())) {
+                throw new DuplicateKeyException(UniqueKeyRegistry.Key.CUSTOMER_EMAIL, customer.getEmail());
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, customer.getName());
             stmt.setString(2, customer.getPhone());
             stmt.setString(3, customer.getEmail());
             stmt.setTimestamp(4, customer.getCreatedAt());
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    customer.setCustomerId(keys.getInt(1));
+                }
+            }
+            registry.recordInsert(UniqueKeyRegistry.Key.CUSTOMER_EMAIL, customer.getEmail());
+            return true;
         } catch (SQLException e) {
+            // a row inserted since the pre-check, e.g. by another process
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                throw new DuplicateKeyException(UniqueKeyRegistry.Key.CUSTOMER_EMAIL, customer.getEmail());
+            }
             e.printStackTrace();
+            return false;
         }
     }
 
@@ -67,7 +95,10 @@ public class CustomerDaoImpl implements CustomerDao {
             stmt.setString(2, customer.getPhone());
             stmt.setString(3, customer.getEmail());
             stmt.setInt(4, customer.getCustomerId());
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                UniqueKeyRegistry.shared().recordRemoval(UniqueKeyRegistry.Key.CUSTOMER_EMAIL);
+                UniqueKeyRegistry.shared().recordInsert(UniqueKeyRegistry.Key.CUSTOMER_EMAIL, customer.getEmail());
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -78,10 +109,71 @@ public class CustomerDaoImpl implements CustomerDao {
         String sql = "DELETE FROM customers WHERE customer_id = ?";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, customerId);
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                UniqueKeyRegistry.shared().recordRemoval(UniqueKeyRegistry.Key.CUSTOMER_EMAIL);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public List<Customer> findByPhone(String phone) {
+        String digits = ContactNormalizer.normalizePhone(phone);
+        if (digits == null) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT * FROM customers WHERE " + PHONE_DIGITS + " = ? ORDER BY customer_id";
+        return queryCustomers(sql, digits, -1);
+    }
+
+    @Override
+    public Customer findByEmail(String email) {
+        String normalized = ContactNormalizer.normalizeEmail(email);
+        if (normalized == null) {
+            return null;
+        }
+        String sql = "SELECT * FROM customers WHERE " + EMAIL_LOWER + " = ? ORDER BY customer_id LIMIT 1";
+        List<Customer> customers = queryCustomers(sql, normalized, -1);
+        return customers.isEmpty() ? null : customers.get(0);
+    }
+
+    @Override
+    public List<Customer> findByPhonePrefix(String phonePrefix, int limit) {
+        String digits = ContactNormalizer.normalizePhone(phonePrefix);
+        if (digits == null) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT * FROM customers WHERE " + PHONE_DIGITS + " LIKE ? ORDER BY " + PHONE_DIGITS + " LIMIT ?";
+        return queryCustomers(sql, ContactNormalizer.likePrefix(digits), limit);
+    }
+
+    @Override
+    public List<Customer> findByEmailPrefix(String emailPrefix, int limit) {
+        String normalized = ContactNormalizer.normalizeEmail(emailPrefix);
+        if (normalized == null) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT * FROM customers WHERE " + EMAIL_LOWER + " LIKE ? ORDER BY " + EMAIL_LOWER + " LIMIT ?";
+        return queryCustomers(sql, ContactNormalizer.likePrefix(normalized), limit);
+    }
+
+    private List<Customer> queryCustomers(String sql, String key, int limit) {
+        List<Customer> customers = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, key);
+            if (limit >= 0) {
+                stmt.setInt(2, limit);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(mapRowToCustomer(rs));
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return customers;
     }
 
     private Customer mapRowToCustomer(ResultSet rs) throws SQLException {
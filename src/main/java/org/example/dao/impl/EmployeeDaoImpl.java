@@ -8,6 +8,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class EmployeeDaoImpl implements EmployeeDao {
+    // an employee's own role wins; otherwise it comes from the linked user account
+    private static final String SELECT_EMPLOYEES = "SELECT e.*, u.role AS user_role FROM employees e " +
+            "LEFT JOIN users u ON u.user_id = e.user_id";
+
     private final Connection connection;
 
     public EmployeeDaoImpl(Connection connection) {
@@ -16,13 +20,16 @@ public class EmployeeDaoImpl implements EmployeeDao {
 
     @Override
     public void addEmployee(Employee employee) {
-        String sql = "INSERT INTO employees (name, role, contact_number, email) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, employee.getName());
-            stmt.setString(2, employee.getRole());
-            stmt.setString(3, employee.getContactNumber());
-            stmt.setString(4, employee.getEmail());
+        String sql = "INSERT INTO employees (user_id, designation, shift_start, shift_end, joined_date, " +
+                "name, role, contact_number, email) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            bindEmployee(stmt, employee);
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    employee.setEmployeeId(keys.getInt(1));
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -30,7 +37,7 @@ public class EmployeeDaoImpl implements EmployeeDao {
 
     @Override
     public Employee getEmployeeById(int employeeId) {
-        String sql = "SELECT * FROM employees WHERE employee_id=?";
+        String sql = SELECT_EMPLOYEES + " WHERE e.employee_id=?";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, employeeId);
             ResultSet rs = stmt.executeQuery();
@@ -45,7 +52,7 @@ public class EmployeeDaoImpl implements EmployeeDao {
 
     @Override
     public List<Employee> getAllEmployees() {
-        String sql = "SELECT * FROM employees";
+        String sql = SELECT_EMPLOYEES;
         List<Employee> employees = new ArrayList<>();
         try (Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
@@ -60,13 +67,11 @@ public class EmployeeDaoImpl implements EmployeeDao {
 
     @Override
     public void updateEmployee(Employee employee) {
-        String sql = "UPDATE employees SET name=?, role=?, contact_number=?, email=? WHERE employee_id=?";
+        String sql = "UPDATE employees SET user_id=?, designation=?, shift_start=?, shift_end=?, joined_date=?, " +
+                "name=?, role=?, contact_number=?, email=? WHERE employee_id=?";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, employee.getName());
-            stmt.setString(2, employee.getRole());
-            stmt.setString(3, employee.getContactNumber());
-            stmt.setString(4, employee.getEmail());
-            stmt.setInt(5, employee.getEmployeeId());
+            bindEmployee(stmt, employee);
+            stmt.setInt(10, employee.getEmployeeId());
             stmt.executeUpdate();
         } catch (SQLException e) {
             e.printStackTrace();
@@ -84,11 +89,33 @@ public class EmployeeDaoImpl implements EmployeeDao {
         }
     }
 
+    private void bindEmployee(PreparedStatement stmt, Employee employee) throws SQLException {
+        if (employee.getUserId() > 0) {
+            stmt.setInt(1, employee.getUserId());
+        } else {
+            stmt.setNull(1, Types.INTEGER);
+        }
+        stmt.setString(2, employee.getDesignation());
+        stmt.setTime(3, employee.getShiftStart());
+        stmt.setTime(4, employee.getShiftEnd());
+        stmt.setDate(5, employee.getJoinedDate());
+        stmt.setString(6, employee.getName());
+        stmt.setString(7, employee.getRole());
+        stmt.setString(8, employee.getContactNumber());
+        stmt.setString(9, employee.getEmail());
+    }
+
     private Employee mapRowToEmployee(ResultSet rs) throws SQLException {
         Employee employee = new Employee();
         employee.setEmployeeId(rs.getInt("employee_id"));
+        employee.setUserId(rs.getInt("user_id"));
+        employee.setDesignation(rs.getString("designation"));
+        employee.setShiftStart(rs.getTime("shift_start"));
+        employee.setShiftEnd(rs.getTime("shift_end"));
+        employee.setJoinedDate(rs.getDate("joined_date"));
         employee.setName(rs.getString("name"));
-        employee.setRole(rs.getString("role"));
+        String role = rs.getString("role");
+        employee.setRole(role != null ? role : rs.getString("user_role"));
         employee.setContactNumber(rs.getString("contact_number"));
         employee.setEmail(rs.getString("email"));
         return employee;
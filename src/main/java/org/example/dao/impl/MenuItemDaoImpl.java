@@ -17,13 +17,18 @@ public class MenuItemDaoImpl implements MenuItemDao {
     @Override
     public void addMenuItem(MenuItem menuItem) {
         String sql = "INSERT INTO menu_items (name, description, price, category, is_available) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, menuItem.getName());
             stmt.setString(2, menuItem.getDescription());
             stmt.setDouble(3, menuItem.getPrice());
             stmt.setString(4, menuItem.getCategory().toString());
             stmt.setBoolean(5, menuItem.isAvailability());
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    menuItem.setItemId(keys.getInt(1));
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -1,6 +1,7 @@
 package org.example.dao.impl;
 
 import org.example.dao.interfaces.OrderDao;
+import org.example.jfr.StateTransitionEvent;
 import org.example.model.Order;
 
 import java.sql.*;
@@ -17,12 +18,18 @@ public class OrderDaoImpl implements OrderDao {
     @Override
     public void addOrder(Order order) {
         String sql = "INSERT INTO orders (table_id, waiter_id, order_time, status) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, order.getTableId());
             stmt.setInt(2, order.getWaiterId());
             stmt.setTimestamp(3, order.getOrderTime());
             stmt.setString(4, order.getStatus().toString());
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    order.setOrderId(keys.getInt(1));
+                }
+            }
+            StateTransitionEvent.emit("Order", order.getOrderId(), order.getOrderId(), order.getTableId(), null, order.getStatus());
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -62,7 +69,9 @@ public class OrderDaoImpl implements OrderDao {
             stmt.setInt(2, order.getWaiterId());
             stmt.setString(3, order.getStatus().toString());
             stmt.setInt(4, order.getOrderId());
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                StateTransitionEvent.emit("Order", order.getOrderId(), order.getOrderId(), order.getTableId(), null, order.getStatus());
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
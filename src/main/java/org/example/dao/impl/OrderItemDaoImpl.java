@@ -1,6 +1,7 @@
 package org.example.dao.impl;
 
 import org.example.dao.interfaces.OrderItemDao;
+import org.example.jfr.StateTransitionEvent;
 import org.example.model.OrderItem;
 
 import java.sql.*;
@@ -22,6 +23,7 @@ public class OrderItemDaoImpl implements OrderItemDao {
             stmt.setInt(2, orderItem.getMenuItemId());
             stmt.setInt(3, orderItem.getQuantity());
             stmt.executeUpdate();
+            StateTransitionEvent.emit("OrderItem", orderItem.getOrderItemId(), orderItem.getOrderId(), 0, null, orderItem.getStatus());
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -55,7 +57,9 @@ public class OrderItemDaoImpl implements OrderItemDao {
             stmt.setInt(1, orderItem.getMenuItemId());
             stmt.setInt(2, orderItem.getQuantity());
             stmt.setInt(3, orderItem.getOrderItemId());
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                StateTransitionEvent.emit("OrderItem", orderItem.getOrderItemId(), orderItem.getOrderId(), 0, null, orderItem.getStatus());
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
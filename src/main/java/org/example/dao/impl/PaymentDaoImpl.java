@@ -1,7 +1,9 @@
 package org.example.dao.impl;
 
 import org.example.dao.interfaces.PaymentDao;
+import org.example.jfr.StateTransitionEvent;
 import org.example.model.Payment;
+import org.example.util.Money;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -17,13 +19,19 @@ public class PaymentDaoImpl implements PaymentDao {
     @Override
     public void recordPayment(Payment payment) {
         String sql = "INSERT INTO payments (bill_id, payment_method, amount_paid, paid_at, status) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, payment.getBillId());
             stmt.setString(2, payment.getPaymentMethod().toString());
-            stmt.setDouble(3, payment.getAmountPaid());
+            stmt.setBigDecimal(3, Money.toDecimal(payment.getAmountPaidCents()));
             stmt.setTimestamp(4, payment.getPaymentTime());
             stmt.setString(5, payment.getStatus().toString());
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    payment.setPaymentId(keys.getInt(1));
+                }
+            }
+            StateTransitionEvent.emit("Payment", payment.getPaymentId(), 0, 0, null, payment.getStatus());
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -40,8 +48,9 @@ public class PaymentDaoImpl implements PaymentDao {
                 payment.setPaymentId(rs.getInt("payment_id"));
                 payment.setBillId(rs.getInt("bill_id"));
                 payment.setPaymentMethod(Payment.PaymentMethod.valueOf(rs.getString("payment_method")));
-                payment.setAmountPaid(rs.getDouble("amount_paid"));
+                payment.setAmountPaidCents(Money.fromDecimal(rs.getBigDecimal("amount_paid")));
                 payment.setPaymentTime(rs.getTimestamp("paid_at"));
+                payment.setStatus(Payment.Status.valueOf(rs.getString("status")));
                 return payment;
             }
         } catch (SQLException e) {
@@ -61,7 +70,7 @@ public class PaymentDaoImpl implements PaymentDao {
                 payment.setPaymentId(rs.getInt("payment_id"));
                 payment.setBillId(rs.getInt("bill_id"));
                 payment.setPaymentMethod(Payment.PaymentMethod.valueOf(rs.getString("payment_method")));
-                payment.setAmountPaid(rs.getDouble("amount_paid"));
+                payment.setAmountPaidCents(Money.fromDecimal(rs.getBigDecimal("amount_paid")));
                 payment.setPaymentTime(rs.getTimestamp("paid_at"));
                 payment.setStatus(Payment.Status.valueOf(rs.getString("status")));
                 payments.add(payment);
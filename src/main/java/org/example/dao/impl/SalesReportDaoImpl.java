@@ -2,6 +2,7 @@ package org.example.dao.impl;
 
 import org.example.dao.interfaces.SalesReportDao;
 import org.example.model.SalesReport;
+import org.example.util.Money;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -19,7 +20,7 @@ public class SalesReportDaoImpl implements SalesReportDao {
         String sql = "INSERT INTO sales_reports (report_date, total_sales, total_orders) VALUES (?, ?, ?)";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setDate(1, report.getReportDate());
-            stmt.setDouble(2, report.getTotalSales());
+            stmt.setBigDecimal(2, Money.toDecimal(report.getTotalSalesCents()));
             stmt.setInt(3, report.getTotalOrders());
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -37,7 +38,7 @@ public class SalesReportDaoImpl implements SalesReportDao {
                 SalesReport report = new SalesReport();
                 report.setReportId(rs.getInt("report_id"));
                 report.setReportDate(rs.getDate("report_date"));
-                report.setTotalSales(rs.getDouble("total_sales"));
+                report.setTotalSalesCents(Money.fromDecimal(rs.getBigDecimal("total_sales")));
                 report.setTotalOrders(rs.getInt("total_orders"));
                 reports.add(report);
             }
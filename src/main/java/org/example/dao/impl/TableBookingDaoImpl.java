@@ -17,7 +17,7 @@ public class TableBookingDaoImpl implements TableBookingDao {
     @Override
     public void addBooking(TableBooking booking) {
         String sql = "INSERT INTO table_bookings (customer_id, table_id, booking_date, booking_time, status, created_at) VALUES (?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, booking.getCustomerId());
             stmt.setInt(2, booking.getTableId());
             stmt.setDate(3, booking.getBookingDate());
@@ -25,6 +25,11 @@ public class TableBookingDaoImpl implements TableBookingDao {
             stmt.setString(5, booking.getStatus().toString());
             stmt.setTimestamp(6, booking.getCreatedAt());
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    booking.setBookingId(keys.getInt(1));
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
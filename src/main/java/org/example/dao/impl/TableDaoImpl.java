@@ -17,11 +17,16 @@ public class TableDaoImpl implements TableDao {
     @Override
     public void addTable(Table table) {
         String sql = "INSERT INTO tables (table_number, capacity, status) VALUES (?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, table.getTableNumber());
             stmt.setInt(2, table.getCapacity());
             stmt.setString(3, table.getStatus().toString());
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    table.setTableId(keys.getInt(1));
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -2,6 +2,8 @@ package org.example.dao.impl;
 
 
 
+import org.example.dao.DuplicateKeyException;
+import org.example.dao.UniqueKeyRegistry;
 import org.example.dao.interfaces.UserDao;
 import  org.example.model.User;
 
@@ -11,6 +13,8 @@ import java.util.List;
 
 public class UserDaoImpl implements UserDao {
 
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private Connection connection;
 
     public UserDaoImpl(Connection connection) {
@@ -18,9 +22,20 @@ public class UserDaoImpl implements UserDao {
     }
 
     @Override
-    public void addUser(User user) {
+    public boolean addUser(User user) {
         String sql = "INSERT INTO users (username, password, email, phone, role, is_active, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        UniqueKeyRegistry registry = UniqueKeyRegistry.shared();
+        try {
+            if (registry.isTaken(connection, UniqueKeyRegistry.Key.USER_USERNAME, user.getUsername())) {
+                throw new DuplicateKeyException(UniqueKeyRegistry.Key.USER_USERNAME, user.getUsername());
+            }
+            if (registry.isTaken(connection, UniqueKeyRegistry.Key.USER_EMAIL, user.getEmail())) {
+                throw new DuplicateKeyException(UniqueKeyRegistry.Key.USER_EMAIL, user.getEmail());
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, user.getUsername());
             stmt.setString(2, user.getPassword());
             stmt.setString(3, user.getEmail());
@@ -29,8 +44,23 @@ public class UserDaoImpl implements UserDao {
             stmt.setBoolean(6, user.isActive());
             stmt.setTimestamp(7, user.getCreatedAt());
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    user.setUserId(keys.getInt(1));
+                }
+            }
+            registry.recordInsert(UniqueKeyRegistry.Key.USER_USERNAME, user.getUsername());
+            registry.recordInsert(UniqueKeyRegistry.Key.USER_EMAIL, user.getEmail());
+            return true;
         } catch (SQLException e) {
+            // a row inserted since the pre-check, e.g. by another process
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                boolean username = String.valueOf(e.getMessage()).contains("(username)");
+                throw new DuplicateKeyException(username ? UniqueKeyRegistry.Key.USER_USERNAME : UniqueKeyRegistry.Key.USER_EMAIL,
+                        username ? user.getUsername() : user.getEmail());
+            }
             e.printStackTrace(); // Replace with logger
+            return false;
         }
     }
 
@@ -76,7 +106,13 @@ public class UserDaoImpl implements UserDao {
             stmt.setString(5, user.getRole().toString());
             stmt.setBoolean(6, user.isActive());
             stmt.setInt(7, user.getUserId());
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                UniqueKeyRegistry registry = UniqueKeyRegistry.shared();
+                registry.recordRemoval(UniqueKeyRegistry.Key.USER_USERNAME);
+                registry.recordRemoval(UniqueKeyRegistry.Key.USER_EMAIL);
+                registry.recordInsert(UniqueKeyRegistry.Key.USER_USERNAME, user.getUsername());
+                registry.recordInsert(UniqueKeyRegistry.Key.USER_EMAIL, user.getEmail());
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -87,6 +123,37 @@ public class UserDaoImpl implements UserDao {
         String sql = "DELETE FROM users WHERE user_id = ?";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, userId);
+            if (stmt.executeUpdate() > 0) {
+                UniqueKeyRegistry.shared().recordRemoval(UniqueKeyRegistry.Key.USER_USERNAME);
+                UniqueKeyRegistry.shared().recordRemoval(UniqueKeyRegistry.Key.USER_EMAIL);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        String sql = "SELECT * FROM users WHERE username = ?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, username);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToUser(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public void updatePassword(int userId, String passwordHash) {
+        String sql = "UPDATE users SET password=?, updated_at=CURRENT_TIMESTAMP WHERE user_id=?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, passwordHash);
+            stmt.setInt(2, userId);
             stmt.executeUpdate();
         } catch (SQLException e) {
             e.printStackTrace();
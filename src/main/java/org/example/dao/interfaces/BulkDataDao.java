@@ -0,0 +1,13 @@
+package org.example.dao.interfaces;
+
+import org.example.model.ImportResult;
+
+import java.io.Reader;
+import java.io.Writer;
+
+public interface BulkDataDao {
+    ImportResult importCustomers(Reader csv);
+    long exportCustomers(Writer csv);
+    ImportResult importMenuItems(Reader csv);
+    long exportMenuItems(Writer csv);
+}
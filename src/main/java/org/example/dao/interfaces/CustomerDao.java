@@ -4,9 +4,17 @@ import org.example.model.Customer;
 import java.util.List;
 
 public interface CustomerDao {
-    void addCustomer(Customer customer);
+    /**
+     * Inserts {@code customer} and sets its id; false if the insert failed. A taken email
+     * throws {@link org.example.dao.DuplicateKeyException}.
+     */
+    boolean addCustomer(Customer customer);
     Customer getCustomerById(int customerId);
     List<Customer> getAllCustomers();
     void updateCustomer(Customer customer);
     void deleteCustomer(int customerId);
+    List<Customer> findByPhone(String phone);
+    Customer findByEmail(String email);
+    List<Customer> findByPhonePrefix(String phonePrefix, int limit);
+    List<Customer> findByEmailPrefix(String emailPrefix, int limit);
 }
@@ -4,10 +4,16 @@ import org.example.model.User;
 import java.util.List;
 
 public interface UserDao {
-    void addUser(User user);
+    /**
+     * Inserts {@code user} and sets its id; false if the insert failed. A taken username or
+     * email throws {@link org.example.dao.DuplicateKeyException}.
+     */
+    boolean addUser(User user);
     User getUserById(int userId);
     List<User> getAllUsers();
     void updateUser(User user);
     void deleteUser(int userId);
+    User findByUsername(String username);
+    void updatePassword(int userId, String passwordHash);
 }
 
@@ -0,0 +1,272 @@
+package org.example.jdbc;
+
+import org.example.metrics.MetricsRegistry;
+import org.example.util.ConnectionPool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Thin JDBC proxies that report every {@link SQLException} to the {@link MetricsRegistry}
+ * before passing it on, so errors are counted by SQL state even where a DAO catches and
+ * prints them. Statements and result sets created through a wrapped connection are wrapped
+ * too; {@code getConnection()} and {@code getStatement()} return the wrappers, and
+ * {@code unwrap} reaches the driver's own objects (e.g. {@code PGConnection} for COPY).
+ *
+ * <p>Statement wrappers also remember bound parameters and time each execution, including
+ * the fetch through its result set, for the {@link SlowQueryLog}.
+ */
+public final class JdbcInstrumentation {
+
+    private JdbcInstrumentation() {}
+
+    /** Opens a connection, counting a failure to get one as an error of the current call. */
+    public static Connection connect(ConnectionPool.ConnectionFactory factory) throws SQLException {
+        try {
+            return wrap(factory.open());
+        } catch (SQLException e) {
+            MetricsRegistry.shared().recordSqlError(e);
+            throw e;
+        }
+    }
+
+    public static Connection wrap(Connection connection) {
+        if (connection == null || !MetricsRegistry.isEnabled()) {
+            return connection;
+        }
+        return (Connection) proxy(Connection.class, connection, null);
+    }
+
+    private static Object proxy(Class<?> type, JdbcHandler handler) {
+        return Proxy.newProxyInstance(JdbcInstrumentation.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object proxy(Class<?> type, Object target, Object parent) {
+        return proxy(type, new JdbcHandler(target, parent));
+    }
+
+    private static class JdbcHandler implements InvocationHandler {
+        final Object target;
+        final Object parent;
+
+        JdbcHandler(Object target, Object parent) {
+            this.target = target;
+            this.parent = parent;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy) && !((Class<?>) args[0]).isInstance(target)) {
+                        return proxy;
+                    }
+                    break;
+                case "getConnection":
+                case "getStatement":
+                    if (parent != null && method.getParameterCount() == 0) {
+                        return parent;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Instrumented[" + target + "]";
+                default:
+                    break;
+            }
+            return intercept(proxy, method, args);
+        }
+
+        Object intercept(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            Class<?> returnType = method.getReturnType();
+            if (result instanceof ResultSet && returnType == ResultSet.class) {
+                return proxy(ResultSet.class, result, proxy);
+            }
+            if (result instanceof Statement && (returnType == Statement.class || returnType == PreparedStatement.class
+                    || returnType == CallableStatement.class)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return proxy(returnType, new StatementHandler(result, proxy, sql));
+            }
+            return result;
+        }
+
+        final Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    MetricsRegistry.shared().recordSqlError((SQLException) cause);
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /** Tracks bound parameters and times each execution of a statement. */
+    private static final class StatementHandler extends JdbcHandler {
+        private final String sql;
+        private Object[] parameters;
+        private int parameterCount;
+        private int batchSize;
+        private SqlExecution open;
+
+        StatementHandler(Object target, Object parent, String sql) {
+            super(target, parent);
+            this.sql = sql;
+        }
+
+        @Override
+        Object intercept(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(proxy, method, args);
+            }
+            switch (name) {
+                case "clearParameters":
+                    parameters = null;
+                    parameterCount = 0;
+                    break;
+                case "addBatch":
+                    batchSize++;
+                    break;
+                case "clearBatch":
+                    batchSize = 0;
+                    break;
+                case "getResultSet":
+                    Object resultSet = call(method, args);
+                    return resultSet == null ? null : proxy(ResultSet.class, new ResultSetHandler(resultSet, proxy, open));
+                case "close":
+                    finishOpen();
+                    break;
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        bind((Integer) args[0], "setNull".equals(name) ? new SlowQueryLog.SqlNull((Integer) args[1]) : args[1]);
+                    }
+                    break;
+            }
+            return super.intercept(proxy, method, args);
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            finishOpen();
+            String text = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            boolean batch = method.getName().contains("Batch");
+            SqlExecution execution = new SqlExecution(text,
+                    batch || parameters == null ? null : Arrays.copyOf(parameters, parameterCount), batch ? batchSize : 0);
+            if (batch) {
+                batchSize = 0;
+            }
+            Object result;
+            long start = System.nanoTime();
+            try {
+                result = call(method, args);
+            } catch (Throwable e) {
+                execution.executeNanos = System.nanoTime() - start;
+                execution.failed(e);
+                execution.finish();
+                throw e;
+            }
+            execution.executeNanos = System.nanoTime() - start;
+            if (result instanceof ResultSet) {
+                open = execution;
+                return proxy(ResultSet.class, new ResultSetHandler(result, proxy, execution));
+            }
+            if (Boolean.TRUE.equals(result)) {
+                // execute() with a result set: fetched through getResultSet()
+                open = execution;
+                return result;
+            }
+            if (result instanceof Number) {
+                execution.rows = ((Number) result).longValue();
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    execution.rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    execution.rows += Math.max(count, 0);
+                }
+            }
+            execution.finish();
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (parameters == null || parameters.length < index) {
+                Object[] grown = new Object[Math.max(index, parameters == null ? 4 : parameters.length * 2)];
+                Arrays.fill(grown, parameters == null ? 0 : parameters.length, grown.length, SlowQueryLog.UNSET);
+                if (parameters != null) {
+                    System.arraycopy(parameters, 0, grown, 0, parameters.length);
+                }
+                parameters = grown;
+            }
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        private void finishOpen() {
+            if (open != null) {
+                open.finish();
+                open = null;
+            }
+        }
+    }
+
+    /** Adds the time spent in {@code next()} to the execution that produced the result set. */
+    private static final class ResultSetHandler extends JdbcHandler {
+        private final SqlExecution execution;
+
+        ResultSetHandler(Object target, Object parent, SqlExecution execution) {
+            super(target, parent);
+            this.execution = execution;
+        }
+
+        @Override
+        Object intercept(Object proxy, Method method, Object[] args) throws Throwable {
+            if (execution == null) {
+                return super.intercept(proxy, method, args);
+            }
+            String name = method.getName();
+            if ("next".equals(name)) {
+                long start = System.nanoTime();
+                boolean more;
+                try {
+                    more = (Boolean) call(method, args);
+                } catch (Throwable e) {
+                    execution.fetchNanos += System.nanoTime() - start;
+                    execution.failed(e);
+                    execution.finish();
+                    throw e;
+                }
+                execution.fetchNanos += System.nanoTime() - start;
+                if (more) {
+                    execution.rows++;
+                } else {
+                    execution.finish();
+                }
+                return more;
+            }
+            if ("close".equals(name)) {
+                execution.finish();
+            }
+            return super.intercept(proxy, method, args);
+        }
+    }
+}
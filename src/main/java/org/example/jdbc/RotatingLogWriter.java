@@ -0,0 +1,68 @@
+package org.example.jdbc;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends lines to a file, rolling it over to {@code name.1} (and {@code name.1} to
+ * {@code name.2}, ...) once it passes {@code maxBytes}; at most {@code files} old files are kept.
+ * Used from a single thread.
+ */
+final class RotatingLogWriter {
+    private final Path path;
+    private final long maxBytes;
+    private final int files;
+    private BufferedWriter writer;
+    private long size;
+
+    RotatingLogWriter(Path path, long maxBytes, int files) {
+        this.path = path;
+        this.maxBytes = maxBytes;
+        this.files = Math.max(1, files);
+    }
+
+    void writeLine(String line) throws IOException {
+        byte[] bytes = (line + '\n').getBytes(StandardCharsets.UTF_8);
+        if (writer == null) {
+            open();
+        }
+        if (size > 0 && size + bytes.length > maxBytes) {
+            rotate();
+            open();
+        }
+        writer.write(line);
+        writer.write('\n');
+        writer.flush();
+        size += bytes.length;
+    }
+
+    private void open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(path);
+    }
+
+    private void rotate() throws IOException {
+        writer.close();
+        writer = null;
+        Files.deleteIfExists(rolled(files));
+        for (int i = files - 1; i >= 1; i--) {
+            if (Files.exists(rolled(i))) {
+                Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(path, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rolled(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+}
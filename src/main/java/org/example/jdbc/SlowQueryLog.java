@@ -0,0 +1,355 @@
+package org.example.jdbc;
+
+import org.example.util.ConnectionPool;
+import org.example.util.DatabaseUtil;
+import org.example.util.JsonUtil;
+import org.example.util.VirtualThreads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per-fingerprint statement statistics plus a log of slow executions. Every statement run
+ * through an instrumented connection is counted under its {@link SqlFingerprint}; one that
+ * takes longer than {@code rms.sql.slowMillis} (execute plus fetch) is written as a JSON line
+ * to {@code rms.sql.slowLog}, with its bound parameters, the DAO or service method that ran it
+ * and, for a SELECT, the output of {@code EXPLAIN (ANALYZE, BUFFERS)}. Statements that mention
+ * a column listed in {@code rms.sql.redactColumns} (default {@code password}) are logged with
+ * every parameter redacted and are never replayed for a plan.
+ *
+ * <p>Logging and plan capture run on one background thread with its own pooled connection,
+ * so the slow caller is not held up further; the EXPLAIN runs in a transaction that is rolled
+ * back, at most once per fingerprint every {@code rms.sql.explainIntervalSeconds}. When the
+ * background queue is full, slow executions are still counted but not logged.
+ */
+public class SlowQueryLog {
+    private static final long SLOW_MILLIS = Long.getLong("rms.sql.slowMillis", 200L);
+    private static final String LOG_PATH = System.getProperty("rms.sql.slowLog", "logs/slow-queries.jsonl");
+    private static final long LOG_MAX_BYTES = Long.getLong("rms.sql.slowLogMaxBytes", 10L * 1024 * 1024);
+    private static final int LOG_FILES = Integer.getInteger("rms.sql.slowLogFiles", 5);
+    private static final boolean EXPLAIN = Boolean.parseBoolean(System.getProperty("rms.sql.explain", "true"));
+    private static final long EXPLAIN_INTERVAL_SECONDS = Long.getLong("rms.sql.explainIntervalSeconds", 300L);
+    private static final int EXPLAIN_TIMEOUT_SECONDS = 60;
+    private static final int MAX_FINGERPRINTS = 1_000;
+    private static final int MAX_PARAMETER_CHARS = 200;
+    private static final int QUEUE_CAPACITY = 256;
+    private static final Pattern REDACTED_COLUMNS =
+            redactedColumns(System.getProperty("rms.sql.redactColumns", "password"));
+    private static final String REDACTED = "<redacted>";
+
+    private static final SlowQueryLog SHARED = new SlowQueryLog(TimeUnit.MILLISECONDS.toNanos(SLOW_MILLIS),
+            new RotatingLogWriter(Path.of(LOG_PATH), LOG_MAX_BYTES, LOG_FILES),
+            EXPLAIN ? () -> DatabaseUtil.getPool().getConnection() : null);
+
+    private final long slowNanos;
+    private final RotatingLogWriter log;
+    private final ConnectionPool.ConnectionFactory explainConnections;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastExplainedAt = new ConcurrentHashMap<>();
+    private final ExecutorService writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), VirtualThreads.daemonThreadFactory("rms-slow-sql"));
+
+    SlowQueryLog(long slowNanos, RotatingLogWriter log, ConnectionPool.ConnectionFactory explainConnections) {
+        this.slowNanos = slowNanos;
+        this.log = log;
+        this.explainConnections = explainConnections;
+    }
+
+    public static SlowQueryLog shared() {
+        return SHARED;
+    }
+
+    /** Statements with the most total time (execute plus fetch) first. */
+    public List<StatementStats> getTopStatements(int limit) {
+        List<StatementStats> all = new ArrayList<>(statements.values());
+        all.sort(Comparator.comparingLong(StatementStats::getTotalNanos).reversed());
+        return all.size() > limit ? new ArrayList<>(all.subList(0, limit)) : all;
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    void record(SqlExecution execution) {
+        if (execution.sql == null) {
+            return;
+        }
+        SqlFingerprint fingerprint = SqlFingerprint.of(execution.sql);
+        StatementStats stats = statements.get(fingerprint.getId());
+        if (stats == null && statements.size() < MAX_FINGERPRINTS) {
+            stats = statements.computeIfAbsent(fingerprint.getId(), id -> new StatementStats(fingerprint));
+        }
+        boolean slow = execution.totalNanos() >= slowNanos;
+        if (stats != null) {
+            stats.record(execution, slow);
+        }
+        if (slow) {
+            Object[] parameters = isRedacted(fingerprint)
+                    ? redact(execution.parameters) : describeParameters(execution.parameters);
+            try {
+                writer.execute(() -> writeEntry(execution, fingerprint, parameters));
+            } catch (RejectedExecutionException e) {
+                // backlog full: the execution is counted above, just not logged
+            }
+        }
+    }
+
+    private void writeEntry(SqlExecution execution, SqlFingerprint fingerprint, Object[] parameters) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("time", Instant.ofEpochMilli(execution.startedAtMillis).toString());
+        entry.put("fingerprintId", fingerprint.getId());
+        entry.put("fingerprint", fingerprint.getText());
+        entry.put("sql", execution.sql);
+        entry.put("parameters", parameters == null ? List.of() : Arrays.asList(parameters));
+        if (execution.batchSize > 0) {
+            entry.put("batchSize", execution.batchSize);
+        }
+        entry.put("caller", execution.caller);
+        entry.put("executeMillis", millis(execution.executeNanos));
+        entry.put("fetchMillis", millis(execution.fetchNanos));
+        entry.put("totalMillis", millis(execution.totalNanos()));
+        entry.put("rows", execution.rows);
+        if (execution.sqlState != null) {
+            entry.put("sqlState", execution.sqlState);
+        }
+        if (shouldExplain(execution, fingerprint)) {
+            try {
+                entry.put("plan", explain(execution));
+            } catch (SQLException e) {
+                entry.put("planError", e.getMessage());
+            }
+        }
+        try {
+            log.writeLine(JsonUtil.toJson(entry));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private boolean shouldExplain(SqlExecution execution, SqlFingerprint fingerprint) {
+        if (explainConnections == null || execution.sqlState != null || execution.batchSize > 0
+                || !isPlainSelect(fingerprint.getText()) || !replayable(execution.parameters)
+                || isRedacted(fingerprint)) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Long last = lastExplainedAt.get(fingerprint.getId());
+        if (last != null && now - last < TimeUnit.SECONDS.toMillis(EXPLAIN_INTERVAL_SECONDS)) {
+            return false;
+        }
+        lastExplainedAt.put(fingerprint.getId(), now);
+        return true;
+    }
+
+    // ANALYZE really runs the statement, so only reads that cannot lock or change rows
+    private static boolean isPlainSelect(String fingerprint) {
+        if (!fingerprint.startsWith("select ") && !fingerprint.startsWith("with ")) {
+            return false;
+        }
+        String padded = " " + fingerprint.replace('(', ' ').replace(')', ' ') + " ";
+        return !padded.contains(" for update ") && !padded.contains(" for share ") && !padded.contains(" insert ")
+                && !padded.contains(" update ") && !padded.contains(" delete ") && !padded.contains(" into ")
+                && !padded.contains(" nextval ") && !padded.contains(" setval ");
+    }
+
+    private static boolean replayable(Object[] parameters) {
+        if (parameters != null) {
+            for (Object parameter : parameters) {
+                if (parameter instanceof InputStream || parameter instanceof Reader || parameter == UNSET) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private List<String> explain(SqlExecution execution) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (Connection conn = explainConnections.open()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + execution.sql)) {
+                stmt.setQueryTimeout(EXPLAIN_TIMEOUT_SECONDS);
+                Object[] parameters = execution.parameters == null ? new Object[0] : execution.parameters;
+                for (int i = 0; i < parameters.length; i++) {
+                    if (parameters[i] instanceof SqlNull) {
+                        stmt.setNull(i + 1, ((SqlNull) parameters[i]).sqlType);
+                    } else {
+                        stmt.setObject(i + 1, parameters[i]);
+                    }
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        plan.add(rs.getString(1));
+                    }
+                }
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return plan;
+    }
+
+    private static boolean isRedacted(SqlFingerprint fingerprint) {
+        return REDACTED_COLUMNS != null && REDACTED_COLUMNS.matcher(fingerprint.getText()).find();
+    }
+
+    // the count is kept so the entry still lines up with the statement's placeholders
+    private static Object[] redact(Object[] parameters) {
+        if (parameters == null) {
+            return null;
+        }
+        Object[] redacted = new Object[parameters.length];
+        Arrays.fill(redacted, REDACTED);
+        return redacted;
+    }
+
+    private static Pattern redactedColumns(String columns) {
+        StringBuilder alternatives = new StringBuilder();
+        for (String column : columns.split(",")) {
+            if (!column.isBlank()) {
+                alternatives.append(alternatives.length() == 0 ? "" : "|")
+                        .append(Pattern.quote(column.trim().toLowerCase(Locale.ROOT)));
+            }
+        }
+        return alternatives.length() == 0 ? null : Pattern.compile("\\b(?:" + alternatives + ")\\b");
+    }
+
+    private static Object[] describeParameters(Object[] parameters) {
+        if (parameters == null) {
+            return null;
+        }
+        Object[] described = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Object parameter = parameters[i];
+            if (parameter == null || parameter instanceof SqlNull) {
+                described[i] = null;
+            } else if (parameter == UNSET) {
+                described[i] = "<unset>";
+            } else if (parameter instanceof InputStream || parameter instanceof Reader) {
+                described[i] = "<stream>";
+            } else if (parameter instanceof Number || parameter instanceof Boolean) {
+                described[i] = parameter;
+            } else {
+                String text = String.valueOf(parameter);
+                described[i] = text.length() > MAX_PARAMETER_CHARS ? text.substring(0, MAX_PARAMETER_CHARS) + "..." : text;
+            }
+        }
+        return described;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /** Stands in for a parameter index that was never bound. */
+    static final Object UNSET = new Object();
+
+    /** A parameter bound with {@code setNull}, keeping its type for the EXPLAIN replay. */
+    static final class SqlNull {
+        final int sqlType;
+
+        SqlNull(int sqlType) {
+            this.sqlType = sqlType;
+        }
+    }
+
+    /** Running totals for one fingerprint. */
+    public static final class StatementStats {
+        private final SqlFingerprint fingerprint;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder executeNanos = new LongAdder();
+        private final LongAdder fetchNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        StatementStats(SqlFingerprint fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        void record(SqlExecution execution, boolean slow) {
+            calls.increment();
+            if (slow) {
+                slowCalls.increment();
+            }
+            if (execution.sqlState != null) {
+                errors.increment();
+            }
+            rows.add(execution.rows);
+            executeNanos.add(execution.executeNanos);
+            fetchNanos.add(execution.fetchNanos);
+            maxNanos.accumulateAndGet(execution.totalNanos(), Math::max);
+        }
+
+        public String getFingerprintId() {
+            return fingerprint.getId();
+        }
+
+        public String getFingerprint() {
+            return fingerprint.getText();
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getSlowCalls() {
+            return slowCalls.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getExecuteNanos() {
+            return executeNanos.sum();
+        }
+
+        public long getFetchNanos() {
+            return fetchNanos.sum();
+        }
+
+        public long getTotalNanos() {
+            return executeNanos.sum() + fetchNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public double getMeanMillis() {
+            long count = calls.sum();
+            return count == 0 ? 0.0 : millis(getTotalNanos() / count);
+        }
+    }
+}
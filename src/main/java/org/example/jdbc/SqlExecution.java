@@ -0,0 +1,62 @@
+package org.example.jdbc;
+
+import org.example.jfr.SqlStatementEvent;
+import org.example.metrics.MetricsRegistry;
+
+import java.sql.SQLException;
+
+/**
+ * One execution of a statement, from {@code execute*} until its result set is exhausted or
+ * closed (or straight away when there is none). Fetch time is the time spent inside
+ * {@code ResultSet.next()}, not the caller's mapping between rows.
+ */
+final class SqlExecution {
+    final String sql;
+    final Object[] parameters;
+    final int batchSize;
+    final String caller;
+    final long startedAtMillis;
+    long executeNanos;
+    long fetchNanos;
+    long rows;
+    String sqlState;
+    private final SqlStatementEvent event = new SqlStatementEvent();
+    private boolean finished;
+
+    SqlExecution(String sql, Object[] parameters, int batchSize) {
+        this.sql = sql;
+        this.parameters = parameters;
+        this.batchSize = batchSize;
+        this.caller = MetricsRegistry.shared().currentCallName();
+        this.startedAtMillis = System.currentTimeMillis();
+        event.begin();
+    }
+
+    void failed(Throwable error) {
+        sqlState = error instanceof SQLException && ((SQLException) error).getSQLState() != null
+                ? ((SQLException) error).getSQLState() : error.getClass().getSimpleName();
+    }
+
+    long totalNanos() {
+        return executeNanos + fetchNanos;
+    }
+
+    void finish() {
+        if (!finished) {
+            finished = true;
+            SlowQueryLog.shared().record(this);
+            if (sql != null && event.shouldCommit()) {
+                SqlFingerprint fingerprint = SqlFingerprint.of(sql);
+                event.fingerprintId = fingerprint.getId();
+                event.fingerprint = fingerprint.getText();
+                event.caller = caller;
+                event.executeTime = executeNanos;
+                event.fetchTime = fetchNanos;
+                event.rows = rows;
+                event.batchSize = batchSize;
+                event.sqlState = sqlState;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.jdbc;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Normalised form of an SQL statement, so executions of the same query with different
+ * literals group together: comments are dropped, tokens re-spaced, unquoted names
+ * lower-cased, string and numeric literals and {@code $n} placeholders replaced by {@code ?},
+ * and {@code IN} lists or multi-row {@code VALUES} of placeholders folded to one entry.
+ */
+public final class SqlFingerprint {
+    private static final int MAX_CACHED = 1_000;
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\?(?:, \\?)*\\)");
+    private static final Pattern REPEATED_ROWS = Pattern.compile("(\\([^()]*\\))(?:, \\1)+");
+    private static final String OPERATOR_CHARS = "<>=!|:+-*/%~^&@#";
+    private static final Map<String, SqlFingerprint> CACHE = new ConcurrentHashMap<>();
+
+    private final String text;
+    private final String id;
+
+    private SqlFingerprint(String text) {
+        this.text = text;
+        this.id = hash(text);
+    }
+
+    /** DAOs prepare constant SQL, so fingerprints are cached per statement text. */
+    public static SqlFingerprint of(String sql) {
+        SqlFingerprint cached = CACHE.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        SqlFingerprint fingerprint = new SqlFingerprint(normalize(sql));
+        if (CACHE.size() < MAX_CACHED) {
+            CACHE.putIfAbsent(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /** 16 hex digits of a 64-bit FNV-1a hash of the text. */
+    public String getId() {
+        return id;
+    }
+
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int i = 0;
+        int n = sql.length();
+        while (i < n) {
+            char c = sql.charAt(i);
+            int end;
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            } else if (c == '-' && i + 1 < n && sql.charAt(i + 1) == '-') {
+                end = sql.indexOf('\n', i);
+                i = end < 0 ? n : end + 1;
+                continue;
+            } else if (c == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+                continue;
+            } else if (c == '\'') {
+                end = skipQuoted(sql, i, '\'');
+                token(out, "?");
+            } else if (c == '"') {
+                end = skipQuoted(sql, i, '"');
+                token(out, sql.substring(i, end));
+            } else if (Character.isDigit(c) || (c == '$' && i + 1 < n && Character.isDigit(sql.charAt(i + 1)))) {
+                end = i + 1;
+                while (end < n && (Character.isDigit(sql.charAt(end)) || sql.charAt(end) == '.')) {
+                    end++;
+                }
+                token(out, "?");
+            } else if (Character.isLetter(c) || c == '_') {
+                end = i + 1;
+                while (end < n && (Character.isLetterOrDigit(sql.charAt(end)) || sql.charAt(end) == '_'
+                        || sql.charAt(end) == '.' || sql.charAt(end) == '$')) {
+                    end++;
+                }
+                token(out, sql.substring(i, end).toLowerCase(Locale.ROOT));
+            } else if (OPERATOR_CHARS.indexOf(c) >= 0) {
+                end = i + 1;
+                while (end < n && OPERATOR_CHARS.indexOf(sql.charAt(end)) >= 0) {
+                    end++;
+                }
+                token(out, sql.substring(i, end));
+            } else {
+                end = i + 1;
+                token(out, String.valueOf(c));
+            }
+            i = end;
+        }
+        if (out.length() > 0 && out.charAt(out.length() - 1) == ';') {
+            out.setLength(out.length() - 1);
+        }
+        String folded = PLACEHOLDER_LIST.matcher(out).replaceAll("(?+)");
+        return REPEATED_ROWS.matcher(folded).replaceAll("$1, ...");
+    }
+
+    // tokens are separated by one space, except inside parentheses and before commas
+    private static void token(StringBuilder out, String token) {
+        if (out.length() > 0) {
+            char last = out.charAt(out.length() - 1);
+            char first = token.charAt(0);
+            if (last != '(' && first != ')' && first != ',' && first != ';') {
+                out.append(' ');
+            }
+        }
+        out.append(token);
+    }
+
+    // index just past the closing quote; a doubled quote is an escaped one
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static String hash(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return String.format("%016x", hash);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
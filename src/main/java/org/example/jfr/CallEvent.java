@@ -0,0 +1,33 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One instrumented DAO or service method call; its duration is the call's. */
+@Name("org.example.Call")
+@Label("DAO/Service Call")
+@Category({"Restaurant", "Calls"})
+@StackTrace(false)
+public class CallEvent extends Event {
+    @Label("Layer")
+    @Description("dao or service")
+    public String layer;
+
+    @Label("Component")
+    public String component;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Rows")
+    @Description("Entities returned: a collection's size, or 1 for a single result")
+    public long rows;
+
+    @Label("Error")
+    @Description("SQL state or exception type of a call that threw")
+    public String error;
+}
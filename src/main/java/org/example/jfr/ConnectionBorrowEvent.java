@@ -0,0 +1,28 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A borrow from the connection pool; its duration is the wait for a free connection, plus opening one if none is idle. */
+@Name("org.example.ConnectionBorrow")
+@Label("Connection Borrow")
+@Category({"Restaurant", "Database"})
+public class ConnectionBorrowEvent extends Event {
+    @Label("Pool Size")
+    public int poolSize;
+
+    @Label("Available")
+    @Description("Connections left free after this borrow")
+    public int available;
+
+    @Label("Opened")
+    @Description("No idle connection was pooled, so a new one was opened")
+    public boolean opened;
+
+    @Label("Failed")
+    @Description("Timed out, interrupted, or the connection could not be opened")
+    public boolean failed;
+}
@@ -0,0 +1,49 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One statement execution through an instrumented connection, from {@code execute*} until its
+ * result set is exhausted or closed. The duration includes the caller's work between rows;
+ * {@code executeTime} and {@code fetchTime} are the time spent in the driver.
+ */
+@Name("org.example.SqlStatement")
+@Label("SQL Statement")
+@Category({"Restaurant", "Database"})
+@StackTrace(false)
+public class SqlStatementEvent extends Event {
+    @Label("Fingerprint Id")
+    public String fingerprintId;
+
+    @Label("Fingerprint")
+    @Description("SQL with literals replaced by ?")
+    public String fingerprint;
+
+    @Label("Caller")
+    @Description("Instrumented DAO or service method that ran the statement")
+    public String caller;
+
+    @Label("Execute Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long executeTime;
+
+    @Label("Fetch Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long fetchTime;
+
+    @Label("Rows")
+    @Description("Rows fetched, or rows changed by an update")
+    public long rows;
+
+    @Label("Batch Size")
+    public int batchSize;
+
+    @Label("SQL State")
+    public String sqlState;
+}
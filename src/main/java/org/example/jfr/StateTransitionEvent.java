@@ -0,0 +1,51 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An order, order item, bill or payment entering a state. Ids that are not known where the
+ * change is made are 0, and {@code fromState} is null when the previous state is unknown
+ * (e.g. a DAO update) or the entity is new.
+ */
+@Name("org.example.StateTransition")
+@Label("State Transition")
+@Category({"Restaurant", "Lifecycle"})
+@StackTrace(false)
+public class StateTransitionEvent extends Event {
+    @Label("Entity")
+    @Description("Order, OrderItem, Bill or Payment")
+    public String entity;
+
+    @Label("Entity Id")
+    public int entityId;
+
+    @Label("Order Id")
+    public int orderId;
+
+    @Label("Table Id")
+    public int tableId;
+
+    @Label("From State")
+    public String fromState;
+
+    @Label("To State")
+    public String toState;
+
+    public static void emit(String entity, int entityId, int orderId, int tableId, Object fromState, Object toState) {
+        StateTransitionEvent event = new StateTransitionEvent();
+        if (event.isEnabled()) {
+            event.entity = entity;
+            event.entityId = entityId;
+            event.orderId = orderId;
+            event.tableId = tableId;
+            event.fromState = fromState == null ? null : fromState.toString();
+            event.toState = toState == null ? null : toState.toString();
+            event.commit();
+        }
+    }
+}
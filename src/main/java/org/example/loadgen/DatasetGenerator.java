@@ -0,0 +1,628 @@
+package org.example.loadgen;
+
+import org.example.util.DatabaseUtil;
+import org.example.util.Money;
+import org.example.util.PasswordHasher;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, seeded generator of a restaurant's history: staff, customers, tables, the
+ * menu, then years of orders with their items, bills and (sometimes split) payments, and
+ * table bookings. The same seed, end date and sizes always produce the same rows.
+ *
+ * <p>Volumes follow the week (busy Fridays and Saturdays), the season and slow growth.
+ * Orders cluster around lunch and dinner, and popular dishes and regular customers are
+ * picked far more often than the rest. A small share of bills stays unpaid, and the last
+ * day still has orders in the kitchen.
+ *
+ * <p>Rows are streamed through PostgreSQL {@code COPY}, one table after another in one
+ * transaction, with explicit ids; the id sequences are moved past them at the end. Nothing is
+ * held in memory: the order history is replayed from its seed once per table it fills, which
+ * keeps every foreign key valid at any scale. With {@code rms.dataset.out} the same rows are
+ * written as CSV files instead.
+ */
+public class DatasetGenerator {
+    private static final int FLUSH_SIZE = 64 * 1024;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final long TAX_PERCENT = 8;
+    private static final int BOOKING_DAYS_AHEAD = 14;
+    private static final int[] CAPACITIES = {2, 2, 4, 4, 4, 6, 8};
+    private static final double[] WEEKDAY_FACTORS = {0.75, 0.8, 0.9, 1.0, 1.35, 1.45, 1.1};
+    private static final String[] PAYMENT_METHODS = {"Card", "Card", "Card", "Card", "Card", "Card",
+            "Cash", "Cash", "UPI", "Wallet"};
+    private static final String[] KITCHEN_STATUSES = {"Placed", "Preparing", "Served"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Maya", "Liam", "Olivia", "Noah", "Emma", "Arjun", "Sofia",
+            "Ethan", "Ava", "Rohan", "Mia", "Lucas", "Isla", "Kabir", "Zoe", "Mateo", "Chloe", "Vihaan", "Grace",
+            "Leo", "Anaya", "Omar", "Hannah", "Ishaan", "Nora", "Daniel", "Priya", "Samuel", "Lena"};
+    private static final String[] LAST_NAMES = {"Sharma", "Smith", "Garcia", "Patel", "Johnson", "Kim", "Nguyen",
+            "Brown", "Singh", "Martin", "Lopez", "Khan", "Wilson", "Rossi", "Mehta", "Clark", "Silva", "Iyer",
+            "Taylor", "Moreau", "Haddad", "Young", "Reddy", "Walker", "Cohen", "Das", "Allen", "Novak", "Rao", "King"};
+    private static final String[] ADJECTIVES = {"Classic", "Smoked", "Spicy", "Grilled", "Crispy", "Roasted",
+            "Tandoori", "Garden", "Golden", "Chef's", "Rustic", "Creamy"};
+    private static final String[][] DISHES = {
+            {"Soup", "Bruschetta", "Tikka", "Wings", "Salad", "Samosa", "Calamari", "Spring Rolls"},
+            {"Curry", "Risotto", "Burger", "Biryani", "Salmon", "Steak", "Pasta", "Thali", "Ramen", "Tacos"},
+            {"Cheesecake", "Brownie", "Kulfi", "Tiramisu", "Sorbet", "Gulab Jamun"},
+            {"Lemonade", "Lassi", "Espresso", "Iced Tea", "Mojito", "Masala Chai", "Smoothie"}};
+    private static final String[] CATEGORIES = {"Starter", "Main", "Dessert", "Drink"};
+    private static final int[][] PRICE_RANGES_CENTS = {{450, 1200}, {1100, 3200}, {500, 1100}, {250, 900}};
+
+    enum Entity {
+        USERS("users", "user_id", "user_id, username, password, email, phone, role, is_active, created_at"),
+        CUSTOMERS("customers", "customer_id", "customer_id, name, phone, email, is_active, created_at"),
+        TABLES("tables", "table_id", "table_id, table_number, capacity, status"),
+        MENU_ITEMS("menu_items", "item_id", "item_id, name, description, price, category, is_available"),
+        ORDERS("orders", "order_id", "order_id, table_id, waiter_id, order_time, status, total_amount"),
+        ORDER_ITEMS("order_items", "order_item_id", "order_item_id, order_id, item_id, quantity"),
+        BILLS("bills", "bill_id",
+                "bill_id, order_id, total_amount, discount, tax, final_amount, payment_status, generated_at"),
+        PAYMENTS("payments", "payment_id", "payment_id, bill_id, payment_method, amount_paid, paid_at, status"),
+        TABLE_BOOKINGS("table_bookings", "booking_id",
+                "booking_id, customer_id, table_id, booking_date, booking_time, party_size, status, created_at");
+
+        final String table;
+        final String idColumn;
+        final String columns;
+
+        Entity(String table, String idColumn, String columns) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.columns = columns;
+        }
+    }
+
+    private final long seed;
+    private final long totalOrders;
+    private final int customers;
+    private final int tables;
+    private final int menuItems;
+    private final int waiters;
+    private final int kitchenStaff;
+    private final LocalDate firstDay;
+    private final int days;
+    private final long firstEpochDay;
+    private final String[] dates;
+    private final double[] cumulativeDayWeights;
+    private final int[] menuPricesCents;
+    private final double[] dishPopularity;
+    private final String passwordHash;
+
+    public DatasetGenerator(long seed, LocalDate lastDay, int years, long totalOrders, int customers,
+                            int tables, int menuItems, int waiters) {
+        if (years < 1 || totalOrders < 1 || customers < 1 || tables < 1 || menuItems < 1 || waiters < 1) {
+            throw new IllegalArgumentException("Years and every size must be positive");
+        }
+        this.seed = seed;
+        this.totalOrders = totalOrders;
+        this.customers = customers;
+        this.tables = tables;
+        this.menuItems = menuItems;
+        this.waiters = waiters;
+        this.kitchenStaff = Math.max(2, waiters / 3);
+        this.firstDay = lastDay.minusYears(years).plusDays(1);
+        this.days = (int) (lastDay.toEpochDay() - firstDay.toEpochDay() + 1);
+        this.firstEpochDay = firstDay.toEpochDay();
+        // dates from a year before the first day (staff, customers) to just past the bookings ahead
+        this.dates = new String[days + 366 + BOOKING_DAYS_AHEAD + 2];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = LocalDate.ofEpochDay(firstEpochDay - 366 + i).toString();
+        }
+        this.cumulativeDayWeights = new double[days + 1];
+        for (int day = 0; day < days; day++) {
+            cumulativeDayWeights[day + 1] = cumulativeDayWeights[day] + dayWeight(day);
+        }
+        SplittableRandom menuRandom = new SplittableRandom(seed ^ 0x5EED_0001L);
+        this.menuPricesCents = new int[menuItems];
+        for (int i = 0; i < menuItems; i++) {
+            int[] range = PRICE_RANGES_CENTS[categoryOf(i)];
+            menuPricesCents[i] = (range[0] + menuRandom.nextInt(range[1] - range[0] + 1)) / 10 * 10;
+        }
+        // roughly Zipfian: the top dishes sell far more often than the long tail
+        this.dishPopularity = new double[menuItems];
+        double sum = 0;
+        for (int i = 0; i < menuItems; i++) {
+            sum += 1.0 / Math.pow(i + 1, 0.9);
+            dishPopularity[i] = sum;
+        }
+        for (int i = 0; i < menuItems; i++) {
+            dishPopularity[i] /= sum;
+        }
+        byte[] salt = new byte[16];
+        for (int i = 0; i < salt.length; i++) {
+            salt[i] = (byte) menuRandom.nextInt(256);
+        }
+        this.passwordHash = PasswordHasher.hash("password", salt);
+    }
+
+    /** Writes every row of {@code entity} to {@code sink} and returns how many there were. */
+    public long generate(Entity entity, RowSink sink) throws IOException, SQLException {
+        switch (entity) {
+            case USERS:
+                generateUsers(sink);
+                break;
+            case CUSTOMERS:
+                generateCustomers(sink);
+                break;
+            case TABLES:
+                generateTables(sink);
+                break;
+            case MENU_ITEMS:
+                generateMenuItems(sink);
+                break;
+            case TABLE_BOOKINGS:
+                generateBookings(sink);
+                break;
+            default:
+                generateSales(entity, sink);
+                break;
+        }
+        sink.flush();
+        return sink.rows;
+    }
+
+    private void generateUsers(RowSink sink) throws IOException, SQLException {
+        int userId = 0;
+        userId = addUsers(sink, userId, "admin", "Admin", 1);
+        userId = addUsers(sink, userId, "manager", "Manager", 3);
+        userId = addUsers(sink, userId, "waiter", "Waiter", waiters);
+        addUsers(sink, userId, "kitchen", "KitchenStaff", kitchenStaff);
+    }
+
+    private int addUsers(RowSink sink, int userId, String prefix, String role, int count) throws IOException, SQLException {
+        for (int i = 1; i <= count; i++) {
+            StringBuilder row = sink.buffer;
+            row.append(++userId).append(',').append(prefix).append(i).append(',').append(passwordHash).append(',')
+                    .append(prefix).append(i).append("@staff.example.com,");
+            appendPhone(row, 1_000_000 + userId);
+            row.append(',').append(role).append(",true,");
+            appendTimestamp(row, -365, 9 * 3600);
+            sink.endRow();
+        }
+        return userId;
+    }
+
+    // customers sign up evenly over the years, so early ids are the long-standing regulars
+    private void generateCustomers(RowSink sink) throws IOException, SQLException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5EED_0002L);
+        for (int customerId = 1; customerId <= customers; customerId++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            StringBuilder row = sink.buffer;
+            row.append(customerId).append(',').append(first).append(' ').append(last).append(',');
+            appendPhone(row, 2_000_000 + customerId);
+            row.append(',').append(first.toLowerCase(Locale.ROOT)).append('.').append(last.toLowerCase(Locale.ROOT))
+                    .append('.').append(customerId).append("@example.com,")
+                    .append(random.nextInt(100) < 97 ? "true" : "false").append(',');
+            appendTimestamp(row, 0, customerSignUpSecond(customerId));
+            sink.endRow();
+        }
+    }
+
+    private void generateTables(RowSink sink) throws IOException, SQLException {
+        for (int tableId = 1; tableId <= tables; tableId++) {
+            sink.buffer.append(tableId).append(',').append(tableId).append(',')
+                    .append(capacityOf(tableId)).append(",Available");
+            sink.endRow();
+        }
+    }
+
+    private void generateMenuItems(RowSink sink) throws IOException, SQLException {
+        int[] seen = new int[CATEGORIES.length];
+        for (int i = 0; i < menuItems; i++) {
+            int category = categoryOf(i);
+            String[] dishes = DISHES[category];
+            int variant = seen[category]++;
+            StringBuilder row = sink.buffer;
+            row.append(i + 1).append(',').append(ADJECTIVES[(variant / dishes.length) % ADJECTIVES.length]).append(' ')
+                    .append(dishes[variant % dishes.length]);
+            if (variant >= ADJECTIVES.length * dishes.length) {
+                row.append(' ').append(variant / (ADJECTIVES.length * dishes.length) + 1);
+            }
+            row.append(",House ").append(CATEGORIES[category].toLowerCase(Locale.ROOT)).append(',');
+            Money.appendTo(row, menuPricesCents[i]);
+            row.append(',').append(CATEGORIES[category]).append(',').append(i % 20 != 19);
+            sink.endRow();
+        }
+    }
+
+    /**
+     * Replays the order history and writes the rows of one of orders, order items, bills or
+     * payments. Every value is drawn whichever entity is written, so all four passes see the
+     * same history.
+     */
+    private void generateSales(Entity entity, RowSink sink) throws IOException, SQLException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5EED_0003L);
+        long orderId = 0;
+        long orderItemId = 0;
+        long billId = 0;
+        long paymentId = 0;
+        int[] itemIds = new int[6];
+        int[] quantities = new int[6];
+        for (int day = 0; day < days; day++) {
+            int[] orderTimes = orderTimes(day, random);
+            int inKitchenFrom = day == days - 1 ? orderTimes.length - orderTimes.length / 10 : orderTimes.length;
+            for (int n = 0; n < orderTimes.length; n++) {
+                orderId++;
+                int orderTime = orderTimes[n];
+                int tableId = 1 + random.nextInt(tables);
+                int waiterId = 5 + random.nextInt(waiters);
+                int lines = orderLines(random);
+                long totalCents = 0;
+                for (int line = 0; line < lines; line++) {
+                    itemIds[line] = popularDish(random);
+                    int roll = random.nextInt(100);
+                    quantities[line] = roll < 75 ? 1 : roll < 95 ? 2 : 3;
+                    totalCents += (long) menuPricesCents[itemIds[line] - 1] * quantities[line];
+                }
+                String status = n < inKitchenFrom ? "Completed" : KITCHEN_STATUSES[random.nextInt(KITCHEN_STATUSES.length)];
+                boolean billed = n < inKitchenFrom || "Served".equals(status);
+
+                if (entity == Entity.ORDERS) {
+                    StringBuilder row = sink.buffer;
+                    row.append(orderId).append(',').append(tableId).append(',').append(waiterId).append(',');
+                    appendTimestamp(row, day, orderTime);
+                    row.append(',').append(status).append(',');
+                    Money.appendTo(row, totalCents);
+                    sink.endRow();
+                } else if (entity == Entity.ORDER_ITEMS) {
+                    for (int line = 0; line < lines; line++) {
+                        sink.buffer.append(++orderItemId).append(',').append(orderId).append(',')
+                                .append(itemIds[line]).append(',').append(quantities[line]);
+                        sink.endRow();
+                    }
+                }
+                if (!billed) {
+                    continue;
+                }
+
+                billId++;
+                long discountCents = random.nextInt(100) < 4 ? totalCents / 10 : 0;
+                long taxCents = ((totalCents - discountCents) * TAX_PERCENT + 50) / 100;
+                long finalCents = totalCents - discountCents + taxCents;
+                // a few guests walk out or dispute the bill, and the current tables have not paid yet
+                boolean paid = n < inKitchenFrom && random.nextInt(1000) >= 2;
+                int billTime = orderTime + 2700 + random.nextInt(3600);
+                int paidTime = billTime + 60 + random.nextInt(540);
+                int splits = splitCount(random);
+                boolean failedFirst = random.nextInt(100) == 0;
+                int method = random.nextInt(PAYMENT_METHODS.length);
+
+                if (entity == Entity.BILLS) {
+                    StringBuilder row = sink.buffer;
+                    row.append(billId).append(',').append(orderId).append(',');
+                    Money.appendTo(row, totalCents);
+                    row.append(',');
+                    Money.appendTo(row, discountCents);
+                    row.append(',');
+                    Money.appendTo(row, taxCents);
+                    row.append(',');
+                    Money.appendTo(row, finalCents);
+                    row.append(',').append(paid ? "Paid" : "Unpaid").append(',');
+                    appendTimestamp(row, day, billTime);
+                    sink.endRow();
+                }
+                if (!paid) {
+                    continue;
+                }
+                if (failedFirst) {
+                    paymentId++;
+                    if (entity == Entity.PAYMENTS) {
+                        appendPayment(sink, paymentId, billId, "Card", finalCents, day, paidTime - 30, "Failed");
+                    }
+                }
+                for (int split = 0; split < splits; split++) {
+                    paymentId++;
+                    long shareCents = finalCents / splits + (split < finalCents % splits ? 1 : 0);
+                    if (entity == Entity.PAYMENTS) {
+                        appendPayment(sink, paymentId, billId, PAYMENT_METHODS[(method + split) % PAYMENT_METHODS.length],
+                                shareCents, day, paidTime + split * 20, "Successful");
+                    }
+                }
+            }
+        }
+    }
+
+    // past bookings were honoured, cancelled or missed; the coming two weeks are still confirmed
+    private void generateBookings(RowSink sink) throws IOException, SQLException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5EED_0004L);
+        long bookingId = 0;
+        for (int day = 0; day < days + BOOKING_DAYS_AHEAD; day++) {
+            int dayIndex = Math.min(day, days - 1);
+            long bookings = Math.round((ordersBefore(dayIndex + 1) - ordersBefore(dayIndex)) * 0.12);
+            int signedUp = (int) Math.max(1, Math.min(customers, (long) customers * (dayIndex + 180) / days));
+            for (long n = 0; n < bookings; n++) {
+                double loyalty = random.nextDouble();
+                int customerId = 1 + (int) (signedUp * loyalty * loyalty);
+                int tableId = 1 + random.nextInt(tables);
+                int partySize = 1 + random.nextInt(capacityOf(tableId));
+                int bookingTime = (random.nextInt(100) < 25 ? 12 * 3600 : 18 * 3600) + 900 * random.nextInt(14);
+                String status;
+                if (day >= days) {
+                    status = "Confirmed";
+                } else {
+                    int roll = random.nextInt(100);
+                    status = roll < 82 ? "Completed" : roll < 92 ? "Cancelled" : "NoShow";
+                }
+                int bookedFor = day * SECONDS_PER_DAY + bookingTime;
+                int createdAt = Math.max(customerSignUpSecond(customerId) + 600, Math.min(bookedFor - 1800,
+                        (day - random.nextInt(22)) * SECONDS_PER_DAY + 9 * 3600 + random.nextInt(12 * 3600)));
+
+                StringBuilder row = sink.buffer;
+                row.append(++bookingId).append(',').append(customerId).append(',').append(tableId).append(',')
+                        .append(date(day)).append(',');
+                appendTime(row, bookingTime);
+                row.append(',').append(partySize).append(',').append(status).append(',');
+                appendTimestamp(row, 0, createdAt);
+                sink.endRow();
+            }
+        }
+    }
+
+    // this day's orders, as seconds since midnight in ascending order: 35% lunch, the rest dinner
+    private int[] orderTimes(int day, SplittableRandom random) {
+        int[] times = new int[(int) (ordersBefore(day + 1) - ordersBefore(day))];
+        for (int i = 0; i < times.length; i++) {
+            boolean lunch = random.nextInt(100) < 35;
+            double centre = lunch ? 13 * 3600 : 19.75 * 3600;
+            double spread = lunch ? 50 * 60 : 75 * 60;
+            double time = centre + nextGaussian(random) * spread;
+            times[i] = (int) Math.max(lunch ? 11 * 3600 : 17 * 3600, Math.min(lunch ? 15 * 3600 : 23 * 3600, time));
+        }
+        Arrays.sort(times);
+        return times;
+    }
+
+    // orders up to the start of this day, so that the days add up to exactly the total
+    private long ordersBefore(int day) {
+        return Math.round(totalOrders * cumulativeDayWeights[day] / cumulativeDayWeights[days]);
+    }
+
+    private double dayWeight(int day) {
+        LocalDate date = firstDay.plusDays(day);
+        double weekly = WEEKDAY_FACTORS[date.getDayOfWeek().getValue() - 1];
+        double seasonal = 1 + 0.12 * Math.sin(2 * Math.PI * (date.getDayOfYear() - 80) / 365.0);
+        double holidays = date.getMonthValue() == 12 && date.getDayOfMonth() >= 15 ? 1.25 : 1.0;
+        double growth = 1 + 0.15 * day / 365.0;
+        return weekly * seasonal * holidays * growth;
+    }
+
+    private int popularDish(SplittableRandom random) {
+        int index = Arrays.binarySearch(dishPopularity, random.nextDouble());
+        return Math.min(menuItems - 1, index >= 0 ? index : -index - 1) + 1;
+    }
+
+    private static int orderLines(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 10 ? 1 : roll < 35 ? 2 : roll < 60 ? 3 : roll < 80 ? 4 : roll < 92 ? 5 : 6;
+    }
+
+    private static int splitCount(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 70 ? 1 : roll < 88 ? 2 : roll < 96 ? 3 : 4;
+    }
+
+    // seconds from the first day's midnight; sign-ups start half a year before the history
+    private int customerSignUpSecond(int customerId) {
+        int day = (int) ((long) (customerId - 1) * days / customers) - 180;
+        return day * SECONDS_PER_DAY + 8 * 3600 + (int) (customerId * 7919L % (14 * 3600));
+    }
+
+    private static int capacityOf(int tableId) {
+        return CAPACITIES[tableId % CAPACITIES.length];
+    }
+
+    // roughly 40% mains, 25% starters, 20% drinks and 15% desserts
+    private static int categoryOf(int index) {
+        int slot = index % 20;
+        return slot < 5 ? 0 : slot < 13 ? 1 : slot < 16 ? 2 : 3;
+    }
+
+    private static double nextGaussian(SplittableRandom random) {
+        double sum = 0;
+        for (int i = 0; i < 6; i++) {
+            sum += random.nextDouble();
+        }
+        return (sum - 3) * Math.sqrt(2);
+    }
+
+    private void appendPayment(RowSink sink, long paymentId, long billId, String method, long cents, int day,
+                               int time, String status) throws IOException, SQLException {
+        StringBuilder row = sink.buffer;
+        row.append(paymentId).append(',').append(billId).append(',').append(method).append(',');
+        Money.appendTo(row, cents);
+        row.append(',');
+        appendTimestamp(row, day, time);
+        row.append(',').append(status);
+        sink.endRow();
+    }
+
+    private String date(int day) {
+        int index = day + 366;
+        return index >= 0 && index < dates.length ? dates[index] : LocalDate.ofEpochDay(firstEpochDay + day).toString();
+    }
+
+    // seconds may run past midnight (a late bill), which moves on to the next date
+    private void appendTimestamp(StringBuilder row, int day, int seconds) {
+        row.append(date(day + Math.floorDiv(seconds, SECONDS_PER_DAY))).append(' ');
+        appendTime(row, Math.floorMod(seconds, SECONDS_PER_DAY));
+    }
+
+    private static void appendTime(StringBuilder row, int seconds) {
+        appendTwoDigits(row, seconds / 3600).append(':');
+        appendTwoDigits(row, seconds / 60 % 60).append(':');
+        appendTwoDigits(row, seconds % 60);
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder row, int value) {
+        return row.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static void appendPhone(StringBuilder row, int number) {
+        row.append("+1-555-").append(number);
+    }
+
+    /** Buffers rows and hands them on in large chunks. */
+    abstract static class RowSink {
+        final StringBuilder buffer = new StringBuilder(FLUSH_SIZE + 1024);
+        long rows;
+
+        void endRow() throws IOException, SQLException {
+            buffer.append('\n');
+            rows++;
+            if (buffer.length() >= FLUSH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException, SQLException {
+            if (buffer.length() > 0) {
+                write(buffer);
+                buffer.setLength(0);
+            }
+        }
+
+        abstract void write(StringBuilder chunk) throws IOException, SQLException;
+    }
+
+    private static final class CopySink extends RowSink {
+        private final CopyIn copyIn;
+
+        CopySink(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        @Override
+        void write(StringBuilder chunk) throws SQLException {
+            byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class WriterSink extends RowSink {
+        private final Writer writer;
+
+        WriterSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        void write(StringBuilder chunk) throws IOException {
+            writer.append(chunk);
+        }
+    }
+
+    /**
+     * Loads every table in one transaction. Refuses to touch a database that already has
+     * orders unless {@code truncate} is set, in which case all generated tables are emptied first.
+     */
+    public void loadInto(Connection conn, boolean truncate) throws SQLException, IOException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            if (truncate) {
+                StringBuilder sql = new StringBuilder("TRUNCATE ");
+                for (Entity entity : Entity.values()) {
+                    sql.append(entity.ordinal() == 0 ? "" : ", ").append(entity.table);
+                }
+                stmt.execute(sql.append(" RESTART IDENTITY CASCADE").toString());
+            } else {
+                try (ResultSet rs = stmt.executeQuery("SELECT EXISTS (SELECT 1 FROM orders)")) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        throw new SQLException("The database already has orders; set rms.dataset.truncate=true to replace them");
+                    }
+                }
+            }
+            for (Entity entity : Entity.values()) {
+                long started = System.nanoTime();
+                CopyIn copyIn = conn.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY " + entity.table + " (" + entity.columns + ") FROM STDIN WITH (FORMAT csv)");
+                long rows;
+                try {
+                    rows = generate(entity, new CopySink(copyIn));
+                    copyIn.endCopy();
+                } finally {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                }
+                stmt.execute("SELECT setval(pg_get_serial_sequence('" + entity.table + "', '" + entity.idColumn
+                        + "'), COALESCE(MAX(" + entity.idColumn + "), 0) + 1, false) FROM " + entity.table);
+                report(entity, rows, started);
+            }
+            conn.commit();
+            for (Entity entity : Entity.values()) {
+                stmt.execute("ANALYZE " + entity.table);
+            }
+            conn.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /** Writes one CSV file (with a header row) per table into {@code directory}. */
+    public void writeCsv(Path directory) throws IOException, SQLException {
+        Files.createDirectories(directory);
+        for (Entity entity : Entity.values()) {
+            long started = System.nanoTime();
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(entity.table + ".csv"))) {
+                writer.write(entity.columns.replace(" ", ""));
+                writer.newLine();
+                report(entity, generate(entity, new WriterSink(writer)), started);
+            }
+        }
+    }
+
+    private static void report(Entity entity, long rows, long startedNanos) {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startedNanos) / 1e9);
+        System.out.printf("%-15s %,14d rows %8.1f s %,12.0f rows/s%n", entity.table, rows, seconds, rows / seconds);
+    }
+
+    /**
+     * {@code -Drms.dataset.orders} (1000000), {@code years} (3), {@code customers} (orders / 20),
+     * {@code tables} (40), {@code menuItems} (120), {@code waiters} (24), {@code seed} (42),
+     * {@code endDate} (today), {@code truncate} (false) and {@code out} (a directory for CSV files
+     * instead of loading the database), all under {@code rms.dataset.}.
+     */
+    public static void main(String[] args) {
+        long orders = Long.getLong("rms.dataset.orders", 1_000_000L);
+        String endDate = System.getProperty("rms.dataset.endDate");
+        DatasetGenerator generator = new DatasetGenerator(Long.getLong("rms.dataset.seed", 42L),
+                endDate == null ? LocalDate.now() : LocalDate.parse(endDate),
+                Integer.getInteger("rms.dataset.years", 3), orders,
+                Integer.getInteger("rms.dataset.customers", (int) Math.max(100, Math.min(Integer.MAX_VALUE, orders / 20))),
+                Integer.getInteger("rms.dataset.tables", 40), Integer.getInteger("rms.dataset.menuItems", 120),
+                Integer.getInteger("rms.dataset.waiters", 24));
+        String out = System.getProperty("rms.dataset.out");
+        try {
+            if (out != null) {
+                generator.writeCsv(Paths.get(out));
+            } else {
+                try (Connection conn = DatabaseUtil.getConnection()) {
+                    generator.loadInto(conn, Boolean.getBoolean("rms.dataset.truncate"));
+                }
+            }
+        } catch (SQLException | IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
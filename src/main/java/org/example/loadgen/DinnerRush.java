@@ -0,0 +1,443 @@
+package org.example.loadgen;
+
+import org.example.dao.DuplicateKeyException;
+import org.example.dao.RestaurantDaoFactory;
+import org.example.dao.interfaces.MenuItemDao;
+import org.example.dao.interfaces.OrderDao;
+import org.example.dao.interfaces.OrderItemDao;
+import org.example.dao.interfaces.TableDao;
+import org.example.dao.interfaces.UserDao;
+import org.example.model.Bill;
+import org.example.model.MenuItem;
+import org.example.model.Order;
+import org.example.model.OrderItem;
+import org.example.model.Payment;
+import org.example.model.Table;
+import org.example.model.TableBooking;
+import org.example.model.User;
+import org.example.service.impl.BillServiceImpl;
+import org.example.service.impl.OrderServiceImpl;
+import org.example.service.impl.PaymentServiceImpl;
+import org.example.service.impl.TableServiceImpl;
+import org.example.service.interfaces.BillService;
+import org.example.service.interfaces.PaymentService;
+import org.example.util.DatabaseUtil;
+import org.example.util.LogLinearHistogram;
+import org.example.util.Money;
+import org.example.util.PasswordHasher;
+import org.example.util.VirtualThreads;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays a dinner rush against the order, table, bill and payment services and reports
+ * throughput and latency percentiles per operation. Each terminal (a virtual thread on Java
+ * 21+) serves one party after another as fast as it can: book or walk in, get seated, order
+ * one to three rounds of several items, follow each order through the kitchen, bill, split
+ * the payment and free the table.
+ *
+ * <p>The embedded mode keeps everything in memory. The postgres mode uses the database-backed
+ * bill and payment services and writes orders and their items through to the database, as
+ * bills reference them; tables, menu items and waiters are read from the database (and
+ * created when there are none). Settings are {@code rms.loadgen.*} system properties, see
+ * {@link #main(String[])}.
+ */
+public class DinnerRush {
+    private static final int BOOKING_PERCENT = Integer.getInteger("rms.loadgen.bookingPercent", 30);
+    private static final long THINK_MILLIS = Long.getLong("rms.loadgen.thinkMillis", 0L);
+    private static final long NO_TABLE_BACKOFF_MILLIS = 5L;
+    private static final long MAX_LATENCY_NANOS = 60_000_000_000L;
+    private static final int[] CAPACITIES = {2, 2, 4, 4, 4, 6, 8};
+    private static final long TAX_BASIS_POINTS = 800L;
+
+    enum Operation {
+        BOOK, SEAT, PLACE_ORDER, ORDER_STATUS, BILL, PAY, SETTLE, RELEASE
+    }
+
+    private final boolean postgres;
+    private final int terminals;
+    private final long seed;
+    private final OrderServiceImpl orderService = new OrderServiceImpl();
+    private final TableServiceImpl tableService = new TableServiceImpl();
+    private final BillService billService;
+    private final PaymentService paymentService;
+    private final Map<Operation, LogLinearHistogram> latencies = new EnumMap<>(Operation.class);
+    private final LongAdder parties = new LongAdder();
+    private final LongAdder orders = new LongAdder();
+    private final LongAdder turnedAway = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean measuring;
+    private Table[] tables;
+    private int[] menuItemIds;
+    private long[] menuPriceCents;
+    private int[] waiterIds;
+
+    public DinnerRush(boolean postgres, int terminals, long seed) {
+        this.postgres = postgres;
+        this.terminals = terminals;
+        this.seed = seed;
+        this.billService = postgres ? new BillServiceImpl() : new EmbeddedBillService();
+        this.paymentService = postgres ? new PaymentServiceImpl() : new EmbeddedPaymentService();
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LogLinearHistogram(MAX_LATENCY_NANOS, 7));
+        }
+    }
+
+    /**
+     * Sets up the floor, the menu and the waiters. Returns false when the database could
+     * not be reached in postgres mode.
+     */
+    public boolean setUp(int tableCount, int menuItemCount, int waiterCount) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Table> floor = new ArrayList<>();
+        List<MenuItem> menu = new ArrayList<>();
+        List<Integer> waiters = new ArrayList<>();
+        if (postgres) {
+            try (Connection conn = DatabaseUtil.getConnection()) {
+                RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+                floor.addAll(loadTables(factory.getTableDAO(), tableCount));
+                menu.addAll(loadMenu(factory.getMenuItemDAO(), menuItemCount, random));
+                waiters.addAll(loadWaiters(factory.getUserDAO(), waiterCount));
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return false;
+            }
+        } else {
+            for (int i = 1; i <= tableCount; i++) {
+                floor.add(new Table(i, i, CAPACITIES[i % CAPACITIES.length], Table.Status.Available));
+            }
+            for (int i = 1; i <= menuItemCount; i++) {
+                menu.add(newMenuItem(i, random));
+            }
+            for (int i = 1; i <= waiterCount; i++) {
+                waiters.add(i);
+            }
+        }
+        if (floor.isEmpty() || menu.isEmpty() || waiters.isEmpty()) {
+            return false;
+        }
+        for (Table table : floor) {
+            tableService.addTable(new Table(table.getTableId(), table.getTableNumber(), table.getCapacity(),
+                    Table.Status.Available));
+        }
+        tables = tableService.getAllTables().toArray(new Table[0]);
+        menuItemIds = new int[menu.size()];
+        menuPriceCents = new long[menu.size()];
+        for (int i = 0; i < menu.size(); i++) {
+            menuItemIds[i] = menu.get(i).getItemId();
+            menuPriceCents[i] = Money.fromDouble(menu.get(i).getPrice());
+        }
+        waiterIds = waiters.stream().mapToInt(Integer::intValue).toArray();
+        return true;
+    }
+
+    /** Runs the terminals for the warm-up plus the measured period, then prints the report. */
+    public void run(long warmupMillis, long durationMillis) throws InterruptedException {
+        long measureFrom = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+        long measureUntil = measureFrom + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        SplittableRandom seeds = new SplittableRandom(seed + 1);
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("rms-rush", terminals);
+        for (int i = 0; i < terminals; i++) {
+            SplittableRandom random = seeds.split();
+            executor.execute(() -> runTerminal(random, measureUntil));
+        }
+        sleepUntil(measureFrom);
+        measuring = true;
+        sleepUntil(measureUntil);
+        measuring = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            System.err.println("Some terminals were still busy a minute after the rush ended");
+            executor.shutdownNow();
+        }
+        printReport(durationMillis / 1000.0);
+    }
+
+    private void runTerminal(SplittableRandom random, long until) {
+        while (System.nanoTime() < until) {
+            try {
+                serveParty(random);
+                if (THINK_MILLIS > 0) {
+                    Thread.sleep(THINK_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                errors.increment();
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void serveParty(SplittableRandom random) throws InterruptedException {
+        int partySize = 1 + random.nextInt(6);
+        boolean booked = random.nextInt(100) < BOOKING_PERCENT;
+        Table table = claimTable(partySize, booked, random);
+        if (table == null) {
+            count(turnedAway);
+            Thread.sleep(NO_TABLE_BACKOFF_MILLIS);
+            return;
+        }
+        int waiterId = waiterIds[random.nextInt(waiterIds.length)];
+        int rounds = 1 + random.nextInt(3);
+        List<Order> placed = new ArrayList<>(rounds);
+        long totalCents = Money.ZERO;
+        for (int round = 0; round < rounds; round++) {
+            Order order = new Order(0, table.getTableId(), waiterId, now(), Order.Status.Placed);
+            List<OrderItem> items = new ArrayList<>();
+            int lines = 1 + random.nextInt(5);
+            for (int line = 0; line < lines; line++) {
+                int menuIndex = random.nextInt(menuItemIds.length);
+                int quantity = 1 + random.nextInt(3);
+                items.add(new OrderItem(0, 0, menuItemIds[menuIndex], quantity, OrderItem.Status.Pending));
+                totalCents += Money.times(menuPriceCents[menuIndex], quantity);
+            }
+            long start = System.nanoTime();
+            if (postgres) {
+                persistOrder(order, items);
+            }
+            orderService.placeOrder(order);
+            record(Operation.PLACE_ORDER, start);
+            count(orders);
+            changeStatus(order, Order.Status.Preparing);
+            changeStatus(order, Order.Status.Served);
+            placed.add(order);
+        }
+
+        Bill bill = new Bill();
+        bill.setOrderId(placed.get(placed.size() - 1).getOrderId());
+        bill.setTotalAmountCents(totalCents);
+        bill.setDiscountCents(Money.ZERO);
+        bill.setTaxCents(Money.percentOf(totalCents, TAX_BASIS_POINTS));
+        bill.setFinalAmountCents(Money.finalAmount(totalCents, bill.getDiscountCents(), bill.getTaxCents()));
+        bill.setPaymentStatus(Bill.PaymentStatus.Unpaid);
+        bill.setGeneratedAt(now());
+        long start = System.nanoTime();
+        billService.generateBill(bill);
+        record(Operation.BILL, start);
+
+        if (bill.getBillId() > 0) {
+            pay(bill, random);
+            start = System.nanoTime();
+            billService.updatePaymentStatus(bill.getBillId(), Bill.PaymentStatus.Paid.name());
+            record(Operation.SETTLE, start);
+        }
+        for (Order order : placed) {
+            changeStatus(order, Order.Status.Completed);
+        }
+        start = System.nanoTime();
+        tableService.releaseTable(table.getTableId());
+        record(Operation.RELEASE, start);
+        count(parties);
+    }
+
+    // walks the floor from a random table; booked parties are booked first, then seated
+    private Table claimTable(int partySize, boolean booked, SplittableRandom random) {
+        long start = System.nanoTime();
+        int offset = random.nextInt(tables.length);
+        for (int i = 0; i < tables.length; i++) {
+            Table table = tables[(offset + i) % tables.length];
+            if (table.getCapacity() < partySize) {
+                continue;
+            }
+            if (!booked) {
+                if (tableService.seatTable(table.getTableId())) {
+                    record(Operation.SEAT, start);
+                    return table;
+                }
+                continue;
+            }
+            TableBooking booking = new TableBooking(0, 0, table.getTableId(), new Date(System.currentTimeMillis()),
+                    new Time(System.currentTimeMillis()), TableBooking.Status.Confirmed, now());
+            if (tableService.bookTable(booking)) {
+                record(Operation.BOOK, start);
+                long seatStart = System.nanoTime();
+                tableService.transitionTable(table.getTableId(), Table.Status.Booked, Table.Status.Occupied);
+                record(Operation.SEAT, seatStart);
+                return table;
+            }
+        }
+        return null;
+    }
+
+    // most tables pay at once; the rest split the bill two to four ways, to the cent
+    private void pay(Bill bill, SplittableRandom random) {
+        int splits = random.nextInt(10) < 6 ? 1 : 2 + random.nextInt(3);
+        long cents = bill.getFinalAmountCents();
+        Payment.PaymentMethod[] methods = Payment.PaymentMethod.values();
+        for (int i = 0; i < splits; i++) {
+            long share = cents / splits + (i < cents % splits ? 1 : 0);
+            Payment payment = new Payment(0, bill.getBillId(), methods[random.nextInt(methods.length)],
+                    share, now(), Payment.Status.Successful);
+            long start = System.nanoTime();
+            paymentService.processPayment(payment);
+            record(Operation.PAY, start);
+        }
+    }
+
+    private void changeStatus(Order order, Order.Status status) {
+        long start = System.nanoTime();
+        orderService.updateOrderStatus(order.getOrderId(), status);
+        order.setStatus(status);
+        if (postgres) {
+            persistStatus(order);
+        }
+        record(Operation.ORDER_STATUS, start);
+    }
+
+    private void persistOrder(Order order, List<OrderItem> items) {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            factory.getOrderDAO().addOrder(order);
+            OrderItemDao orderItemDAO = factory.getOrderItemDAO();
+            for (OrderItem item : items) {
+                item.setOrderId(order.getOrderId());
+                orderItemDAO.addOrderItem(item);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void persistStatus(Order order) {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            OrderDao orderDAO = new RestaurantDaoFactory(conn).getOrderDAO();
+            orderDAO.updateOrder(order);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private List<Table> loadTables(TableDao tableDAO, int tableCount) {
+        List<Table> existing = tableDAO.getAllTables();
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+        List<Table> created = new ArrayList<>();
+        for (int i = 1; i <= tableCount; i++) {
+            Table table = new Table(0, i, CAPACITIES[i % CAPACITIES.length], Table.Status.Available);
+            tableDAO.addTable(table);
+            if (table.getTableId() > 0) {
+                created.add(table);
+            }
+        }
+        return created;
+    }
+
+    private List<MenuItem> loadMenu(MenuItemDao menuItemDAO, int menuItemCount, SplittableRandom random) {
+        List<MenuItem> existing = menuItemDAO.getAllMenuItems();
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+        List<MenuItem> created = new ArrayList<>();
+        for (int i = 1; i <= menuItemCount; i++) {
+            MenuItem item = newMenuItem(0, random);
+            item.setName("Rush dish " + i);
+            menuItemDAO.addMenuItem(item);
+            if (item.getItemId() > 0) {
+                created.add(item);
+            }
+        }
+        return created;
+    }
+
+    private List<Integer> loadWaiters(UserDao userDAO, int waiterCount) {
+        List<Integer> waiters = new ArrayList<>();
+        for (User user : userDAO.getAllUsers()) {
+            if (user.getRole() == User.Role.Waiter) {
+                waiters.add(user.getUserId());
+            }
+        }
+        for (int i = 1; waiters.isEmpty() && i <= waiterCount; i++) {
+            User user = new User(0, "rush_waiter_" + i, PasswordHasher.hash("rush_waiter_" + i),
+                    "rush_waiter_" + i + "@example.org", "", User.Role.Waiter, true, now());
+            try {
+                if (userDAO.addUser(user)) {
+                    waiters.add(user.getUserId());
+                }
+            } catch (DuplicateKeyException e) {
+                // left over from an earlier run under another role; skip it
+            }
+        }
+        return waiters;
+    }
+
+    private static MenuItem newMenuItem(int itemId, SplittableRandom random) {
+        MenuItem.Category[] categories = MenuItem.Category.values();
+        return new MenuItem(itemId, "Dish " + itemId, "", Math.round(random.nextDouble(3, 40) * 100) / 100.0,
+                categories[random.nextInt(categories.length)], true, now());
+    }
+
+    private void record(Operation operation, long startNanos) {
+        if (measuring) {
+            latencies.get(operation).record(System.nanoTime() - startNanos);
+        }
+    }
+
+    private void count(LongAdder counter) {
+        if (measuring) {
+            counter.increment();
+        }
+    }
+
+    private void printReport(double seconds) {
+        System.out.printf("Dinner rush: %s store, %d terminals on %s threads, %d tables, %.0f s measured%n",
+                postgres ? "PostgreSQL" : "embedded", terminals, VirtualThreads.isSupported() ? "virtual" : "platform",
+                tables.length, seconds);
+        System.out.printf("parties %d (%.1f/s), orders %d (%.1f/s), turned away %d, errors %d%n",
+                parties.sum(), parties.sum() / seconds, orders.sum(), orders.sum() / seconds,
+                turnedAway.sum(), errors.sum());
+        System.out.printf("%-12s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "ops/s", "p50 us", "p99 us", "p999 us", "max us");
+        for (Map.Entry<Operation, LogLinearHistogram> entry : latencies.entrySet()) {
+            LogLinearHistogram histogram = entry.getValue();
+            System.out.printf("%-12s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    entry.getKey().name().toLowerCase(), histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMax() / 1000.0);
+        }
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    /**
+     * {@code -Drms.loadgen.mode=embedded|postgres}, {@code terminals} (64), {@code durationSeconds}
+     * (60), {@code warmupSeconds} (10), {@code tables} (100), {@code menuItems} (80),
+     * {@code waiters} (12), {@code bookingPercent} (30), {@code thinkMillis} (0) and
+     * {@code seed} (42), all under {@code rms.loadgen.}.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        boolean postgres = "postgres".equalsIgnoreCase(System.getProperty("rms.loadgen.mode", "embedded"));
+        DinnerRush rush = new DinnerRush(postgres, Integer.getInteger("rms.loadgen.terminals", 64),
+                Long.getLong("rms.loadgen.seed", 42L));
+        if (!rush.setUp(Integer.getInteger("rms.loadgen.tables", 100), Integer.getInteger("rms.loadgen.menuItems", 80),
+                Integer.getInteger("rms.loadgen.waiters", 12))) {
+            System.err.println("Could not set up the floor" + (postgres ? "; is PostgreSQL running?" : ""));
+            return;
+        }
+        rush.run(Long.getLong("rms.loadgen.warmupSeconds", 10L) * 1000L,
+                Long.getLong("rms.loadgen.durationSeconds", 60L) * 1000L);
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.loadgen;
+
+import org.example.model.Bill;
+import org.example.service.interfaces.BillService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** In-memory bills for running the dinner rush without a database. */
+class EmbeddedBillService implements BillService {
+    private final Map<Integer, Bill> billsById = new ConcurrentHashMap<>();
+    private final Map<Integer, Bill> billsByOrderId = new ConcurrentHashMap<>();
+    private final AtomicInteger nextBillId = new AtomicInteger(1);
+
+    @Override
+    public void generateBill(Bill bill) {
+        bill.setBillId(nextBillId.getAndIncrement());
+        Bill stored = copyOf(bill);
+        billsById.put(stored.getBillId(), stored);
+        billsByOrderId.put(stored.getOrderId(), stored);
+    }
+
+    @Override
+    public Bill getBillByOrderId(int orderId) {
+        Bill stored = billsByOrderId.get(orderId);
+        return stored == null ? null : copyOf(stored);
+    }
+
+    @Override
+    public void updatePaymentStatus(int billId, String paymentStatus) {
+        Bill.PaymentStatus status = Bill.PaymentStatus.valueOf(paymentStatus);
+        billsById.computeIfPresent(billId, (id, stored) -> {
+            Bill updated = copyOf(stored);
+            updated.setPaymentStatus(status);
+            billsByOrderId.put(updated.getOrderId(), updated);
+            return updated;
+        });
+    }
+
+    @Override
+    public List<Bill> getUnpaidBills() {
+        List<Bill> unpaid = new ArrayList<>();
+        for (Bill bill : billsById.values()) {
+            if (bill.getPaymentStatus() == Bill.PaymentStatus.Unpaid) {
+                unpaid.add(copyOf(bill));
+            }
+        }
+        return unpaid;
+    }
+
+    private static Bill copyOf(Bill bill) {
+        return new Bill(bill.getBillId(), bill.getOrderId(), bill.getTotalAmountCents(), bill.getDiscountCents(),
+                bill.getTaxCents(), bill.getFinalAmountCents(), bill.getPaymentStatus(), bill.getGeneratedAt());
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.loadgen;
+
+import org.example.model.Payment;
+import org.example.service.interfaces.PaymentService;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** In-memory payments for running the dinner rush without a database; a split bill keeps its latest payment. */
+class EmbeddedPaymentService implements PaymentService {
+    private final Map<Integer, Payment> paymentsByBillId = new ConcurrentHashMap<>();
+    private final AtomicInteger nextPaymentId = new AtomicInteger(1);
+
+    @Override
+    public void processPayment(Payment payment) {
+        payment.setPaymentId(nextPaymentId.getAndIncrement());
+        paymentsByBillId.put(payment.getBillId(), copyOf(payment));
+    }
+
+    @Override
+    public Payment getPaymentByBillId(int billId) {
+        Payment stored = paymentsByBillId.get(billId);
+        return stored == null ? null : copyOf(stored);
+    }
+
+    private static Payment copyOf(Payment payment) {
+        return new Payment(payment.getPaymentId(), payment.getBillId(), payment.getPaymentMethod(),
+                payment.getAmountPaidCents(), payment.getPaymentTime(), payment.getStatus());
+    }
+}
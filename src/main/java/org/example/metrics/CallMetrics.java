@@ -0,0 +1,122 @@
+package org.example.metrics;
+
+import org.example.util.LogLinearHistogram;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, row and error counts of one DAO or service method. Recording is a few atomic
+ * increments: the latency histogram is lock-free and the counters are striped, so busy
+ * methods called from many threads do not contend on one cache line.
+ */
+public class CallMetrics implements CallMetricsMXBean {
+    private static final long MAX_LATENCY_NANOS = 60_000_000_000L;
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final String NO_SQL_STATE = "none";
+
+    private final String layer;
+    private final String component;
+    private final String method;
+    private final LogLinearHistogram latencyNanos = new LogLinearHistogram(MAX_LATENCY_NANOS, SUB_BUCKET_BITS);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final Map<String, LongAdder> errorsBySqlState = new ConcurrentHashMap<>();
+
+    CallMetrics(String layer, String component, String method) {
+        this.layer = layer;
+        this.component = component;
+        this.method = method;
+    }
+
+    public void recordLatency(long nanos) {
+        latencyNanos.record(nanos);
+    }
+
+    public void recordRows(long count) {
+        rows.add(count);
+    }
+
+    /** Counts a failure, keyed by SQL state for SQL errors and by exception type otherwise. */
+    public void recordError(Throwable error) {
+        errors.increment();
+        errorsBySqlState.computeIfAbsent(errorKey(error), ignored -> new LongAdder()).increment();
+    }
+
+    static String errorKey(Throwable error) {
+        if (error instanceof SQLException) {
+            String sqlState = ((SQLException) error).getSQLState();
+            return sqlState == null ? NO_SQL_STATE : sqlState;
+        }
+        return error.getClass().getSimpleName();
+    }
+
+    LogLinearHistogram latencyNanos() {
+        return latencyNanos;
+    }
+
+    @Override
+    public String getLayer() {
+        return layer;
+    }
+
+    @Override
+    public String getComponent() {
+        return component;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public long getCalls() {
+        return latencyNanos.getTotalCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latencyNanos.getMean() / 1_000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latencyNanos.getValueAtPercentile(50) / 1_000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latencyNanos.getValueAtPercentile(99) / 1_000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latencyNanos.getValueAtPercentile(99.9) / 1_000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latencyNanos.getMax() / 1_000.0;
+    }
+
+    @Override
+    public Map<String, Long> getErrorsBySqlState() {
+        Map<String, Long> counts = new TreeMap<>();
+        errorsBySqlState.forEach((state, count) -> counts.put(state, count.sum()));
+        return counts;
+    }
+}
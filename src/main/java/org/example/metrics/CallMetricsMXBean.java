@@ -0,0 +1,19 @@
+package org.example.metrics;
+
+import java.util.Map;
+
+/** JMX view of one instrumented method; latencies are in microseconds. */
+public interface CallMetricsMXBean {
+    String getLayer();
+    String getComponent();
+    String getMethod();
+    long getCalls();
+    long getErrors();
+    long getRows();
+    double getMeanMicros();
+    double getP50Micros();
+    double getP99Micros();
+    double getP999Micros();
+    double getMaxMicros();
+    Map<String, Long> getErrorsBySqlState();
+}
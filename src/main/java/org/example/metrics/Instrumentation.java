@@ -0,0 +1,108 @@
+package org.example.metrics;
+
+import org.example.jfr.CallEvent;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps DAOs and services in dynamic proxies that time every interface call and count the
+ * rows it returns (a collection's size, or one for a non-null entity). Failures thrown out
+ * of the call are counted too; SQL errors a DAO catches itself are picked up by the JDBC
+ * layer and charged to the same call. With metrics disabled the target is returned as is.
+ */
+public final class Instrumentation {
+    private static final ClassValue<Map<Method, CallMetrics>> METHODS = new ClassValue<>() {
+        @Override
+        protected Map<Method, CallMetrics> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private Instrumentation() {}
+
+    public static <T> T dao(Class<T> type, T target) {
+        return wrap("dao", type, target);
+    }
+
+    public static <T> T service(Class<T> type, T target) {
+        return wrap("service", type, target);
+    }
+
+    public static <T> T wrap(String layer, Class<T> type, T target) {
+        if (target == null || !MetricsRegistry.isEnabled() || Proxy.isProxyClass(target.getClass())) {
+            return target;
+        }
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new TimingHandler(layer, type, target, MetricsRegistry.shared())));
+    }
+
+    private static final class TimingHandler implements InvocationHandler {
+        private final String layer;
+        private final Class<?> type;
+        private final Object target;
+        private final MetricsRegistry registry;
+        private final Map<Method, CallMetrics> methods;
+
+        TimingHandler(String layer, Class<?> type, Object target, MetricsRegistry registry) {
+            this.layer = layer;
+            this.type = type;
+            this.target = target;
+            this.registry = registry;
+            this.methods = METHODS.get(type);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeTarget(method, args);
+            }
+            CallMetrics call = methods.get(method);
+            if (call == null) {
+                call = methods.computeIfAbsent(method, key -> registry.get(layer, type.getSimpleName(), key.getName()));
+            }
+            CallMetrics previous = registry.enter(call);
+            CallEvent event = new CallEvent();
+            event.begin();
+            long start = System.nanoTime();
+            try {
+                Object result = invokeTarget(method, args);
+                long rows = 0;
+                if (result instanceof Collection) {
+                    rows = ((Collection<?>) result).size();
+                } else if (result != null && !(result instanceof Boolean) && !(result instanceof Number)) {
+                    rows = 1;
+                }
+                call.recordRows(rows);
+                event.rows = rows;
+                return result;
+            } catch (Throwable e) {
+                call.recordError(e);
+                event.error = CallMetrics.errorKey(e);
+                throw e;
+            } finally {
+                call.recordLatency(System.nanoTime() - start);
+                registry.exit(previous);
+                if (event.shouldCommit()) {
+                    event.layer = layer;
+                    event.component = call.getComponent();
+                    event.method = call.getMethod();
+                    event.commit();
+                }
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Process-wide registry of {@link CallMetrics}, one per instrumented method. Each is
+ * registered as an MXBean under {@code org.example:type=CallMetrics} when first used, and
+ * {@link #scrape()} renders all of them in the Prometheus text format, followed by whatever
+ * other components add through {@link #addCollector}.
+ *
+ * <p>The registry also tracks which instrumented call is running on each thread, so SQL
+ * errors seen by the JDBC layer are charged to the DAO (or service) method that caused
+ * them, even though the DAOs catch and print them.
+ */
+public class MetricsRegistry {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("rms.metrics.enabled", "true"));
+    private static final MetricsRegistry SHARED = new MetricsRegistry(ManagementFactory.getPlatformMBeanServer());
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<String, CallMetrics> metrics = new ConcurrentHashMap<>();
+    private final ThreadLocal<CallMetrics> currentCall = new ThreadLocal<>();
+    private final List<Consumer<StringBuilder>> collectors = new CopyOnWriteArrayList<>();
+    private final MBeanServer mBeanServer;
+
+    MetricsRegistry(MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    public static MetricsRegistry shared() {
+        return SHARED;
+    }
+
+    /** False when started with {@code -Drms.metrics.enabled=false}; nothing is wrapped then. */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public CallMetrics get(String layer, String component, String method) {
+        return metrics.computeIfAbsent(layer + '.' + component + '.' + method, key -> {
+            CallMetrics created = new CallMetrics(layer, component, method);
+            register(created);
+            return created;
+        });
+    }
+
+    public List<CallMetrics> getAll() {
+        List<CallMetrics> all = new ArrayList<>(metrics.values());
+        all.sort(Comparator.comparing(CallMetrics::getLayer).thenComparing(CallMetrics::getComponent)
+                .thenComparing(CallMetrics::getMethod));
+        return all;
+    }
+
+    /** Adds {@code collector}'s metric families, already in the text format, to every scrape. */
+    public void addCollector(Consumer<StringBuilder> collector) {
+        collectors.add(collector);
+    }
+
+    /** Registers {@code bean} with the platform MBean server unless metrics are disabled. */
+    public void registerMXBean(String objectName, Object bean) {
+        if (mBeanServer == null || !ENABLED) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName(objectName);
+            if (!mBeanServer.isRegistered(name)) {
+                mBeanServer.registerMBean(bean, name);
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Marks {@code call} as running on this thread; returns the call it interrupts. */
+    CallMetrics enter(CallMetrics call) {
+        CallMetrics previous = currentCall.get();
+        currentCall.set(call);
+        return previous;
+    }
+
+    void exit(CallMetrics previous) {
+        if (previous == null) {
+            currentCall.remove();
+        } else {
+            currentCall.set(previous);
+        }
+    }
+
+    /** The innermost instrumented call running on this thread, e.g. {@code dao.UserDao.getAllUsers}; null outside one. */
+    public String currentCallName() {
+        CallMetrics call = currentCall.get();
+        return call == null ? null : call.getLayer() + '.' + call.getComponent() + '.' + call.getMethod();
+    }
+
+    /** Charges an SQL error to the instrumented call running on this thread, if any. */
+    public void recordSqlError(SQLException error) {
+        CallMetrics call = currentCall.get();
+        (call != null ? call : get("jdbc", "Connection", "unattributed")).recordError(error);
+    }
+
+    /** All metrics in the Prometheus text exposition format, latencies in seconds. */
+    public String scrape() {
+        List<CallMetrics> all = getAll();
+        StringBuilder out = new StringBuilder(256 * all.size() + 256);
+        out.append("# HELP rms_call_latency_seconds Latency of instrumented DAO and service calls\n")
+                .append("# TYPE rms_call_latency_seconds summary\n");
+        for (CallMetrics call : all) {
+            long count = call.getCalls();
+            for (double quantile : QUANTILES) {
+                appendName(out, "rms_call_latency_seconds", call).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(call.latencyNanos().getValueAtPercentile(quantile * 100) / 1e9).append('\n');
+            }
+            appendName(out, "rms_call_latency_seconds_sum", call).append("} ")
+                    .append(call.latencyNanos().getMean() * count / 1e9).append('\n');
+            appendName(out, "rms_call_latency_seconds_count", call).append("} ").append(count).append('\n');
+        }
+        out.append("# HELP rms_call_rows_total Rows or entities returned by instrumented calls\n")
+                .append("# TYPE rms_call_rows_total counter\n");
+        for (CallMetrics call : all) {
+            appendName(out, "rms_call_rows_total", call).append("} ").append(call.getRows()).append('\n');
+        }
+        out.append("# HELP rms_call_errors_total Failed calls by SQL state (or exception type)\n")
+                .append("# TYPE rms_call_errors_total counter\n");
+        for (CallMetrics call : all) {
+            for (Map.Entry<String, Long> entry : call.getErrorsBySqlState().entrySet()) {
+                appendName(out, "rms_call_errors_total", call).append(",sql_state=\"").append(entry.getKey())
+                        .append("\"} ").append(entry.getValue()).append('\n');
+            }
+        }
+        for (Consumer<StringBuilder> collector : collectors) {
+            collector.accept(out);
+        }
+        return out.toString();
+    }
+
+    private static StringBuilder appendName(StringBuilder out, String name, CallMetrics call) {
+        return out.append(name).append("{layer=\"").append(call.getLayer()).append("\",component=\"")
+                .append(call.getComponent()).append("\",method=\"").append(call.getMethod()).append('"');
+    }
+
+    private void register(CallMetrics call) {
+        registerMXBean("org.example:type=CallMetrics,layer=" + call.getLayer()
+                + ",component=" + call.getComponent() + ",method=" + call.getMethod(), call);
+    }
+}
@@ -1,14 +1,16 @@
 package org.example.model;
 
+import org.example.util.Money;
+
 import java.sql.Timestamp;
 
 public class Bill {
     private int billId;
     private int orderId;
-    private double totalAmount;
-    private double discount;
-    private double tax;
-    private double finalAmount;
+    private long totalAmountCents;
+    private long discountCents;
+    private long taxCents;
+    private long finalAmountCents;
     private PaymentStatus paymentStatus;
     private Timestamp generatedAt;
 
@@ -19,14 +21,14 @@ public class Bill {
 
     public Bill() {}
 
-    public Bill(int billId, int orderId, double totalAmount, double discount,
-                double tax, double finalAmount, PaymentStatus paymentStatus, Timestamp generatedAt) {
+    public Bill(int billId, int orderId, long totalAmountCents, long discountCents,
+                long taxCents, long finalAmountCents, PaymentStatus paymentStatus, Timestamp generatedAt) {
         this.billId = billId;
         this.orderId = orderId;
-        this.totalAmount = totalAmount;
-        this.discount = discount;
-        this.tax = tax;
-        this.finalAmount = finalAmount;
+        this.totalAmountCents = totalAmountCents;
+        this.discountCents = discountCents;
+        this.taxCents = taxCents;
+        this.finalAmountCents = finalAmountCents;
         this.paymentStatus = paymentStatus;
         this.generatedAt = generatedAt;
     }
@@ -37,17 +39,17 @@ public class Bill {
     public int getOrderId() { return orderId; }
     public void setOrderId(int orderId) { this.orderId = orderId; }
 
-    public double getTotalAmount() { return totalAmount; }
-    public void setTotalAmount(double totalAmount) { this.totalAmount = totalAmount; }
+    public long getTotalAmountCents() { return totalAmountCents; }
+    public void setTotalAmountCents(long totalAmountCents) { this.totalAmountCents = totalAmountCents; }
 
-    public double getDiscount() { return discount; }
-    public void setDiscount(double discount) { this.discount = discount; }
+    public long getDiscountCents() { return discountCents; }
+    public void setDiscountCents(long discountCents) { this.discountCents = discountCents; }
 
-    public double getTax() { return tax; }
-    public void setTax(double tax) { this.tax = tax; }
+    public long getTaxCents() { return taxCents; }
+    public void setTaxCents(long taxCents) { this.taxCents = taxCents; }
 
-    public double getFinalAmount() { return finalAmount; }
-    public void setFinalAmount(double finalAmount) { this.finalAmount = finalAmount; }
+    public long getFinalAmountCents() { return finalAmountCents; }
+    public void setFinalAmountCents(long finalAmountCents) { this.finalAmountCents = finalAmountCents; }
 
     public PaymentStatus getPaymentStatus() { return paymentStatus; }
     public void setPaymentStatus(PaymentStatus paymentStatus) { this.paymentStatus = paymentStatus; }
@@ -58,8 +60,8 @@ public class Bill {
     @Override
     public String toString() {
         return "Bill{" + "billId=" + billId + ", orderId=" + orderId +
-                ", totalAmount=" + totalAmount + ", discount=" + discount +
-                ", tax=" + tax + ", finalAmount=" + finalAmount +
+                ", totalAmount=" + Money.format(totalAmountCents) + ", discount=" + Money.format(discountCents) +
+                ", tax=" + Money.format(taxCents) + ", finalAmount=" + Money.format(finalAmountCents) +
                 ", paymentStatus=" + paymentStatus + ", generatedAt=" + generatedAt + '}';
     }
 }
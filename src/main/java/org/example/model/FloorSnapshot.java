@@ -0,0 +1,58 @@
+package org.example.model;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable point-in-time view of every table's status, as published by the table service.
+ */
+public class FloorSnapshot {
+    private final long version;
+    private final long takenAtMillis;
+    private final int[] tableIds;
+    private final Table.Status[] statuses;
+    private final int[] countsByStatus;
+
+    public FloorSnapshot(long version, long takenAtMillis, int[] tableIds, Table.Status[] statuses) {
+        this.version = version;
+        this.takenAtMillis = takenAtMillis;
+        this.tableIds = tableIds;
+        this.statuses = statuses;
+        this.countsByStatus = new int[Table.Status.values().length];
+        for (Table.Status status : statuses) {
+            countsByStatus[status.ordinal()]++;
+        }
+    }
+
+    public long getVersion() { return version; }
+
+    public long getTakenAtMillis() { return takenAtMillis; }
+
+    public int size() { return tableIds.length; }
+
+    public int getTableId(int index) { return tableIds[index]; }
+
+    public Table.Status getStatusAt(int index) { return statuses[index]; }
+
+    public Table.Status getStatus(int tableId) {
+        int index = Arrays.binarySearch(tableIds, tableId);
+        return index < 0 ? null : statuses[index];
+    }
+
+    public int count(Table.Status status) { return countsByStatus[status.ordinal()]; }
+
+    public Map<Table.Status, Integer> getCounts() {
+        Map<Table.Status, Integer> counts = new EnumMap<>(Table.Status.class);
+        for (Table.Status status : Table.Status.values()) {
+            counts.put(status, countsByStatus[status.ordinal()]);
+        }
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "FloorSnapshot{" + "version=" + version + ", tables=" + tableIds.length +
+                ", counts=" + getCounts() + '}';
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResult {
+    private static final int MAX_REJECTED_MESSAGES = 100;
+
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private final List<String> rejectedRows = new ArrayList<>();
+
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+
+    public long getRowsImported() { return rowsImported; }
+    public void setRowsImported(long rowsImported) { this.rowsImported = rowsImported; }
+
+    public long getRowsRejected() { return rowsRejected; }
+
+    public List<String> getRejectedRows() { return rejectedRows; }
+
+    public void reject(long lineNumber, String reason) {
+        rowsRejected++;
+        if (rejectedRows.size() < MAX_REJECTED_MESSAGES) {
+            rejectedRows.add("line " + lineNumber + ": " + reason);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" + "rowsRead=" + rowsRead + ", rowsImported=" + rowsImported +
+                ", rowsRejected=" + rowsRejected + '}';
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.model;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * Orders stored column by column in primitive arrays: ids, table and waiter ids, the order
+ * time as epoch milliseconds and the status as a byte, about 21 bytes an order plus a few for
+ * the id index, with no object per order and nothing for the collector to trace. An
+ * {@link Order} is only built when one is read back with {@link #toOrder}; order times keep
+ * millisecond precision.
+ */
+public class OrderColumns extends RowColumns {
+    public static final long NO_TIME = Long.MIN_VALUE;
+    private static final Order.Status[] STATUSES = Order.Status.values();
+
+    private int[] tableIds;
+    private int[] waiterIds;
+    private long[] orderTimes;
+
+    public OrderColumns() {
+        this(64);
+    }
+
+    public OrderColumns(int expectedSize) {
+        super(expectedSize);
+        growColumns(ids.length);
+    }
+
+    /** Stores {@code order} under its id, overwriting the row already there; returns the row. */
+    public int put(Order order) {
+        byte status = code(order.getStatus());
+        int row = rowFor(order.getOrderId());
+        tableIds[row] = order.getTableId();
+        waiterIds[row] = order.getWaiterId();
+        orderTimes[row] = order.getOrderTime() == null ? NO_TIME : order.getOrderTime().getTime();
+        statuses[row] = status;
+        return row;
+    }
+
+    public Order toOrder(int row) {
+        long orderTime = orderTimes[row];
+        return new Order(ids[row], tableIds[row], waiterIds[row],
+                orderTime == NO_TIME ? null : new Timestamp(orderTime), status(row));
+    }
+
+    public int orderId(int row) {
+        return ids[row];
+    }
+
+    public int tableId(int row) {
+        return tableIds[row];
+    }
+
+    public int waiterId(int row) {
+        return waiterIds[row];
+    }
+
+    public long orderTimeMillis(int row) {
+        return orderTimes[row];
+    }
+
+    public Order.Status status(int row) {
+        return decode(STATUSES, statuses[row]);
+    }
+
+    public void setStatus(int row, Order.Status status) {
+        statuses[row] = code(status);
+    }
+
+    @Override
+    void growColumns(int capacity) {
+        tableIds = tableIds == null ? new int[capacity] : Arrays.copyOf(tableIds, capacity);
+        waiterIds = waiterIds == null ? new int[capacity] : Arrays.copyOf(waiterIds, capacity);
+        orderTimes = orderTimes == null ? new long[capacity] : Arrays.copyOf(orderTimes, capacity);
+    }
+}
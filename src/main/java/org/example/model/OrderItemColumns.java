@@ -0,0 +1,71 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Order items stored column by column in primitive arrays: ids, order and menu item ids,
+ * quantity and the status as a byte, about 17 bytes an item plus a few for the id index.
+ * An {@link OrderItem} is only built when one is read back with {@link #toOrderItem}.
+ */
+public class OrderItemColumns extends RowColumns {
+    private static final OrderItem.Status[] STATUSES = OrderItem.Status.values();
+
+    private int[] orderIds;
+    private int[] menuItemIds;
+    private int[] quantities;
+
+    public OrderItemColumns() {
+        this(64);
+    }
+
+    public OrderItemColumns(int expectedSize) {
+        super(expectedSize);
+        growColumns(ids.length);
+    }
+
+    /** Stores {@code item} under its id, overwriting the row already there; returns the row. */
+    public int put(OrderItem item) {
+        byte status = code(item.getStatus());
+        int row = rowFor(item.getOrderItemId());
+        orderIds[row] = item.getOrderId();
+        menuItemIds[row] = item.getMenuItemId();
+        quantities[row] = item.getQuantity();
+        statuses[row] = status;
+        return row;
+    }
+
+    public OrderItem toOrderItem(int row) {
+        return new OrderItem(ids[row], orderIds[row], menuItemIds[row], quantities[row], status(row));
+    }
+
+    public int orderItemId(int row) {
+        return ids[row];
+    }
+
+    public int orderId(int row) {
+        return orderIds[row];
+    }
+
+    public int menuItemId(int row) {
+        return menuItemIds[row];
+    }
+
+    public int quantity(int row) {
+        return quantities[row];
+    }
+
+    public OrderItem.Status status(int row) {
+        return decode(STATUSES, statuses[row]);
+    }
+
+    public void setStatus(int row, OrderItem.Status status) {
+        statuses[row] = code(status);
+    }
+
+    @Override
+    void growColumns(int capacity) {
+        orderIds = orderIds == null ? new int[capacity] : Arrays.copyOf(orderIds, capacity);
+        menuItemIds = menuItemIds == null ? new int[capacity] : Arrays.copyOf(menuItemIds, capacity);
+        quantities = quantities == null ? new int[capacity] : Arrays.copyOf(quantities, capacity);
+    }
+}
@@ -1,12 +1,14 @@
 package org.example.model;
 
+import org.example.util.Money;
+
 import java.sql.Timestamp;
 
 public class Payment {
     private int paymentId;
     private int billId;
     private PaymentMethod paymentMethod;
-    private double amountPaid;
+    private long amountPaidCents;
     private Timestamp paymentTime;
     private Status status;
 
@@ -24,12 +26,12 @@ public class Payment {
 
     public Payment() {}
 
-    public Payment(int paymentId, int billId, PaymentMethod paymentMethod, double amountPaid,
+    public Payment(int paymentId, int billId, PaymentMethod paymentMethod, long amountPaidCents,
                    Timestamp paymentTime, Status status) {
         this.paymentId = paymentId;
         this.billId = billId;
         this.paymentMethod = paymentMethod;
-        this.amountPaid = amountPaid;
+        this.amountPaidCents = amountPaidCents;
         this.paymentTime = paymentTime;
         this.status = status;
     }
@@ -43,8 +45,8 @@ public class Payment {
     public PaymentMethod getPaymentMethod() { return paymentMethod; }
     public void setPaymentMethod(PaymentMethod paymentMethod) { this.paymentMethod = paymentMethod; }
 
-    public double getAmountPaid() { return amountPaid; }
-    public void setAmountPaid(double amountPaid) { this.amountPaid = amountPaid; }
+    public long getAmountPaidCents() { return amountPaidCents; }
+    public void setAmountPaidCents(long amountPaidCents) { this.amountPaidCents = amountPaidCents; }
 
     public Timestamp getPaymentTime() { return paymentTime; }
     public void setPaymentTime(Timestamp paymentTime) { this.paymentTime = paymentTime; }
@@ -55,7 +57,7 @@ public class Payment {
     @Override
     public String toString() {
         return "Payment{" + "paymentId=" + paymentId + ", billId=" + billId +
-                ", paymentMethod=" + paymentMethod + ", amountPaid=" + amountPaid +
+                ", paymentMethod=" + paymentMethod + ", amountPaid=" + Money.format(amountPaidCents) +
                 ", paymentTime=" + paymentTime + ", status=" + status + '}';
     }
 }
@@ -0,0 +1,91 @@
+package org.example.model;
+
+import org.example.util.RowIndex;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Row bookkeeping shared by the column stores: the id column, a byte status column holding
+ * the enum ordinal plus one (zero marks a free row), an index from id to row and a free list
+ * so removed rows are reused. Not thread-safe; callers guard it with their own lock.
+ */
+abstract class RowColumns {
+    private static final byte FREE = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    int[] ids;
+    byte[] statuses;
+    private final RowIndex byId = new RowIndex(row -> ids[row]);
+    private int[] freeRows = new int[MIN_CAPACITY];
+    private int freeCount;
+    private int rowLimit;
+    private int size;
+
+    RowColumns(int expectedSize) {
+        int capacity = Math.max(MIN_CAPACITY, expectedSize);
+        ids = new int[capacity];
+        statuses = new byte[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Rows are numbered from zero up to, not including, this; skip those that are not {@link #isLive}. */
+    public int rowLimit() {
+        return rowLimit;
+    }
+
+    public boolean isLive(int row) {
+        return statuses[row] != FREE;
+    }
+
+    /** The row holding {@code id}, or {@link RowIndex#NO_ROW}. */
+    public int rowOf(int id) {
+        return byId.get(id);
+    }
+
+    public void removeRow(int row) {
+        byId.remove(ids[row]);
+        statuses[row] = FREE;
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        }
+        freeRows[freeCount++] = row;
+        size--;
+    }
+
+    /** The row already holding {@code id}, or a fresh one; the caller fills in its status. */
+    int rowFor(int id) {
+        int row = byId.get(id);
+        if (row != RowIndex.NO_ROW) {
+            return row;
+        }
+        if (freeCount > 0) {
+            row = freeRows[--freeCount];
+        } else {
+            if (rowLimit == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                growColumns(capacity);
+            }
+            row = rowLimit++;
+        }
+        ids[row] = id;
+        byId.put(id, row);
+        size++;
+        return row;
+    }
+
+    abstract void growColumns(int capacity);
+
+    static byte code(Enum<?> status) {
+        return (byte) (Objects.requireNonNull(status, "status").ordinal() + 1);
+    }
+
+    static <E extends Enum<E>> E decode(E[] values, byte code) {
+        return values[code - 1];
+    }
+}
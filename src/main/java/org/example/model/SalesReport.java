@@ -1,22 +1,24 @@
 package org.example.model;
 
+import org.example.util.Money;
+
 import java.sql.Date;
 
 public class SalesReport {
     private int reportId;
     private Date reportDate;
-    private double totalSales;
+    private long totalSalesCents;
     private int totalOrders;
     private String topItems;
     private int generatedBy;
 
     public SalesReport() {}
 
-    public SalesReport(int reportId, Date reportDate, double totalSales, int totalOrders,
+    public SalesReport(int reportId, Date reportDate, long totalSalesCents, int totalOrders,
                        String topItems, int generatedBy) {
         this.reportId = reportId;
         this.reportDate = reportDate;
-        this.totalSales = totalSales;
+        this.totalSalesCents = totalSalesCents;
         this.totalOrders = totalOrders;
         this.topItems = topItems;
         this.generatedBy = generatedBy;
@@ -28,8 +30,8 @@ public class SalesReport {
     public Date getReportDate() { return reportDate; }
     public void setReportDate(Date reportDate) { this.reportDate = reportDate; }
 
-    public double getTotalSales() { return totalSales; }
-    public void setTotalSales(double totalSales) { this.totalSales = totalSales; }
+    public long getTotalSalesCents() { return totalSalesCents; }
+    public void setTotalSalesCents(long totalSalesCents) { this.totalSalesCents = totalSalesCents; }
 
     public int getTotalOrders() { return totalOrders; }
     public void setTotalOrders(int totalOrders) { this.totalOrders = totalOrders; }
@@ -43,7 +45,7 @@ public class SalesReport {
     @Override
     public String toString() {
         return "SalesReport{" + "reportId=" + reportId + ", reportDate=" + reportDate +
-                ", totalSales=" + totalSales + ", totalOrders=" + totalOrders +
+                ", totalSales=" + Money.format(totalSalesCents) + ", totalOrders=" + totalOrders +
                 ", topItems='" + topItems + '\'' + ", generatedBy=" + generatedBy + '}';
     }
 }
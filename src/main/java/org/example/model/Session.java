@@ -0,0 +1,35 @@
+package org.example.model;
+
+import java.sql.Timestamp;
+
+public class Session {
+    private final String token;
+    private final int userId;
+    private final String username;
+    private final User.Role role;
+    private final Timestamp createdAt;
+
+    public Session(String token, int userId, String username, User.Role role, Timestamp createdAt) {
+        this.token = token;
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.createdAt = createdAt;
+    }
+
+    public String getToken() { return token; }
+
+    public int getUserId() { return userId; }
+
+    public String getUsername() { return username; }
+
+    public User.Role getRole() { return role; }
+
+    public Timestamp getCreatedAt() { return createdAt; }
+
+    @Override
+    public String toString() {
+        return "Session{" + "userId=" + userId + ", username='" + username + '\'' +
+                ", role=" + role + ", createdAt=" + createdAt + '}';
+    }
+}
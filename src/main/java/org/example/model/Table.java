@@ -11,7 +11,21 @@ public class Table {
         Available,
         Booked,
         Occupied,
-        Reserved
+        Reserved;
+
+        public boolean canTransitionTo(Status next) {
+            switch (this) {
+                case Available:
+                    return next == Booked || next == Reserved || next == Occupied;
+                case Booked:
+                case Reserved:
+                    return next == Occupied || next == Available;
+                case Occupied:
+                    return next == Available;
+                default:
+                    return false;
+            }
+        }
     }
 
     public Table() {}
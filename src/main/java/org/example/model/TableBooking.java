@@ -16,7 +16,8 @@ public class TableBooking {
     public enum Status {
         Confirmed,
         Cancelled,
-        Completed
+        Completed,
+        NoShow
     }
 
     public TableBooking() {}
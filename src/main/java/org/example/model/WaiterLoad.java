@@ -0,0 +1,29 @@
+package org.example.model;
+
+public class WaiterLoad {
+    private final int waiterId;
+    private final int openTables;
+    private final int openOrders;
+    private final boolean onShift;
+
+    public WaiterLoad(int waiterId, int openTables, int openOrders, boolean onShift) {
+        this.waiterId = waiterId;
+        this.openTables = openTables;
+        this.openOrders = openOrders;
+        this.onShift = onShift;
+    }
+
+    public int getWaiterId() { return waiterId; }
+
+    public int getOpenTables() { return openTables; }
+
+    public int getOpenOrders() { return openOrders; }
+
+    public boolean isOnShift() { return onShift; }
+
+    @Override
+    public String toString() {
+        return "WaiterLoad{" + "waiterId=" + waiterId + ", openTables=" + openTables +
+                ", openOrders=" + openOrders + ", onShift=" + onShift + '}';
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.model;
+
+import java.sql.Timestamp;
+
+public class WaitlistEntry {
+    private int entryId;
+    private String partyName;
+    private int partySize;
+    private String phone;
+    private Timestamp joinedAt;
+    private Status status;
+    private Timestamp estimatedSeatAt;
+    private int tableId;
+
+    public enum Status {
+        Waiting,
+        Seated,
+        Cancelled
+    }
+
+    public WaitlistEntry() {}
+
+    public WaitlistEntry(int entryId, String partyName, int partySize, String phone, Timestamp joinedAt,
+                         Status status, Timestamp estimatedSeatAt, int tableId) {
+        this.entryId = entryId;
+        this.partyName = partyName;
+        this.partySize = partySize;
+        this.phone = phone;
+        this.joinedAt = joinedAt;
+        this.status = status;
+        this.estimatedSeatAt = estimatedSeatAt;
+        this.tableId = tableId;
+    }
+
+    public int getEntryId() { return entryId; }
+    public void setEntryId(int entryId) { this.entryId = entryId; }
+
+    public String getPartyName() { return partyName; }
+    public void setPartyName(String partyName) { this.partyName = partyName; }
+
+    public int getPartySize() { return partySize; }
+    public void setPartySize(int partySize) { this.partySize = partySize; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+
+    public Timestamp getJoinedAt() { return joinedAt; }
+    public void setJoinedAt(Timestamp joinedAt) { this.joinedAt = joinedAt; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    /** Predicted time a fitting table is ready; null when no table can seat the party. */
+    public Timestamp getEstimatedSeatAt() { return estimatedSeatAt; }
+    public void setEstimatedSeatAt(Timestamp estimatedSeatAt) { this.estimatedSeatAt = estimatedSeatAt; }
+
+    public int getTableId() { return tableId; }
+    public void setTableId(int tableId) { this.tableId = tableId; }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" + "entryId=" + entryId + ", partyName='" + partyName + '\'' +
+                ", partySize=" + partySize + ", phone='" + phone + '\'' + ", joinedAt=" + joinedAt +
+                ", status=" + status + ", estimatedSeatAt=" + estimatedSeatAt + ", tableId=" + tableId + '}';
+    }
+}
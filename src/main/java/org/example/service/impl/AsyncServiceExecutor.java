@@ -0,0 +1,35 @@
+package org.example.service.impl;
+
+import org.example.util.VirtualThreads;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded executor shared by the *ServiceAsync implementations. Work beyond the queue
+ * capacity is rejected so a burst of screen loads cannot pile up unbounded blocking calls.
+ */
+public class AsyncServiceExecutor {
+    private static final int THREADS = Integer.getInteger("rms.async.threads", 16);
+    private static final int QUEUE_CAPACITY = Integer.getInteger("rms.async.queueCapacity", 1000);
+
+    private AsyncServiceExecutor() {}
+
+    public static ExecutorService shared() {
+        return Holder.EXECUTOR;
+    }
+
+    public static ExecutorService newBoundedExecutor(String threadNamePrefix, int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), VirtualThreads.daemonThreadFactory(threadNamePrefix),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class Holder {
+        private static final ExecutorService EXECUTOR = newBoundedExecutor("rms-service", THREADS, QUEUE_CAPACITY);
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.service.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+abstract class AsyncServiceSupport<S> {
+    protected final S delegate;
+    private final Executor executor;
+
+    protected AsyncServiceSupport(S delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    protected <T> CompletableFuture<T> supply(Function<S, T> call) {
+        try {
+            return CompletableFuture.supplyAsync(() -> call.apply(delegate), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    protected CompletableFuture<Void> run(Consumer<S> call) {
+        try {
+            return CompletableFuture.runAsync(() -> call.accept(delegate), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.service.impl;
+
+import org.example.dao.RestaurantDaoFactory;
+import org.example.dao.interfaces.UserDao;
+import org.example.model.Session;
+import org.example.model.User;
+import org.example.service.interfaces.AuthService;
+import org.example.util.DatabaseUtil;
+import org.example.util.PasswordHasher;
+
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Login and session checks. Password hashing runs on its own small bounded pool, so a burst
+ * of logins queues there (and is rejected once the queue is full) instead of tying up
+ * request or service threads. Sessions live in memory, so authorizing a POS action is a
+ * map lookup. Legacy plain-text passwords are re-hashed after a successful login.
+ */
+public class AuthServiceImpl implements AuthService {
+    private static final long SESSION_TTL_MILLIS = Long.getLong("rms.auth.sessionTtlMinutes", 480L) * 60_000L;
+    private static final int MAX_SESSIONS = Integer.getInteger("rms.auth.maxSessions", 10_000);
+    private static final int HASH_THREADS = Integer.getInteger("rms.auth.hashThreads",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    private static final int HASH_QUEUE_CAPACITY = Integer.getInteger("rms.auth.hashQueueCapacity", 256);
+    private static final int TOKEN_BYTES = 32;
+
+    private final SessionCache sessions = new SessionCache(SESSION_TTL_MILLIS, MAX_SESSIONS);
+    private final Executor hashExecutor;
+    private final Executor lookupExecutor;
+    private final SecureRandom random = new SecureRandom();
+
+    public AuthServiceImpl() {
+        this(AsyncServiceExecutor.newBoundedExecutor("rms-auth", HASH_THREADS, HASH_QUEUE_CAPACITY), AsyncServiceExecutor.shared());
+    }
+
+    public AuthServiceImpl(Executor hashExecutor, Executor lookupExecutor) {
+        this.hashExecutor = hashExecutor;
+        this.lookupExecutor = lookupExecutor;
+    }
+
+    @Override
+    public CompletableFuture<Session> login(String username, String password) {
+        return async(() -> findUser(username), lookupExecutor)
+                .thenCompose(user -> async(() -> {
+                    if (user == null || !user.isActive()) {
+                        // spend the same hashing time on unknown users as on wrong passwords
+                        PasswordHasher.verify(password, DummyHash.VALUE);
+                        return null;
+                    }
+                    if (!PasswordHasher.verify(password, user.getPassword())) {
+                        return null;
+                    }
+                    // null: rejected; empty: accepted as stored; otherwise the upgraded hash to save
+                    return PasswordHasher.needsRehash(user.getPassword()) ? PasswordHasher.hash(password) : "";
+                }, hashExecutor).thenCompose(rehash -> {
+                    if (rehash == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    if (rehash.isEmpty()) {
+                        return CompletableFuture.completedFuture(openSession(user));
+                    }
+                    return async(() -> {
+                        updatePassword(user.getUserId(), rehash);
+                        return openSession(user);
+                    }, lookupExecutor);
+                }));
+    }
+
+    @Override
+    public Session getSession(String token) {
+        return token == null ? null : sessions.get(token, System.currentTimeMillis());
+    }
+
+    @Override
+    public Session authorize(String token, User.Role... allowedRoles) {
+        Session session = getSession(token);
+        if (session == null || allowedRoles.length == 0) {
+            return session;
+        }
+        for (User.Role role : allowedRoles) {
+            if (session.getRole() == role) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void logout(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    @Override
+    public void logoutUser(int userId) {
+        sessions.removeUser(userId);
+    }
+
+    @Override
+    public CompletableFuture<String> hashPassword(String password) {
+        return async(() -> PasswordHasher.hash(password), hashExecutor);
+    }
+
+    @Override
+    public int getActiveSessionCount() {
+        return sessions.size(System.currentTimeMillis());
+    }
+
+    private Session openSession(User user) {
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        random.nextBytes(tokenBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        Session session = new Session(token, user.getUserId(), user.getUsername(), user.getRole(),
+                new Timestamp(System.currentTimeMillis()));
+        sessions.put(session, System.currentTimeMillis());
+        return session;
+    }
+
+    private User findUser(String username) {
+        if (username == null || username.isBlank()) {
+            return null;
+        }
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            UserDao userDAO = factory.getUserDAO();
+            return userDAO.findByUsername(username);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private void updatePassword(int userId, String passwordHash) {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            UserDao userDAO = factory.getUserDAO();
+            userDAO.updatePassword(userId, passwordHash);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static <T> CompletableFuture<T> async(Supplier<T> call, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static class DummyHash {
+        private static final String VALUE = PasswordHasher.hash("rms-unknown-user");
+    }
+}
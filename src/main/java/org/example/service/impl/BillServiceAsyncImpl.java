@@ -0,0 +1,40 @@
+package org.example.service.impl;
+
+import org.example.model.Bill;
+import org.example.service.interfaces.BillService;
+import org.example.service.interfaces.BillServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class BillServiceAsyncImpl extends AsyncServiceSupport<BillService> implements BillServiceAsync {
+
+    public BillServiceAsyncImpl(BillService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public BillServiceAsyncImpl(BillService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> generateBill(Bill bill) {
+        return run(service -> service.generateBill(bill));
+    }
+
+    @Override
+    public CompletableFuture<Bill> getBillByOrderId(int orderId) {
+        return supply(service -> service.getBillByOrderId(orderId));
+    }
+
+    @Override
+    public CompletableFuture<Void> updatePaymentStatus(int billId, String paymentStatus) {
+        return run(service -> service.updatePaymentStatus(billId, paymentStatus));
+    }
+
+    @Override
+    public CompletableFuture<List<Bill>> getUnpaidBills() {
+        return supply(BillService::getUnpaidBills);
+    }
+}
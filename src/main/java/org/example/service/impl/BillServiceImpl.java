@@ -1,24 +1,81 @@
 package org.example.service.impl;
 
 
+import org.example.dao.RestaurantDaoFactory;
+import org.example.dao.interfaces.BillDao;
 import org.example.model.Bill;
+import org.example.service.interfaces.BillListener;
 import org.example.service.interfaces.BillService;
+import org.example.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class BillServiceImpl implements BillService {
+    private final List<BillListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(BillListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BillListener listener) {
+        listeners.remove(listener);
+    }
+
     @Override
     public void generateBill(Bill bill) {
-        // Generate bill
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            BillDao billDAO = new RestaurantDaoFactory(conn).getBillDAO();
+            billDAO.generateBill(bill);
+            fireChanged(bill);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
     }
 
     @Override
     public Bill getBillByOrderId(int orderId) {
-        // Get bill for given order ID
-        return null;
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            BillDao billDAO = new RestaurantDaoFactory(conn).getBillDAO();
+            return billDAO.getBillByOrderId(orderId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
     }
 
     @Override
     public void updatePaymentStatus(int billId, String paymentStatus) {
-        // Update payment status for bill
+        Bill.PaymentStatus status = Bill.PaymentStatus.valueOf(paymentStatus);
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            BillDao billDAO = new RestaurantDaoFactory(conn).getBillDAO();
+            Bill bill = billDAO.getBillById(billId);
+            if (bill != null) {
+                bill.setPaymentStatus(status);
+                billDAO.updateBill(bill);
+                fireChanged(bill);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public List<Bill> getUnpaidBills() {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            BillDao billDAO = new RestaurantDaoFactory(conn).getBillDAO();
+            return billDAO.getUnpaidBills();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
     }
-}
 
+    private void fireChanged(Bill bill) {
+        for (BillListener listener : listeners) {
+            listener.billChanged(bill);
+        }
+    }
+}
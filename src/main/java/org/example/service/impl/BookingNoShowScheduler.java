@@ -0,0 +1,183 @@
+package org.example.service.impl;
+
+import org.example.dao.RestaurantDaoFactory;
+import org.example.dao.interfaces.TableBookingDao;
+import org.example.dao.interfaces.TableDao;
+import org.example.model.Table;
+import org.example.model.TableBooking;
+import org.example.service.interfaces.TableService;
+import org.example.service.interfaces.TableStatusListener;
+import org.example.util.DatabaseUtil;
+import org.example.util.HierarchicalTimingWheel;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Expires confirmed bookings whose guests never arrive. Each booking gets one timer on a
+ * {@link HierarchicalTimingWheel}, due a grace period after its booking date and time. When
+ * it fires, a booking that is still Confirmed becomes NoShow and its table, if still Booked,
+ * goes back to Available. Seating, completing or cancelling a booking should cancel its timer
+ * through {@link #cancel(int)}.
+ *
+ * <p>Without a {@link TableService} bookings and tables live in the database, and a timer
+ * re-reads its booking there before marking it NoShow. With one, bookings are only held as
+ * Booked tables in that service: a timer releases its table if it is still Booked, and
+ * registered as the service's {@link TableStatusListener} the scheduler drops a table's timer
+ * as soon as the table stops being Booked. Timeouts run on their own single thread, so a slow
+ * database never holds up the wheel.
+ */
+public class BookingNoShowScheduler implements AutoCloseable, TableStatusListener {
+    private static final long GRACE_MILLIS = Long.getLong("rms.bookings.graceMinutes", 15L) * 60_000L;
+    private static final long TICK_MILLIS = 1_000L;
+    private static final int WHEEL_SIZE = 64;
+    private static final int EXPIRY_QUEUE_CAPACITY = 10_000;
+
+    private final Map<Integer, HierarchicalTimingWheel.Timeout> timeouts = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> bookingByTable = new ConcurrentHashMap<>();
+    private final LongAdder noShows = new LongAdder();
+    private final TableService tableService;
+    private final long graceMillis;
+    private final ExecutorService expiryExecutor;
+    private final HierarchicalTimingWheel wheel;
+
+    public BookingNoShowScheduler() {
+        this(null, GRACE_MILLIS);
+    }
+
+    public BookingNoShowScheduler(TableService tableService) {
+        this(tableService, GRACE_MILLIS);
+    }
+
+    public BookingNoShowScheduler(TableService tableService, long graceMillis) {
+        this.tableService = tableService;
+        this.graceMillis = graceMillis;
+        this.expiryExecutor = AsyncServiceExecutor.newBoundedExecutor("rms-no-show", 1, EXPIRY_QUEUE_CAPACITY);
+        this.wheel = new HierarchicalTimingWheel("rms-booking-wheel", TICK_MILLIS, WHEEL_SIZE, expiryExecutor);
+    }
+
+    /** Schedules every Confirmed booking in the database; overdue ones expire right away. */
+    public int loadPending() {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            TableBookingDao bookingDAO = factory.getTableBookingDAO();
+            return scheduleAll(bookingDAO.getAllBookings());
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    public int scheduleAll(Collection<TableBooking> bookings) {
+        int scheduled = 0;
+        for (TableBooking booking : bookings) {
+            if (schedule(booking)) {
+                scheduled++;
+            }
+        }
+        return scheduled;
+    }
+
+    /**
+     * Starts (or restarts) the no-show timer of a Confirmed booking. Returns false for
+     * bookings that are not Confirmed, have no id yet or have no date and time.
+     */
+    public boolean schedule(TableBooking booking) {
+        int bookingId = booking.getBookingId();
+        if (bookingId <= 0 || booking.getStatus() != TableBooking.Status.Confirmed
+                || booking.getBookingDate() == null || booking.getBookingTime() == null) {
+            return false;
+        }
+        long deadline = LocalDateTime.of(booking.getBookingDate().toLocalDate(), booking.getBookingTime().toLocalTime())
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + graceMillis;
+        int tableId = booking.getTableId();
+        AtomicReference<HierarchicalTimingWheel.Timeout> self = new AtomicReference<>();
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(() -> expire(bookingId, tableId, self.get()), deadline);
+        self.set(timeout);
+        HierarchicalTimingWheel.Timeout previous = timeouts.put(bookingId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (timeout.isExpired()) {
+            timeouts.remove(bookingId, timeout);
+        } else {
+            bookingByTable.put(tableId, bookingId);
+        }
+        return true;
+    }
+
+    /** Stops the timer of a booking that was seated, completed, cancelled or deleted. */
+    public boolean cancel(int bookingId) {
+        HierarchicalTimingWheel.Timeout timeout = timeouts.remove(bookingId);
+        return timeout != null && timeout.cancel();
+    }
+
+    @Override
+    public void tableStatusChanged(int tableId, int capacity, Table.Status previous, Table.Status current) {
+        if (previous == Table.Status.Booked && current != Table.Status.Booked) {
+            Integer bookingId = bookingByTable.remove(tableId);
+            if (bookingId != null) {
+                cancel(bookingId);
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return wheel.getPendingCount();
+    }
+
+    public long getNoShowCount() {
+        return noShows.sum();
+    }
+
+    @Override
+    public void close() {
+        wheel.close();
+        expiryExecutor.shutdown();
+    }
+
+    private void expire(int bookingId, int tableId, HierarchicalTimingWheel.Timeout timeout) {
+        if (timeout != null) {
+            timeouts.remove(bookingId, timeout);
+        }
+        bookingByTable.remove(tableId, bookingId);
+        if (tableService != null) {
+            // only a table still held for the booking is released; seated guests keep theirs
+            if (tableService.transitionTable(tableId, Table.Status.Booked, Table.Status.Available)) {
+                noShows.increment();
+            }
+            return;
+        }
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            TableBookingDao bookingDAO = factory.getTableBookingDAO();
+            TableBooking booking = bookingDAO.getBookingById(bookingId);
+            if (booking == null || booking.getStatus() != TableBooking.Status.Confirmed) {
+                return;
+            }
+            booking.setStatus(TableBooking.Status.NoShow);
+            bookingDAO.updateBooking(booking);
+            noShows.increment();
+            releaseTable(factory.getTableDAO(), booking.getTableId() > 0 ? booking.getTableId() : tableId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // only a table still held for the booking is released; seated guests keep theirs
+    private void releaseTable(TableDao tableDAO, int tableId) {
+        Table table = tableDAO.getTableById(tableId);
+        if (table != null && table.getStatus() == Table.Status.Booked) {
+            table.setStatus(Table.Status.Available);
+            tableDAO.updateTable(table);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.service.impl;
+
+import org.example.model.Customer;
+import org.example.util.ContactNormalizer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process hash index from normalized phone number to customer ids. Phones are packed into
+ * a {@code long} (a leading 1 followed by the digits, so leading zeros survive) and stored in
+ * open-addressing arrays: about 12 bytes per slot, with no per-entry objects, so a million
+ * customers fit in a few tens of megabytes. Several customers may share a phone, so the
+ * table is a multimap: all entries of a key sit in its probe run.
+ */
+class CustomerLookupIndex {
+    private static final int MAX_DIGITS = 18;
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] customerIds;
+    private int size;
+    private int resizeThreshold;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    CustomerLookupIndex(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(8, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1);
+    }
+
+    /** True when the phone has few enough digits to be indexed; other phones must go to the database. */
+    static boolean isIndexable(String phone) {
+        return encode(ContactNormalizer.normalizePhone(phone)) != EMPTY;
+    }
+
+    void rebuild(Collection<Customer> customers) {
+        lock.writeLock().lock();
+        try {
+            allocate(Integer.highestOneBit(Math.max(8, (int) (customers.size() / LOAD_FACTOR)) - 1) << 1);
+            for (Customer customer : customers) {
+                insert(encode(ContactNormalizer.normalizePhone(customer.getPhone())), customer.getCustomerId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void add(int customerId, String phone) {
+        long key = encode(ContactNormalizer.normalizePhone(phone));
+        if (key == EMPTY) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            insert(key, customerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int customerId, String phone) {
+        long key = encode(ContactNormalizer.normalizePhone(phone));
+        if (key == EMPTY) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int mask = keys.length - 1;
+            for (int slot = mix(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key && customerIds[slot] == customerId) {
+                    shiftBack(slot);
+                    size--;
+                    return;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ids of the customers with this phone number. */
+    int[] find(String phone) {
+        long key = encode(ContactNormalizer.normalizePhone(phone));
+        if (key == EMPTY) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            int[] found = new int[2];
+            int count = 0;
+            int mask = keys.length - 1;
+            for (int slot = mix(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count * 2);
+                    }
+                    found[count++] = customerIds[slot];
+                }
+            }
+            return Arrays.copyOf(found, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(long key, int customerId) {
+        if (key == EMPTY) {
+            return;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key && customerIds[slot] == customerId) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        customerIds[slot] = customerId;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private void shiftBack(int freedSlot) {
+        int mask = keys.length - 1;
+        int gap = freedSlot;
+        int slot = (gap + 1) & mask;
+        while (keys[slot] != EMPTY) {
+            int home = mix(keys[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                customerIds[gap] = customerIds[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldIds = customerIds;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insert(oldKeys[i], oldIds[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        customerIds = new int[capacity];
+        size = 0;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static long encode(String digits) {
+        if (digits == null || digits.length() > MAX_DIGITS) {
+            return EMPTY;
+        }
+        long key = 1;
+        for (int i = 0; i < digits.length(); i++) {
+            key = key * 10 + (digits.charAt(i) - '0');
+        }
+        return key;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.service.impl;
+
+import org.example.model.Customer;
+import org.example.service.interfaces.CustomerService;
+import org.example.service.interfaces.CustomerServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class CustomerServiceAsyncImpl extends AsyncServiceSupport<CustomerService> implements CustomerServiceAsync {
+
+    public CustomerServiceAsyncImpl(CustomerService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public CustomerServiceAsyncImpl(CustomerService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addCustomer(Customer customer) {
+        return supply(service -> service.addCustomer(customer));
+    }
+
+    @Override
+    public CompletableFuture<Customer> getCustomerById(int customerId) {
+        return supply(service -> service.getCustomerById(customerId));
+    }
+
+    @Override
+    public CompletableFuture<List<Customer>> getAllCustomers() {
+        return supply(CustomerService::getAllCustomers);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateCustomer(Customer customer) {
+        return run(service -> service.updateCustomer(customer));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteCustomer(int customerId) {
+        return run(service -> service.deleteCustomer(customerId));
+    }
+
+    @Override
+    public CompletableFuture<List<Customer>> findCustomersByPhone(String phone) {
+        return supply(service -> service.findCustomersByPhone(phone));
+    }
+
+    @Override
+    public CompletableFuture<Customer> findCustomerByEmail(String email) {
+        return supply(service -> service.findCustomerByEmail(email));
+    }
+
+    @Override
+    public CompletableFuture<List<Customer>> searchCustomers(String prefix, int limit) {
+        return supply(service -> service.searchCustomers(prefix, limit));
+    }
+}
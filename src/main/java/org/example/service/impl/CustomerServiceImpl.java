@@ -1,25 +1,43 @@
+
 package org.example.service.impl;
 
 import org.example.dao.RestaurantDaoFactory;
 import org.example.dao.interfaces.CustomerDao;
 import org.example.model.Customer;
 import org.example.service.interfaces.CustomerService;
+import org.example.util.ContactNormalizer;
 import org.example.util.DatabaseUtil;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Customer service over {@link CustomerDao}. Phone and email lookups use the database's
+ * normalized expression indexes; with {@code -Drms.customers.phoneIndex=true} phone lookups
+ * go through an in-process {@link CustomerLookupIndex} instead, loaded on first use and kept
+ * in step with changes made through this service.
+ */
 public class CustomerServiceImpl implements CustomerService {
+    private static final boolean PHONE_INDEX_ENABLED = Boolean.getBoolean("rms.customers.phoneIndex");
+
+    private final CustomerLookupIndex phoneIndex = PHONE_INDEX_ENABLED ? new CustomerLookupIndex(1024) : null;
+    private volatile boolean phoneIndexLoaded;
     
     @Override
-    public void addCustomer(Customer customer) {
+    public boolean addCustomer(Customer customer) {
         try (Connection conn = DatabaseUtil.getConnection()) {
             RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
             CustomerDao customerDAO = factory.getCustomerDAO();
-            customerDAO.addCustomer(customer);
+            boolean added = customerDAO.addCustomer(customer);
+            if (added && phoneIndexLoaded) {
+                phoneIndex.add(customer.getCustomerId(), customer.getPhone());
+            }
+            return added;
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
     }
 
@@ -52,7 +70,12 @@ public class CustomerServiceImpl implements CustomerService {
         try (Connection conn = DatabaseUtil.getConnection()) {
             RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
             CustomerDao customerDAO = factory.getCustomerDAO();
+            Customer previous = phoneIndexLoaded ? customerDAO.getCustomerById(customer.getCustomerId()) : null;
             customerDAO.updateCustomer(customer);
+            if (previous != null) {
+                phoneIndex.remove(previous.getCustomerId(), previous.getPhone());
+                phoneIndex.add(customer.getCustomerId(), customer.getPhone());
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -63,9 +86,85 @@ public class CustomerServiceImpl implements CustomerService {
         try (Connection conn = DatabaseUtil.getConnection()) {
             RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
             CustomerDao customerDAO = factory.getCustomerDAO();
+            Customer previous = phoneIndexLoaded ? customerDAO.getCustomerById(customerId) : null;
             customerDAO.deleteCustomer(customerId);
+            if (previous != null) {
+                phoneIndex.remove(customerId, previous.getPhone());
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public List<Customer> findCustomersByPhone(String phone) {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            CustomerDao customerDAO = factory.getCustomerDAO();
+            if (phoneIndex == null || !CustomerLookupIndex.isIndexable(phone)) {
+                return customerDAO.findByPhone(phone);
+            }
+            ensurePhoneIndexLoaded(customerDAO);
+            List<Customer> customers = new ArrayList<>();
+            for (int customerId : phoneIndex.find(phone)) {
+                Customer customer = customerDAO.getCustomerById(customerId);
+                if (customer != null) {
+                    customers.add(customer);
+                }
+            }
+            return customers;
         } catch (SQLException e) {
             e.printStackTrace();
+            return null;
+        }
+    }
+
+    @Override
+    public Customer findCustomerByEmail(String email) {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            CustomerDao customerDAO = factory.getCustomerDAO();
+            return customerDAO.findByEmail(email);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    @Override
+    public List<Customer> searchCustomers(String prefix, int limit) {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            CustomerDao customerDAO = factory.getCustomerDAO();
+            return looksLikePhone(prefix) ? customerDAO.findByPhonePrefix(prefix, limit)
+                    : customerDAO.findByEmailPrefix(prefix, limit);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private void ensurePhoneIndexLoaded(CustomerDao customerDAO) {
+        if (!phoneIndexLoaded) {
+            synchronized (phoneIndex) {
+                if (!phoneIndexLoaded) {
+                    phoneIndex.rebuild(customerDAO.getAllCustomers());
+                    phoneIndexLoaded = true;
+                }
+            }
+        }
+    }
+
+    private static boolean looksLikePhone(String prefix) {
+        if (prefix == null || ContactNormalizer.normalizePhone(prefix) == null) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (Character.isLetter(c) || c == '@') {
+                return false;
+            }
         }
+        return true;
     }
 }
@@ -0,0 +1,61 @@
+package org.example.service.impl;
+
+import org.example.model.Employee;
+import org.example.service.interfaces.EmployeeService;
+import org.example.service.interfaces.EmployeeServiceAsync;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class EmployeeServiceAsyncImpl extends AsyncServiceSupport<EmployeeService> implements EmployeeServiceAsync {
+
+    public EmployeeServiceAsyncImpl(EmployeeService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public EmployeeServiceAsyncImpl(EmployeeService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> addEmployee(Employee employee) {
+        return run(service -> service.addEmployee(employee));
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(int employeeId) {
+        return supply(service -> service.getEmployeeById(employeeId));
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeByUserId(int userId) {
+        return supply(service -> service.getEmployeeByUserId(userId));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return supply(EmployeeService::getAllEmployees);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateEmployee(Employee employee) {
+        return run(service -> service.updateEmployee(employee));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(int employeeId) {
+        return run(service -> service.deleteEmployee(employeeId));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getOnDutyEmployees(LocalTime time) {
+        return supply(service -> service.getOnDutyEmployees(time));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getOnDutyEmployees(LocalTime time, String role) {
+        return supply(service -> service.getOnDutyEmployees(time, role));
+    }
+}
@@ -1,26 +1,143 @@
 package org.example.service.impl;
 
+import org.example.dao.RestaurantDaoFactory;
+import org.example.dao.interfaces.EmployeeDao;
 import org.example.model.Employee;
 import org.example.service.interfaces.EmployeeService;
+import org.example.util.DatabaseUtil;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
+/**
+ * Employee records are written through {@link EmployeeDao}; reads and on-duty queries are
+ * answered from an in-memory {@link ShiftRoster} loaded on first use (retried until a load
+ * succeeds) and republished after every change made through this service.
+ */
 public class EmployeeServiceImpl implements EmployeeService {
+    private final AtomicReference<ShiftRoster> roster = new AtomicReference<>();
+
     @Override
     public void addEmployee(Employee employee) {
-        // Add employee
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            EmployeeDao employeeDAO = factory.getEmployeeDAO();
+            employeeDAO.addEmployee(employee);
+            Employee stored = employeeDAO.getEmployeeById(employee.getEmployeeId());
+            if (stored != null) {
+                publish(current -> current.with(stored));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public Employee getEmployeeById(int employeeId) {
+        Employee stored = currentRoster().get(employeeId);
+        return stored == null ? null : copyOf(stored);
     }
 
     @Override
     public Employee getEmployeeByUserId(int userId) {
-        // Fetch employee by user ID
-        return null;
+        Employee stored = currentRoster().getByUserId(userId);
+        return stored == null ? null : copyOf(stored);
     }
 
     @Override
     public List<Employee> getAllEmployees() {
-        // Fetch all employees
-        return new ArrayList<>();
+        return copyAll(currentRoster().all());
+    }
+
+    @Override
+    public void updateEmployee(Employee employee) {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            EmployeeDao employeeDAO = factory.getEmployeeDAO();
+            employeeDAO.updateEmployee(employee);
+            Employee stored = employeeDAO.getEmployeeById(employee.getEmployeeId());
+            if (stored != null) {
+                publish(current -> current.with(stored));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void deleteEmployee(int employeeId) {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            EmployeeDao employeeDAO = factory.getEmployeeDAO();
+            employeeDAO.deleteEmployee(employeeId);
+            publish(current -> current.without(employeeId));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public List<Employee> getOnDutyEmployees(LocalTime time) {
+        return copyAll(currentRoster().onDuty(time, null));
+    }
+
+    @Override
+    public List<Employee> getOnDutyEmployees(LocalTime time, String role) {
+        return copyAll(currentRoster().onDuty(time, role));
+    }
+
+    // a failed load answers this call with nobody on duty and is retried on the next one
+    private ShiftRoster currentRoster() {
+        ShiftRoster current = roster.get();
+        if (current != null) {
+            return current;
+        }
+        ShiftRoster loaded = loadRoster();
+        if (loaded == null) {
+            return ShiftRoster.EMPTY;
+        }
+        roster.compareAndSet(null, loaded);
+        return roster.get();
+    }
+
+    // with no roster loaded yet the change is left to the next load, which reads it back
+    private void publish(UnaryOperator<ShiftRoster> change) {
+        currentRoster();
+        roster.updateAndGet(current -> current == null ? null : change.apply(current));
+    }
+
+    /** The roster from the database, or null if it could not be read. */
+    private ShiftRoster loadRoster() {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            RestaurantDaoFactory factory = new RestaurantDaoFactory(conn);
+            EmployeeDao employeeDAO = factory.getEmployeeDAO();
+            return ShiftRoster.of(employeeDAO.getAllEmployees());
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static List<Employee> copyAll(List<Employee> storedEmployees) {
+        List<Employee> result = new ArrayList<>(storedEmployees.size());
+        for (Employee stored : storedEmployees) {
+            result.add(copyOf(stored));
+        }
+        return result;
+    }
+
+    private static Employee copyOf(Employee employee) {
+        Employee copy = new Employee(employee.getEmployeeId(), employee.getUserId(), employee.getDesignation(),
+                employee.getShiftStart(), employee.getShiftEnd(), employee.getJoinedDate());
+        copy.setName(employee.getName());
+        copy.setRole(employee.getRole());
+        copy.setContactNumber(employee.getContactNumber());
+        copy.setEmail(employee.getEmail());
+        return copy;
     }
 }
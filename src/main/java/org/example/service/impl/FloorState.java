@@ -0,0 +1,217 @@
+package org.example.service.impl;
+
+import org.example.model.FloorSnapshot;
+import org.example.model.Table;
+import org.example.service.interfaces.TableStatusListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live status of every table, indexed directly by table id. Each table's status sits in its
+ * own atomic cell and changes only through compare-and-set transitions that respect
+ * {@link Table.Status#canTransitionTo}. Adding or removing tables copies the (small) cell
+ * array, so status reads and transitions never take a lock. Every status change is reported
+ * to the registered {@link TableStatusListener}s after it happens.
+ */
+class FloorState {
+    private static final Table.Status[] STATUSES = Table.Status.values();
+    private static final int MAX_TABLE_ID = 1 << 20;
+    private static final int SNAPSHOT_ATTEMPTS = 4;
+
+    private final Object structureLock = new Object();
+    private final AtomicLong version = new AtomicLong();
+    private volatile Cell[] cellsById = new Cell[64];
+    private volatile FloorSnapshot lastSnapshot;
+    private final List<TableStatusListener> listeners = new CopyOnWriteArrayList<>();
+
+    void addListener(TableStatusListener listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(TableStatusListener listener) {
+        listeners.remove(listener);
+    }
+
+    void add(Table table) {
+        int tableId = table.getTableId();
+        if (tableId <= 0 || tableId > MAX_TABLE_ID) {
+            throw new IllegalArgumentException("Table id out of range: " + tableId);
+        }
+        Table.Status status = table.getStatus() == null ? Table.Status.Available : table.getStatus();
+        Table.Status previous;
+        synchronized (structureLock) {
+            Cell[] cells = cellsById;
+            if (tableId >= cells.length) {
+                cells = Arrays.copyOf(cells, Math.max(tableId + 1, cells.length * 2));
+            } else {
+                cells = cells.clone();
+            }
+            previous = cells[tableId] == null ? null : STATUSES[cells[tableId].status.get()];
+            cells[tableId] = new Cell(tableId, table.getTableNumber(), table.getCapacity(), status);
+            cellsById = cells;
+        }
+        version.incrementAndGet();
+        fireChanged(tableId, table.getCapacity(), previous, status);
+    }
+
+    boolean remove(int tableId) {
+        Cell removed;
+        synchronized (structureLock) {
+            Cell[] cells = cellsById;
+            if (tableId <= 0 || tableId >= cells.length || cells[tableId] == null) {
+                return false;
+            }
+            removed = cells[tableId];
+            cells = cells.clone();
+            cells[tableId] = null;
+            cellsById = cells;
+        }
+        version.incrementAndGet();
+        fireChanged(tableId, removed.capacity, STATUSES[removed.status.get()], null);
+        return true;
+    }
+
+    /** Changes the table number and capacity only; status changes go through {@link #transition}. */
+    boolean update(Table table) {
+        Cell cell = cell(table.getTableId());
+        if (cell == null) {
+            return false;
+        }
+        cell.tableNumber = table.getTableNumber();
+        cell.capacity = table.getCapacity();
+        return true;
+    }
+
+    Table get(int tableId) {
+        Cell cell = cell(tableId);
+        return cell == null ? null : cell.toTable();
+    }
+
+    Table.Status status(int tableId) {
+        Cell cell = cell(tableId);
+        return cell == null ? null : STATUSES[cell.status.get()];
+    }
+
+    List<Table> all() {
+        List<Table> tables = new ArrayList<>();
+        for (Cell cell : cellsById) {
+            if (cell != null) {
+                tables.add(cell.toTable());
+            }
+        }
+        return tables;
+    }
+
+    boolean transition(int tableId, Table.Status from, Table.Status to) {
+        if (!from.canTransitionTo(to)) {
+            return false;
+        }
+        Cell cell = cell(tableId);
+        if (cell == null || !cell.status.compareAndSet(from.ordinal(), to.ordinal())) {
+            return false;
+        }
+        version.incrementAndGet();
+        fireChanged(tableId, cell.capacity, from, to);
+        return true;
+    }
+
+    /**
+     * Moves the table to {@code to} from whatever legal status it is in now.
+     * Returns the previous status, or null if the table is unknown or the move is illegal.
+     */
+    Table.Status transitionToFromAny(int tableId, Table.Status to) {
+        Cell cell = cell(tableId);
+        if (cell == null) {
+            return null;
+        }
+        while (true) {
+            int current = cell.status.get();
+            Table.Status currentStatus = STATUSES[current];
+            if (!currentStatus.canTransitionTo(to)) {
+                return null;
+            }
+            if (cell.status.compareAndSet(current, to.ordinal())) {
+                version.incrementAndGet();
+                fireChanged(tableId, cell.capacity, currentStatus, to);
+                return currentStatus;
+            }
+        }
+    }
+
+    /**
+     * Returns the cached snapshot while no table has changed since it was taken; otherwise
+     * copies the cells, retrying a few times if a transition lands mid-copy.
+     */
+    FloorSnapshot snapshot() {
+        FloorSnapshot cached = lastSnapshot;
+        long currentVersion = version.get();
+        if (cached != null && cached.getVersion() == currentVersion) {
+            return cached;
+        }
+        FloorSnapshot snapshot = null;
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            long before = version.get();
+            snapshot = copy(before);
+            if (version.get() == before) {
+                break;
+            }
+        }
+        lastSnapshot = snapshot;
+        return snapshot;
+    }
+
+    private FloorSnapshot copy(long snapshotVersion) {
+        Cell[] cells = cellsById;
+        int count = 0;
+        for (Cell cell : cells) {
+            if (cell != null) {
+                count++;
+            }
+        }
+        int[] tableIds = new int[count];
+        Table.Status[] statuses = new Table.Status[count];
+        int index = 0;
+        for (Cell cell : cells) {
+            if (cell != null && index < count) {
+                tableIds[index] = cell.tableId;
+                statuses[index] = STATUSES[cell.status.get()];
+                index++;
+            }
+        }
+        return new FloorSnapshot(snapshotVersion, System.currentTimeMillis(), tableIds, statuses);
+    }
+
+    private void fireChanged(int tableId, int capacity, Table.Status previous, Table.Status current) {
+        for (TableStatusListener listener : listeners) {
+            listener.tableStatusChanged(tableId, capacity, previous, current);
+        }
+    }
+
+    private Cell cell(int tableId) {
+        Cell[] cells = cellsById;
+        return tableId > 0 && tableId < cells.length ? cells[tableId] : null;
+    }
+
+    private static final class Cell {
+        private final int tableId;
+        private volatile int tableNumber;
+        private volatile int capacity;
+        private final AtomicInteger status;
+
+        Cell(int tableId, int tableNumber, int capacity, Table.Status status) {
+            this.tableId = tableId;
+            this.tableNumber = tableNumber;
+            this.capacity = capacity;
+            this.status = new AtomicInteger(status.ordinal());
+        }
+
+        Table toTable() {
+            return new Table(tableId, tableNumber, capacity, STATUSES[status.get()]);
+        }
+    }
+}
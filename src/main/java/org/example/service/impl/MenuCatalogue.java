@@ -0,0 +1,169 @@
+package org.example.service.impl;
+
+import org.example.model.MenuItem;
+import org.example.util.IntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable version of the menu. Holds an int-keyed primary index, per-category position
+ * lists sorted by price, an availability bitset and a global price index. Every change builds
+ * a new catalogue, so readers only follow one volatile reference and never lock.
+ */
+final class MenuCatalogue {
+    private static final MenuItem.Category[] CATEGORIES = MenuItem.Category.values();
+
+    static final MenuCatalogue EMPTY = new MenuCatalogue(0, new MenuItem[0]);
+
+    private final long version;
+    private final MenuItem[] items;
+    private final IntHashMap<MenuItem> itemsById;
+    private final BitSet available;
+    private final int[] positionsByPrice;
+    private final double[] sortedPrices;
+    private final int[][] categoryPositionsByPrice;
+    private final double[][] categorySortedPrices;
+
+    private MenuCatalogue(long version, MenuItem[] items) {
+        this.version = version;
+        this.items = items;
+        this.itemsById = new IntHashMap<>(items.length);
+        this.available = new BitSet(items.length);
+        for (int position = 0; position < items.length; position++) {
+            itemsById.put(items[position].getItemId(), items[position]);
+            if (items[position].isAvailability()) {
+                available.set(position);
+            }
+        }
+
+        Integer[] byPrice = new Integer[items.length];
+        for (int i = 0; i < byPrice.length; i++) {
+            byPrice[i] = i;
+        }
+        Arrays.sort(byPrice, Comparator.comparingDouble((Integer position) -> items[position].getPrice())
+                .thenComparingInt(position -> items[position].getItemId()));
+        this.positionsByPrice = new int[items.length];
+        this.sortedPrices = new double[items.length];
+        int[] categorySizes = new int[CATEGORIES.length];
+        for (int i = 0; i < byPrice.length; i++) {
+            positionsByPrice[i] = byPrice[i];
+            sortedPrices[i] = items[byPrice[i]].getPrice();
+            categorySizes[categoryOrdinal(items[byPrice[i]])]++;
+        }
+
+        this.categoryPositionsByPrice = new int[CATEGORIES.length][];
+        this.categorySortedPrices = new double[CATEGORIES.length][];
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            categoryPositionsByPrice[c] = new int[categorySizes[c]];
+            categorySortedPrices[c] = new double[categorySizes[c]];
+        }
+        int[] fill = new int[CATEGORIES.length];
+        for (int position : positionsByPrice) {
+            int c = categoryOrdinal(items[position]);
+            categoryPositionsByPrice[c][fill[c]] = position;
+            categorySortedPrices[c][fill[c]] = items[position].getPrice();
+            fill[c]++;
+        }
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return items.length;
+    }
+
+    MenuItem get(int itemId) {
+        return itemsById.get(itemId);
+    }
+
+    List<MenuItem> all() {
+        return Arrays.asList(items);
+    }
+
+    /**
+     * Items in the given category (all categories when null) priced within
+     * [minPrice, maxPrice], cheapest first.
+     */
+    List<MenuItem> find(MenuItem.Category category, double minPrice, double maxPrice, boolean availableOnly) {
+        int[] positions = category == null ? positionsByPrice : categoryPositionsByPrice[category.ordinal()];
+        double[] prices = category == null ? sortedPrices : categorySortedPrices[category.ordinal()];
+        int from = lowerBound(prices, minPrice);
+        List<MenuItem> result = new ArrayList<>();
+        for (int i = from; i < prices.length && prices[i] <= maxPrice; i++) {
+            int position = positions[i];
+            if (!availableOnly || available.get(position)) {
+                result.add(items[position]);
+            }
+        }
+        return result;
+    }
+
+    MenuCatalogue with(MenuItem item) {
+        MenuItem[] updated;
+        int index = indexOf(item.getItemId());
+        if (index >= 0) {
+            updated = items.clone();
+            updated[index] = item;
+        } else {
+            int insertAt = -index - 1;
+            updated = new MenuItem[items.length + 1];
+            System.arraycopy(items, 0, updated, 0, insertAt);
+            updated[insertAt] = item;
+            System.arraycopy(items, insertAt, updated, insertAt + 1, items.length - insertAt);
+        }
+        return new MenuCatalogue(version + 1, updated);
+    }
+
+    MenuCatalogue without(int itemId) {
+        int index = indexOf(itemId);
+        if (index < 0) {
+            return this;
+        }
+        MenuItem[] updated = new MenuItem[items.length - 1];
+        System.arraycopy(items, 0, updated, 0, index);
+        System.arraycopy(items, index + 1, updated, index, items.length - index - 1);
+        return new MenuCatalogue(version + 1, updated);
+    }
+
+    // items are kept ordered by id, so positions can be found by binary search
+    private int indexOf(int itemId) {
+        int low = 0;
+        int high = items.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = items[mid].getItemId();
+            if (midId < itemId) {
+                low = mid + 1;
+            } else if (midId > itemId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int categoryOrdinal(MenuItem item) {
+        return item.getCategory() == null ? MenuItem.Category.Main.ordinal() : item.getCategory().ordinal();
+    }
+}
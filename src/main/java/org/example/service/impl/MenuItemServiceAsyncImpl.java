@@ -0,0 +1,65 @@
+package org.example.service.impl;
+
+import org.example.model.MenuItem;
+import org.example.service.interfaces.MenuItemService;
+import org.example.service.interfaces.MenuItemServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class MenuItemServiceAsyncImpl extends AsyncServiceSupport<MenuItemService> implements MenuItemServiceAsync {
+
+    public MenuItemServiceAsyncImpl(MenuItemService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public MenuItemServiceAsyncImpl(MenuItemService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> addMenuItem(MenuItem item) {
+        return run(service -> service.addMenuItem(item));
+    }
+
+    @Override
+    public CompletableFuture<MenuItem> getMenuItemById(int itemId) {
+        return supply(service -> service.getMenuItemById(itemId));
+    }
+
+    @Override
+    public CompletableFuture<List<MenuItem>> getAllMenuItems() {
+        return supply(MenuItemService::getAllMenuItems);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateMenuItem(MenuItem item) {
+        return run(service -> service.updateMenuItem(item));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteMenuItem(int itemId) {
+        return run(service -> service.deleteMenuItem(itemId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setMenuItemAvailability(int itemId, boolean available) {
+        return supply(service -> service.setMenuItemAvailability(itemId, available));
+    }
+
+    @Override
+    public CompletableFuture<List<MenuItem>> getMenuItemsByCategory(MenuItem.Category category) {
+        return supply(service -> service.getMenuItemsByCategory(category));
+    }
+
+    @Override
+    public CompletableFuture<List<MenuItem>> findMenuItems(MenuItem.Category category, double minPrice, double maxPrice, boolean availableOnly) {
+        return supply(service -> service.findMenuItems(category, minPrice, maxPrice, availableOnly));
+    }
+
+    @Override
+    public CompletableFuture<List<MenuItem>> searchMenuItems(String query, int limit) {
+        return supply(service -> service.searchMenuItems(query, limit));
+    }
+}
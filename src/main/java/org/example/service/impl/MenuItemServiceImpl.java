@@ -4,35 +4,155 @@ package org.example.service.impl;
 
 import org.example.model.MenuItem;
 import org.example.service.interfaces.MenuItemService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Menu store backed by an immutable {@link MenuCatalogue}. Writers build a new catalogue
+ * and publish it with a compare-and-set; readers just dereference the current version.
+ * Items are copied on the way in and out so a published catalogue never changes. Names and
+ * descriptions are also kept in a {@link MenuSearchIndex} for free-text search, and prices,
+ * categories and availability in an off-heap {@link MenuPriceTable} for billing; set
+ * {@code rms.menu.priceTable} to a file path to share that table with other processes.
+ */
 public class MenuItemServiceImpl implements MenuItemService {
-    private List<MenuItem> menuItems = new ArrayList<>();
+    private final AtomicReference<MenuCatalogue> catalogue = new AtomicReference<>(MenuCatalogue.EMPTY);
+    private final MenuSearchIndex searchIndex = new MenuSearchIndex();
+    private final AtomicInteger nextItemId = new AtomicInteger(1);
+    private final MenuPriceTable priceTable;
+
+    public MenuItemServiceImpl() {
+        this(defaultPriceTable());
+    }
+
+    /** Throws {@link IllegalStateException} if another process publishes to {@code priceTable}'s file. */
+    public MenuItemServiceImpl(MenuPriceTable priceTable) {
+        this.priceTable = priceTable;
+        try {
+            priceTable.claim();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public MenuPriceTable getPriceTable() {
+        return priceTable;
+    }
 
     @Override
     public void addMenuItem(MenuItem item) {
-        menuItems.add(item);
+        if (item.getItemId() <= 0) {
+            item.setItemId(nextItemId.getAndIncrement());
+        } else {
+            nextItemId.accumulateAndGet(item.getItemId() + 1, Math::max);
+        }
+        MenuItem stored = copyOf(item);
+        priceTable.publish(catalogue.updateAndGet(current -> current.with(stored)), stored.getItemId());
+        syncSearchIndex(stored.getItemId());
     }
 
     @Override
     public MenuItem getMenuItemById(int itemId) {
-        return menuItems.stream().filter(i -> i.getItemId() == itemId).findFirst().orElse(null);
+        MenuItem stored = catalogue.get().get(itemId);
+        return stored == null ? null : copyOf(stored);
     }
 
     @Override
     public List<MenuItem> getAllMenuItems() {
-        return menuItems;
+        return copyAll(catalogue.get().all());
     }
 
     @Override
     public void updateMenuItem(MenuItem item) {
-        deleteMenuItem(item.getItemId());
-        addMenuItem(item);
+        MenuItem stored = copyOf(item);
+        priceTable.publish(catalogue.updateAndGet(current -> current.get(stored.getItemId()) == null ? current : current.with(stored)),
+                stored.getItemId());
+        syncSearchIndex(stored.getItemId());
     }
 
     @Override
     public void deleteMenuItem(int itemId) {
-        menuItems.removeIf(i -> i.getItemId() == itemId);
+        priceTable.publish(catalogue.updateAndGet(current -> current.without(itemId)), itemId);
+        syncSearchIndex(itemId);
+    }
+
+    @Override
+    public boolean setMenuItemAvailability(int itemId, boolean available) {
+        MenuCatalogue current;
+        MenuCatalogue updated;
+        do {
+            current = catalogue.get();
+            MenuItem stored = current.get(itemId);
+            if (stored == null) {
+                return false;
+            }
+            if (stored.isAvailability() == available) {
+                return true;
+            }
+            MenuItem changed = copyOf(stored);
+            changed.setAvailability(available);
+            updated = current.with(changed);
+        } while (!catalogue.compareAndSet(current, updated));
+        priceTable.publish(updated, itemId);
+        return true;
+    }
+
+    @Override
+    public List<MenuItem> getMenuItemsByCategory(MenuItem.Category category) {
+        return findMenuItems(category, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, false);
+    }
+
+    @Override
+    public List<MenuItem> findMenuItems(MenuItem.Category category, double minPrice, double maxPrice, boolean availableOnly) {
+        return copyAll(catalogue.get().find(category, minPrice, maxPrice, availableOnly));
+    }
+
+    @Override
+    public List<MenuItem> searchMenuItems(String query, int limit) {
+        MenuCatalogue current = catalogue.get();
+        List<MenuItem> result = new ArrayList<>();
+        for (int itemId : searchIndex.search(query, limit)) {
+            MenuItem stored = current.get(itemId);
+            if (stored != null) {
+                result.add(copyOf(stored));
+            }
+        }
+        return result;
+    }
+
+    private static MenuPriceTable defaultPriceTable() {
+        int capacity = Integer.getInteger("rms.menu.priceTableCapacity", 65_536);
+        String file = System.getProperty("rms.menu.priceTable");
+        if (file == null || file.isEmpty()) {
+            return MenuPriceTable.allocate(capacity);
+        }
+        try {
+            return MenuPriceTable.map(Path.of(file), capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void syncSearchIndex(int itemId) {
+        searchIndex.sync(itemId, id -> catalogue.get().get(id));
+    }
+
+    private static List<MenuItem> copyAll(List<MenuItem> storedItems) {
+        List<MenuItem> result = new ArrayList<>(storedItems.size());
+        for (MenuItem stored : storedItems) {
+            result.add(copyOf(stored));
+        }
+        return result;
+    }
+
+    private static MenuItem copyOf(MenuItem item) {
+        return new MenuItem(item.getItemId(), item.getName(), item.getDescription(), item.getPrice(),
+                item.getCategory(), item.isAvailability(), item.getCreatedAt());
     }
 }
@@ -0,0 +1,288 @@
+package org.example.service.impl;
+
+import org.example.model.MenuItem;
+import org.example.util.Money;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.BitSet;
+
+/**
+ * Price, category and availability of every menu item in a fixed-layout table outside the
+ * heap, indexed directly by item id, so billing and kitchen routing can look them up without
+ * allocating. Each item is one 8-byte slot (price in cents in the low 48 bits, category
+ * ordinal plus one and flags above), read with a single atomic load.
+ *
+ * <p>The first publish writes the whole {@link MenuCatalogue}; after that each menu change
+ * rewrites only the slot of the item it touched, inside a sequence lock: a reader that needs
+ * several items from the same version of the menu (a whole bill) takes a stamp with
+ * {@link #beginRead()} and retries if {@link #validate} fails.
+ *
+ * <p>Backed by a direct buffer, or by a memory-mapped file that other processes on the same
+ * host can map too. Only one process publishes to a file: a publisher {@link #claim claims} it
+ * by writing its pid and start time into the header, and a file whose owner is still running
+ * cannot be claimed. Item ids at or above the capacity are not in the table and read as missing.
+ */
+public class MenuPriceTable {
+    public static final long NO_PRICE = Long.MIN_VALUE;
+
+    private static final int MAGIC = 0x524D5350; // "RMSP"
+    private static final int LAYOUT = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int LAYOUT_OFFSET = 4;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 16;
+    private static final int OWNER_PID_OFFSET = 24;
+    private static final int OWNER_START_OFFSET = 32;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 8;
+
+    private static final long PRICE_MASK = (1L << 48) - 1;
+    private static final int CATEGORY_SHIFT = 48;
+    private static final int FLAGS_SHIFT = 56;
+    private static final long PRESENT = 1L << FLAGS_SHIFT;
+    private static final long AVAILABLE = 2L << FLAGS_SHIFT;
+    private static final MenuItem.Category[] CATEGORIES = MenuItem.Category.values();
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final FileChannel channel;
+    private boolean claimed;
+    // null until the first publish, which clears whatever an earlier process left in a file
+    private MenuCatalogue published;
+
+    private MenuPriceTable(ByteBuffer buffer, FileChannel channel) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.capacity = buffer.getInt(CAPACITY_OFFSET);
+        this.channel = channel;
+    }
+
+    /** A table private to this process for item ids below {@code capacity}. */
+    public static MenuPriceTable allocate(int capacity) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size(capacity) + SLOT_BYTES).alignedSlice(SLOT_BYTES);
+        initialize(buffer, capacity);
+        return new MenuPriceTable(buffer, null);
+    }
+
+    /**
+     * Maps the table in {@code file}, creating it for item ids below {@code capacity} if it is
+     * new; an existing table keeps the capacity it was created with.
+     */
+    public static MenuPriceTable map(Path file, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        FileLock lock = null;
+        try {
+            lock = channel.lock();
+            if (channel.size() == 0) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size(capacity));
+                initialize(buffer, capacity);
+                return new MenuPriceTable(buffer, channel);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(LAYOUT_OFFSET) != LAYOUT
+                    || channel.size() < size(header.getInt(CAPACITY_OFFSET))) {
+                throw new IOException("Not a menu price table: " + file);
+            }
+            return new MenuPriceTable(channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    size(header.getInt(CAPACITY_OFFSET))), channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        } finally {
+            release(lock);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Price in cents, or {@link #NO_PRICE} if there is no such item. */
+    public long priceCents(int itemId) {
+        long slot = slot(itemId);
+        return slot == 0 ? NO_PRICE : price(slot);
+    }
+
+    /** Price in cents if the item exists and is available, otherwise {@link #NO_PRICE}. */
+    public long availablePriceCents(int itemId) {
+        long slot = slot(itemId);
+        return (slot & AVAILABLE) == 0 ? NO_PRICE : price(slot);
+    }
+
+    public boolean isAvailable(int itemId) {
+        return (slot(itemId) & AVAILABLE) != 0;
+    }
+
+    /** Category of the item, or null if there is no such item or it has none. */
+    public MenuItem.Category category(int itemId) {
+        int code = (int) (slot(itemId) >>> CATEGORY_SHIFT) & 0xFF;
+        return code == 0 ? null : CATEGORIES[code - 1];
+    }
+
+    /** A stamp for reading several items from one version of the menu; see {@link #validate}. */
+    public long beginRead() {
+        long sequence = (long) LONGS.getAcquire(buffer, SEQUENCE_OFFSET);
+        while ((sequence & 1) != 0) {
+            Thread.onSpinWait();
+            sequence = (long) LONGS.getAcquire(buffer, SEQUENCE_OFFSET);
+        }
+        return sequence;
+    }
+
+    /** True if no menu change was published since {@code stamp} was taken. */
+    public boolean validate(long stamp) {
+        VarHandle.loadLoadFence();
+        return (long) LONGS.getOpaque(buffer, SEQUENCE_OFFSET) == stamp;
+    }
+
+    /**
+     * Makes this table the publisher of its file; a no-op for a table that is not file backed.
+     * Throws {@link IllegalStateException} if another running process (or another table in this
+     * one) already publishes to the file.
+     */
+    synchronized void claim() throws IOException {
+        if (claimed || channel == null) {
+            claimed = true;
+            return;
+        }
+        FileLock lock = channel.lock();
+        try {
+            long ownerPid = buffer.getLong(OWNER_PID_OFFSET);
+            long ownerStart = buffer.getLong(OWNER_START_OFFSET);
+            if (ownerPid != 0 && isRunning(ownerPid, ownerStart)) {
+                throw new IllegalStateException("Menu price table is published by process " + ownerPid);
+            }
+            ProcessHandle self = ProcessHandle.current();
+            buffer.putLong(OWNER_START_OFFSET, startMillis(self));
+            buffer.putLong(OWNER_PID_OFFSET, self.pid());
+        } finally {
+            lock.release();
+        }
+        claimed = true;
+    }
+
+    /**
+     * Brings the table up to {@code catalogue}, which changed item {@code itemId}. The first call
+     * writes every slot; later ones write only that item's slot, taken from the newest catalogue
+     * published so far, so a change whose catalogue lost the race to a newer one still lands.
+     */
+    synchronized void publish(MenuCatalogue catalogue, int itemId) {
+        if (!claimed) {
+            throw new IllegalStateException("Menu price table was not claimed");
+        }
+        boolean first = published == null;
+        if (first || catalogue.version() > published.version()) {
+            published = catalogue;
+        }
+        FileLock lock = null;
+        try {
+            lock = channel == null ? null : channel.lock();
+            long sequence = beginWrite();
+            if (first) {
+                writeAll(published);
+            } else if (itemId >= 0 && itemId < capacity) {
+                MenuItem item = published.get(itemId);
+                LONGS.setOpaque(buffer, offset(itemId), item == null ? 0L : encode(item));
+            }
+            LONGS.setRelease(buffer, SEQUENCE_OFFSET, sequence + 2);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            release(lock);
+        }
+    }
+
+    private static void release(FileLock lock) {
+        if (lock != null && lock.isValid()) {
+            try {
+                lock.release();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // a publisher that died mid-write leaves the sequence odd; carry on from there
+    private long beginWrite() {
+        long sequence = (long) LONGS.getOpaque(buffer, SEQUENCE_OFFSET) & ~1L;
+        LONGS.setOpaque(buffer, SEQUENCE_OFFSET, sequence + 1);
+        VarHandle.storeStoreFence();
+        return sequence;
+    }
+
+    private void writeAll(MenuCatalogue catalogue) {
+        BitSet ids = new BitSet(capacity);
+        for (MenuItem item : catalogue.all()) {
+            int itemId = item.getItemId();
+            if (itemId >= 0 && itemId < capacity) {
+                ids.set(itemId);
+                LONGS.setOpaque(buffer, offset(itemId), encode(item));
+            }
+        }
+        for (int itemId = ids.nextClearBit(0); itemId < capacity; itemId = ids.nextClearBit(itemId + 1)) {
+            LONGS.setOpaque(buffer, offset(itemId), 0L);
+        }
+    }
+
+    private long slot(int itemId) {
+        if (itemId < 0 || itemId >= capacity) {
+            return 0L;
+        }
+        return (long) LONGS.getAcquire(buffer, offset(itemId));
+    }
+
+    private static long encode(MenuItem item) {
+        long slot = PRESENT | (Money.fromDouble(item.getPrice()) & PRICE_MASK);
+        if (item.getCategory() != null) {
+            slot |= (long) (item.getCategory().ordinal() + 1) << CATEGORY_SHIFT;
+        }
+        return item.isAvailability() ? slot | AVAILABLE : slot;
+    }
+
+    // sign-extends the 48-bit price
+    private static long price(long slot) {
+        return (slot << 16) >> 16;
+    }
+
+    // a recorded start time that no longer matches means the pid was reused
+    private static boolean isRunning(long pid, long startMillis) {
+        return ProcessHandle.of(pid)
+                .filter(ProcessHandle::isAlive)
+                .filter(process -> startMillis == 0 || startMillis(process) == 0 || startMillis(process) == startMillis)
+                .isPresent();
+    }
+
+    private static long startMillis(ProcessHandle process) {
+        return process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+
+    private static int offset(int itemId) {
+        return HEADER_BYTES + itemId * SLOT_BYTES;
+    }
+
+    private static int size(int capacity) {
+        if (capacity <= 0 || capacity > (Integer.MAX_VALUE - HEADER_BYTES) / SLOT_BYTES - 1) {
+            throw new IllegalArgumentException("Price table capacity out of range: " + capacity);
+        }
+        return HEADER_BYTES + capacity * SLOT_BYTES;
+    }
+
+    private static void initialize(ByteBuffer buffer, int capacity) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putLong(SEQUENCE_OFFSET, 0L);
+        buffer.putInt(LAYOUT_OFFSET, LAYOUT);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+    }
+}
@@ -0,0 +1,296 @@
+package org.example.service.impl;
+
+import org.example.model.MenuItem;
+import org.example.util.IntHashMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * In-memory full-text index over menu item names and descriptions. Terms live in a sorted
+ * inverted index (term to item ids) for prefix lookups, and a trigram index maps each
+ * trigram to the terms containing it so misspelt query words can still find their terms.
+ * Items are re-indexed one at a time when they change; searches share a read lock.
+ */
+class MenuSearchIndex {
+    private static final int NAME_FIELD = 1;
+    private static final int DESCRIPTION_FIELD = 2;
+
+    private static final int EXACT_SCORE = 8;
+    private static final int PREFIX_SCORE = 5;
+    private static final int FUZZY_SCORE = 2;
+    private static final int NAME_WEIGHT = 3;
+
+    private final NavigableMap<String, IntHashMap<Integer>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final IntHashMap<Indexed> indexedItems = new IntHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Re-indexes one item from its current state, or drops it when {@code currentItem}
+     * returns null. The lookup runs under the write lock, so concurrent syncs of the same
+     * item always leave the latest version indexed.
+     */
+    void sync(int itemId, IntFunction<MenuItem> currentItem) {
+        lock.writeLock().lock();
+        try {
+            Indexed previous = indexedItems.remove(itemId);
+            if (previous != null) {
+                unindex(itemId, previous);
+            }
+            MenuItem item = currentItem.apply(itemId);
+            if (item != null) {
+                index(itemId, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return indexedItems.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the items matching every word of {@code query}, best first. A word matches a
+     * term exactly, as a prefix, or within a small edit distance of the term or its prefix.
+     * Name matches outrank description matches.
+     */
+    List<Integer> search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            IntHashMap<int[]> scores = null;
+            for (String word : words) {
+                IntHashMap<int[]> wordScores = scoreWord(word);
+                scores = scores == null ? wordScores : intersect(scores, wordScores);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return rank(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IntHashMap<int[]> scoreWord(String word) {
+        IntHashMap<int[]> scores = new IntHashMap<>();
+        for (Map.Entry<String, IntHashMap<Integer>> entry : prefixRange(word).entrySet()) {
+            addScores(scores, entry.getValue(), entry.getKey().length() == word.length() ? EXACT_SCORE : PREFIX_SCORE);
+        }
+        int maxDistance = word.length() <= 3 ? 0 : word.length() <= 6 ? 1 : 2;
+        if (maxDistance > 0) {
+            for (String term : fuzzyCandidates(word, maxDistance)) {
+                if (!term.startsWith(word) && prefixDistance(word, term, maxDistance) <= maxDistance) {
+                    addScores(scores, postings.get(term), FUZZY_SCORE);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private NavigableMap<String, IntHashMap<Integer>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /** Terms sharing enough trigrams with the word to be within {@code maxDistance} edits. */
+    private Set<String> fuzzyCandidates(String word, int maxDistance) {
+        Set<String> trigrams = trigrams(word);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms != null) {
+                for (String term : terms) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        int required = Math.max(1, trigrams.size() - 3 * maxDistance);
+        Set<String> candidates = new HashSet<>();
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            if (entry.getValue() >= required) {
+                candidates.add(entry.getKey());
+            }
+        }
+        return candidates;
+    }
+
+    private static void addScores(IntHashMap<int[]> scores, IntHashMap<Integer> posting, int matchScore) {
+        for (int itemId : posting.keys()) {
+            int fields = posting.get(itemId);
+            int score = matchScore * ((fields & NAME_FIELD) != 0 ? NAME_WEIGHT : 1);
+            int[] best = scores.computeIfAbsent(itemId, key -> new int[1]);
+            best[0] = Math.max(best[0], score);
+        }
+    }
+
+    private static IntHashMap<int[]> intersect(IntHashMap<int[]> scores, IntHashMap<int[]> wordScores) {
+        IntHashMap<int[]> result = new IntHashMap<>(Math.min(scores.size(), wordScores.size()));
+        for (int itemId : scores.keys()) {
+            int[] wordScore = wordScores.get(itemId);
+            if (wordScore != null) {
+                int[] score = scores.get(itemId);
+                score[0] += wordScore[0];
+                result.put(itemId, score);
+            }
+        }
+        return result;
+    }
+
+    private List<Integer> rank(IntHashMap<int[]> scores, int limit) {
+        Comparator<Integer> bestFirst = (a, b) -> {
+            int byScore = Integer.compare(scores.get(b)[0], scores.get(a)[0]);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byName = indexedItems.get(a).name.compareTo(indexedItems.get(b).name);
+            return byName != 0 ? byName : Integer.compare(a, b);
+        };
+        // bounded heap of the best matches so far, worst at the head
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, bestFirst.reversed());
+        for (int itemId : scores.keys()) {
+            best.add(itemId);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(best);
+        ranked.sort(bestFirst);
+        return ranked;
+    }
+
+    private void index(int itemId, MenuItem item) {
+        Map<String, Integer> fieldsByTerm = new HashMap<>();
+        for (String term : tokenize(item.getName())) {
+            fieldsByTerm.merge(term, NAME_FIELD, (a, b) -> a | b);
+        }
+        for (String term : tokenize(item.getDescription())) {
+            fieldsByTerm.merge(term, DESCRIPTION_FIELD, (a, b) -> a | b);
+        }
+        for (Map.Entry<String, Integer> entry : fieldsByTerm.entrySet()) {
+            String term = entry.getKey();
+            IntHashMap<Integer> posting = postings.get(term);
+            if (posting == null) {
+                posting = new IntHashMap<>(4);
+                postings.put(term, posting);
+                for (String trigram : trigrams(term)) {
+                    termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+                }
+            }
+            posting.put(itemId, entry.getValue());
+        }
+        String name = item.getName() == null ? "" : item.getName().toLowerCase(Locale.ROOT);
+        indexedItems.put(itemId, new Indexed(name, fieldsByTerm.keySet().toArray(new String[0])));
+    }
+
+    private void unindex(int itemId, Indexed indexed) {
+        for (String term : indexed.terms) {
+            IntHashMap<Integer> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(itemId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+                for (String trigram : trigrams(term)) {
+                    Set<String> terms = termsByTrigram.get(trigram);
+                    if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // words are padded at the front so short words and their first letters still produce trigrams
+    private static Set<String> trigrams(String term) {
+        String padded = "  " + term;
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Smallest edit distance between {@code word} and {@code term} or any prefix of it, so a
+     * partially typed, misspelt word still matches. Gives up early once every cell of a row
+     * exceeds {@code maxDistance}.
+     */
+    private static int prefixDistance(String word, String term, int maxDistance) {
+        int[] previous = new int[term.length() + 1];
+        int[] current = new int[term.length() + 1];
+        for (int j = 0; j <= term.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= word.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= term.length(); j++) {
+                int cost = word.charAt(i - 1) == term.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return rowMin;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int distance : previous) {
+            best = Math.min(best, distance);
+        }
+        return best;
+    }
+
+    private static class Indexed {
+        final String name;
+        final String[] terms;
+
+        Indexed(String name, String[] terms) {
+            this.name = name;
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.service.impl;
+
+import org.example.model.OrderItem;
+import org.example.service.interfaces.OrderItemService;
+import org.example.service.interfaces.OrderItemServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class OrderItemServiceAsyncImpl extends AsyncServiceSupport<OrderItemService> implements OrderItemServiceAsync {
+
+    public OrderItemServiceAsyncImpl(OrderItemService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public OrderItemServiceAsyncImpl(OrderItemService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> addOrderItem(OrderItem orderItem) {
+        return run(service -> service.addOrderItem(orderItem));
+    }
+
+    @Override
+    public CompletableFuture<List<OrderItem>> getOrderItemsByOrderId(int orderId) {
+        return supply(service -> service.getOrderItemsByOrderId(orderId));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateOrderItemStatus(int orderItemId, String status) {
+        return run(service -> service.updateOrderItemStatus(orderItemId, status));
+    }
+}
@@ -1,23 +1,87 @@
 package org.example.service.impl;
+
+import org.example.jfr.StateTransitionEvent;
 import org.example.model.OrderItem;
+import org.example.model.OrderItemColumns;
 import org.example.service.interfaces.OrderItemService;
+import org.example.util.RowChains;
+import org.example.util.RowIndex;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * In-memory order item store. Items live in {@link OrderItemColumns}, one primitive row each,
+ * chained by order so an order's items come back in the order they were added; the columns
+ * and the chains share one read/write lock.
+ */
 public class OrderItemServiceImpl implements OrderItemService {
+    private final OrderItemColumns items = new OrderItemColumns();
+    private final RowChains itemsByOrder = new RowChains();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger nextOrderItemId = new AtomicInteger(1);
+
     @Override
     public void addOrderItem(OrderItem orderItem) {
-        // Logic to add order item to DB
+        if (orderItem.getOrderItemId() <= 0) {
+            orderItem.setOrderItemId(nextOrderItemId.getAndIncrement());
+        } else {
+            nextOrderItemId.accumulateAndGet(orderItem.getOrderItemId() + 1, Math::max);
+        }
+        if (orderItem.getStatus() == null) {
+            orderItem.setStatus(OrderItem.Status.Pending);
+        }
+        lock.writeLock().lock();
+        try {
+            int row = items.rowOf(orderItem.getOrderItemId());
+            OrderItem.Status previousStatus = null;
+            if (row != RowIndex.NO_ROW) {
+                previousStatus = items.status(row);
+                itemsByOrder.remove(items.orderId(row), row);
+            }
+            row = items.put(orderItem);
+            itemsByOrder.add(orderItem.getOrderId(), row);
+            recordTransition(row, previousStatus, orderItem.getStatus());
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
     public List<OrderItem> getOrderItemsByOrderId(int orderId) {
-        // Fetch order items by order ID
-        return new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<OrderItem> result = new ArrayList<>();
+            for (int row = itemsByOrder.first(orderId); row != RowChains.NO_ROW; row = itemsByOrder.next(row)) {
+                result.add(items.toOrderItem(row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public void updateOrderItemStatus(int orderItemId, String status) {
-        // Update order item status
+        OrderItem.Status next = OrderItem.Status.valueOf(status);
+        lock.writeLock().lock();
+        try {
+            int row = items.rowOf(orderItemId);
+            if (row != RowIndex.NO_ROW) {
+                OrderItem.Status previous = items.status(row);
+                items.setStatus(row, next);
+                recordTransition(row, previous, next);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recordTransition(int row, OrderItem.Status from, OrderItem.Status to) {
+        if (from != to) {
+            StateTransitionEvent.emit("OrderItem", items.orderItemId(row), items.orderId(row), 0, from, to);
+        }
     }
 }
@@ -0,0 +1,75 @@
+package org.example.service.impl;
+
+import org.example.model.Order;
+import org.example.service.interfaces.OrderService;
+import org.example.service.interfaces.OrderServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class OrderServiceAsyncImpl extends AsyncServiceSupport<OrderService> implements OrderServiceAsync {
+
+    public OrderServiceAsyncImpl(OrderService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public OrderServiceAsyncImpl(OrderService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> placeOrder(Order order) {
+        return run(service -> service.placeOrder(order));
+    }
+
+    @Override
+    public CompletableFuture<Order> getOrderById(int orderId) {
+        return supply(service -> service.getOrderById(orderId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrders() {
+        return supply(OrderService::getAllOrders);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateOrder(Order order) {
+        return run(service -> service.updateOrder(order));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateOrderStatus(int orderId, Order.Status status) {
+        return supply(service -> service.updateOrderStatus(orderId, status));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteOrder(int orderId) {
+        return run(service -> service.deleteOrder(orderId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrdersByTable(int tableId) {
+        return supply(service -> service.getOrdersByTable(tableId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrdersByWaiter(int waiterId) {
+        return supply(service -> service.getOrdersByWaiter(waiterId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrdersByStatus(Order.Status status) {
+        return supply(service -> service.getOrdersByStatus(status));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOpenOrdersByTable(int tableId) {
+        return supply(service -> service.getOpenOrdersByTable(tableId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOpenOrdersByWaiter(int waiterId) {
+        return supply(service -> service.getOpenOrdersByWaiter(waiterId));
+    }
+}
@@ -1,37 +1,234 @@
 package org.example.service.impl;
 
 
+import org.example.jfr.StateTransitionEvent;
 import org.example.model.Order;
+import org.example.model.OrderColumns;
+import org.example.service.interfaces.OrderListener;
 import org.example.service.interfaces.OrderService;
+import org.example.util.RowChains;
+import org.example.util.RowIndex;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * In-memory order store. Orders live in {@link OrderColumns}, one primitive row each, with
+ * secondary indexes by table, waiter and status kept as {@link RowChains} over the same rows,
+ * all guarded by one read/write lock so readers run concurrently and every index changes
+ * atomically with the rows. Orders are built fresh on the way out and copied into the columns
+ * on the way in, so callers cannot change an indexed field behind the store's back.
+ * Registered {@link OrderListener}s are told about every change while the write lock is held.
+ */
 public class OrderServiceImpl implements OrderService {
-    private List<Order> orders = new ArrayList<>();
+    private final OrderColumns orders = new OrderColumns();
+    private final RowChains ordersByTable = new RowChains();
+    private final RowChains ordersByWaiter = new RowChains();
+    private final RowChains ordersByStatus = new RowChains();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger nextOrderId = new AtomicInteger(1);
+    private final List<OrderListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(OrderListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(OrderListener listener) {
+        listeners.remove(listener);
+    }
 
     @Override
     public void placeOrder(Order order) {
-        orders.add(order);
+        if (order.getOrderId() <= 0) {
+            order.setOrderId(nextOrderId.getAndIncrement());
+        } else {
+            nextOrderId.accumulateAndGet(order.getOrderId() + 1, Math::max);
+        }
+        if (order.getStatus() == null) {
+            order.setStatus(Order.Status.Placed);
+        }
+        lock.writeLock().lock();
+        try {
+            int row = orders.rowOf(order.getOrderId());
+            Order.Status previousStatus = null;
+            Order previous = null;
+            if (row != RowIndex.NO_ROW) {
+                previousStatus = orders.status(row);
+                previous = listeners.isEmpty() ? null : orders.toOrder(row);
+                unindex(row);
+            }
+            row = orders.put(order);
+            index(row);
+            recordTransition(previousStatus, row, order.getStatus());
+            fireChanged(previous, row);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
     public Order getOrderById(int orderId) {
-        return orders.stream().filter(o -> o.getOrderId() == orderId).findFirst().orElse(null);
+        lock.readLock().lock();
+        try {
+            int row = orders.rowOf(orderId);
+            return row == RowIndex.NO_ROW ? null : orders.toOrder(row);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public List<Order> getAllOrders() {
-        return orders;
+        lock.readLock().lock();
+        try {
+            List<Order> result = new ArrayList<>(orders.size());
+            for (int row = 0; row < orders.rowLimit(); row++) {
+                if (orders.isLive(row)) {
+                    result.add(orders.toOrder(row));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public void updateOrder(Order order) {
-        deleteOrder(order.getOrderId());
-        placeOrder(order);
+        lock.writeLock().lock();
+        try {
+            int row = orders.rowOf(order.getOrderId());
+            if (row == RowIndex.NO_ROW) {
+                return;
+            }
+            Order previous = orders.toOrder(row);
+            unindex(row);
+            Order updated = order;
+            if (order.getStatus() == null) {
+                updated = new Order(order.getOrderId(), order.getTableId(), order.getWaiterId(), order.getOrderTime(),
+                        previous.getStatus());
+            }
+            orders.put(updated);
+            index(row);
+            recordTransition(previous.getStatus(), row, updated.getStatus());
+            fireChanged(previous, row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateOrderStatus(int orderId, Order.Status status) {
+        lock.writeLock().lock();
+        try {
+            int row = orders.rowOf(orderId);
+            if (row == RowIndex.NO_ROW) {
+                return false;
+            }
+            Order.Status previousStatus = orders.status(row);
+            if (previousStatus != status) {
+                Order previous = listeners.isEmpty() ? null : orders.toOrder(row);
+                ordersByStatus.remove(previousStatus.ordinal(), row);
+                orders.setStatus(row, status);
+                ordersByStatus.add(status.ordinal(), row);
+                recordTransition(previousStatus, row, status);
+                fireChanged(previous, row);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
     public void deleteOrder(int orderId) {
-        orders.removeIf(o -> o.getOrderId() == orderId);
+        lock.writeLock().lock();
+        try {
+            int row = orders.rowOf(orderId);
+            if (row != RowIndex.NO_ROW) {
+                Order stored = orders.toOrder(row);
+                recordTransition(stored.getStatus(), row, null);
+                unindex(row);
+                orders.removeRow(row);
+                notifyListeners(stored, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Order> getOrdersByTable(int tableId) {
+        return lookup(ordersByTable, tableId, false);
+    }
+
+    @Override
+    public List<Order> getOrdersByWaiter(int waiterId) {
+        return lookup(ordersByWaiter, waiterId, false);
+    }
+
+    @Override
+    public List<Order> getOpenOrdersByTable(int tableId) {
+        return lookup(ordersByTable, tableId, true);
+    }
+
+    @Override
+    public List<Order> getOpenOrdersByWaiter(int waiterId) {
+        return lookup(ordersByWaiter, waiterId, true);
+    }
+
+    @Override
+    public List<Order> getOrdersByStatus(Order.Status status) {
+        return lookup(ordersByStatus, status.ordinal(), false);
+    }
+
+    private List<Order> lookup(RowChains index, int key, boolean openOnly) {
+        lock.readLock().lock();
+        try {
+            List<Order> result = new ArrayList<>();
+            for (int row = index.first(key); row != RowChains.NO_ROW; row = index.next(row)) {
+                if (!openOnly || orders.status(row) != Order.Status.Completed) {
+                    result.add(orders.toOrder(row));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void recordTransition(Order.Status from, int row, Order.Status to) {
+        if (from != to) {
+            StateTransitionEvent.emit("Order", orders.orderId(row), orders.orderId(row), orders.tableId(row), from, to);
+        }
+    }
+
+    // each listener call gets orders built from the columns, so listeners cannot reach into the store
+    private void fireChanged(Order previous, int row) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        notifyListeners(previous, orders.toOrder(row));
+    }
+
+    private void notifyListeners(Order previous, Order current) {
+        for (OrderListener listener : listeners) {
+            listener.orderChanged(previous, current);
+        }
+    }
+
+    private void index(int row) {
+        ordersByTable.add(orders.tableId(row), row);
+        ordersByWaiter.add(orders.waiterId(row), row);
+        ordersByStatus.add(orders.status(row).ordinal(), row);
+    }
+
+    private void unindex(int row) {
+        ordersByTable.remove(orders.tableId(row), row);
+        ordersByWaiter.remove(orders.waiterId(row), row);
+        ordersByStatus.remove(orders.status(row).ordinal(), row);
     }
-}
\ No newline at end of file
+}
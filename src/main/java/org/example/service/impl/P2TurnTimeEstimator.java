@@ -0,0 +1,74 @@
+package org.example.service.impl;
+
+import org.example.service.interfaces.TurnTimeEstimator;
+import org.example.util.P2QuantileEstimator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Turn times kept as streaming P² estimates of the median and 90th percentile for each table
+ * capacity, so memory stays constant however many turns are recorded. A capacity without
+ * turns borrows the estimate of the nearest larger (else smaller) capacity, and falls back
+ * to {@code rms.waitlist.defaultTurnMinutes} when nothing has been recorded yet.
+ */
+public class P2TurnTimeEstimator implements TurnTimeEstimator {
+    private static final long DEFAULT_TURN_MILLIS = Long.getLong("rms.waitlist.defaultTurnMinutes", 60L) * 60_000L;
+    private static final long OVERDUE_REMAINING_MILLIS = 5 * 60_000L;
+
+    private final ConcurrentSkipListMap<Integer, Estimates> byCapacity = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void recordTurn(int capacity, long turnMillis) {
+        if (turnMillis > 0) {
+            byCapacity.computeIfAbsent(capacity, key -> new Estimates()).add(turnMillis);
+        }
+    }
+
+    @Override
+    public long estimateTurnMillis(int capacity) {
+        Estimates estimates = estimatesFor(capacity);
+        return estimates == null ? DEFAULT_TURN_MILLIS : estimates.median();
+    }
+
+    /**
+     * Time to the median turn while the table is younger than that, then to the 90th
+     * percentile; a table past both is expected to free up shortly.
+     */
+    @Override
+    public long estimateRemainingMillis(int capacity, long elapsedMillis) {
+        Estimates estimates = estimatesFor(capacity);
+        long median = estimates == null ? DEFAULT_TURN_MILLIS : estimates.median();
+        if (elapsedMillis < median) {
+            return median - elapsedMillis;
+        }
+        long p90 = estimates == null ? median : estimates.p90();
+        return elapsedMillis < p90 ? p90 - elapsedMillis : OVERDUE_REMAINING_MILLIS;
+    }
+
+    private Estimates estimatesFor(int capacity) {
+        Map.Entry<Integer, Estimates> entry = byCapacity.ceilingEntry(capacity);
+        if (entry == null) {
+            entry = byCapacity.floorEntry(capacity);
+        }
+        return entry == null ? null : entry.getValue();
+    }
+
+    private static final class Estimates {
+        private final P2QuantileEstimator median = new P2QuantileEstimator(0.5);
+        private final P2QuantileEstimator p90 = new P2QuantileEstimator(0.9);
+
+        synchronized void add(long turnMillis) {
+            median.add(turnMillis);
+            p90.add(turnMillis);
+        }
+
+        synchronized long median() {
+            return median.getCount() == 0 ? DEFAULT_TURN_MILLIS : (long) median.getQuantile();
+        }
+
+        synchronized long p90() {
+            return p90.getCount() == 0 ? DEFAULT_TURN_MILLIS : Math.max((long) p90.getQuantile(), median());
+        }
+    }
+}
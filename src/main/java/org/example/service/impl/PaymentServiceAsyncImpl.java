@@ -0,0 +1,29 @@
+package org.example.service.impl;
+
+import org.example.model.Payment;
+import org.example.service.interfaces.PaymentService;
+import org.example.service.interfaces.PaymentServiceAsync;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class PaymentServiceAsyncImpl extends AsyncServiceSupport<PaymentService> implements PaymentServiceAsync {
+
+    public PaymentServiceAsyncImpl(PaymentService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public PaymentServiceAsyncImpl(PaymentService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> processPayment(Payment payment) {
+        return run(service -> service.processPayment(payment));
+    }
+
+    @Override
+    public CompletableFuture<Payment> getPaymentByBillId(int billId) {
+        return supply(service -> service.getPaymentByBillId(billId));
+    }
+}
@@ -1,18 +1,50 @@
 package org.example.service.impl;
 
+import org.example.dao.RestaurantDaoFactory;
+import org.example.dao.interfaces.PaymentDao;
 import org.example.model.Payment;
+import org.example.service.interfaces.PaymentListener;
 import org.example.service.interfaces.PaymentService;
+import org.example.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 public class PaymentServiceImpl implements PaymentService {
+    private final List<PaymentListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(PaymentListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(PaymentListener listener) {
+        listeners.remove(listener);
+    }
+
     @Override
     public void processPayment(Payment payment) {
-        // Process the payment
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            PaymentDao paymentDAO = new RestaurantDaoFactory(conn).getPaymentDAO();
+            paymentDAO.recordPayment(payment);
+            for (PaymentListener listener : listeners) {
+                listener.paymentProcessed(payment);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
     }
 
     @Override
     public Payment getPaymentByBillId(int billId) {
-        // Fetch payment for the bill
-        return null;
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            PaymentDao paymentDAO = new RestaurantDaoFactory(conn).getPaymentDAO();
+            return paymentDAO.getPaymentByBillId(billId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
     }
 }
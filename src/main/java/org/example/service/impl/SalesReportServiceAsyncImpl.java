@@ -0,0 +1,35 @@
+package org.example.service.impl;
+
+import org.example.model.SalesReport;
+import org.example.service.interfaces.SalesReportService;
+import org.example.service.interfaces.SalesReportServiceAsync;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class SalesReportServiceAsyncImpl extends AsyncServiceSupport<SalesReportService> implements SalesReportServiceAsync {
+
+    public SalesReportServiceAsyncImpl(SalesReportService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public SalesReportServiceAsyncImpl(SalesReportService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> generateReport(SalesReport report) {
+        return run(service -> service.generateReport(report));
+    }
+
+    @Override
+    public CompletableFuture<SalesReport> getReportByDate(LocalDate date) {
+        return supply(service -> service.getReportByDate(date));
+    }
+
+    @Override
+    public CompletableFuture<SalesReport> getReportById(int reportId) {
+        return supply(service -> service.getReportById(reportId));
+    }
+}
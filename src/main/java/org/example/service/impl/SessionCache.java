@@ -0,0 +1,86 @@
+package org.example.service.impl;
+
+import org.example.model.Session;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Session tokens with a sliding idle timeout and least-recently-used eviction. The map is
+ * kept in access order, so expired sessions always sit at the head and are purged from
+ * there; when the cache is full the least recently used session is dropped.
+ */
+class SessionCache {
+    private final long ttlMillis;
+    private final int maxSessions;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    SessionCache(long ttlMillis, int maxSessions) {
+        this.ttlMillis = ttlMillis;
+        this.maxSessions = maxSessions;
+    }
+
+    synchronized void put(Session session, long nowMillis) {
+        purgeExpired(nowMillis);
+        entries.put(session.getToken(), new Entry(session, nowMillis));
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxSessions && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    synchronized Session get(String token, long nowMillis) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (nowMillis - entry.lastAccessMillis > ttlMillis) {
+            entries.remove(token);
+            return null;
+        }
+        entry.lastAccessMillis = nowMillis;
+        return entry.session;
+    }
+
+    synchronized Session remove(String token) {
+        Entry entry = entries.remove(token);
+        return entry == null ? null : entry.session;
+    }
+
+    synchronized int removeUser(int userId) {
+        int removed = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            if (it.next().session.getUserId() == userId) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    synchronized int size(long nowMillis) {
+        purgeExpired(nowMillis);
+        return entries.size();
+    }
+
+    private void purgeExpired(long nowMillis) {
+        for (Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            if (nowMillis - it.next().getValue().lastAccessMillis <= ttlMillis) {
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    private static class Entry {
+        final Session session;
+        long lastAccessMillis;
+
+        Entry(Session session, long lastAccessMillis) {
+            this.session = session;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.service.impl;
+
+import org.example.model.Employee;
+import org.example.util.IntHashMap;
+
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable interval index of employee shifts by time of day. The day is cut into 15-minute
+ * buckets and each bucket lists the employees whose shift overlaps it, overall and per role,
+ * so an on-duty query reads one bucket and checks only those candidates' exact times. Shifts
+ * that end before they start run past midnight. Changes build a new roster.
+ */
+final class ShiftRoster {
+    static final ShiftRoster EMPTY = new ShiftRoster(new IntHashMap<>());
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int BUCKET_MINUTES = 15;
+    private static final int BUCKETS = MINUTES_PER_DAY / BUCKET_MINUTES;
+    private static final int[] NONE = new int[0];
+
+    private final IntHashMap<Employee> employeesById;
+    private final IntHashMap<Employee> employeesByUserId = new IntHashMap<>();
+    private final int[][] onDutyByBucket;
+    private final Map<String, int[][]> onDutyByRoleAndBucket = new HashMap<>();
+
+    private ShiftRoster(IntHashMap<Employee> employeesById) {
+        this.employeesById = employeesById;
+        List<Employee> employees = employeesById.values();
+        employees.sort((a, b) -> Integer.compare(a.getEmployeeId(), b.getEmployeeId()));
+
+        Map<String, List<Employee>> byRole = new HashMap<>();
+        for (Employee employee : employees) {
+            if (employee.getUserId() > 0) {
+                employeesByUserId.put(employee.getUserId(), employee);
+            }
+            if (employee.getRole() != null) {
+                byRole.computeIfAbsent(employee.getRole(), key -> new ArrayList<>()).add(employee);
+            }
+        }
+        this.onDutyByBucket = buildBuckets(employees);
+        for (Map.Entry<String, List<Employee>> entry : byRole.entrySet()) {
+            onDutyByRoleAndBucket.put(entry.getKey(), buildBuckets(entry.getValue()));
+        }
+    }
+
+    static ShiftRoster of(Collection<Employee> employees) {
+        IntHashMap<Employee> employeesById = new IntHashMap<>(employees.size());
+        for (Employee employee : employees) {
+            employeesById.put(employee.getEmployeeId(), employee);
+        }
+        return new ShiftRoster(employeesById);
+    }
+
+    Employee get(int employeeId) {
+        return employeesById.get(employeeId);
+    }
+
+    Employee getByUserId(int userId) {
+        return employeesByUserId.get(userId);
+    }
+
+    List<Employee> all() {
+        List<Employee> employees = employeesById.values();
+        employees.sort((a, b) -> Integer.compare(a.getEmployeeId(), b.getEmployeeId()));
+        return employees;
+    }
+
+    /** Employees on shift at {@code time}; only those with {@code role} when it is not null. */
+    List<Employee> onDuty(LocalTime time, String role) {
+        int[][] buckets = role == null ? onDutyByBucket : onDutyByRoleAndBucket.get(role);
+        if (buckets == null) {
+            return new ArrayList<>();
+        }
+        int minute = time.getHour() * 60 + time.getMinute();
+        int[] candidates = buckets[minute / BUCKET_MINUTES];
+        List<Employee> onDuty = new ArrayList<>(candidates.length);
+        for (int employeeId : candidates) {
+            Employee employee = employeesById.get(employeeId);
+            if (covers(employee, minute)) {
+                onDuty.add(employee);
+            }
+        }
+        return onDuty;
+    }
+
+    ShiftRoster with(Employee employee) {
+        IntHashMap<Employee> updated = copy();
+        updated.put(employee.getEmployeeId(), employee);
+        return new ShiftRoster(updated);
+    }
+
+    ShiftRoster without(int employeeId) {
+        if (employeesById.get(employeeId) == null) {
+            return this;
+        }
+        IntHashMap<Employee> updated = copy();
+        updated.remove(employeeId);
+        return new ShiftRoster(updated);
+    }
+
+    private IntHashMap<Employee> copy() {
+        IntHashMap<Employee> copy = new IntHashMap<>(employeesById.size() + 1);
+        for (Employee employee : employeesById.values()) {
+            copy.put(employee.getEmployeeId(), employee);
+        }
+        return copy;
+    }
+
+    private static int[][] buildBuckets(List<Employee> employees) {
+        int[] counts = new int[BUCKETS];
+        for (Employee employee : employees) {
+            forEachBucket(employee, bucket -> counts[bucket]++);
+        }
+        int[][] buckets = new int[BUCKETS][];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            buckets[bucket] = counts[bucket] == 0 ? NONE : new int[counts[bucket]];
+        }
+        int[] fill = new int[BUCKETS];
+        for (Employee employee : employees) {
+            forEachBucket(employee, bucket -> buckets[bucket][fill[bucket]++] = employee.getEmployeeId());
+        }
+        return buckets;
+    }
+
+    private static void forEachBucket(Employee employee, IntConsumer action) {
+        int start = minuteOfDay(employee.getShiftStart());
+        int end = minuteOfDay(employee.getShiftEnd());
+        if (start < 0 || end < 0) {
+            return;
+        }
+        int length = Math.floorMod(end - start, MINUTES_PER_DAY);
+        if (length == 0) {
+            length = MINUTES_PER_DAY;
+        }
+        boolean[] seen = new boolean[BUCKETS];
+        for (int offset = 0; offset < length; offset += BUCKET_MINUTES) {
+            seen[((start + offset) % MINUTES_PER_DAY) / BUCKET_MINUTES] = true;
+        }
+        seen[((start + length - 1) % MINUTES_PER_DAY) / BUCKET_MINUTES] = true;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (seen[bucket]) {
+                action.accept(bucket);
+            }
+        }
+    }
+
+    /** Shifts are half-open, [start, end); equal start and end means a 24-hour shift. */
+    private static boolean covers(Employee employee, int minute) {
+        int start = minuteOfDay(employee.getShiftStart());
+        int end = minuteOfDay(employee.getShiftEnd());
+        if (start < 0 || end < 0) {
+            return false;
+        }
+        if (start == end) {
+            return true;
+        }
+        return start < end ? minute >= start && minute < end : minute >= start || minute < end;
+    }
+
+    private static int minuteOfDay(Time time) {
+        if (time == null) {
+            return -1;
+        }
+        LocalTime localTime = time.toLocalTime();
+        return localTime.getHour() * 60 + localTime.getMinute();
+    }
+}
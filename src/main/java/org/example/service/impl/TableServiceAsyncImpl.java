@@ -0,0 +1,72 @@
+package org.example.service.impl;
+
+import org.example.model.FloorSnapshot;
+import org.example.model.Table;
+import org.example.model.TableBooking;
+import org.example.service.interfaces.TableService;
+import org.example.service.interfaces.TableServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class TableServiceAsyncImpl extends AsyncServiceSupport<TableService> implements TableServiceAsync {
+
+    public TableServiceAsyncImpl(TableService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public TableServiceAsyncImpl(TableService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> addTable(Table table) {
+        return run(service -> service.addTable(table));
+    }
+
+    @Override
+    public CompletableFuture<Table> getTableById(int tableId) {
+        return supply(service -> service.getTableById(tableId));
+    }
+
+    @Override
+    public CompletableFuture<List<Table>> getAllTables() {
+        return supply(TableService::getAllTables);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateTable(Table table) {
+        return run(service -> service.updateTable(table));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTable(int tableId) {
+        return run(service -> service.deleteTable(tableId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> bookTable(TableBooking tableBooking) {
+        return supply(service -> service.bookTable(tableBooking));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> transitionTable(int tableId, Table.Status from, Table.Status to) {
+        return supply(service -> service.transitionTable(tableId, from, to));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> seatTable(int tableId) {
+        return supply(service -> service.seatTable(tableId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> releaseTable(int tableId) {
+        return supply(service -> service.releaseTable(tableId));
+    }
+
+    @Override
+    public CompletableFuture<FloorSnapshot> getFloorSnapshot() {
+        return supply(TableService::getFloorSnapshot);
+    }
+}
@@ -1,46 +1,85 @@
 package org.example.service.impl;
 
+import org.example.model.FloorSnapshot;
 import org.example.model.Table;
 import org.example.model.TableBooking;
 import org.example.service.interfaces.TableService;
-import java.util.ArrayList;
+import org.example.service.interfaces.TableStatusListener;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TableServiceImpl implements TableService {
-    private List<Table> tables = new ArrayList<>();
+    private final FloorState floor = new FloorState();
+    private final AtomicInteger nextTableId = new AtomicInteger(1);
+
+    public void addListener(TableStatusListener listener) {
+        floor.addListener(listener);
+    }
+
+    public void removeListener(TableStatusListener listener) {
+        floor.removeListener(listener);
+    }
 
     @Override
     public void addTable(Table table) {
-        tables.add(table);
+        if (table.getTableId() <= 0) {
+            table.setTableId(nextTableId.getAndIncrement());
+        } else {
+            nextTableId.accumulateAndGet(table.getTableId() + 1, Math::max);
+        }
+        if (table.getStatus() == null) {
+            table.setStatus(Table.Status.Available);
+        }
+        floor.add(table);
     }
 
     @Override
     public Table getTableById(int tableId) {
-        return tables.stream().filter(t -> t.getTableId() == tableId).findFirst().orElse(null);
+        return floor.get(tableId);
     }
 
     @Override
     public List<Table> getAllTables() {
-        return tables;
+        return floor.all();
     }
 
     @Override
     public void updateTable(Table table) {
-        deleteTable(table.getTableId());
-        addTable(table);
+        if (!floor.update(table)) {
+            addTable(table);
+        } else if (table.getStatus() != null && floor.status(table.getTableId()) != table.getStatus()) {
+            // an illegal move is ignored; callers that must know use transitionTable
+            floor.transitionToFromAny(table.getTableId(), table.getStatus());
+        }
     }
 
     @Override
     public void deleteTable(int tableId) {
-        tables.removeIf(t -> t.getTableId() == tableId);
+        floor.remove(tableId);
     }
 
     @Override
-    public void bookTable(TableBooking tableBooking) {
-        // Implementation for booking a table
-        Table table = getTableById(tableBooking.getTableId());
-        if (table != null && table.getStatus() == Table.Status.Available) {
-            table.setStatus(Table.Status.Booked);
-        }
+    public boolean bookTable(TableBooking tableBooking) {
+        return floor.transition(tableBooking.getTableId(), Table.Status.Available, Table.Status.Booked);
+    }
+
+    @Override
+    public boolean transitionTable(int tableId, Table.Status from, Table.Status to) {
+        return floor.transition(tableId, from, to);
+    }
+
+    @Override
+    public boolean seatTable(int tableId) {
+        return floor.transitionToFromAny(tableId, Table.Status.Occupied) != null;
+    }
+
+    @Override
+    public boolean releaseTable(int tableId) {
+        return floor.transitionToFromAny(tableId, Table.Status.Available) != null;
+    }
+
+    @Override
+    public FloorSnapshot getFloorSnapshot() {
+        return floor.snapshot();
     }
 }
@@ -0,0 +1,322 @@
+package org.example.service.impl;
+
+import org.example.model.Bill;
+import org.example.model.Order;
+import org.example.model.Payment;
+import org.example.model.Table;
+import org.example.service.interfaces.BillListener;
+import org.example.service.interfaces.OrderListener;
+import org.example.service.interfaces.PaymentListener;
+import org.example.service.interfaces.TableStatusListener;
+import org.example.service.interfaces.TurnTimeEstimator;
+import org.example.util.LogLinearHistogram;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Follows each table visit through seat, order, serve, bill and pay, and records the time
+ * between those steps, plus the whole turn from seating to release, in
+ * {@link LogLinearHistogram}s (seconds) per table capacity and hour of day. The hour is the
+ * one the party was seated in. Every capacity also keeps an all-day histogram next to the
+ * hourly ones, so estimates and percentiles are a single histogram read; other roll-ups are
+ * merged on demand.
+ *
+ * <p>Register it with the table, order, bill and payment services. When it gets no table
+ * events (e.g. without a floor service), a visit starts with its first order and ends when
+ * its payment goes through.
+ */
+public class TurnTimeRecorder implements TurnTimeEstimator, TableStatusListener, OrderListener,
+        BillListener, PaymentListener {
+
+    public enum Stage {
+        SEAT_TO_ORDER,
+        ORDER_TO_SERVE,
+        SERVE_TO_BILL,
+        BILL_TO_PAY,
+        TURN
+    }
+
+    private static final long MAX_SECONDS = 7 * 24 * 3600L;
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int HOURS = 24;
+    private static final int ALL_DAY = HOURS;
+    private static final int MIN_HOURLY_SAMPLES = 20;
+    private static final long DEFAULT_TURN_MILLIS = Long.getLong("rms.waitlist.defaultTurnMinutes", 60L) * 60_000L;
+    private static final long OVERDUE_REMAINING_MILLIS = 5 * 60_000L;
+    private static final Stage[] STAGES = Stage.values();
+
+    private final Map<Integer, AtomicReferenceArray<LogLinearHistogram>> histogramsByCapacity = new ConcurrentHashMap<>();
+    private final Map<Integer, Visit> visitsByTable = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> tableByOrder = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> orderByBill = new ConcurrentHashMap<>();
+    private final ZoneId zone;
+    private volatile boolean watchingFloor;
+
+    public TurnTimeRecorder() {
+        this(ZoneId.systemDefault());
+    }
+
+    public TurnTimeRecorder(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    @Override
+    public void tableStatusChanged(int tableId, int capacity, Table.Status previous, Table.Status current) {
+        watchingFloor = true;
+        long now = System.currentTimeMillis();
+        if (current == Table.Status.Occupied && previous != Table.Status.Occupied) {
+            visitsByTable.put(tableId, new Visit(tableId, capacity, now));
+        } else if (previous == Table.Status.Occupied && current != Table.Status.Occupied) {
+            Visit visit = visitsByTable.remove(tableId);
+            if (visit != null && current != null) {
+                close(visit, now);
+            } else if (visit != null) {
+                forget(visit);
+            }
+        }
+    }
+
+    @Override
+    public void orderChanged(Order previous, Order current) {
+        if (current == null) {
+            if (previous != null) {
+                tableByOrder.remove(previous.getOrderId());
+            }
+            return;
+        }
+        long now = System.currentTimeMillis();
+        tableByOrder.put(current.getOrderId(), current.getTableId());
+        Visit visit = visitsByTable.get(current.getTableId());
+        if (visit == null && !watchingFloor) {
+            visit = visitsByTable.computeIfAbsent(current.getTableId(),
+                    tableId -> new Visit(tableId, 0, millis(current.getOrderTime(), now)));
+        }
+        if (visit == null) {
+            return;
+        }
+        synchronized (visit) {
+            visit.orderIds.add(current.getOrderId());
+            if (visit.orderedAt == 0) {
+                visit.orderedAt = millis(current.getOrderTime(), now);
+            }
+            if (visit.servedAt == 0 && (current.getStatus() == Order.Status.Served
+                    || current.getStatus() == Order.Status.Completed)) {
+                visit.servedAt = now;
+            }
+        }
+    }
+
+    @Override
+    public void billChanged(Bill bill) {
+        if (bill.getBillId() > 0) {
+            orderByBill.put(bill.getBillId(), bill.getOrderId());
+        }
+        Visit visit = visitForOrder(bill.getOrderId());
+        if (visit == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (visit) {
+            visit.billIds.add(bill.getBillId());
+            if (visit.billedAt == 0) {
+                visit.billedAt = millis(bill.getGeneratedAt(), now);
+            }
+            if (visit.paidAt == 0 && bill.getPaymentStatus() == Bill.PaymentStatus.Paid) {
+                visit.paidAt = now;
+            }
+        }
+    }
+
+    @Override
+    public void paymentProcessed(Payment payment) {
+        if (payment.getStatus() != Payment.Status.Successful) {
+            return;
+        }
+        Integer orderId = orderByBill.get(payment.getBillId());
+        Visit visit = orderId == null ? null : visitForOrder(orderId);
+        if (visit == null) {
+            return;
+        }
+        long paidAt = millis(payment.getPaymentTime(), System.currentTimeMillis());
+        synchronized (visit) {
+            if (visit.paidAt == 0) {
+                visit.paidAt = paidAt;
+            }
+        }
+        if (!watchingFloor && visitsByTable.remove(visit.tableId, visit)) {
+            close(visit, paidAt);
+        }
+    }
+
+    @Override
+    public void recordTurn(int capacity, long turnMillis) {
+        if (turnMillis > 0) {
+            record(capacity, hourOf(System.currentTimeMillis() - turnMillis), Stage.TURN, turnMillis);
+        }
+    }
+
+    /** Median turn for the capacity in the current hour, or all day when the hour has few turns. */
+    @Override
+    public long estimateTurnMillis(int capacity) {
+        LogLinearHistogram turns = estimateSource(capacity);
+        return turns == null ? DEFAULT_TURN_MILLIS : turns.getValueAtPercentile(50) * 1000L;
+    }
+
+    @Override
+    public long estimateRemainingMillis(int capacity, long elapsedMillis) {
+        LogLinearHistogram turns = estimateSource(capacity);
+        long median = turns == null ? DEFAULT_TURN_MILLIS : turns.getValueAtPercentile(50) * 1000L;
+        if (elapsedMillis < median) {
+            return median - elapsedMillis;
+        }
+        long p90 = turns == null ? median : turns.getValueAtPercentile(90) * 1000L;
+        return elapsedMillis < p90 ? p90 - elapsedMillis : OVERDUE_REMAINING_MILLIS;
+    }
+
+    /**
+     * Histogram (seconds) of {@code stage}: {@code capacity <= 0} merges every capacity and
+     * {@code hour < 0} the whole day. The result is a copy.
+     */
+    public LogLinearHistogram getHistogram(Stage stage, int capacity, int hour) {
+        int slot = hour < 0 ? ALL_DAY : Math.min(hour, HOURS - 1);
+        LogLinearHistogram merged = newHistogram();
+        for (Map.Entry<Integer, AtomicReferenceArray<LogLinearHistogram>> entry : histogramsByCapacity.entrySet()) {
+            if (capacity > 0 && entry.getKey() != capacity) {
+                continue;
+            }
+            LogLinearHistogram histogram = entry.getValue().get(index(stage, slot));
+            if (histogram != null) {
+                merged.add(histogram);
+            }
+        }
+        return merged;
+    }
+
+    public long getPercentileSeconds(Stage stage, int capacity, int hour, double percentile) {
+        if (capacity > 0) {
+            AtomicReferenceArray<LogLinearHistogram> histograms = histogramsByCapacity.get(capacity);
+            LogLinearHistogram histogram = histograms == null ? null
+                    : histograms.get(index(stage, hour < 0 ? ALL_DAY : Math.min(hour, HOURS - 1)));
+            return histogram == null ? 0 : histogram.getValueAtPercentile(percentile);
+        }
+        return getHistogram(stage, capacity, hour).getValueAtPercentile(percentile);
+    }
+
+    public List<Integer> getCapacities() {
+        List<Integer> capacities = new ArrayList<>(histogramsByCapacity.keySet());
+        capacities.sort(null);
+        return capacities;
+    }
+
+    public int getOpenVisitCount() {
+        return visitsByTable.size();
+    }
+
+    private void close(Visit visit, long endMillis) {
+        int hour = hourOf(visit.seatedAt);
+        synchronized (visit) {
+            recordBetween(visit.capacity, hour, Stage.SEAT_TO_ORDER, visit.seatedAt, visit.orderedAt);
+            recordBetween(visit.capacity, hour, Stage.ORDER_TO_SERVE, visit.orderedAt, visit.servedAt);
+            recordBetween(visit.capacity, hour, Stage.SERVE_TO_BILL, visit.servedAt, visit.billedAt);
+            recordBetween(visit.capacity, hour, Stage.BILL_TO_PAY, visit.billedAt, visit.paidAt);
+            recordBetween(visit.capacity, hour, Stage.TURN, visit.seatedAt, endMillis);
+        }
+        forget(visit);
+    }
+
+    private void forget(Visit visit) {
+        synchronized (visit) {
+            for (Integer orderId : visit.orderIds) {
+                tableByOrder.remove(orderId, visit.tableId);
+            }
+            for (Integer billId : visit.billIds) {
+                orderByBill.remove(billId);
+            }
+        }
+    }
+
+    private void recordBetween(int capacity, int hour, Stage stage, long fromMillis, long toMillis) {
+        if (fromMillis > 0 && toMillis >= fromMillis) {
+            record(capacity, hour, stage, toMillis - fromMillis);
+        }
+    }
+
+    private void record(int capacity, int hour, Stage stage, long millis) {
+        AtomicReferenceArray<LogLinearHistogram> histograms =
+                histogramsByCapacity.computeIfAbsent(capacity, key -> new AtomicReferenceArray<>(STAGES.length * (HOURS + 1)));
+        long seconds = millis / 1000L;
+        histogram(histograms, index(stage, hour)).record(seconds);
+        histogram(histograms, index(stage, ALL_DAY)).record(seconds);
+    }
+
+    private static LogLinearHistogram histogram(AtomicReferenceArray<LogLinearHistogram> histograms, int index) {
+        LogLinearHistogram histogram = histograms.get(index);
+        if (histogram == null) {
+            histograms.compareAndSet(index, null, newHistogram());
+            histogram = histograms.get(index);
+        }
+        return histogram;
+    }
+
+    private LogLinearHistogram estimateSource(int capacity) {
+        AtomicReferenceArray<LogLinearHistogram> histograms = histogramsByCapacity.get(capacity);
+        if (histograms == null) {
+            return null;
+        }
+        LogLinearHistogram hourly = histograms.get(index(Stage.TURN, hourOf(System.currentTimeMillis())));
+        if (hourly != null && hourly.getTotalCount() >= MIN_HOURLY_SAMPLES) {
+            return hourly;
+        }
+        LogLinearHistogram allDay = histograms.get(index(Stage.TURN, ALL_DAY));
+        return allDay == null || allDay.getTotalCount() == 0 ? null : allDay;
+    }
+
+    private Visit visitForOrder(int orderId) {
+        Integer tableId = tableByOrder.get(orderId);
+        return tableId == null ? null : visitsByTable.get(tableId);
+    }
+
+    private int hourOf(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(zone).getHour();
+    }
+
+    private static int index(Stage stage, int slot) {
+        return stage.ordinal() * (HOURS + 1) + slot;
+    }
+
+    private static long millis(Timestamp timestamp, long fallback) {
+        return timestamp == null ? fallback : timestamp.getTime();
+    }
+
+    private static LogLinearHistogram newHistogram() {
+        return new LogLinearHistogram(MAX_SECONDS, SUB_BUCKET_BITS);
+    }
+
+    private static final class Visit {
+        final int tableId;
+        final int capacity;
+        final long seatedAt;
+        // guarded by this
+        final Set<Integer> orderIds = new HashSet<>();
+        final Set<Integer> billIds = new HashSet<>();
+        long orderedAt;
+        long servedAt;
+        long billedAt;
+        long paidAt;
+
+        Visit(int tableId, int capacity, long seatedAt) {
+            this.tableId = tableId;
+            this.capacity = capacity;
+            this.seatedAt = seatedAt;
+        }
+    }
+}
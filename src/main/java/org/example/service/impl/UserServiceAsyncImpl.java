@@ -0,0 +1,45 @@
+package org.example.service.impl;
+
+import org.example.model.User;
+import org.example.service.interfaces.UserService;
+import org.example.service.interfaces.UserServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class UserServiceAsyncImpl extends AsyncServiceSupport<UserService> implements UserServiceAsync {
+
+    public UserServiceAsyncImpl(UserService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public UserServiceAsyncImpl(UserService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> addUser(User user) {
+        return run(service -> service.addUser(user));
+    }
+
+    @Override
+    public CompletableFuture<User> getUserById(int id) {
+        return supply(service -> service.getUserById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<User>> getAllUsers() {
+        return supply(UserService::getAllUsers);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateUser(User user) {
+        return run(service -> service.updateUser(user));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteUser(int id) {
+        return run(service -> service.deleteUser(id));
+    }
+}
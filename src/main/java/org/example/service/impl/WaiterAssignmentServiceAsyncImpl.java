@@ -0,0 +1,52 @@
+package org.example.service.impl;
+
+import org.example.model.Order;
+import org.example.model.WaiterLoad;
+import org.example.service.interfaces.WaiterAssignmentService;
+import org.example.service.interfaces.WaiterAssignmentServiceAsync;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class WaiterAssignmentServiceAsyncImpl extends AsyncServiceSupport<WaiterAssignmentService> implements WaiterAssignmentServiceAsync {
+
+    public WaiterAssignmentServiceAsyncImpl(WaiterAssignmentService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public WaiterAssignmentServiceAsyncImpl(WaiterAssignmentService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<Integer> assignWaiter(Order order) {
+        return supply(service -> service.assignWaiter(order));
+    }
+
+    @Override
+    public CompletableFuture<Void> cancelAssignment(int waiterId, int tableId) {
+        return run(service -> service.cancelAssignment(waiterId, tableId));
+    }
+
+    @Override
+    public CompletableFuture<Void> setEligibleWaiters(Collection<Integer> waiterIds) {
+        return run(service -> service.setEligibleWaiters(waiterIds));
+    }
+
+    @Override
+    public CompletableFuture<Void> refreshEligibleWaiters() {
+        return run(WaiterAssignmentService::refreshEligibleWaiters);
+    }
+
+    @Override
+    public CompletableFuture<WaiterLoad> getWaiterLoad(int waiterId) {
+        return supply(service -> service.getWaiterLoad(waiterId));
+    }
+
+    @Override
+    public CompletableFuture<List<WaiterLoad>> getWaiterLoads() {
+        return supply(WaiterAssignmentService::getWaiterLoads);
+    }
+}
@@ -0,0 +1,353 @@
+package org.example.service.impl;
+
+import org.example.model.Employee;
+import org.example.model.Order;
+import org.example.model.User;
+import org.example.model.WaiterLoad;
+import org.example.service.interfaces.EmployeeService;
+import org.example.service.interfaces.OrderListener;
+import org.example.service.interfaces.WaiterAssignmentService;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Spreads new orders over the waiters on shift. Each waiter's open tables and orders are
+ * counted from order lifecycle events, and on-shift waiters sit in a skip list ordered by
+ * (open tables, open orders, waiter id), so the least-loaded waiter is the first entry and
+ * moving a waiter after a change is an O(log n) insert and remove.
+ *
+ * <p>Counts are striped per waiter: a waiter's counts and ranking entry only change under
+ * that waiter's lock, so events for different waiters never contend. An assignment locks the
+ * waiter it read from the head of the ranking and retries if that entry has moved meanwhile.
+ * The assigned table is then reserved for the waiter and counted as open until its order
+ * arrives or the reservation expires, so hosts placing orders at the same time spread them
+ * out instead of all picking the same idle waiter.
+ */
+public class WaiterAssignmentServiceImpl implements WaiterAssignmentService, OrderListener {
+    private static final long RESERVATION_TTL_MILLIS = Long.getLong("rms.waiters.reservationSeconds", 120L) * 1000L;
+    private static final long ELIGIBILITY_REFRESH_MILLIS = Long.getLong("rms.waiters.refreshSeconds", 60L) * 1000L;
+
+    private final Map<Integer, WaiterState> waiters = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<LoadKey> ranking = new ConcurrentSkipListSet<>();
+    private final Map<Integer, Integer> waiterByTable = new ConcurrentHashMap<>();
+    private final EmployeeService employeeService;
+    private final AtomicLong nextEligibilityRefresh = new AtomicLong();
+
+    public WaiterAssignmentServiceImpl() {
+        this(new EmployeeServiceImpl());
+    }
+
+    /** With a null {@code employeeService} the eligible waiters are only set by {@link #setEligibleWaiters}. */
+    public WaiterAssignmentServiceImpl(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    /** Counts orders that were opened before this service started listening. */
+    public void recordOpenOrders(Collection<Order> orders) {
+        for (Order order : orders) {
+            orderChanged(null, order);
+        }
+    }
+
+    @Override
+    public int assignWaiter(Order order) {
+        refreshEligibilityIfDue();
+        int tableId = order.getTableId();
+        long now = System.currentTimeMillis();
+
+        Integer servingWaiter = waiterByTable.get(tableId);
+        if (servingWaiter != null) {
+            WaiterState state = waiters.get(servingWaiter);
+            if (state != null && state.onShift && reserveIfOnShift(state, tableId, now)) {
+                order.setWaiterId(state.waiterId);
+                return state.waiterId;
+            }
+        }
+
+        while (true) {
+            LoadKey head = ranking.ceiling(LoadKey.LOWEST);
+            if (head == null) {
+                return -1;
+            }
+            WaiterState state = waiters.get(head.waiterId);
+            state.lock.lock();
+            try {
+                purgeExpiredReservations(state, now);
+                if (state.key != head) {
+                    continue;
+                }
+                reserve(state, tableId, now);
+            } finally {
+                state.lock.unlock();
+            }
+            order.setWaiterId(state.waiterId);
+            return state.waiterId;
+        }
+    }
+
+    @Override
+    public void cancelAssignment(int waiterId, int tableId) {
+        WaiterState state = waiters.get(waiterId);
+        if (state == null) {
+            return;
+        }
+        state.lock.lock();
+        try {
+            if (state.reservedTables.remove(tableId) != null) {
+                state.openTables--;
+                waiterByTable.remove(tableId, waiterId);
+                reposition(state);
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    @Override
+    public void setEligibleWaiters(Collection<Integer> waiterIds) {
+        Set<Integer> eligible = new HashSet<>(waiterIds);
+        for (Integer waiterId : eligible) {
+            waiters.computeIfAbsent(waiterId, WaiterState::new);
+        }
+        long now = System.currentTimeMillis();
+        for (WaiterState state : waiters.values()) {
+            state.lock.lock();
+            try {
+                state.onShift = eligible.contains(state.waiterId);
+                purgeExpiredReservations(state, now);
+                reposition(state);
+            } finally {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void refreshEligibleWaiters() {
+        if (employeeService == null) {
+            List<Integer> onShift = new ArrayList<>();
+            for (WaiterState state : waiters.values()) {
+                if (state.onShift) {
+                    onShift.add(state.waiterId);
+                }
+            }
+            setEligibleWaiters(onShift);
+            return;
+        }
+        List<Integer> waiterIds = new ArrayList<>();
+        for (Employee employee : employeeService.getOnDutyEmployees(LocalTime.now(), User.Role.Waiter.name())) {
+            if (employee.getUserId() > 0) {
+                waiterIds.add(employee.getUserId());
+            }
+        }
+        setEligibleWaiters(waiterIds);
+    }
+
+    @Override
+    public WaiterLoad getWaiterLoad(int waiterId) {
+        WaiterState state = waiters.get(waiterId);
+        return state == null ? new WaiterLoad(waiterId, 0, 0, false) : state.snapshot();
+    }
+
+    /** Every known waiter, least loaded first. */
+    @Override
+    public List<WaiterLoad> getWaiterLoads() {
+        List<WaiterLoad> loads = new ArrayList<>(waiters.size());
+        for (WaiterState state : waiters.values()) {
+            loads.add(state.snapshot());
+        }
+        loads.sort(Comparator.comparingInt(WaiterLoad::getOpenTables)
+                .thenComparingInt(WaiterLoad::getOpenOrders)
+                .thenComparingInt(WaiterLoad::getWaiterId));
+        return loads;
+    }
+
+    @Override
+    public void orderChanged(Order previous, Order current) {
+        boolean wasOpen = isOpen(previous);
+        boolean isOpen = isOpen(current);
+        if (wasOpen && isOpen && previous.getWaiterId() == current.getWaiterId()
+                && previous.getTableId() == current.getTableId()) {
+            return;
+        }
+        if (wasOpen) {
+            release(previous.getWaiterId(), previous.getTableId());
+        }
+        if (isOpen) {
+            occupy(current.getWaiterId(), current.getTableId());
+        }
+    }
+
+    private void occupy(int waiterId, int tableId) {
+        WaiterState state = waiters.computeIfAbsent(waiterId, WaiterState::new);
+        state.lock.lock();
+        try {
+            state.openOrders++;
+            if (state.openOrdersByTable.merge(tableId, 1, Integer::sum) == 1
+                    && state.reservedTables.remove(tableId) == null) {
+                state.openTables++;
+            }
+            waiterByTable.put(tableId, waiterId);
+            reposition(state);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private void release(int waiterId, int tableId) {
+        WaiterState state = waiters.get(waiterId);
+        if (state == null) {
+            return;
+        }
+        state.lock.lock();
+        try {
+            Integer count = state.openOrdersByTable.get(tableId);
+            if (count == null) {
+                return;
+            }
+            state.openOrders--;
+            if (count == 1) {
+                state.openOrdersByTable.remove(tableId);
+                state.openTables--;
+                waiterByTable.remove(tableId, waiterId);
+            } else {
+                state.openOrdersByTable.put(tableId, count - 1);
+            }
+            reposition(state);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private boolean reserveIfOnShift(WaiterState state, int tableId, long now) {
+        state.lock.lock();
+        try {
+            if (!state.onShift) {
+                return false;
+            }
+            reserve(state, tableId, now);
+            return true;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    // caller holds state.lock
+    private void reserve(WaiterState state, int tableId, long now) {
+        waiterByTable.put(tableId, state.waiterId);
+        if (state.openOrdersByTable.containsKey(tableId)) {
+            return;
+        }
+        if (state.reservedTables.put(tableId, now) == null) {
+            state.openTables++;
+            reposition(state);
+        }
+    }
+
+    // caller holds state.lock
+    private void purgeExpiredReservations(WaiterState state, long now) {
+        boolean changed = false;
+        Iterator<Map.Entry<Integer, Long>> entries = state.reservedTables.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Integer, Long> entry = entries.next();
+            if (now - entry.getValue() > RESERVATION_TTL_MILLIS) {
+                entries.remove();
+                state.openTables--;
+                waiterByTable.remove(entry.getKey(), state.waiterId);
+                changed = true;
+            }
+        }
+        if (changed) {
+            reposition(state);
+        }
+    }
+
+    // caller holds state.lock; the new entry goes in before the old one leaves, so the
+    // ranking never looks empty to a concurrent assignment
+    private void reposition(WaiterState state) {
+        LoadKey previous = state.key;
+        LoadKey next = state.onShift ? new LoadKey(state.openTables, state.openOrders, state.waiterId) : null;
+        if (previous != null && next != null && previous.compareTo(next) == 0) {
+            return;
+        }
+        if (next != null) {
+            ranking.add(next);
+        }
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        state.key = next;
+    }
+
+    private void refreshEligibilityIfDue() {
+        if (employeeService == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long due = nextEligibilityRefresh.get();
+        if (now >= due && nextEligibilityRefresh.compareAndSet(due, now + ELIGIBILITY_REFRESH_MILLIS)) {
+            refreshEligibleWaiters();
+        }
+    }
+
+    private static boolean isOpen(Order order) {
+        return order != null && order.getWaiterId() > 0 && order.getStatus() != Order.Status.Completed;
+    }
+
+    private static final class WaiterState {
+        final int waiterId;
+        final ReentrantLock lock = new ReentrantLock();
+        // guarded by lock; the volatile counts can be read without it
+        final Map<Integer, Integer> openOrdersByTable = new HashMap<>();
+        final Map<Integer, Long> reservedTables = new HashMap<>();
+        volatile int openTables;
+        volatile int openOrders;
+        volatile boolean onShift;
+        volatile LoadKey key;
+
+        WaiterState(int waiterId) {
+            this.waiterId = waiterId;
+        }
+
+        WaiterLoad snapshot() {
+            return new WaiterLoad(waiterId, openTables, openOrders, onShift);
+        }
+    }
+
+    private static final class LoadKey implements Comparable<LoadKey> {
+        static final LoadKey LOWEST = new LoadKey(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
+
+        final int openTables;
+        final int openOrders;
+        final int waiterId;
+
+        LoadKey(int openTables, int openOrders, int waiterId) {
+            this.openTables = openTables;
+            this.openOrders = openOrders;
+            this.waiterId = waiterId;
+        }
+
+        @Override
+        public int compareTo(LoadKey other) {
+            int byTables = Integer.compare(openTables, other.openTables);
+            if (byTables != 0) {
+                return byTables;
+            }
+            int byOrders = Integer.compare(openOrders, other.openOrders);
+            return byOrders != 0 ? byOrders : Integer.compare(waiterId, other.waiterId);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.service.impl;
+
+import org.example.model.WaitlistEntry;
+import org.example.service.interfaces.WaitlistService;
+import org.example.service.interfaces.WaitlistServiceAsync;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class WaitlistServiceAsyncImpl extends AsyncServiceSupport<WaitlistService> implements WaitlistServiceAsync {
+
+    public WaitlistServiceAsyncImpl(WaitlistService delegate) {
+        this(delegate, AsyncServiceExecutor.shared());
+    }
+
+    public WaitlistServiceAsyncImpl(WaitlistService delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public CompletableFuture<WaitlistEntry> addParty(String partyName, int partySize, String phone) {
+        return supply(service -> service.addParty(partyName, partySize, phone));
+    }
+
+    @Override
+    public CompletableFuture<WaitlistEntry> getEntry(int entryId) {
+        return supply(service -> service.getEntry(entryId));
+    }
+
+    @Override
+    public CompletableFuture<List<WaitlistEntry>> getWaitingParties() {
+        return supply(WaitlistService::getWaitingParties);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> cancelParty(int entryId) {
+        return supply(service -> service.cancelParty(entryId));
+    }
+
+    @Override
+    public CompletableFuture<WaitlistEntry> seatParty(int entryId, int tableId) {
+        return supply(service -> service.seatParty(entryId, tableId));
+    }
+
+    @Override
+    public CompletableFuture<Timestamp> estimateSeatTime(int partySize) {
+        return supply(service -> service.estimateSeatTime(partySize));
+    }
+}
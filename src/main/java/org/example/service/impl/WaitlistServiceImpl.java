@@ -0,0 +1,244 @@
+package org.example.service.impl;
+
+import org.example.model.Table;
+import org.example.model.WaitlistEntry;
+import org.example.service.interfaces.TableStatusListener;
+import org.example.service.interfaces.TurnTimeEstimator;
+import org.example.service.interfaces.WaitlistService;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Walk-in waitlist with seat-ready estimates. The service listens to the floor, so it always
+ * knows each table's capacity, status and how long it has been occupied; a table going from
+ * Occupied to Available also records a turn with the {@link TurnTimeEstimator}, unless the
+ * estimator watches the floor itself.
+ *
+ * <p>ETAs come from a pass over that in-memory state: every table gets a predicted free time
+ * (now when Available, now plus the expected remaining turn when Occupied; Booked and
+ * Reserved tables are held for someone else), then parties take, in queue order, the
+ * earliest-free table that fits them, which becomes free again one typical turn later. Table
+ * events only mark the ETAs stale, and the pass runs on the next read (or after
+ * {@code ETA_REFRESH_MILLIS}, as occupied tables age), so a table freeing up never means
+ * rescanning orders or the database.
+ */
+public class WaitlistServiceImpl implements WaitlistService, TableStatusListener {
+    private static final long ETA_REFRESH_MILLIS = 30_000L;
+    private static final int MAX_FINISHED_ENTRIES = 1_000;
+
+    private final TableServiceImpl tableService;
+    private final TurnTimeEstimator estimator;
+    private final Map<Integer, TableState> tables = new HashMap<>();
+    private final Map<Integer, WaitlistEntry> waiting = new LinkedHashMap<>();
+    private final Map<Integer, WaitlistEntry> finished = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, WaitlistEntry> eldest) {
+            return size() > MAX_FINISHED_ENTRIES;
+        }
+    };
+    private int nextEntryId = 1;
+    private boolean etasStale = true;
+    private long etasComputedAt;
+    private TreeMap<Integer, PriorityQueue<Long>> freeTimesAfterQueue = new TreeMap<>();
+
+    public WaitlistServiceImpl(TableServiceImpl tableService) {
+        this(tableService, new P2TurnTimeEstimator());
+    }
+
+    public WaitlistServiceImpl(TableServiceImpl tableService, TurnTimeEstimator estimator) {
+        this.tableService = tableService;
+        this.estimator = estimator;
+        tableService.addListener(this);
+        synchronized (this) {
+            for (Table table : tableService.getAllTables()) {
+                TableState state = tables.computeIfAbsent(table.getTableId(), TableState::new);
+                state.capacity = table.getCapacity();
+                if (state.status != table.getStatus()) {
+                    state.status = table.getStatus();
+                    // seated before we were watching, so this is no turn start to measure from
+                    state.occupiedSince = System.currentTimeMillis();
+                    state.startKnown = false;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized WaitlistEntry addParty(String partyName, int partySize, String phone) {
+        if (partySize <= 0) {
+            throw new IllegalArgumentException("Party size must be positive: " + partySize);
+        }
+        WaitlistEntry entry = new WaitlistEntry(nextEntryId++, partyName, partySize, phone,
+                new Timestamp(System.currentTimeMillis()), WaitlistEntry.Status.Waiting, null, 0);
+        waiting.put(entry.getEntryId(), entry);
+        etasStale = true;
+        refreshEtas(System.currentTimeMillis());
+        return copyOf(entry);
+    }
+
+    @Override
+    public synchronized WaitlistEntry getEntry(int entryId) {
+        WaitlistEntry entry = waiting.get(entryId);
+        if (entry != null) {
+            refreshEtas(System.currentTimeMillis());
+        } else {
+            entry = finished.get(entryId);
+        }
+        return entry == null ? null : copyOf(entry);
+    }
+
+    /** Waiting parties in queue order, each with its current ETA. */
+    @Override
+    public synchronized List<WaitlistEntry> getWaitingParties() {
+        refreshEtas(System.currentTimeMillis());
+        List<WaitlistEntry> parties = new ArrayList<>(waiting.size());
+        for (WaitlistEntry entry : waiting.values()) {
+            parties.add(copyOf(entry));
+        }
+        return parties;
+    }
+
+    @Override
+    public synchronized boolean cancelParty(int entryId) {
+        WaitlistEntry entry = waiting.remove(entryId);
+        if (entry == null) {
+            return false;
+        }
+        entry.setStatus(WaitlistEntry.Status.Cancelled);
+        entry.setEstimatedSeatAt(null);
+        finished.put(entryId, entry);
+        etasStale = true;
+        return true;
+    }
+
+    @Override
+    public synchronized WaitlistEntry seatParty(int entryId, int tableId) {
+        WaitlistEntry entry = waiting.get(entryId);
+        if (entry == null) {
+            return null;
+        }
+        TableState table = tableId > 0 ? tables.get(tableId) : smallestFreeTable(entry.getPartySize());
+        if (table == null || table.capacity < entry.getPartySize()
+                || !tableService.transitionTable(table.tableId, Table.Status.Available, Table.Status.Occupied)) {
+            return null;
+        }
+        waiting.remove(entryId);
+        entry.setStatus(WaitlistEntry.Status.Seated);
+        entry.setTableId(table.tableId);
+        entry.setEstimatedSeatAt(null);
+        finished.put(entryId, entry);
+        etasStale = true;
+        return copyOf(entry);
+    }
+
+    /** When a party of {@code partySize} joining now could expect a table; null if none fits. */
+    @Override
+    public synchronized Timestamp estimateSeatTime(int partySize) {
+        long now = System.currentTimeMillis();
+        refreshEtas(now);
+        Map.Entry<Integer, Long> best = earliestFitting(freeTimesAfterQueue, partySize);
+        return best == null ? null : new Timestamp(Math.max(now, best.getValue()));
+    }
+
+    @Override
+    public synchronized void tableStatusChanged(int tableId, int capacity, Table.Status previous, Table.Status current) {
+        long now = System.currentTimeMillis();
+        etasStale = true;
+        if (current == null) {
+            tables.remove(tableId);
+            return;
+        }
+        TableState state = tables.computeIfAbsent(tableId, TableState::new);
+        state.capacity = capacity;
+        if (state.status == Table.Status.Occupied && current == Table.Status.Available && state.startKnown
+                && !(estimator instanceof TableStatusListener)) {
+            estimator.recordTurn(capacity, now - state.occupiedSince);
+        }
+        if (current == Table.Status.Occupied && state.status != Table.Status.Occupied) {
+            state.occupiedSince = now;
+            state.startKnown = true;
+        }
+        state.status = current;
+    }
+
+    // caller holds the lock
+    private void refreshEtas(long now) {
+        if (!etasStale && now - etasComputedAt < ETA_REFRESH_MILLIS) {
+            return;
+        }
+        TreeMap<Integer, PriorityQueue<Long>> freeTimes = new TreeMap<>();
+        for (TableState table : tables.values()) {
+            long freeAt;
+            if (table.status == Table.Status.Available) {
+                freeAt = now;
+            } else if (table.status == Table.Status.Occupied) {
+                freeAt = now + estimator.estimateRemainingMillis(table.capacity, now - table.occupiedSince);
+            } else {
+                continue;
+            }
+            freeTimes.computeIfAbsent(table.capacity, key -> new PriorityQueue<>()).add(freeAt);
+        }
+        for (WaitlistEntry entry : waiting.values()) {
+            Map.Entry<Integer, Long> best = earliestFitting(freeTimes, entry.getPartySize());
+            if (best == null) {
+                entry.setEstimatedSeatAt(null);
+                continue;
+            }
+            long seatAt = Math.max(now, best.getValue());
+            PriorityQueue<Long> queue = freeTimes.get(best.getKey());
+            queue.poll();
+            queue.add(seatAt + estimator.estimateTurnMillis(best.getKey()));
+            entry.setEstimatedSeatAt(new Timestamp(seatAt));
+        }
+        freeTimesAfterQueue = freeTimes;
+        etasStale = false;
+        etasComputedAt = now;
+    }
+
+    // earliest free time among capacities that fit; the smaller table wins a tie
+    private static Map.Entry<Integer, Long> earliestFitting(TreeMap<Integer, PriorityQueue<Long>> freeTimes, int partySize) {
+        Map.Entry<Integer, Long> best = null;
+        for (Map.Entry<Integer, PriorityQueue<Long>> entry : freeTimes.tailMap(partySize, true).entrySet()) {
+            Long freeAt = entry.getValue().peek();
+            if (freeAt != null && (best == null || freeAt < best.getValue())) {
+                best = Map.entry(entry.getKey(), freeAt);
+            }
+        }
+        return best;
+    }
+
+    private TableState smallestFreeTable(int partySize) {
+        TableState best = null;
+        for (TableState table : tables.values()) {
+            if (table.status == Table.Status.Available && table.capacity >= partySize
+                    && (best == null || table.capacity < best.capacity)) {
+                best = table;
+            }
+        }
+        return best;
+    }
+
+    private static WaitlistEntry copyOf(WaitlistEntry entry) {
+        return new WaitlistEntry(entry.getEntryId(), entry.getPartyName(), entry.getPartySize(), entry.getPhone(),
+                entry.getJoinedAt(), entry.getStatus(), entry.getEstimatedSeatAt(), entry.getTableId());
+    }
+
+    private static final class TableState {
+        final int tableId;
+        int capacity;
+        Table.Status status;
+        long occupiedSince;
+        boolean startKnown;
+
+        TableState(int tableId) {
+            this.tableId = tableId;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.service.interfaces;
+
+import org.example.model.Session;
+import org.example.model.User;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AuthService {
+    CompletableFuture<Session> login(String username, String password);
+    Session getSession(String token);
+    Session authorize(String token, User.Role... allowedRoles);
+    void logout(String token);
+    void logoutUser(int userId);
+    CompletableFuture<String> hashPassword(String password);
+    int getActiveSessionCount();
+}
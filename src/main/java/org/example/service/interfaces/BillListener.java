@@ -0,0 +1,9 @@
+package org.example.service.interfaces;
+
+import org.example.model.Bill;
+
+@FunctionalInterface
+public interface BillListener {
+    /** Called after a bill is generated or its payment status changes. */
+    void billChanged(Bill bill);
+}
@@ -2,8 +2,11 @@ package org.example.service.interfaces;
 
 import org.example.model.Bill;
 
+import java.util.List;
+
 public interface BillService {
     void generateBill(Bill bill);
     Bill getBillByOrderId(int orderId);
     void updatePaymentStatus(int billId, String paymentStatus);
+    List<Bill> getUnpaidBills();
 }
@@ -0,0 +1,13 @@
+package org.example.service.interfaces;
+
+import org.example.model.Bill;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface BillServiceAsync {
+    CompletableFuture<Void> generateBill(Bill bill);
+    CompletableFuture<Bill> getBillByOrderId(int orderId);
+    CompletableFuture<Void> updatePaymentStatus(int billId, String paymentStatus);
+    CompletableFuture<List<Bill>> getUnpaidBills();
+}
@@ -4,10 +4,13 @@ import org.example.model.Customer;
 import java.util.List;
 
 public interface CustomerService {
-    void addCustomer(Customer customer);
+    boolean addCustomer(Customer customer);
     Customer getCustomerById(int customerId);
     List<Customer> getAllCustomers();
     void updateCustomer(Customer customer);
     void deleteCustomer(int customerId);
+    List<Customer> findCustomersByPhone(String phone);
+    Customer findCustomerByEmail(String email);
+    List<Customer> searchCustomers(String prefix, int limit);
 }
 
@@ -0,0 +1,17 @@
+package org.example.service.interfaces;
+
+import org.example.model.Customer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface CustomerServiceAsync {
+    CompletableFuture<Boolean> addCustomer(Customer customer);
+    CompletableFuture<Customer> getCustomerById(int customerId);
+    CompletableFuture<List<Customer>> getAllCustomers();
+    CompletableFuture<Void> updateCustomer(Customer customer);
+    CompletableFuture<Void> deleteCustomer(int customerId);
+    CompletableFuture<List<Customer>> findCustomersByPhone(String phone);
+    CompletableFuture<Customer> findCustomerByEmail(String email);
+    CompletableFuture<List<Customer>> searchCustomers(String prefix, int limit);
+}
@@ -2,10 +2,16 @@ package org.example.service.interfaces;
 
 import org.example.model.Employee;
 
+import java.time.LocalTime;
 import java.util.List;
 
 public interface EmployeeService {
     void addEmployee(Employee employee);
+    Employee getEmployeeById(int employeeId);
     Employee getEmployeeByUserId(int userId);
     List<Employee> getAllEmployees();
+    void updateEmployee(Employee employee);
+    void deleteEmployee(int employeeId);
+    List<Employee> getOnDutyEmployees(LocalTime time);
+    List<Employee> getOnDutyEmployees(LocalTime time, String role);
 }
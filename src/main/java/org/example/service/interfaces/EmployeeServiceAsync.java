@@ -0,0 +1,18 @@
+package org.example.service.interfaces;
+
+import org.example.model.Employee;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface EmployeeServiceAsync {
+    CompletableFuture<Void> addEmployee(Employee employee);
+    CompletableFuture<Employee> getEmployeeById(int employeeId);
+    CompletableFuture<Employee> getEmployeeByUserId(int userId);
+    CompletableFuture<List<Employee>> getAllEmployees();
+    CompletableFuture<Void> updateEmployee(Employee employee);
+    CompletableFuture<Void> deleteEmployee(int employeeId);
+    CompletableFuture<List<Employee>> getOnDutyEmployees(LocalTime time);
+    CompletableFuture<List<Employee>> getOnDutyEmployees(LocalTime time, String role);
+}
@@ -10,4 +10,8 @@ public interface MenuItemService {
     List<MenuItem> getAllMenuItems();
     void updateMenuItem(MenuItem item);
     void deleteMenuItem(int itemId);
-}
\ No newline at end of file
+    boolean setMenuItemAvailability(int itemId, boolean available);
+    List<MenuItem> getMenuItemsByCategory(MenuItem.Category category);
+    List<MenuItem> findMenuItems(MenuItem.Category category, double minPrice, double maxPrice, boolean availableOnly);
+    List<MenuItem> searchMenuItems(String query, int limit);
+}
@@ -0,0 +1,18 @@
+package org.example.service.interfaces;
+
+import org.example.model.MenuItem;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface MenuItemServiceAsync {
+    CompletableFuture<Void> addMenuItem(MenuItem item);
+    CompletableFuture<MenuItem> getMenuItemById(int itemId);
+    CompletableFuture<List<MenuItem>> getAllMenuItems();
+    CompletableFuture<Void> updateMenuItem(MenuItem item);
+    CompletableFuture<Void> deleteMenuItem(int itemId);
+    CompletableFuture<Boolean> setMenuItemAvailability(int itemId, boolean available);
+    CompletableFuture<List<MenuItem>> getMenuItemsByCategory(MenuItem.Category category);
+    CompletableFuture<List<MenuItem>> findMenuItems(MenuItem.Category category, double minPrice, double maxPrice, boolean availableOnly);
+    CompletableFuture<List<MenuItem>> searchMenuItems(String query, int limit);
+}
@@ -0,0 +1,12 @@
+package org.example.service.interfaces;
+
+import org.example.model.OrderItem;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface OrderItemServiceAsync {
+    CompletableFuture<Void> addOrderItem(OrderItem orderItem);
+    CompletableFuture<List<OrderItem>> getOrderItemsByOrderId(int orderId);
+    CompletableFuture<Void> updateOrderItemStatus(int orderItemId, String status);
+}
@@ -0,0 +1,13 @@
+package org.example.service.interfaces;
+
+import org.example.model.Order;
+
+@FunctionalInterface
+public interface OrderListener {
+    /**
+     * Called after an order changes: {@code previous} is null for a new order and
+     * {@code current} is null for a deleted one. Listeners run while the order store is
+     * locked, so they see changes in order and must return quickly.
+     */
+    void orderChanged(Order previous, Order current);
+}
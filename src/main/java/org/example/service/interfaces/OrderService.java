@@ -8,5 +8,11 @@ public interface OrderService {
     Order getOrderById(int orderId);
     List<Order> getAllOrders();
     void updateOrder(Order order);
+    boolean updateOrderStatus(int orderId, Order.Status status);
     void deleteOrder(int orderId);
+    List<Order> getOrdersByTable(int tableId);
+    List<Order> getOrdersByWaiter(int waiterId);
+    List<Order> getOrdersByStatus(Order.Status status);
+    List<Order> getOpenOrdersByTable(int tableId);
+    List<Order> getOpenOrdersByWaiter(int waiterId);
 }
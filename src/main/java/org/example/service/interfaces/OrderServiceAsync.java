@@ -0,0 +1,20 @@
+package org.example.service.interfaces;
+
+import org.example.model.Order;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface OrderServiceAsync {
+    CompletableFuture<Void> placeOrder(Order order);
+    CompletableFuture<Order> getOrderById(int orderId);
+    CompletableFuture<List<Order>> getAllOrders();
+    CompletableFuture<Void> updateOrder(Order order);
+    CompletableFuture<Boolean> updateOrderStatus(int orderId, Order.Status status);
+    CompletableFuture<Void> deleteOrder(int orderId);
+    CompletableFuture<List<Order>> getOrdersByTable(int tableId);
+    CompletableFuture<List<Order>> getOrdersByWaiter(int waiterId);
+    CompletableFuture<List<Order>> getOrdersByStatus(Order.Status status);
+    CompletableFuture<List<Order>> getOpenOrdersByTable(int tableId);
+    CompletableFuture<List<Order>> getOpenOrdersByWaiter(int waiterId);
+}
@@ -0,0 +1,9 @@
+package org.example.service.interfaces;
+
+import org.example.model.Payment;
+
+@FunctionalInterface
+public interface PaymentListener {
+    /** Called after a payment is recorded. */
+    void paymentProcessed(Payment payment);
+}
@@ -0,0 +1,10 @@
+package org.example.service.interfaces;
+
+import org.example.model.Payment;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PaymentServiceAsync {
+    CompletableFuture<Void> processPayment(Payment payment);
+    CompletableFuture<Payment> getPaymentByBillId(int billId);
+}
@@ -0,0 +1,12 @@
+package org.example.service.interfaces;
+
+import org.example.model.SalesReport;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+public interface SalesReportServiceAsync {
+    CompletableFuture<Void> generateReport(SalesReport report);
+    CompletableFuture<SalesReport> getReportByDate(LocalDate date);
+    CompletableFuture<SalesReport> getReportById(int reportId);
+}
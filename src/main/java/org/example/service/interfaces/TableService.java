@@ -1,5 +1,6 @@
 package org.example.service.interfaces;
 
+import org.example.model.FloorSnapshot;
 import org.example.model.Table;
 import org.example.model.TableBooking;
 
@@ -11,5 +12,9 @@ public interface TableService {
     List<Table> getAllTables();
     void updateTable(Table table);
     void deleteTable(int tableId);
-    void bookTable(TableBooking tableBooking);
+    boolean bookTable(TableBooking tableBooking);
+    boolean transitionTable(int tableId, Table.Status from, Table.Status to);
+    boolean seatTable(int tableId);
+    boolean releaseTable(int tableId);
+    FloorSnapshot getFloorSnapshot();
 }
@@ -0,0 +1,21 @@
+package org.example.service.interfaces;
+
+import org.example.model.FloorSnapshot;
+import org.example.model.Table;
+import org.example.model.TableBooking;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface TableServiceAsync {
+    CompletableFuture<Void> addTable(Table table);
+    CompletableFuture<Table> getTableById(int tableId);
+    CompletableFuture<List<Table>> getAllTables();
+    CompletableFuture<Void> updateTable(Table table);
+    CompletableFuture<Void> deleteTable(int tableId);
+    CompletableFuture<Boolean> bookTable(TableBooking tableBooking);
+    CompletableFuture<Boolean> transitionTable(int tableId, Table.Status from, Table.Status to);
+    CompletableFuture<Boolean> seatTable(int tableId);
+    CompletableFuture<Boolean> releaseTable(int tableId);
+    CompletableFuture<FloorSnapshot> getFloorSnapshot();
+}
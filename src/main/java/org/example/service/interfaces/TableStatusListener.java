@@ -0,0 +1,13 @@
+package org.example.service.interfaces;
+
+import org.example.model.Table;
+
+@FunctionalInterface
+public interface TableStatusListener {
+    /**
+     * Called after a table changes status: {@code previous} is null for a new table and
+     * {@code current} is null for a removed one. Listeners run on the thread that made the
+     * change and must return quickly.
+     */
+    void tableStatusChanged(int tableId, int capacity, Table.Status previous, Table.Status current);
+}
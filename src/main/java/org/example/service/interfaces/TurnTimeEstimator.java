@@ -0,0 +1,19 @@
+package org.example.service.interfaces;
+
+/**
+ * Predicts how long tables stay occupied, from the turn times seen so far for each table
+ * capacity.
+ */
+public interface TurnTimeEstimator {
+    /**
+     * Records that a table of {@code capacity} was occupied for {@code turnMillis}. Estimators
+     * that are also {@link TableStatusListener}s time turns themselves and are not told.
+     */
+    void recordTurn(int capacity, long turnMillis);
+
+    /** Typical time a table of {@code capacity} stays occupied. */
+    long estimateTurnMillis(int capacity);
+
+    /** Expected time until a table of {@code capacity}, occupied for {@code elapsedMillis} so far, frees up. */
+    long estimateRemainingMillis(int capacity, long elapsedMillis);
+}
@@ -0,0 +1,14 @@
+package org.example.service.interfaces;
+
+import org.example.model.User;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface UserServiceAsync {
+    CompletableFuture<Void> addUser(User user);
+    CompletableFuture<User> getUserById(int id);
+    CompletableFuture<List<User>> getAllUsers();
+    CompletableFuture<Void> updateUser(User user);
+    CompletableFuture<Void> deleteUser(int id);
+}
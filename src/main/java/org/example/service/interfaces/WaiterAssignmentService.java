@@ -0,0 +1,20 @@
+package org.example.service.interfaces;
+
+import org.example.model.Order;
+import org.example.model.WaiterLoad;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface WaiterAssignmentService {
+    /**
+     * Picks a waiter for {@code order}, sets its waiter id and returns it, or returns -1 when
+     * nobody is on shift. A table that already has a waiter keeps that waiter.
+     */
+    int assignWaiter(Order order);
+    void cancelAssignment(int waiterId, int tableId);
+    void setEligibleWaiters(Collection<Integer> waiterIds);
+    void refreshEligibleWaiters();
+    WaiterLoad getWaiterLoad(int waiterId);
+    List<WaiterLoad> getWaiterLoads();
+}
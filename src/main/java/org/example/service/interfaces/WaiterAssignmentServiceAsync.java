@@ -0,0 +1,17 @@
+package org.example.service.interfaces;
+
+import org.example.model.Order;
+import org.example.model.WaiterLoad;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface WaiterAssignmentServiceAsync {
+    CompletableFuture<Integer> assignWaiter(Order order);
+    CompletableFuture<Void> cancelAssignment(int waiterId, int tableId);
+    CompletableFuture<Void> setEligibleWaiters(Collection<Integer> waiterIds);
+    CompletableFuture<Void> refreshEligibleWaiters();
+    CompletableFuture<WaiterLoad> getWaiterLoad(int waiterId);
+    CompletableFuture<List<WaiterLoad>> getWaiterLoads();
+}
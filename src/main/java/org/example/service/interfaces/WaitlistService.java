@@ -0,0 +1,16 @@
+package org.example.service.interfaces;
+
+import org.example.model.WaitlistEntry;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface WaitlistService {
+    WaitlistEntry addParty(String partyName, int partySize, String phone);
+    WaitlistEntry getEntry(int entryId);
+    List<WaitlistEntry> getWaitingParties();
+    boolean cancelParty(int entryId);
+    /** Seats a waiting party at {@code tableId}, or at the smallest free table that fits when it is 0. */
+    WaitlistEntry seatParty(int entryId, int tableId);
+    Timestamp estimateSeatTime(int partySize);
+}
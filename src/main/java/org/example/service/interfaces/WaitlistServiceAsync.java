@@ -0,0 +1,16 @@
+package org.example.service.interfaces;
+
+import org.example.model.WaitlistEntry;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface WaitlistServiceAsync {
+    CompletableFuture<WaitlistEntry> addParty(String partyName, int partySize, String phone);
+    CompletableFuture<WaitlistEntry> getEntry(int entryId);
+    CompletableFuture<List<WaitlistEntry>> getWaitingParties();
+    CompletableFuture<Boolean> cancelParty(int entryId);
+    CompletableFuture<WaitlistEntry> seatParty(int entryId, int tableId);
+    CompletableFuture<Timestamp> estimateSeatTime(int partySize);
+}
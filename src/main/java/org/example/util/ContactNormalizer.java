@@ -0,0 +1,49 @@
+package org.example.util;
+
+import java.util.Locale;
+
+/**
+ * Canonical forms used to look customers up by phone or email. They must stay in step with
+ * the expression indexes on {@code customers}: {@code regexp_replace(phone, '\D', '', 'g')}
+ * and {@code lower(email)}.
+ */
+public class ContactNormalizer {
+
+    private ContactNormalizer() {}
+
+    /** Digits of the phone number only, or null when it has none. */
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.length() == 0 ? null : digits.toString();
+    }
+
+    /** Trimmed, lower-cased email, or null when blank. */
+    public static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Escapes LIKE wildcards so {@code value} can be used as a literal prefix pattern. */
+    public static String likePrefix(String value) {
+        StringBuilder pattern = new StringBuilder(value.length() + 1);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
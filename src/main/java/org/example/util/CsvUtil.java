@@ -0,0 +1,126 @@
+package org.example.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvUtil {
+
+    private CsvUtil() {}
+
+    /** Fields of a single-line record; a quoted field left open is an error. */
+    public static List<String> parseLine(String line) {
+        try {
+            return new RecordReader(new BufferedReader(new StringReader(line))).next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void appendField(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = value.isEmpty() || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    /**
+     * Reads CSV records, where a quoted field may run over several lines. Unquoted fields are
+     * trimmed; quoted ones keep their spaces and line breaks (as {@code \n}). Blank lines
+     * between records are skipped.
+     */
+    public static final class RecordReader {
+        private final BufferedReader reader;
+        private long lineNumber;
+        private long recordLineNumber;
+
+        public RecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /** Line the last record returned by {@link #next} started on, counting from 1. */
+        public long getRecordLineNumber() {
+            return recordLineNumber;
+        }
+
+        /**
+         * The fields of the next record, or null at the end of the input. A quoted field that
+         * is still open at the end of the input throws {@link IllegalArgumentException}.
+         */
+        public List<String> next() throws IOException {
+            String line = reader.readLine();
+            lineNumber++;
+            while (line != null && line.isBlank()) {
+                line = reader.readLine();
+                lineNumber++;
+            }
+            if (line == null) {
+                return null;
+            }
+            recordLineNumber = lineNumber;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            boolean inQuotes = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!inQuotes) {
+                        break;
+                    }
+                    line = reader.readLine();
+                    if (line == null) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    lineNumber++;
+                    current.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (inQuotes) {
+                    if (c != '"') {
+                        current.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else if (c == '"') {
+                    if (!quoted && current.toString().isBlank()) {
+                        current.setLength(0);
+                    }
+                    quoted = true;
+                    inQuotes = true;
+                } else if (c == ',') {
+                    fields.add(quoted ? current.toString() : current.toString().trim());
+                    current.setLength(0);
+                    quoted = false;
+                } else if (!quoted || !Character.isWhitespace(c)) {
+                    current.append(c);
+                }
+            }
+            fields.add(quoted ? current.toString() : current.toString().trim());
+            return fields;
+        }
+    }
+}
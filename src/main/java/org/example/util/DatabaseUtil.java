@@ -1,5 +1,7 @@
 package org.example.util;
 
+import org.example.jdbc.JdbcInstrumentation;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -9,6 +11,10 @@ public class DatabaseUtil {
     private static final String URL = "jdbc:postgresql://localhost:5432/rms_db";
     private static final String USER = "rms";
     private static final String PASSWORD = "rms_password";
+    private static final int POOL_SIZE = Integer.getInteger("rms.db.poolSize", 10);
+    private static final long BORROW_TIMEOUT_MILLIS = Long.getLong("rms.db.borrowTimeoutMillis", 30_000L);
+
+    private static final ConnectionPool POOL;
 
     static {
         try {
@@ -16,9 +22,14 @@ public class DatabaseUtil {
         } catch (ClassNotFoundException e) {
             throw new RuntimeException("PostgresSQL JDBC Driver not found", e);
         }
+        POOL = new ConnectionPool(() -> DriverManager.getConnection(URL, USER, PASSWORD), POOL_SIZE, BORROW_TIMEOUT_MILLIS);
     }
 
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return JdbcInstrumentation.connect(POOL::getConnection);
+    }
+
+    public static ConnectionPool getPool() {
+        return POOL;
     }
 }
@@ -0,0 +1,286 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck) for large numbers of coarse timers.
+ * Level 0 has one bucket per tick; each higher level has buckets as wide as a full turn of
+ * the level below, and its entries move down a level when the clock reaches their bucket.
+ * Buckets are doubly linked lists, so scheduling and cancelling are O(1) whatever the number
+ * of pending timers; the wheel only does work per tick and per timer.
+ *
+ * <p>A daemon thread advances the wheel once per tick and hands expired tasks to the
+ * executor (or runs them itself when the executor rejects them). Deadlines are wall-clock
+ * milliseconds and timers never fire early; they fire up to one tick late.
+ */
+public class HierarchicalTimingWheel implements AutoCloseable {
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Executor executor;
+    private final List<Bucket[]> levels = new ArrayList<>();
+    private final Thread ticker;
+    private long currentTick;
+    private int pending;
+    private volatile boolean closed;
+
+    /**
+     * @param tickMillis resolution of the wheel
+     * @param wheelSize  buckets per level, rounded up to a power of two
+     */
+    public HierarchicalTimingWheel(String threadName, long tickMillis, int wheelSize, Executor executor) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel needs at least two buckets");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+        this.mask = (1 << bits) - 1;
+        this.executor = executor;
+        this.currentTick = System.currentTimeMillis() / tickMillis;
+        this.ticker = new Thread(this::run, threadName);
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /** Runs {@code task} once {@code deadlineMillis} (epoch millis) has passed. */
+    public Timeout schedule(Runnable task, long deadlineMillis) {
+        Timeout timeout = new Timeout(task, deadlineMillis);
+        boolean expired;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Timing wheel is closed");
+            }
+            expired = !insert(timeout);
+            if (expired) {
+                timeout.state = Timeout.FIRED;
+            } else {
+                pending++;
+            }
+        }
+        if (expired) {
+            dispatch(timeout);
+        }
+        return timeout;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        ticker.interrupt();
+    }
+
+    /** Advances the wheel to {@code nowMillis} and dispatches every timer that fell due. */
+    void advanceTo(long nowMillis) {
+        List<Timeout> due = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = nowMillis / tickMillis;
+            if (pending == 0 && targetTick > currentTick) {
+                currentTick = targetTick;
+            }
+            while (currentTick < targetTick) {
+                currentTick++;
+                // higher levels first, so entries they drop into a lower level's current
+                // bucket are moved on again in the same tick
+                for (int level = levels.size() - 1; level >= 1; level--) {
+                    if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                        cascade(level, due);
+                    }
+                }
+                drain(bucket(0, currentTick), due);
+            }
+        }
+        for (Timeout timeout : due) {
+            dispatch(timeout);
+        }
+    }
+
+    // caller holds the lock; returns false when the deadline has already passed
+    private boolean insert(Timeout timeout) {
+        long deadlineTick = Math.floorDiv(timeout.deadlineMillis + tickMillis - 1, tickMillis);
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        int level = 0;
+        while (bits * (level + 1) < Long.SIZE
+                && (deadlineTick >>> (bits * (level + 1))) != (currentTick >>> (bits * (level + 1)))) {
+            level++;
+        }
+        bucket(level, deadlineTick).append(timeout);
+        return true;
+    }
+
+    private Bucket bucket(int level, long tick) {
+        while (levels.size() <= level) {
+            Bucket[] buckets = new Bucket[mask + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new Bucket();
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level)[(int) ((tick >>> (bits * level)) & mask)];
+    }
+
+    private void cascade(int level, List<Timeout> due) {
+        Bucket bucket = bucket(level, currentTick);
+        Timeout timeout = bucket.head;
+        bucket.head = null;
+        bucket.tail = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            if (!insert(timeout)) {
+                expire(timeout, due);
+            }
+            timeout = next;
+        }
+    }
+
+    private void drain(Bucket bucket, List<Timeout> due) {
+        Timeout timeout = bucket.head;
+        bucket.head = null;
+        bucket.tail = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            expire(timeout, due);
+            timeout = next;
+        }
+    }
+
+    private void expire(Timeout timeout, List<Timeout> due) {
+        timeout.state = Timeout.FIRED;
+        pending--;
+        due.add(timeout);
+    }
+
+    private void dispatch(Timeout timeout) {
+        try {
+            executor.execute(timeout.task);
+        } catch (RejectedExecutionException e) {
+            runQuietly(timeout.task);
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            long now = System.currentTimeMillis();
+            long nextTick = (now / tickMillis + 1) * tickMillis;
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(nextTick - now));
+            if (Thread.interrupted() && closed) {
+                break;
+            }
+            try {
+                advanceTo(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static void runQuietly(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static final class Bucket {
+        Timeout head;
+        Timeout tail;
+
+        void append(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void unlink(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    public final class Timeout {
+        private static final int PENDING = 0;
+        private static final int FIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Runnable task;
+        private final long deadlineMillis;
+        // guarded by the wheel
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+        private int state = PENDING;
+
+        private Timeout(Runnable task, long deadlineMillis) {
+            this.task = task;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /** Returns false if the timer has already fired or was cancelled before. */
+        public boolean cancel() {
+            synchronized (HierarchicalTimingWheel.this) {
+                if (state != PENDING) {
+                    return false;
+                }
+                state = CANCELLED;
+                if (bucket != null) {
+                    bucket.unlink(this);
+                    pending--;
+                }
+                return true;
+            }
+        }
+
+        public boolean isCancelled() {
+            synchronized (HierarchicalTimingWheel.this) {
+                return state == CANCELLED;
+            }
+        }
+
+        public boolean isExpired() {
+            synchronized (HierarchicalTimingWheel.this) {
+                return state == FIRED;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative longs with bounded relative error, laid out like
+ * HdrHistogram: values below {@code 2^subBucketBits} get a bucket each, and every power of two
+ * above that is split into {@code 2^subBucketBits} equal sub-buckets. With 7 sub-bucket bits
+ * any recorded value is known to within 1/128 of itself. Recording is one atomic increment;
+ * percentiles walk the (small, fixed) bucket array. Histograms with the same layout can be
+ * merged, e.g. to roll hourly histograms up into a daily one.
+ */
+public class LogLinearHistogram {
+    private final int subBucketBits;
+    private final long maxValue;
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /** Values above {@code maxValue} are recorded as {@code maxValue}. */
+    public LogLinearHistogram(long maxValue, int subBucketBits) {
+        if (maxValue < 1 || subBucketBits < 1 || subBucketBits > 16) {
+            throw new IllegalArgumentException("maxValue must be positive and subBucketBits in [1, 16]");
+        }
+        this.subBucketBits = subBucketBits;
+        this.maxValue = maxValue;
+        this.counts = new AtomicLongArray(indexOf(maxValue) + 1);
+    }
+
+    public void record(long value) {
+        recordValues(value, 1);
+    }
+
+    public void recordValues(long value, long count) {
+        long clamped = Math.min(Math.max(value, 0), maxValue);
+        counts.addAndGet(indexOf(clamped), count);
+        totalCount.add(count);
+        sum.add(clamped * count);
+        max.accumulateAndGet(clamped, Math::max);
+    }
+
+    /** Adds every value recorded in {@code other}, which must have the same layout. */
+    public void add(LogLinearHistogram other) {
+        if (other.subBucketBits != subBucketBits || other.maxValue != maxValue) {
+            throw new IllegalArgumentException("Histograms have different layouts");
+        }
+        long added = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+                added += count;
+            }
+        }
+        totalCount.add(added);
+        sum.add(other.sum.sum());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    public LogLinearHistogram copy() {
+        LogLinearHistogram copy = new LogLinearHistogram(maxValue, subBucketBits);
+        copy.add(this);
+        return copy;
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0.0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Value at {@code percentile} (0-100), reported as the middle of its bucket; 0 when
+     * nothing has been recorded. Values recorded during the walk may or may not be counted.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(lowestValueAt(i) + (bucketWidthAt(i) - 1) / 2, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    private int indexOf(long value) {
+        if (value < (1L << subBucketBits)) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - subBucketBits;
+        int subBucket = (int) ((value >>> shift) - (1L << subBucketBits));
+        return ((shift + 1) << subBucketBits) + subBucket;
+    }
+
+    private long lowestValueAt(int index) {
+        int bucket = index >>> subBucketBits;
+        if (bucket == 0) {
+            return index;
+        }
+        long subBucket = index & ((1 << subBucketBits) - 1);
+        return ((1L << subBucketBits) + subBucket) << (bucket - 1);
+    }
+
+    private long bucketWidthAt(int index) {
+        int bucket = index >>> subBucketBits;
+        return bucket == 0 ? 1 : 1L << (bucket - 1);
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as a {@code long} count of cents. Sums, differences and quantities are exact and
+ * allocation-free; rounding only happens in {@link #percentOf} and when a {@code double}
+ * comes in from user input or JSON. Amounts map to the {@code DECIMAL(10,2)} columns through
+ * {@link #toDecimal} and {@link #fromDecimal}.
+ */
+public final class Money {
+    public static final long ZERO = 0L;
+    private static final long BASIS_POINTS = 10_000L;
+
+    private Money() {}
+
+    /** Whole units and cents, e.g. {@code of(12, 50)} for 12.50. */
+    public static long of(long units, int cents) {
+        if (cents < 0 || cents > 99) {
+            throw new IllegalArgumentException("Cents must be in [0, 99]: " + cents);
+        }
+        return Math.addExact(Math.multiplyExact(units, 100L), units < 0 ? -cents : cents);
+    }
+
+    /** Parses {@code 12}, {@code 12.5}, {@code 12.50} or {@code -0.05}; more than two decimals is an error. */
+    public static long parse(String text) {
+        String value = text.trim();
+        int start = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+        int dot = value.indexOf('.');
+        int end = value.length();
+        if (end == start || (dot >= 0 && (end - dot - 1 > 2 || end - start == 1))) {
+            throw new NumberFormatException("Not an amount with at most two decimals: '" + text + "'");
+        }
+        long units = 0;
+        long cents = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (i == dot) {
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Not an amount with at most two decimals: '" + text + "'");
+            }
+            if (dot < 0 || i < dot) {
+                units = Math.addExact(Math.multiplyExact(units, 10L), c - '0');
+            } else {
+                cents += (c - '0') * (i == dot + 1 ? 10 : 1);
+            }
+        }
+        long amount = Math.addExact(Math.multiplyExact(units, 100L), cents);
+        return value.charAt(0) == '-' ? -amount : amount;
+    }
+
+    /** Nearest cent to a {@code double} amount; only for values that arrive as doubles. */
+    public static long fromDouble(double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("Not an amount: " + amount);
+        }
+        return Math.round(amount * 100.0);
+    }
+
+    public static double toDouble(long cents) {
+        return cents / 100.0;
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /** Rounds half up to the cent; a null (SQL NULL) is zero. */
+    public static long fromDecimal(BigDecimal amount) {
+        return amount == null ? ZERO : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static long times(long cents, long quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    /** {@code basisPoints} hundredths of a percent of {@code cents} (825 = 8.25%), rounded half up. */
+    public static long percentOf(long cents, long basisPoints) {
+        long scaled = Math.multiplyExact(cents, basisPoints);
+        long half = scaled >= 0 ? BASIS_POINTS / 2 : -BASIS_POINTS / 2;
+        return (scaled + half) / BASIS_POINTS;
+    }
+
+    /** Total minus discount plus tax, the final amount of a bill. */
+    public static long finalAmount(long totalCents, long discountCents, long taxCents) {
+        return Math.addExact(Math.subtractExact(totalCents, discountCents), taxCents);
+    }
+
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(12), cents).toString();
+    }
+
+    /** Writes {@code cents} as e.g. {@code 12.50} or {@code -0.05} without allocating. */
+    public static StringBuilder appendTo(StringBuilder out, long cents) {
+        if (cents < 0) {
+            out.append('-');
+        }
+        long units = Math.abs(cents / 100);
+        int fraction = (int) Math.abs(cents % 100);
+        out.append(units).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+}
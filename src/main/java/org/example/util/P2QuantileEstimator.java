@@ -0,0 +1,109 @@
+package org.example.util;
+
+import java.util.Arrays;
+
+/**
+ * Streaming estimate of one quantile in constant space, using the P² algorithm (Jain and
+ * Chlamtac, 1985): five markers track the minimum, the maximum, the quantile and two points
+ * either side of it, and are nudged along a parabola as each observation arrives. Until five
+ * values have been seen the exact quantile of those values is returned.
+ *
+ * <p>Not thread-safe; callers synchronize.
+ */
+public class P2QuantileEstimator {
+    private final double quantile;
+    private final double[] heights = new double[5];
+    private final double[] positions = new double[5];
+    private final double[] desired = new double[5];
+    private final double[] increments;
+    private long count;
+
+    public P2QuantileEstimator(double quantile) {
+        if (quantile <= 0 || quantile >= 1) {
+            throw new IllegalArgumentException("Quantile must be in (0, 1): " + quantile);
+        }
+        this.quantile = quantile;
+        this.increments = new double[] {0, quantile / 2, quantile, (1 + quantile) / 2, 1};
+        for (int i = 0; i < 5; i++) {
+            positions[i] = i;
+            desired[i] = 4 * increments[i];
+        }
+    }
+
+    public void add(double value) {
+        if (count < 5) {
+            heights[(int) count++] = value;
+            if (count == 5) {
+                Arrays.sort(heights);
+            }
+            return;
+        }
+        count++;
+        int cell;
+        if (value < heights[0]) {
+            heights[0] = value;
+            cell = 0;
+        } else if (value >= heights[4]) {
+            heights[4] = Math.max(heights[4], value);
+            cell = 3;
+        } else {
+            cell = 0;
+            while (value >= heights[cell + 1]) {
+                cell++;
+            }
+        }
+        for (int i = cell + 1; i < 5; i++) {
+            positions[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desired[i] += increments[i];
+        }
+        for (int i = 1; i <= 3; i++) {
+            double offset = desired[i] - positions[i];
+            if ((offset >= 1 && positions[i + 1] - positions[i] > 1)
+                    || (offset <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int step = offset >= 0 ? 1 : -1;
+                double candidate = parabolic(i, step);
+                if (heights[i - 1] < candidate && candidate < heights[i + 1]) {
+                    heights[i] = candidate;
+                } else {
+                    heights[i] = linear(i, step);
+                }
+                positions[i] += step;
+            }
+        }
+    }
+
+    /** Current estimate, or NaN before the first value. */
+    public double getQuantile() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count < 5) {
+            double[] seen = Arrays.copyOf(heights, (int) count);
+            Arrays.sort(seen);
+            return seen[(int) Math.min(count - 1, Math.round(quantile * (count - 1)))];
+        }
+        return heights[2];
+    }
+
+    public double getTargetQuantile() {
+        return quantile;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    private double parabolic(int i, int step) {
+        double below = positions[i] - positions[i - 1];
+        double above = positions[i + 1] - positions[i];
+        return heights[i] + step / (positions[i + 1] - positions[i - 1])
+                * ((below + step) * (heights[i + 1] - heights[i]) / above
+                + (above - step) * (heights[i] - heights[i - 1]) / below);
+    }
+
+    private double linear(int i, int step) {
+        return heights[i] + step * (heights[i + step] - heights[i]) / (positions[i + step] - positions[i]);
+    }
+}
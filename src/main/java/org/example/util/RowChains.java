@@ -0,0 +1,70 @@
+package org.example.util;
+
+import java.util.Arrays;
+
+/**
+ * Secondary index over the rows of a column store: for each {@code int} key, a doubly linked
+ * list of rows in the order they were added, threaded through two per-row link arrays. Adding
+ * and removing a row are O(1) and allocate nothing once the key has been seen, so a store can
+ * index millions of rows by a handful of keys (table, waiter, status) without a set entry per
+ * row. Not thread-safe; callers guard it with their own lock.
+ */
+public class RowChains {
+    public static final int NO_ROW = RowIndex.NO_ROW;
+
+    private int[] next = new int[16];
+    private int[] previous = new int[16];
+    // per key: {first row, last row}
+    private final IntHashMap<int[]> ends = new IntHashMap<>();
+
+    /** Appends {@code row}, which must not be in any chain, to the chain of {@code key}. */
+    public void add(int key, int row) {
+        if (row >= next.length) {
+            int capacity = Math.max(row + 1, next.length * 2);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+        }
+        int[] chain = ends.get(key);
+        next[row] = NO_ROW;
+        if (chain == null) {
+            previous[row] = NO_ROW;
+            ends.put(key, new int[] {row, row});
+        } else {
+            previous[row] = chain[1];
+            next[chain[1]] = row;
+            chain[1] = row;
+        }
+    }
+
+    /** Unlinks {@code row} from the chain of {@code key}; the row must be in that chain. */
+    public void remove(int key, int row) {
+        int[] chain = ends.get(key);
+        if (chain == null) {
+            return;
+        }
+        int before = previous[row];
+        int after = next[row];
+        if (before == NO_ROW) {
+            chain[0] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after == NO_ROW) {
+            chain[1] = before;
+        } else {
+            previous[after] = before;
+        }
+        if (chain[0] == NO_ROW) {
+            ends.remove(key);
+        }
+    }
+
+    public int first(int key) {
+        int[] chain = ends.get(key);
+        return chain == null ? NO_ROW : chain[0];
+    }
+
+    public int next(int row) {
+        return next[row];
+    }
+}
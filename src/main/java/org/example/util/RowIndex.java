@@ -0,0 +1,113 @@
+package org.example.util;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Open-addressing index from an {@code int} key to a row of a column store (linear probing,
+ * backward-shift deletion). Slots hold only the row; the key is read back from the store's
+ * own key column, so the index costs four bytes per slot. Not thread-safe; callers guard it
+ * with their own lock.
+ */
+public class RowIndex {
+    public static final int NO_ROW = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final IntUnaryOperator keyOfRow;
+    private int[] slots;
+    private int size;
+    private int resizeThreshold;
+
+    /** {@code keyOfRow} must return the key of any row currently in the index. */
+    public RowIndex(IntUnaryOperator keyOfRow) {
+        this.keyOfRow = keyOfRow;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int key) {
+        int mask = slots.length - 1;
+        for (int slot = mix(key) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int row = slots[slot] - 1;
+            if (keyOfRow.applyAsInt(row) == key) {
+                return row;
+            }
+        }
+        return NO_ROW;
+    }
+
+    /** Points {@code key} at {@code row}, replacing any row it pointed at before. */
+    public void put(int key, int row) {
+        int mask = slots.length - 1;
+        int slot = mix(key) & mask;
+        while (slots[slot] != 0) {
+            if (keyOfRow.applyAsInt(slots[slot] - 1) == key) {
+                slots[slot] = row + 1;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = row + 1;
+        if (++size > resizeThreshold) {
+            rehash(slots.length << 1);
+        }
+    }
+
+    /** Call while the key column still holds {@code key} for the row being removed. */
+    public int remove(int key) {
+        int mask = slots.length - 1;
+        for (int slot = mix(key) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int row = slots[slot] - 1;
+            if (keyOfRow.applyAsInt(row) == key) {
+                shiftBack(slot);
+                size--;
+                return row;
+            }
+        }
+        return NO_ROW;
+    }
+
+    private void shiftBack(int freedSlot) {
+        int mask = slots.length - 1;
+        int gap = freedSlot;
+        int slot = (gap + 1) & mask;
+        while (slots[slot] != 0) {
+            int home = mix(keyOfRow.applyAsInt(slots[slot] - 1)) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                slots[gap] = slots[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[gap] = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldSlots = slots;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int entry : oldSlots) {
+            if (entry != 0) {
+                int slot = mix(keyOfRow.applyAsInt(entry - 1)) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = entry;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
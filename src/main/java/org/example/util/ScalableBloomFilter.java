@@ -0,0 +1,157 @@
+package org.example.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter that grows as elements are added (Almeida et al., "Scalable Bloom Filters").
+ * When the current stage reaches its capacity a new stage with twice the capacity and half
+ * the target error is appended, so the compound false-positive rate stays below about
+ * twice the initial rate no matter how many elements arrive.
+ *
+ * <p>Lookups are lock-free; additions are serialized on the filter.
+ */
+public class ScalableBloomFilter {
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final double LN2 = Math.log(2);
+
+    private final double initialFalsePositiveRate;
+    private volatile Stage[] stages;
+    private volatile long count;
+
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Capacity must be positive and the false-positive rate in (0, 1)");
+        }
+        this.initialFalsePositiveRate = falsePositiveRate;
+        this.stages = new Stage[] {new Stage(initialCapacity, falsePositiveRate)};
+    }
+
+    public boolean mightContain(CharSequence value) {
+        long hash = hash(value);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Adds {@code value}; returns false when it was (probably) present already. */
+    public synchronized boolean add(CharSequence value) {
+        long hash = hash(value);
+        Stage[] current = stages;
+        for (Stage stage : current) {
+            if (stage.mightContain(hash)) {
+                return false;
+            }
+        }
+        Stage last = current[current.length - 1];
+        if (last.count >= last.capacity) {
+            last = new Stage(last.capacity * GROWTH_FACTOR, last.falsePositiveRate * TIGHTENING_RATIO);
+            Stage[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = last;
+            stages = grown;
+        }
+        last.add(hash);
+        count++;
+        return true;
+    }
+
+    public long getApproximateCount() {
+        return count;
+    }
+
+    public int getStageCount() {
+        return stages.length;
+    }
+
+    public long getBitSize() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += stage.numBits;
+        }
+        return bits;
+    }
+
+    public double getInitialFalsePositiveRate() {
+        return initialFalsePositiveRate;
+    }
+
+    /**
+     * False-positive probability for a value that was never added, estimated from how full
+     * each stage actually is: {@code 1 - prod(1 - fill^k)}.
+     */
+    public double getExpectedFalsePositiveRate() {
+        double allMiss = 1.0;
+        for (Stage stage : stages) {
+            allMiss *= 1.0 - Math.pow((double) stage.bitsSet / stage.numBits, stage.hashCount);
+        }
+        return 1.0 - allMiss;
+    }
+
+    // FNV-1a over the UTF-16 code units, finished with the murmur3 64-bit mixer
+    private static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static class Stage {
+        final int capacity;
+        final double falsePositiveRate;
+        final long numBits;
+        final int hashCount;
+        final AtomicLongArray words;
+        int count;
+        volatile long bitsSet;
+
+        Stage(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+            this.numBits = Math.max(64, (bits + 63) & ~63L);
+            this.hashCount = Math.max(1, (int) Math.round((double) numBits / capacity * LN2));
+            this.words = new AtomicLongArray((int) (numBits >>> 6));
+        }
+
+        boolean mightContain(long hash) {
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numBits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(long hash) {
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            long newlySet = 0;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numBits);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word = words.get(index);
+                if ((word & mask) == 0) {
+                    words.set(index, word | mask);
+                    newlySet++;
+                }
+            }
+            bitsSet += newlySet;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+    private static final long TICK = 1_000;
+
+    private final List<Long> fired = new ArrayList<>();
+    private HierarchicalTimingWheel wheel;
+    private long base;
+
+    // four buckets per level, so a few dozen ticks already span three levels; the clock is
+    // moved far ahead of the wall clock so the wheel's own thread never advances it
+    @BeforeEach
+    void setUp() {
+        wheel = new HierarchicalTimingWheel("test-wheel", TICK, 4, Runnable::run);
+        base = (System.currentTimeMillis() / TICK + 1_000_000) * TICK;
+        wheel.advanceTo(base);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void cascadedTimersFireOnTheirOwnTick() {
+        long[] ticks = {1, 3, 4, 5, 15, 16, 17, 63, 64, 70};
+        for (long tick : ticks) {
+            schedule(tick);
+        }
+        assertEquals(ticks.length, wheel.getPendingCount());
+
+        for (long tick = 1; tick <= 80; tick++) {
+            wheel.advanceTo(base + tick * TICK);
+            long now = tick;
+            assertTrue(fired.stream().allMatch(deadline -> deadline <= now), "fired early at tick " + tick);
+        }
+        List<Long> expected = new ArrayList<>();
+        for (long tick : ticks) {
+            expected.add(tick);
+        }
+        assertEquals(expected, fired);
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void timerFiresOnTheTickAfterItsDeadlineNotBefore() {
+        wheel.schedule(() -> fired.add(-1L), base + 2 * TICK + 1);
+        wheel.advanceTo(base + 2 * TICK);
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(base + 3 * TICK);
+        assertEquals(List.of(-1L), fired);
+    }
+
+    @Test
+    void cancelledTimerNeverFires() {
+        HierarchicalTimingWheel.Timeout kept = schedule(40);
+        HierarchicalTimingWheel.Timeout cancelled = schedule(40);
+        HierarchicalTimingWheel.Timeout early = schedule(2);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+        assertEquals(2, wheel.getPendingCount());
+
+        wheel.advanceTo(base + 50 * TICK);
+        assertEquals(List.of(2L, 40L), fired);
+        assertTrue(kept.isExpired());
+        assertTrue(early.isExpired());
+        assertFalse(cancelled.isExpired());
+        assertFalse(kept.cancel());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void pastDeadlineRunsImmediately() {
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(() -> fired.add(0L), base - TICK);
+        assertEquals(List.of(0L), fired);
+        assertTrue(timeout.isExpired());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    private HierarchicalTimingWheel.Timeout schedule(long tick) {
+        return wheel.schedule(() -> fired.add(tick), base + tick * TICK);
+    }
+}
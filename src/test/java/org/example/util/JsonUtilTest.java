@@ -0,0 +1,64 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonUtilTest {
+
+    @Test
+    void escapesQuotesBackslashesAndControlCharacters() {
+        assertEquals("\"a\\\"b\\\\c\\n\\r\\t\\u0001\"", JsonUtil.toJson("a\"b\\c\n\r\t\u0001"));
+    }
+
+    @Test
+    void readsEscapesBackToTheSameString() {
+        String text = "quote \" slash \\ tab \t nul \u0000 e \u00e9";
+        assertEquals(text, JsonUtil.parse(JsonUtil.toJson(text)));
+        assertEquals("A\b\f/", JsonUtil.parse("\"\\u0041\\b\\f\\/\""));
+    }
+
+    @Test
+    void rejectsTruncatedEscapes() {
+        assertThrows(IllegalArgumentException.class, () -> JsonUtil.parse("\"\\u00"));
+        assertThrows(IllegalArgumentException.class, () -> JsonUtil.parse("\"\\u00zz\""));
+        assertThrows(IllegalArgumentException.class, () -> JsonUtil.parse("\"abc\\"));
+        assertThrows(IllegalArgumentException.class, () -> JsonUtil.parse("\"abc"));
+    }
+
+    @Test
+    void writesNonFiniteNumbersAsNull() {
+        assertEquals("[null,null,null,1.5,3]",
+                JsonUtil.toJson(Arrays.asList(Double.NaN, Double.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, 1.5, 3L)));
+    }
+
+    @Test
+    void readsIntegersAsLongAndDecimalsAsDouble() {
+        assertEquals(List.of(-42L, 9007199254740993L, 2.5, 1000.0, -0.001),
+                JsonUtil.parse("[-42, 9007199254740993, 2.5, 1e3, -1E-3]"));
+    }
+
+    @Test
+    void rejectsMalformedNumbersAndTrailingContent() {
+        assertThrows(IllegalArgumentException.class, () -> JsonUtil.parse("1-2"));
+        assertThrows(IllegalArgumentException.class, () -> JsonUtil.parse("99999999999999999999"));
+        assertThrows(IllegalArgumentException.class, () -> JsonUtil.parse("1 2"));
+        assertThrows(IllegalArgumentException.class, () -> JsonUtil.parse("{\"a\":1,}"));
+    }
+
+    @Test
+    void roundTripsNestedObjectsInKeyOrder() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("z", List.of(1L, "two", true));
+        object.put("a", null);
+        String json = JsonUtil.toJson(object);
+        assertEquals("{\"z\":[1,\"two\",true],\"a\":null}", json);
+        assertEquals(object, JsonUtil.parseObject(json));
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LogLinearHistogramTest {
+    private static final long MAX = 3_600_000;
+
+    @Test
+    void smallValuesAreExact() {
+        LogLinearHistogram histogram = new LogLinearHistogram(MAX, 7);
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(50.5, histogram.getMean());
+    }
+
+    @Test
+    void uniformPercentilesWithinRelativeError() {
+        LogLinearHistogram histogram = new LogLinearHistogram(MAX, 7);
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value);
+        }
+        for (double percentile : new double[] {10, 50, 90, 99, 99.9}) {
+            long expected = (long) (percentile * 10_000);
+            assertEquals(expected, histogram.getValueAtPercentile(percentile), expected / 128.0, "p" + percentile);
+        }
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_000.5, histogram.getMean(), 1e-6);
+    }
+
+    @Test
+    void skewedPercentilesMatchTheSortedSample() {
+        // exponential turn times with a mean of 45 minutes, in milliseconds
+        Random random = new Random(3);
+        long[] sample = new long[50_000];
+        LogLinearHistogram histogram = new LogLinearHistogram(MAX * 10, 7);
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = (long) (-Math.log(1 - random.nextDouble()) * 2_700_000);
+            histogram.record(sample[i]);
+        }
+        Arrays.sort(sample);
+        for (double percentile : new double[] {50, 75, 90, 95, 99}) {
+            long expected = sample[(int) Math.ceil(percentile / 100 * sample.length) - 1];
+            assertEquals(expected, histogram.getValueAtPercentile(percentile), expected / 128.0, "p" + percentile);
+        }
+    }
+
+    @Test
+    void clampsValuesOutsideTheRange() {
+        LogLinearHistogram histogram = new LogLinearHistogram(1_000, 4);
+        histogram.record(-5);
+        histogram.record(50_000);
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(1_000, histogram.getValueAtPercentile(100));
+        assertEquals(1_000, histogram.getMax());
+    }
+
+    @Test
+    void mergesHistogramsWithTheSameLayout() {
+        LogLinearHistogram morning = new LogLinearHistogram(MAX, 7);
+        LogLinearHistogram evening = new LogLinearHistogram(MAX, 7);
+        morning.recordValues(10, 3);
+        evening.recordValues(1_000, 1);
+        LogLinearHistogram day = morning.copy();
+        day.add(evening);
+        assertEquals(4, day.getTotalCount());
+        assertEquals(10, day.getValueAtPercentile(75));
+        assertEquals(1_000, day.getValueAtPercentile(100));
+        assertEquals(3, morning.getTotalCount());
+        assertThrows(IllegalArgumentException.class, () -> day.add(new LogLinearHistogram(MAX, 6)));
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LogLinearHistogram histogram = new LogLinearHistogram(MAX, 7);
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMean());
+        histogram.record(5);
+        histogram.reset();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMax());
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void parsesUpToTwoDecimals() {
+        assertEquals(1200, Money.parse("12"));
+        assertEquals(1250, Money.parse("12.5"));
+        assertEquals(1250, Money.parse(" 12.50 "));
+        assertEquals(-5, Money.parse("-0.05"));
+        assertEquals(-50, Money.parse("-.5"));
+        assertEquals(7, Money.parse("+0.07"));
+        assertEquals(1200, Money.parse("12."));
+    }
+
+    @Test
+    void rejectsAnythingElse() {
+        for (String text : new String[] {"", "-", ".", "12.345", "1.2.3", "1,50", "abc", "12e2", "--1", "0x10"}) {
+            assertThrows(NumberFormatException.class, () -> Money.parse(text), text);
+        }
+        assertThrows(ArithmeticException.class, () -> Money.parse("99999999999999999999"));
+    }
+
+    @Test
+    void roundsPercentagesHalfAwayFromZero() {
+        assertEquals(83, Money.percentOf(1000, 825));
+        assertEquals(1, Money.percentOf(10, 500));
+        assertEquals(0, Money.percentOf(9, 500));
+        assertEquals(-1, Money.percentOf(-10, 500));
+        assertEquals(0, Money.percentOf(-9, 500));
+    }
+
+    @Test
+    void roundsDecimalsAndDoublesToTheCent() {
+        assertEquals(1235, Money.fromDecimal(new BigDecimal("12.345")));
+        assertEquals(1234, Money.fromDecimal(new BigDecimal("12.344")));
+        assertEquals(0, Money.fromDecimal(null));
+        assertEquals(new BigDecimal("12.50"), Money.toDecimal(1250));
+        // 0.1 + 0.2 is 0.30000000000000004 as a double
+        assertEquals(30, Money.fromDouble(0.1 + 0.2));
+        assertEquals(1999, Money.fromDouble(19.99));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromDouble(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromDouble(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void finalAmountIsExact() {
+        long total = Money.times(Money.parse("19.99"), 3);
+        long tax = Money.percentOf(total, 825);
+        assertEquals(5997, total);
+        assertEquals(495, tax);
+        assertEquals(5992, Money.finalAmount(total, 500, tax));
+        assertThrows(ArithmeticException.class, () -> Money.finalAmount(Long.MAX_VALUE, -1, 0));
+    }
+
+    @Test
+    void formatsWithTwoDecimals() {
+        assertEquals("12.50", Money.format(1250));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals("0.00", Money.format(0));
+        assertEquals("-12.07", Money.format(-1207));
+        assertEquals(1250, Money.of(12, 50));
+        assertEquals(-1250, Money.of(-12, 50));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(1, 100));
+    }
+}
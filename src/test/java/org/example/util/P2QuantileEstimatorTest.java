@@ -0,0 +1,74 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class P2QuantileEstimatorTest {
+
+    @Test
+    void tracksQuantilesOfAUniformDistribution() {
+        Random random = new Random(42);
+        P2QuantileEstimator median = new P2QuantileEstimator(0.5);
+        P2QuantileEstimator p90 = new P2QuantileEstimator(0.9);
+        for (int i = 0; i < 100_000; i++) {
+            double value = random.nextDouble();
+            median.add(value);
+            p90.add(value);
+        }
+        assertEquals(0.5, median.getQuantile(), 0.01);
+        assertEquals(0.9, p90.getQuantile(), 0.01);
+        assertEquals(100_000, median.getCount());
+    }
+
+    @Test
+    void tracksTheTailOfASkewedDistribution() {
+        // exponential with mean 1: the p-quantile is -ln(1 - p)
+        Random random = new Random(7);
+        P2QuantileEstimator p90 = new P2QuantileEstimator(0.9);
+        P2QuantileEstimator p99 = new P2QuantileEstimator(0.99);
+        for (int i = 0; i < 200_000; i++) {
+            double value = -Math.log(1 - random.nextDouble());
+            p90.add(value);
+            p99.add(value);
+        }
+        assertEquals(Math.log(10), p90.getQuantile(), Math.log(10) * 0.02);
+        assertEquals(Math.log(100), p99.getQuantile(), Math.log(100) * 0.03);
+    }
+
+    @Test
+    void medianOfAShuffledSequence() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 1; i <= 1001; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(1));
+        P2QuantileEstimator median = new P2QuantileEstimator(0.5);
+        values.forEach(median::add);
+        assertEquals(501, median.getQuantile(), 15);
+    }
+
+    @Test
+    void exactBeforeFiveValues() {
+        P2QuantileEstimator median = new P2QuantileEstimator(0.5);
+        assertTrue(Double.isNaN(median.getQuantile()));
+        median.add(30);
+        assertEquals(30, median.getQuantile());
+        median.add(10);
+        median.add(20);
+        assertEquals(20, median.getQuantile());
+    }
+
+    @Test
+    void rejectsQuantilesOutsideTheOpenInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new P2QuantileEstimator(0));
+        assertThrows(IllegalArgumentException.class, () -> new P2QuantileEstimator(1));
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RowChainsTest {
+    private final RowChains chains = new RowChains();
+
+    @Test
+    void keepsRowsInInsertionOrderAcrossRemovals() {
+        for (int row = 0; row < 6; row++) {
+            chains.add(row % 2, row);
+        }
+        assertEquals(List.of(0, 2, 4), rowsOf(0));
+        assertEquals(List.of(1, 3, 5), rowsOf(1));
+
+        chains.remove(0, 2);
+        assertEquals(List.of(0, 4), rowsOf(0));
+        chains.remove(0, 0);
+        chains.add(0, 6);
+        assertEquals(List.of(4, 6), rowsOf(0));
+        chains.remove(0, 6);
+        chains.remove(0, 4);
+        assertEquals(RowChains.NO_ROW, chains.first(0));
+        assertEquals(List.of(1, 3, 5), rowsOf(1));
+    }
+
+    @Test
+    void matchesListsUnderRandomMoves() {
+        // rows move between keys the way orders move between statuses
+        Random random = new Random(5);
+        int rows = 20_000;
+        int[] keyOfRow = new int[rows];
+        Map<Integer, List<Integer>> expected = new HashMap<>();
+        for (int row = 0; row < rows; row++) {
+            keyOfRow[row] = random.nextInt(8);
+            chains.add(keyOfRow[row], row);
+            expected.computeIfAbsent(keyOfRow[row], k -> new ArrayList<>()).add(row);
+        }
+        for (int i = 0; i < 50_000; i++) {
+            int row = random.nextInt(rows);
+            int key = random.nextInt(8);
+            chains.remove(keyOfRow[row], row);
+            expected.get(keyOfRow[row]).remove((Integer) row);
+            chains.add(key, row);
+            expected.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+            keyOfRow[row] = key;
+        }
+        for (int key = 0; key < 8; key++) {
+            assertEquals(expected.getOrDefault(key, List.of()), rowsOf(key), "key " + key);
+        }
+    }
+
+    private List<Integer> rowsOf(int key) {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = chains.first(key); row != RowChains.NO_ROW; row = chains.next(row)) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RowIndexTest {
+    private int[] keys = new int[1 << 16];
+    private int rowCount;
+    private final RowIndex index = new RowIndex(row -> keys[row]);
+
+    @Test
+    void putReplacesAndRemoveForgets() {
+        index.put(42, addRow(42));
+        int replacement = addRow(42);
+        index.put(42, replacement);
+        assertEquals(1, index.size());
+        assertEquals(replacement, index.get(42));
+        assertEquals(replacement, index.remove(42));
+        assertEquals(RowIndex.NO_ROW, index.get(42));
+        assertEquals(RowIndex.NO_ROW, index.remove(42));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomPutsAndRemoves() {
+        // keys from a small range, so probe runs are long and removals shift entries back across them
+        Random random = new Random(11);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2_000) * 1024;
+            if (random.nextInt(3) == 0) {
+                Integer row = expected.remove(key);
+                assertEquals(row == null ? RowIndex.NO_ROW : row, index.remove(key));
+            } else {
+                int row = addRow(key);
+                index.put(key, row);
+                expected.put(key, row);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        for (int key = 0; key < 2_000 * 1024; key += 1024) {
+            assertEquals(expected.getOrDefault(key, RowIndex.NO_ROW), index.get(key), "key " + key);
+        }
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        List<Integer> rows = new ArrayList<>();
+        for (int key = 0; key < 10_000; key++) {
+            int row = addRow(-key);
+            index.put(-key, row);
+            rows.add(row);
+        }
+        for (int key = 0; key < 10_000; key++) {
+            assertEquals((int) rows.get(key), index.get(-key));
+        }
+    }
+
+    private int addRow(int key) {
+        if (rowCount == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+        keys[rowCount] = key;
+        return rowCount++;
+    }
+}